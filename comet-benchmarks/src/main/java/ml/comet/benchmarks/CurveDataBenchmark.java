@@ -0,0 +1,60 @@
+package ml.comet.benchmarks;
+
+import ml.comet.experiment.impl.rest.CurveData;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import ml.comet.experiment.model.Curve;
+import ml.comet.experiment.model.DataPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of the {@link Curve} into the {@link CurveData} and its serialization, which are done
+ * when the curve is logged as an asset.
+ *
+ * <pre>
+ * java -jar comet-benchmarks/target/benchmarks.jar CurveDataBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurveDataBenchmark {
+
+    @Param({"1000", "100000"})
+    private int pointsCount;
+
+    private Curve curve;
+
+    @Setup
+    public void setup() {
+        DataPoint[] points = new DataPoint[this.pointsCount];
+        for (int i = 0; i < this.pointsCount; i++) {
+            points[i] = DataPoint.of(i, (float) Math.sin(i));
+        }
+        this.curve = new Curve(points, "roc");
+    }
+
+    @Benchmark
+    public CurveData from() {
+        return CurveData.from(this.curve);
+    }
+
+    @Benchmark
+    public String fromAndSerialize() {
+        return JsonUtils.toJson(CurveData.from(this.curve));
+    }
+}
@@ -0,0 +1,110 @@
+package ml.comet.benchmarks;
+
+import ml.comet.experiment.ExperimentBuilder;
+import ml.comet.experiment.OnlineExperiment;
+import ml.comet.experiment.impl.constants.QueryParamName;
+import ml.comet.experiment.impl.http.Connection;
+import ml.comet.testbackend.BackendState;
+import ml.comet.testbackend.CometTestBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_EXPERIMENT_ASSET;
+import static ml.comet.experiment.impl.constants.QueryParamName.ASSET_ID;
+import static ml.comet.experiment.impl.constants.QueryParamName.EXPERIMENT_KEY;
+
+/**
+ * Measures the throughput of {@link Connection#downloadAsync(File, String, Map)} which writes the received body
+ * parts to the file with the {@code AsyncFileDownloadHandler}. The payload is served by the in-process
+ * {@link CometTestBackend}, thus the result is bound by the handler and the HTTP client rather than the network.
+ *
+ * <pre>
+ * java -jar comet-benchmarks/target/benchmarks.jar FileDownloadBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileDownloadBenchmark {
+    @Param({"1048576", "67108864"})
+    private int payloadSize;
+
+    private CometTestBackend backend;
+    private Connection connection;
+    private Map<QueryParamName, String> params;
+    private File file;
+
+    /**
+     * Starts the backend and uploads the random payload to it.
+     *
+     * @throws Exception if failed to start the backend or to upload the payload.
+     */
+    @Setup
+    public void setup() throws Exception {
+        byte[] payload = new byte[this.payloadSize];
+        new Random(42).nextBytes(payload);
+        this.file = Files.createTempFile("comet-download-benchmark", ".bin").toFile();
+        Files.write(this.file.toPath(), payload);
+
+        this.backend = CometTestBackend.start();
+        String experimentKey;
+        try (OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withApiKey("benchmark")
+                .build()) {
+            experimentKey = experiment.getExperimentKey();
+            experiment.uploadAsset(this.file, "payload.bin", false);
+            experiment.flush(Duration.ofMinutes(1)).get();
+        }
+        BackendState.StoredAsset asset = this.backend.getState().getExperiment(experimentKey)
+                .flatMap(experiment -> experiment.getAssets().stream().findFirst())
+                .orElseThrow(() -> new IllegalStateException("the payload was not uploaded"));
+        this.params = new HashMap<>();
+        this.params.put(EXPERIMENT_KEY, experimentKey);
+        this.params.put(ASSET_ID, asset.getAssetId());
+
+        this.connection = new Connection(this.backend.getBaseUrl(), "benchmark", 1,
+                LoggerFactory.getLogger(FileDownloadBenchmark.class));
+    }
+
+    /**
+     * Closes the connection and stops the backend.
+     *
+     * @throws IOException if failed to close the connection.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        this.connection.close();
+        this.backend.close();
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    @Benchmark
+    public long downloadToFile() throws Exception {
+        this.connection.downloadAsync(this.file, GET_EXPERIMENT_ASSET, this.params).get();
+        return this.file.length();
+    }
+}
@@ -0,0 +1,65 @@
+package ml.comet.benchmarks;
+
+import ml.comet.experiment.context.ExperimentContext;
+import ml.comet.experiment.impl.rest.MetricRest;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import ml.comet.experiment.impl.utils.RestApiUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building the metric write record and serializing it to JSON, which every generic
+ * {@code logMetric} call pays.
+ *
+ * <pre>
+ * java -jar comet-benchmarks/target/benchmarks.jar JsonSerializationBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private static final String METRIC_NAME = "train_loss";
+    private static final String EXPERIMENT_KEY = "0123456789abcdef0123456789abcdef";
+
+    private ExperimentContext context;
+    private MetricRest metricRest;
+    private double value = 0.123456789d;
+
+    @Setup
+    public void setup() {
+        this.context = new ExperimentContext(100, 1, "train");
+        this.metricRest = RestApiUtils.createLogMetricRequest(METRIC_NAME, this.value, this.context);
+        this.metricRest.setExperimentKey(EXPERIMENT_KEY);
+    }
+
+    @Benchmark
+    public MetricRest createLogMetricRequest() {
+        return RestApiUtils.createLogMetricRequest(METRIC_NAME, this.value, this.context);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonUtils.toJson(this.metricRest);
+    }
+
+    @Benchmark
+    public String createAndSerialize() {
+        MetricRest request = RestApiUtils.createLogMetricRequest(METRIC_NAME, this.value, this.context);
+        request.setExperimentKey(EXPERIMENT_KEY);
+        return JsonUtils.toJson(request);
+    }
+}
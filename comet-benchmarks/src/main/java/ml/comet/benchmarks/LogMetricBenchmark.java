@@ -0,0 +1,103 @@
+package ml.comet.benchmarks;
+
+import ml.comet.experiment.ExperimentBuilder;
+import ml.comet.experiment.OfflineExperiment;
+import ml.comet.experiment.OnlineExperiment;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive {@code OnlineExperiment.logMetric} overloads with the generic one accepting the boxed
+ * value. The {@link OfflineExperiment} is used to exclude the network and the backend from measurements: both paths
+ * batch the records with the default batch size, serialize and append them to the journal, thus the scores include
+ * the cost of the batch record amortized per metric. See {@link LogMetricEndToEndBenchmark} for the network path.
+ *
+ * <p>Run with GC profiler to see allocation rate per operation:
+ * <pre>
+ * java -jar comet-benchmarks/target/benchmarks.jar LogMetricBenchmark -prof gc
+ * </pre>
+ * The {@code gc.alloc.rate.norm} of the primitive overloads is not zero: appending the value to the batch doesn't
+ * allocate, but once per batch the formatted payload is copied into the {@link String} of the log record and encoded
+ * into the bytes written to the journal, both copies are amortized per metric. The boxed overload allocates
+ * the metric record and its JSON per call in addition.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogMetricBenchmark {
+    private static final String METRIC_NAME = "train_loss";
+
+    private Path offlineDir;
+    private OnlineExperiment experiment;
+
+    private double doubleValue = 0.123456789d;
+    private long longValue = 42;
+    private float floatValue = 0.5f;
+
+    /**
+     * Creates the offline experiment writing its journal into the temporary directory.
+     *
+     * @throws IOException if failed to create the temporary directory.
+     */
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        this.offlineDir = Files.createTempDirectory("comet-benchmarks");
+        this.experiment = ExperimentBuilder.OfflineExperiment()
+                .withOfflineDirectory(this.offlineDir.toFile())
+                .withProjectName("benchmarks")
+                .build();
+        this.experiment.setStep(100);
+        this.experiment.setEpoch(1);
+        this.experiment.setContext("train");
+    }
+
+    /**
+     * Ends the experiment and deletes its journal to keep the used disk space bounded.
+     *
+     * @throws IOException if failed to delete the journal.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        this.experiment.end();
+        FileUtils.deleteDirectory(this.offlineDir.toFile());
+    }
+
+    @Benchmark
+    public void logMetricDouble() {
+        this.experiment.logMetric(METRIC_NAME, this.doubleValue);
+    }
+
+    @Benchmark
+    public void logMetricLong() {
+        this.experiment.logMetric(METRIC_NAME, this.longValue);
+    }
+
+    @Benchmark
+    public void logMetricFloat() {
+        this.experiment.logMetric(METRIC_NAME, this.floatValue);
+    }
+
+    @Benchmark
+    public void logMetricBoxed() {
+        this.experiment.logMetric(METRIC_NAME, (Object) this.doubleValue);
+    }
+}
@@ -0,0 +1,92 @@
+package ml.comet.benchmarks;
+
+import ml.comet.experiment.ExperimentBuilder;
+import ml.comet.experiment.OnlineExperiment;
+import ml.comet.testbackend.CometTestBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code logMetric} end to end: the records are created, serialized, queued and sent to the in-process
+ * {@link CometTestBackend}, and {@link OnlineExperiment#flush(Duration)} waits until all of them are acknowledged.
+ *
+ * <pre>
+ * java -jar comet-benchmarks/target/benchmarks.jar LogMetricEndToEndBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogMetricEndToEndBenchmark {
+    private static final int METRICS_PER_FLUSH = 100;
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(30);
+
+    private CometTestBackend backend;
+    private OnlineExperiment experiment;
+    private long step;
+
+    /**
+     * Starts the backend and creates the experiment sending data to it.
+     *
+     * @throws InterruptedException if interrupted while starting the backend.
+     */
+    @Setup
+    public void setup() throws InterruptedException {
+        this.backend = CometTestBackend.start();
+        this.experiment = ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withProjectName("benchmarks")
+                .withWorkspace("benchmarks")
+                .withApiKey("benchmark")
+                .build();
+    }
+
+    /**
+     * Drops the metrics received by the backend to keep its memory bounded.
+     */
+    @TearDown(Level.Iteration)
+    public void clearBackend() {
+        this.backend.getState().clearLoggedData();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.experiment.end();
+        this.backend.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(METRICS_PER_FLUSH)
+    public void logMetricBoxed() throws Exception {
+        for (int i = 0; i < METRICS_PER_FLUSH; i++) {
+            this.experiment.logMetric("loss", (Object) (0.5d / ++this.step), this.step);
+        }
+        this.experiment.flush(FLUSH_TIMEOUT).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(METRICS_PER_FLUSH)
+    public void logMetricPrimitive() throws Exception {
+        for (int i = 0; i < METRICS_PER_FLUSH; i++) {
+            this.experiment.logMetric("loss", 0.5d / ++this.step);
+        }
+        this.experiment.flush(FLUSH_TIMEOUT).get();
+    }
+}
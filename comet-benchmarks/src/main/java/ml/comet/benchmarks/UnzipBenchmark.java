@@ -0,0 +1,96 @@
+package ml.comet.benchmarks;
+
+import ml.comet.experiment.impl.utils.ZipUtils;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Measures {@link ZipUtils#unzipToFolder(ZipInputStream, Path)} used to extract the downloaded models.
+ *
+ * <pre>
+ * java -jar comet-benchmarks/target/benchmarks.jar UnzipBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnzipBenchmark {
+    private static final int TOTAL_SIZE = 32 * 1024 * 1024;
+
+    @Param({"10", "1000"})
+    private int filesCount;
+
+    private byte[] zip;
+    private Path root;
+    private Path target;
+
+    /**
+     * Creates the in-memory ZIP archive of random files with total size of 32 MiB.
+     *
+     * @throws IOException if failed to create the archive.
+     */
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        byte[] content = new byte[TOTAL_SIZE / this.filesCount];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(TOTAL_SIZE);
+        try (ZipOutputStream zos = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < this.filesCount; i++) {
+                random.nextBytes(content);
+                zos.putNextEntry(new ZipEntry(String.format("model/part-%d.bin", i)));
+                zos.write(content);
+                zos.closeEntry();
+            }
+        }
+        this.zip = bytes.toByteArray();
+        this.root = Files.createTempDirectory("comet-unzip-benchmark");
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() throws IOException {
+        this.target = Files.createTempDirectory(this.root, "target");
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteTarget() throws IOException {
+        FileUtils.deleteDirectory(this.target.toFile());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.root.toFile());
+    }
+
+    @Benchmark
+    public int unzipToFolder() throws IOException {
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(this.zip))) {
+            return ZipUtils.unzipToFolder(zis, this.target);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ml.comet.benchmarks;
+
+import ml.comet.experiment.impl.utils.AssetUtils;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AssetUtils#walkFolderAssets} on the large trees of small files, as produced by the checkpoints
+ * and the datasets logged with {@code logAssetFolder}.
+ *
+ * <pre>
+ * java -jar comet-benchmarks/target/benchmarks.jar WalkFolderAssetsBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalkFolderAssetsBenchmark {
+    private static final int FILES_PER_FOLDER = 100;
+
+    @Param({"1000", "10000"})
+    private int filesCount;
+
+    private Path root;
+
+    /**
+     * Creates the tree of the files with {@value #FILES_PER_FOLDER} files per folder.
+     *
+     * @throws IOException if failed to create the tree.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.root = Files.createTempDirectory("comet-walk-benchmark");
+        byte[] content = new byte[64];
+        for (int i = 0; i < this.filesCount; i++) {
+            Path folder = this.root.resolve(String.format("folder-%d/sub-%d", i / (FILES_PER_FOLDER * 10),
+                    i / FILES_PER_FOLDER));
+            Files.createDirectories(folder);
+            Files.write(folder.resolve(String.format("file-%d.bin", i)), content);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.root.toFile());
+    }
+
+    @Benchmark
+    public long walkFolderAssets() throws IOException {
+        File folder = this.root.toFile();
+        return AssetUtils.walkFolderAssets(folder, true, true, true,
+                Optional.empty(), Optional.empty(), Optional.empty()).count();
+    }
+}
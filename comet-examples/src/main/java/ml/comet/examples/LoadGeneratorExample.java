@@ -0,0 +1,313 @@
+package ml.comet.examples;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import ml.comet.experiment.CometRuntime;
+import ml.comet.experiment.ExperimentBuilder;
+import ml.comet.experiment.OnlineExperiment;
+import ml.comet.experiment.builder.OnlineExperimentBuilder;
+import ml.comet.experiment.impl.stats.LatencyHistogram;
+import ml.comet.experiment.model.LatencyStats;
+import ml.comet.experiment.model.SdkStats;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulates the fleet of concurrent {@link OnlineExperiment}s logging metrics, output lines and assets at the
+ * configured rates and reports the achieved throughput, the latency of the logging calls (enqueue latency), the time
+ * until the logged data is acknowledged by the server (end-to-end latency), the number of live threads and the heap
+ * usage. It allows checking how the SDK behaves under the load of the production training fleet.
+ *
+ * <p>The end-to-end latency is measured by periodically flushing every experiment: the flush completes when all the
+ * data logged before it was sent to the server.
+ *
+ * <p>To run from command line execute the following at the root of this module:
+ * <pre>
+ * COMET_API_KEY=your_api_key \
+ * mvn exec:java -Dexec.mainClass="ml.comet.examples.LoadGeneratorExample" \
+ * -Dexec.args="--experiments 50 --metrics-rate 100 --lines-rate 10 --duration 120"
+ * </pre>
+ * Use <code>--base-url</code> to point the load at the staging server instead of the one from configuration.
+ */
+public final class LoadGeneratorExample {
+    private static final long TICK_MILLIS = 100;
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    @Parameter(names = {"--experiments", "-n"}, description = "the number of concurrent experiments")
+    int experimentsCount = 10;
+
+    @Parameter(names = {"--metrics-rate", "-m"}, description = "the number of metrics logged per second by experiment")
+    double metricsRate = 50;
+
+    @Parameter(names = {"--lines-rate", "-l"}, description = "the number of output lines per second by experiment")
+    double linesRate = 10;
+
+    @Parameter(names = {"--asset-interval"}, description = "the interval between asset uploads in seconds, 0 disables")
+    long assetIntervalSeconds = 30;
+
+    @Parameter(names = {"--asset-size"}, description = "the size of the uploaded asset in kilobytes")
+    int assetSizeKb = 64;
+
+    @Parameter(names = {"--flush-interval"}, description = "the interval between end-to-end latency probes in seconds")
+    long flushIntervalSeconds = 5;
+
+    @Parameter(names = {"--duration", "-d"}, description = "the duration of the load in seconds")
+    long durationSeconds = 60;
+
+    @Parameter(names = {"--report-interval"}, description = "the interval between progress reports in seconds")
+    long reportIntervalSeconds = 10;
+
+    @Parameter(names = {"--threads"}, description = "the number of threads generating the load")
+    int threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(names = {"--base-url", "-u"}, description = "the base URL of the Comet server, overrides configuration")
+    String baseUrl;
+
+    @Parameter(names = {"--api-key"}, description = "the Comet API key, overrides configuration")
+    String apiKey;
+
+    @Parameter(names = {"--workspace"}, description = "the workspace name, overrides configuration")
+    String workspace;
+
+    @Parameter(names = {"--project"}, description = "the project name, overrides configuration")
+    String project = "load-generator";
+
+    @Parameter(names = {"--shared-runtime"}, description = "share the HTTP client between all experiments")
+    boolean sharedRuntime;
+
+    @Parameter(names = {"--help", "-h"}, help = true, description = "print usage")
+    boolean help;
+
+    private final LatencyHistogram enqueueLatency = new LatencyHistogram();
+    private final LatencyHistogram endToEndLatency = new LatencyHistogram();
+    private final LongAdder metricsLogged = new LongAdder();
+    private final LongAdder linesLogged = new LongAdder();
+    private final LongAdder assetsUploaded = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final List<OnlineExperiment> experiments = new ArrayList<>();
+
+    /**
+     * The load generator entry point.
+     *
+     * <p>The API key, workspace and base URL are taken from the command line arguments if provided, otherwise from
+     * the environment variables or the <strong>resources/application.conf</strong> file.
+     *
+     * @param args the command line arguments.
+     * @throws Exception if load generation failed.
+     */
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorExample main = new LoadGeneratorExample();
+        JCommander commander = JCommander.newBuilder()
+                .addObject(main)
+                .programName(LoadGeneratorExample.class.getSimpleName())
+                .build();
+        commander.parse(args);
+        if (main.help) {
+            commander.usage();
+            return;
+        }
+        main.run();
+    }
+
+    /**
+     * Runs the load with current parameters and prints the final report.
+     *
+     * @throws Exception if load generation failed.
+     */
+    public void run() throws Exception {
+        File asset = this.assetIntervalSeconds > 0 ? createAsset(this.assetSizeKb) : null;
+        CometRuntime runtime = this.sharedRuntime ? ExperimentBuilder.CometRuntime() : null;
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(this.threads);
+        try {
+            System.out.printf("Starting %d experiments...%n", this.experimentsCount);
+            for (int i = 0; i < this.experimentsCount; i++) {
+                this.experiments.add(this.createExperiment(runtime, i));
+            }
+
+            Snapshot start = new Snapshot(System.nanoTime());
+            for (int i = 0; i < this.experiments.size(); i++) {
+                this.scheduleLoad(scheduler, this.experiments.get(i), i, asset);
+            }
+            Snapshot[] previous = {start};
+            scheduler.scheduleAtFixedRate(() -> {
+                Snapshot current = new Snapshot(System.nanoTime());
+                this.report(previous[0], current);
+                previous[0] = current;
+            }, this.reportIntervalSeconds, this.reportIntervalSeconds, TimeUnit.SECONDS);
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(this.durationSeconds));
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+
+            System.out.println("Load finished, waiting for the pending data to be sent...");
+            long drainStart = System.nanoTime();
+            for (OnlineExperiment experiment : this.experiments) {
+                experiment.flush(Duration.ofMinutes(5)).exceptionally(throwable -> {
+                    this.flushFailures.increment();
+                    return null;
+                }).join();
+            }
+            long drainNanos = System.nanoTime() - drainStart;
+
+            System.out.println("================ Final report ================");
+            this.report(start, new Snapshot(System.nanoTime()));
+            System.out.printf("drain time: %.1f ms, flush failures: %d%n",
+                    drainNanos / 1_000_000.0, this.flushFailures.sum());
+        } finally {
+            scheduler.shutdownNow();
+            for (OnlineExperiment experiment : this.experiments) {
+                experiment.end();
+            }
+            if (runtime != null) {
+                runtime.close();
+            }
+            if (asset != null) {
+                Files.deleteIfExists(asset.toPath());
+            }
+        }
+    }
+
+    private OnlineExperiment createExperiment(CometRuntime runtime, int index) {
+        OnlineExperimentBuilder builder = ExperimentBuilder.OnlineExperiment()
+                .withProjectName(this.project)
+                .withExperimentName("load-generator-" + index);
+        if (this.baseUrl != null) {
+            builder.withUrlOverride(this.baseUrl);
+        }
+        if (this.workspace != null) {
+            builder.withWorkspace(this.workspace);
+        }
+        if (runtime != null) {
+            builder.withRuntime(runtime);
+        }
+        if (this.apiKey != null) {
+            builder.withApiKey(this.apiKey);
+        }
+        return builder.build();
+    }
+
+    private void scheduleLoad(ScheduledExecutorService scheduler, OnlineExperiment experiment,
+                              int index, File asset) {
+        // spread the experiments over the tick to avoid the bursts of load
+        long offset = TICK_MILLIS * index / Math.max(this.experimentsCount, 1);
+        long startNanos = System.nanoTime();
+        AtomicLong metrics = new AtomicLong();
+        AtomicLong lines = new AtomicLong();
+        Random random = new Random(index);
+        scheduler.scheduleAtFixedRate(() -> {
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+            for (long step = metrics.get(); step < (long) (elapsedSeconds * this.metricsRate); step++) {
+                long start = System.nanoTime();
+                experiment.logMetric("loss", random.nextDouble(), step);
+                this.enqueueLatency.record(System.nanoTime() - start);
+                metrics.incrementAndGet();
+                this.metricsLogged.increment();
+            }
+            for (long line = lines.get(); line < (long) (elapsedSeconds * this.linesRate); line++) {
+                long start = System.nanoTime();
+                experiment.logLine("step " + metrics.get() + ": training in progress", line, false);
+                this.enqueueLatency.record(System.nanoTime() - start);
+                lines.incrementAndGet();
+                this.linesLogged.increment();
+            }
+        }, offset, TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        if (asset != null) {
+            AtomicLong uploads = new AtomicLong();
+            scheduler.scheduleAtFixedRate(() -> {
+                long start = System.nanoTime();
+                experiment.uploadAsset(asset, "load-asset-" + uploads.getAndIncrement(), false);
+                this.enqueueLatency.record(System.nanoTime() - start);
+                this.assetsUploaded.increment();
+            }, this.assetIntervalSeconds, this.assetIntervalSeconds, TimeUnit.SECONDS);
+        }
+
+        long flushIntervalMillis = TimeUnit.SECONDS.toMillis(this.flushIntervalSeconds);
+        scheduler.scheduleAtFixedRate(() -> {
+            long start = System.nanoTime();
+            experiment.flush(Duration.ofMillis(flushIntervalMillis * 10)).whenComplete((aVoid, throwable) -> {
+                if (throwable != null) {
+                    this.flushFailures.increment();
+                } else {
+                    this.endToEndLatency.record(System.nanoTime() - start);
+                }
+            });
+        }, flushIntervalMillis + offset, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void report(Snapshot from, Snapshot to) {
+        double seconds = Math.max(to.nanos - from.nanos, 1) / 1_000_000_000.0;
+        int queueDepth = 0;
+        long dropped = 0;
+        long retries = 0;
+        long failedRequests = 0;
+        for (OnlineExperiment experiment : this.experiments) {
+            SdkStats stats = experiment.getSdkStats();
+            queueDepth += stats.getQueueDepth();
+            dropped += stats.getDroppedCount();
+            retries += stats.getRetriesCount();
+            failedRequests += stats.getFailedRequestCount();
+        }
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memoryBean.getHeapMemoryUsage();
+
+        System.out.printf("[%.0fs] throughput: %.1f metrics/s, %.1f lines/s, %d assets%n",
+                seconds, (to.metrics - from.metrics) / seconds, (to.lines - from.lines) / seconds,
+                to.assets - from.assets);
+        System.out.printf("  enqueue latency:    %s%n", format(this.enqueueLatency.snapshot()));
+        System.out.printf("  end-to-end latency: %s%n", format(this.endToEndLatency.snapshot()));
+        System.out.printf("  sdk: queue depth %d, dropped %d, retries %d, failed requests %d%n",
+                queueDepth, dropped, retries, failedRequests);
+        System.out.printf("  threads: live %d, peak %d, daemon %d%n",
+                threadBean.getThreadCount(), threadBean.getPeakThreadCount(), threadBean.getDaemonThreadCount());
+        System.out.printf("  heap: used %.1f MB, committed %.1f MB, max %.1f MB%n",
+                heap.getUsed() / BYTES_PER_MB, heap.getCommitted() / BYTES_PER_MB, heap.getMax() / BYTES_PER_MB);
+    }
+
+    private static String format(LatencyStats stats) {
+        return String.format("count %d, p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms",
+                stats.getCount(), stats.getP50Millis(), stats.getP90Millis(), stats.getP99Millis(),
+                stats.getP999Millis(), stats.getMaxMillis());
+    }
+
+    private static File createAsset(int sizeKb) throws IOException {
+        File file = File.createTempFile("load-asset", ".bin");
+        byte[] data = new byte[sizeKb * 1024];
+        new Random().nextBytes(data);
+        Files.write(file.toPath(), data);
+        return file;
+    }
+
+    /**
+     * The snapshot of the load counters at specific moment.
+     */
+    private final class Snapshot {
+        final long nanos;
+        final long metrics;
+        final long lines;
+        final long assets;
+
+        Snapshot(long nanos) {
+            this.nanos = nanos;
+            this.metrics = metricsLogged.sum();
+            this.lines = linesLogged.sum();
+            this.assets = assetsUploaded.sum();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ml.comet.examples;
+
+import ml.comet.experiment.ExperimentBuilder;
+import ml.comet.experiment.OfflineExperiment;
+
+import java.util.Random;
+
+/**
+ * Provides example of logging experiment data into the local journal without network connection. The journal
+ * can be uploaded to the Comet later using {@link UploadOfflineExperiment}.
+ *
+ * <p>To run from command line execute the following at the root of this module:
+ * <pre>
+ * COMET_OFFLINE_DIRECTORY=/tmp/comet-offline \
+ * mvn exec:java -Dexec.mainClass="ml.comet.examples.OfflineExperimentExample"
+ * </pre>
+ */
+public class OfflineExperimentExample {
+
+    /**
+     * The main entry point to the example.
+     *
+     * @param args the command line arguments if any.
+     */
+    public static void main(String[] args) throws Exception {
+        try (OfflineExperiment experiment = ExperimentBuilder.OfflineExperiment()
+                .withProjectName("offline-examples")
+                .withExperimentName("offline-experiment")
+                .build()) {
+            runExample(experiment);
+
+            System.out.printf("The experiment journal written to the directory: %s\n",
+                    experiment.getJournalDirectory());
+        }
+    }
+
+    private static void runExample(OfflineExperiment experiment) {
+        experiment.logParameter("learning_rate", 0.001);
+        experiment.addTag("offline");
+
+        Random rd = new Random();
+        for (int i = 0; i < 1000; i++) {
+            experiment.setStep(i);
+            experiment.logMetric("loss", rd.nextDouble());
+        }
+        experiment.logText("Offline experiment completed");
+    }
+}
@@ -0,0 +1,47 @@
+package ml.comet.examples;
+
+import ml.comet.experiment.impl.OfflineExperimentUploader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+
+/**
+ * The command line tool to upload journals of the offline experiments to the Comet.
+ *
+ * <p>To run from command line execute the following at the root of this module:
+ * <pre>
+ * COMET_API_KEY=your_api_key \
+ * mvn exec:java -Dexec.mainClass="ml.comet.examples.UploadOfflineExperiment" \
+ * -Dexec.args="/tmp/comet-offline/experiment_key"
+ * </pre>
+ * The number of concurrent requests can be changed with COMET_OFFLINE_UPLOAD_PARALLELISM environment variable.
+ */
+public class UploadOfflineExperiment {
+    private static final Logger logger = LoggerFactory.getLogger(UploadOfflineExperiment.class);
+
+    /**
+     * The main entry point to the tool.
+     *
+     * @param args the list of directories with journals of the offline experiments.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: UploadOfflineExperiment <journal directory> [<journal directory> ...]");
+            System.exit(1);
+        }
+
+        int failedCount = 0;
+        try (OfflineExperimentUploader uploader = OfflineExperimentUploader.fromConfig(logger)) {
+            for (String path : args) {
+                OfflineExperimentUploader.UploadResult result = uploader.upload(new File(path));
+                System.out.printf("Uploaded %s as %s, sent: %d, failed: %d\n", path,
+                        result.getExperimentLink(), result.getSentCount(), result.getFailedCount());
+                if (result.getFailedCount() > 0) {
+                    failedCount++;
+                }
+            }
+        }
+        System.exit(failedCount > 0 ? 2 : 0);
+    }
+}
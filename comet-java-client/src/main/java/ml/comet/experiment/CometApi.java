@@ -2,6 +2,7 @@ package ml.comet.experiment;
 
 import ml.comet.experiment.model.ExperimentMetadata;
 import ml.comet.experiment.model.Project;
+import ml.comet.experiment.model.SdkStats;
 import ml.comet.experiment.registrymodel.DownloadModelOptions;
 import ml.comet.experiment.registrymodel.Model;
 import ml.comet.experiment.registrymodel.ModelDownloadInfo;
@@ -216,4 +217,12 @@ public interface CometApi extends Closeable {
      * @param stage        the name of the stage to be added.
      */
     void addRegistryModelVersionStage(String registryName, String workspace, String version, String stage);
+
+    /**
+     * Returns the snapshot of the statistics of the requests executed by this instance. The same statistics are
+     * exposed via JMX as the MBean named {@code ml.comet:type=SdkStats,name="CometApi@<id>"}.
+     *
+     * @return the snapshot of the statistics of the requests executed by this instance.
+     */
+    SdkStats getSdkStats();
 }
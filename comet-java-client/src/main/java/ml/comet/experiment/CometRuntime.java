@@ -0,0 +1,39 @@
+package ml.comet.experiment;
+
+import java.io.Closeable;
+
+/**
+ * The runtime resources which can be shared by many experiments and {@link CometApi} instances created in one JVM:
+ * the HTTP client with its connection pool and the timer of the retries.
+ *
+ * <p>The runtime is reference counted: every experiment or {@link CometApi} built with the runtime holds a
+ * reference until it is ended or closed. The resources are released when the runtime is closed and the last
+ * user holding a reference is ended.</p>
+ *
+ * <p>Make sure to call CometRuntime.close() when no more experiments will be built with it.</p>
+ */
+public interface CometRuntime extends Closeable {
+
+    /**
+     * Returns the number of references held to this runtime, including the reference of the owner which is
+     * released by {@link #close()}.
+     *
+     * @return the number of references held to this runtime.
+     */
+    int getReferenceCount();
+
+    /**
+     * Allows checking if the resources of this runtime were released.
+     *
+     * @return {@code true} if resources of this runtime were released.
+     */
+    boolean isReleased();
+
+    /**
+     * Releases the reference of the owner. The resources are released immediately if no experiment uses this
+     * runtime, otherwise when the last experiment is ended. No new experiments can be built with this runtime
+     * after it is closed.
+     */
+    @Override
+    void close();
+}
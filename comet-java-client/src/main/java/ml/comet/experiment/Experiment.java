@@ -1,15 +1,18 @@
 package ml.comet.experiment;
 
 import ml.comet.experiment.artifact.ArtifactException;
+import ml.comet.experiment.artifact.AssetOverwriteStrategy;
 import ml.comet.experiment.artifact.LoggedArtifact;
 import ml.comet.experiment.asset.LoggedExperimentAsset;
 import ml.comet.experiment.context.ExperimentContext;
+import ml.comet.experiment.exception.CometGeneralException;
 import ml.comet.experiment.model.Curve;
 import ml.comet.experiment.model.ExperimentMetadata;
 import ml.comet.experiment.model.GitMetaData;
 import ml.comet.experiment.model.Value;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -140,6 +143,31 @@ public interface Experiment extends AutoCloseable {
      */
     List<LoggedExperimentAsset> getAllAssetList();
 
+    /**
+     * Downloads the file of the logged experiment asset into the given directory under the logical path of the asset.
+     * The pack of small files created by {@code logAssetFolder} or {@code logModelFolder} is unpacked into
+     * the files it contains.
+     *
+     * @param asset             the asset to be downloaded.
+     * @param dir               the directory to store downloaded files.
+     * @param overwriteStrategy the overwrite strategy to be applied if file already exists.
+     * @return the list of paths to the downloaded files.
+     * @throws CometGeneralException if failed to download the asset.
+     */
+    List<Path> downloadAsset(LoggedExperimentAsset asset, Path dir, AssetOverwriteStrategy overwriteStrategy)
+            throws CometGeneralException;
+
+    /**
+     * Downloads the file of the logged experiment asset into the given directory under the logical path of the asset.
+     * The download fails if file already exists and has different content.
+     *
+     * @param asset the asset to be downloaded.
+     * @param dir   the directory to store downloaded files.
+     * @return the list of paths to the downloaded files.
+     * @throws CometGeneralException if failed to download the asset.
+     */
+    List<Path> downloadAsset(LoggedExperimentAsset asset, Path dir) throws CometGeneralException;
+
     /**
      * Allows looking for logged artifact using provided search parameters.
      *
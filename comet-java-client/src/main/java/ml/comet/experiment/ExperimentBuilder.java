@@ -3,9 +3,12 @@ package ml.comet.experiment;
 import lombok.experimental.UtilityClass;
 import ml.comet.experiment.builder.ApiExperimentBuilder;
 import ml.comet.experiment.builder.CometApiBuilder;
+import ml.comet.experiment.builder.OfflineExperimentBuilder;
 import ml.comet.experiment.builder.OnlineExperimentBuilder;
 import ml.comet.experiment.impl.ApiExperimentImpl;
 import ml.comet.experiment.impl.CometApiImpl;
+import ml.comet.experiment.impl.CometRuntimeImpl;
+import ml.comet.experiment.impl.OfflineExperimentImpl;
 import ml.comet.experiment.impl.OnlineExperimentImpl;
 
 /**
@@ -32,6 +35,25 @@ public class ExperimentBuilder {
         return OnlineExperimentImpl.builder();
     }
 
+    /**
+     * Returns instance of the {@link OfflineExperimentBuilder} which can be used to
+     * configure and create fully initialized instance of the {@link OfflineExperiment}.
+     *
+     * <p>The configured instance of {@link OfflineExperiment} can be created as following:
+     * <pre>
+     *     OfflineExperiment experiment = ExperimentBuilder
+     *                                      .OfflineExperiment()
+     *                                      .withOfflineDirectory(new File("/tmp/comet"))
+     *                                      .build();
+     * </pre>
+     *
+     * @return the instance of the {@link OfflineExperimentBuilder}.
+     */
+    @SuppressWarnings({"MethodName"})
+    public static OfflineExperimentBuilder OfflineExperiment() {
+        return OfflineExperimentImpl.offlineBuilder();
+    }
+
     /**
      * The factory to create instance of the {@link ApiExperimentBuilder} which can be used
      * to configure and create fully initialized instance of the {@link ApiExperiment}.
@@ -53,4 +75,15 @@ public class ExperimentBuilder {
     public static CometApiBuilder CometApi() {
         return CometApiImpl.builder();
     }
+
+    /**
+     * The factory to create the {@link CometRuntime} which can be passed to the builders to share one HTTP client
+     * and one retry timer between many experiments and {@link CometApi} instances in one JVM.
+     *
+     * @return the new instance of the {@link CometRuntime}, it must be closed when no longer needed.
+     */
+    @SuppressWarnings("checkstyle:MethodName")
+    public static CometRuntime CometRuntime() {
+        return CometRuntimeImpl.create();
+    }
 }
@@ -0,0 +1,24 @@
+package ml.comet.experiment;
+
+import java.io.File;
+
+/**
+ * The {@code OfflineExperiment} has the same logging interface as the {@link OnlineExperiment}, but instead of
+ * sending data to the Comet.ml it writes all logged records into the journal in the local directory. The journal
+ * can be uploaded to the Comet.ml later when network connection is available.
+ *
+ * <p>The artifacts are journaled with their assets and the new artifact version is created when journal is
+ * uploaded. The operations which read data back from the Comet.ml server are not supported and throw
+ * {@link UnsupportedOperationException}: {@code getArtifact}, {@code getMetadata}, {@code getGitMetadata},
+ * {@code getHtml}, {@code getOutput}, {@code getGraph}, {@code getParameters}, {@code getMetrics},
+ * {@code getLogOther}, {@code getTags}, {@code getAssetList} and {@code getAllAssetList}.
+ */
+public interface OfflineExperiment extends OnlineExperiment {
+
+    /**
+     * Returns the directory where journal of this experiment is written.
+     *
+     * @return the directory where journal of this experiment is written.
+     */
+    File getJournalDirectory();
+}
@@ -3,11 +3,16 @@ package ml.comet.experiment;
 import ml.comet.experiment.artifact.Artifact;
 import ml.comet.experiment.artifact.ArtifactException;
 import ml.comet.experiment.artifact.LoggedArtifact;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.context.ExperimentContext;
+import ml.comet.experiment.impl.rest.OutputLine;
+import ml.comet.experiment.model.SdkStats;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -37,6 +42,27 @@ public interface OnlineExperiment extends Experiment {
      */
     void stopInterceptStdout() throws IOException;
 
+    /**
+     * Sends all data collected so far without waiting for batches to fill up and returns the future which completes
+     * when every data record, asset and artifact logged before this call was either sent to the Comet or dropped.
+     * The data logged after this call is not waited for.
+     *
+     * @param timeout the maximal time to wait for the data to be sent.
+     * @return the {@link CompletableFuture} which completes when all data logged before this call was processed or
+     * exceptionally with {@link java.util.concurrent.TimeoutException} if timeout elapsed.
+     */
+    CompletableFuture<Void> flush(Duration timeout);
+
+    /**
+     * Returns the snapshot of the statistics of the SDK itself: the number, latency and size of the requests
+     * per endpoint, the time spent serializing data records, the depth of the queue of data records, the number
+     * of retries and the number of dropped data records. The same statistics are exposed via JMX as the MBean
+     * named {@code ml.comet:type=SdkStats,name="<experiment key>"}.
+     *
+     * @return the snapshot of the statistics of the SDK.
+     */
+    SdkStats getSdkStats();
+
     /**
      * Sets the current step for the experiment. This is used when logging metrics and params.
      *
@@ -101,6 +127,52 @@ public interface OnlineExperiment extends Experiment {
 
     void logMetric(String metricName, Object metricValue);
 
+    /**
+     * Logs a metric with primitive {@code double} value using current step, epoch and context of the experiment.
+     * This is the fast path intended to be used in the tight training loops: if metrics batching is enabled, the value
+     * is appended to the batch without allocation and the request payload is created once per batch.
+     *
+     * @param metricName  The name for the metric to be logged
+     * @param metricValue The new value for the metric.
+     */
+    void logMetric(String metricName, double metricValue);
+
+    /**
+     * Logs a metric with primitive {@code float} value using current step, epoch and context of the experiment.
+     * This is the fast path intended to be used in the tight training loops: if metrics batching is enabled, the value
+     * is appended to the batch without allocation and the request payload is created once per batch.
+     *
+     * @param metricName  The name for the metric to be logged
+     * @param metricValue The new value for the metric.
+     */
+    void logMetric(String metricName, float metricValue);
+
+    /**
+     * Logs a metric with primitive {@code long} value using current step, epoch and context of the experiment.
+     * This is the fast path intended to be used in the tight training loops: if metrics batching is enabled, the value
+     * is appended to the batch without allocation and the request payload is created once per batch.
+     *
+     * @param metricName  The name for the metric to be logged
+     * @param metricValue The new value for the metric.
+     */
+    void logMetric(String metricName, long metricValue);
+
+    /**
+     * Logs a group of metrics with Comet. All metrics of the group share the same experiment context
+     * and are sent to the Comet together as one group of records.
+     *
+     * @param metrics the map with names and values of the metrics to be logged.
+     * @param context the context to be associated with all logged metrics.
+     */
+    void logMetrics(Map<String, Number> metrics, ExperimentContext context);
+
+    /**
+     * Logs a group of metrics with Comet using current step, epoch and context of the experiment.
+     *
+     * @param metrics the map with names and values of the metrics to be logged.
+     */
+    void logMetrics(Map<String, Number> metrics);
+
     /**
      * Logs a param with Comet under the current experiment step.
      * Params should be set at the start of the experiment.
@@ -119,6 +191,14 @@ public interface OnlineExperiment extends Experiment {
      */
     void logLine(String line, long offset, boolean stderr);
 
+    /**
+     * Sends many output lines to Comet in one request.
+     *
+     * @param lines   the output lines with their local timestamps and offsets.
+     * @param context the context to be associated with the lines.
+     */
+    void logLines(List<OutputLine> lines, String context);
+
     /**
      * Upload an asset under the current experiment step to be associated with the experiment,
      * for example the trained weights of a neural net.
@@ -134,6 +214,22 @@ public interface OnlineExperiment extends Experiment {
 
     void uploadAsset(File asset, boolean overwrite);
 
+    /**
+     * Upload an asset which content is streamed from the given source, e.g., the model serialized into
+     * the direct {@link java.nio.ByteBuffer} or the {@link java.io.InputStream}. The content is not copied
+     * into the heap array before upload.
+     *
+     * @param source      The source of the asset's content.
+     * @param logicalPath The file name under which the asset should be stored in Comet. E.g. "someFile.txt"
+     * @param overwrite   Whether to overwrite files of the same name in Comet
+     * @param context     the experiment context to be associated with the asset.
+     */
+    void uploadAsset(AssetSource source, String logicalPath, boolean overwrite, ExperimentContext context);
+
+    void uploadAsset(AssetSource source, String logicalPath, boolean overwrite, long step);
+
+    void uploadAsset(AssetSource source, String logicalPath, boolean overwrite);
+
     /**
      * Logs all the files located in the given folder as assets.
      *
@@ -242,4 +338,25 @@ public interface OnlineExperiment extends Experiment {
     void logModel(String modelName, byte[] data, String logicalPath, boolean overwrite);
 
     void logModel(String modelName, byte[] data, String logicalPath);
+
+    /**
+     * Logs the model data streamed from the given source.
+     *
+     * @param modelName   the name of the model
+     * @param source      the source of the model's data.
+     * @param logicalPath the name of the model file.
+     * @param overwrite   if {@code true} will overwrite all existing model with the same name.
+     * @param metadata    the additional metadata to attach to the asset data of the model.
+     *                    The dictionary values must be JSON compatible.
+     * @param context     the experiment context to be associated with the logged model.
+     */
+    void logModel(String modelName, AssetSource source, String logicalPath, boolean overwrite,
+                  Map<String, Object> metadata, ExperimentContext context);
+
+    void logModel(String modelName, AssetSource source, String logicalPath, boolean overwrite,
+                  Map<String, Object> metadata);
+
+    void logModel(String modelName, AssetSource source, String logicalPath, boolean overwrite);
+
+    void logModel(String modelName, AssetSource source, String logicalPath);
 }
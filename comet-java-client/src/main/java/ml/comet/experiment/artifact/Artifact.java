@@ -1,6 +1,7 @@
 package ml.comet.experiment.artifact;
 
 import lombok.NonNull;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.impl.ArtifactImpl;
 
 import java.io.File;
@@ -56,6 +57,23 @@ public interface Artifact {
 
     void addAsset(byte[] data, String logicalPath) throws ConflictingArtifactAssetNameException;
 
+    /**
+     * Adds a local asset which content is streamed from the given source to the current pending artifact object.
+     *
+     * @param source      the source of the asset's content.
+     * @param logicalPath the custom asset's file name to be displayed.
+     * @param overwrite   if {@code true} will overwrite all existing assets with the same name.
+     * @param metadata    some additional data to attach to the asset. Must be a map with JSON-encodable values.
+     * @throws ConflictingArtifactAssetNameException is name of the asset is not unique within this artifact.
+     */
+    void addAsset(AssetSource source, String logicalPath, boolean overwrite, Map<String, Object> metadata)
+            throws ConflictingArtifactAssetNameException;
+
+    void addAsset(AssetSource source, String logicalPath, boolean overwrite)
+            throws ConflictingArtifactAssetNameException;
+
+    void addAsset(AssetSource source, String logicalPath) throws ConflictingArtifactAssetNameException;
+
     /**
      * Adds remote asses to the current pending artifact object. A Remote Asset is an asset but
      * its content is not uploaded and stored on Comet. Rather a link for its location is stored, so
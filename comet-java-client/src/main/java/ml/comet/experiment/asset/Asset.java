@@ -45,6 +45,13 @@ public interface Asset {
      */
     Optional<byte[]> getFileLikeData();
 
+    /**
+     * Returns the optional source to stream the asset's content from.
+     *
+     * @return the optional source to stream the asset's content from.
+     */
+    Optional<AssetSource> getSource();
+
     /**
      * Returns the optional {@link ExperimentContext} associated with this asset.
      *
@@ -0,0 +1,233 @@
+package ml.comet.experiment.asset;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The source of the asset's content which is streamed to the Comet server during upload instead of being
+ * materialized as {@code byte[]} on the heap. The content is read in small portions directly from the source,
+ * thus the large in-memory models can be uploaded without doubling the heap usage.
+ *
+ * <p>The source created from {@link InputStream} can be read only once, thus the upload of such asset
+ * is not retried if it failed. Use {@link #fromBuffer(ByteBuffer)} or {@link #fromChannel(Supplier)}
+ * if the upload should be retried.
+ */
+public abstract class AssetSource {
+    /**
+     * The content length of the source which size is not known in advance.
+     */
+    public static final long UNKNOWN_LENGTH = -1;
+
+    AssetSource() {
+    }
+
+    /**
+     * Returns the length of the content in bytes or {@link #UNKNOWN_LENGTH} if it is not known in advance.
+     * The content of unknown length is sent using chunked transfer encoding.
+     *
+     * @return the length of the content in bytes or {@link #UNKNOWN_LENGTH}.
+     */
+    public abstract long getContentLength();
+
+    /**
+     * Returns {@code true} if the content of this source can be read more than once.
+     *
+     * @return {@code true} if the content of this source can be read more than once.
+     */
+    public abstract boolean isRepeatable();
+
+    /**
+     * Opens the stream to read the content of this source from the beginning.
+     *
+     * @return the stream to read the content of this source.
+     * @throws IOException           if I/O exception occurs.
+     * @throws IllegalStateException if the source is not repeatable and was already read.
+     */
+    public abstract InputStream openStream() throws IOException;
+
+    /**
+     * Creates the source reading the content from the given stream until the end of stream.
+     *
+     * @param stream the stream with the content of the asset.
+     * @return the source which can be read only once.
+     */
+    public static AssetSource fromStream(@NonNull InputStream stream) {
+        return fromStream(stream, UNKNOWN_LENGTH);
+    }
+
+    /**
+     * Creates the source reading the given number of bytes from the stream.
+     *
+     * @param stream        the stream with the content of the asset.
+     * @param contentLength the number of bytes in the stream or {@link #UNKNOWN_LENGTH}.
+     * @return the source which can be read only once.
+     */
+    public static AssetSource fromStream(@NonNull InputStream stream, long contentLength) {
+        return new StreamSource(stream, contentLength);
+    }
+
+    /**
+     * Creates the source reading the remaining bytes of the given buffer. The buffer can be direct or mapped
+     * from the file. The position and the limit of the buffer are not changed by the upload.
+     *
+     * @param buffer the buffer with the content of the asset.
+     * @return the repeatable source.
+     */
+    public static AssetSource fromBuffer(@NonNull ByteBuffer buffer) {
+        return new BufferSource(buffer.duplicate());
+    }
+
+    /**
+     * Creates the source reading the content from the channels provided by the given supplier. The supplier
+     * is invoked for each attempt to upload the asset and must return new channel positioned at the beginning
+     * of the content. The channel is closed when the content is read.
+     *
+     * @param channelSupplier the supplier of the channels with the content of the asset.
+     * @return the repeatable source.
+     */
+    public static AssetSource fromChannel(@NonNull Supplier<ReadableByteChannel> channelSupplier) {
+        return fromChannel(channelSupplier, UNKNOWN_LENGTH);
+    }
+
+    /**
+     * Creates the source reading the content of known length from the channels provided by the given supplier.
+     *
+     * @param channelSupplier the supplier of the channels with the content of the asset.
+     * @param contentLength   the number of bytes in the channel or {@link #UNKNOWN_LENGTH}.
+     * @return the repeatable source.
+     * @see #fromChannel(Supplier)
+     */
+    public static AssetSource fromChannel(@NonNull Supplier<ReadableByteChannel> channelSupplier,
+                                          long contentLength) {
+        return new ChannelSource(channelSupplier, contentLength);
+    }
+
+    static final class StreamSource extends AssetSource {
+        private final InputStream stream;
+        private final long contentLength;
+        private final AtomicBoolean opened = new AtomicBoolean();
+
+        StreamSource(InputStream stream, long contentLength) {
+            this.stream = stream;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public long getContentLength() {
+            return this.contentLength;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public InputStream openStream() {
+            if (!this.opened.compareAndSet(false, true)) {
+                throw new IllegalStateException("the content of the input stream was already read");
+            }
+            return this.stream;
+        }
+    }
+
+    static final class BufferSource extends AssetSource {
+        private final ByteBuffer buffer;
+
+        BufferSource(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public long getContentLength() {
+            return this.buffer.remaining();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new ByteBufferInputStream(this.buffer.duplicate());
+        }
+    }
+
+    static final class ChannelSource extends AssetSource {
+        private final Supplier<ReadableByteChannel> channelSupplier;
+        private final long contentLength;
+
+        ChannelSource(Supplier<ReadableByteChannel> channelSupplier, long contentLength) {
+            this.channelSupplier = channelSupplier;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public long getContentLength() {
+            return this.contentLength;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            ReadableByteChannel channel = this.channelSupplier.get();
+            if (channel == null) {
+                throw new IOException("the channel supplier returned null");
+            }
+            return Channels.newInputStream(channel);
+        }
+    }
+
+    /**
+     * The stream reading the remaining bytes of the buffer without copying them to the heap array first.
+     */
+    static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+            this.buffer.position(this.buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+}
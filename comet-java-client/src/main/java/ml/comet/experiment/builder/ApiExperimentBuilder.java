@@ -1,6 +1,8 @@
 package ml.comet.experiment.builder;
 
 import ml.comet.experiment.ApiExperiment;
+import ml.comet.experiment.CometApi;
+import ml.comet.experiment.CometRuntime;
 
 /**
  * Defines the public contract of the factory to create initialized instances of the {@link ApiExperiment} allowing
@@ -30,4 +32,13 @@ public interface ApiExperimentBuilder extends BaseCometBuilder<ApiExperiment> {
      * @return the builder configured with specified workspace name.
      */
     ApiExperimentBuilder withWorkspace(String workspace);
+
+    /**
+     * Sets the runtime to share the HTTP client and the retry timer with other experiments and {@link CometApi}
+     * instances built with the same runtime.
+     *
+     * @param runtime the runtime created by {@link ml.comet.experiment.ExperimentBuilder#CometRuntime()}.
+     * @return the builder configured to use the shared runtime.
+     */
+    ApiExperimentBuilder withRuntime(CometRuntime runtime);
 }
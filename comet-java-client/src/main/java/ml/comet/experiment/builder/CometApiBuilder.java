@@ -1,10 +1,18 @@
 package ml.comet.experiment.builder;
 
 import ml.comet.experiment.CometApi;
+import ml.comet.experiment.CometRuntime;
 
 /**
  * Defines the public contract of the factory builder to create properly initialized instances of the {@link CometApi}.
  */
 public interface CometApiBuilder extends BaseCometBuilder<CometApi> {
-
+    /**
+     * Sets the runtime to share the HTTP client and the retry timer with other experiments and {@link CometApi}
+     * instances built with the same runtime.
+     *
+     * @param runtime the runtime created by {@link ml.comet.experiment.ExperimentBuilder#CometRuntime()}.
+     * @return the builder configured to use the shared runtime.
+     */
+    CometApiBuilder withRuntime(CometRuntime runtime);
 }
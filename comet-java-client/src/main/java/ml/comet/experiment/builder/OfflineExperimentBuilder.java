@@ -0,0 +1,64 @@
+package ml.comet.experiment.builder;
+
+import ml.comet.experiment.OfflineExperiment;
+
+import java.io.File;
+
+/**
+ * Defines the public contract of the {@link OfflineExperiment} builder. This factory is preferred method to create
+ * properly initialized instance of the {@link OfflineExperiment}.
+ *
+ * <p>The built experiment only writes logged data into the journal, it has no connection to the Comet.ml server.
+ * Thus, the read operations inherited from the {@link ml.comet.experiment.Experiment}, such as
+ * {@code getMetrics} or {@code getArtifact}, are rejected with {@link UnsupportedOperationException}.
+ * Use {@link ml.comet.experiment.ApiExperiment} to read data of the experiment after journal was uploaded.
+ */
+public interface OfflineExperimentBuilder extends BaseCometBuilder<OfflineExperiment> {
+    /**
+     * Set project name for the experiment.
+     *
+     * @param projectName The project under which the experiment should run
+     * @return the builder configured with specified project name.
+     */
+    OfflineExperimentBuilder withProjectName(String projectName);
+
+    /**
+     * Set workspace for the project.
+     *
+     * @param workspace The workspace under which the experiment should be run.
+     * @return the builder configured with specified workspace name.
+     */
+    OfflineExperimentBuilder withWorkspace(String workspace);
+
+    /**
+     * Sets the name the experiment.
+     *
+     * @param experimentName name to be applied to the experiment
+     * @return the builder configured with specified experiment name.
+     */
+    OfflineExperimentBuilder withExperimentName(String experimentName);
+
+    /**
+     * Sets the directory where the journals of offline experiments are written. Each experiment writes its journal
+     * into the subdirectory named after the experiment key.
+     *
+     * @param offlineDirectory the directory to write journals of offline experiments.
+     * @return the builder configured with specified directory.
+     */
+    OfflineExperimentBuilder withOfflineDirectory(File offlineDirectory);
+
+    /**
+     * Sets the size of the journal segment file in bytes.
+     *
+     * @param segmentSize the size of the journal segment file in bytes.
+     * @return the builder configured with specified size of the journal segment.
+     */
+    OfflineExperimentBuilder withJournalSegmentSize(int segmentSize);
+
+    /**
+     * Turn on intercept of stdout and stderr and the logging of both into the journal.
+     *
+     * @return the builder configured with flag indicating that stdout and stderr stream should be intercepted.
+     */
+    OfflineExperimentBuilder interceptStdout();
+}
@@ -1,7 +1,12 @@
 package ml.comet.experiment.builder;
 
+import ml.comet.experiment.CometApi;
+import ml.comet.experiment.CometRuntime;
 import ml.comet.experiment.OnlineExperiment;
 
+import java.io.File;
+import java.time.Duration;
+
 /**
  * Defines the public contract of the {@link OnlineExperiment} builder. This factory is preferred method to create
  * properly initialized instance of the {@link OnlineExperiment}.
@@ -55,6 +60,34 @@ public interface OnlineExperimentBuilder extends BaseCometBuilder<OnlineExperime
      */
     OnlineExperimentBuilder withExistingExperimentKey(String experimentKey);
 
+    /**
+     * Enables the write-ahead log of the records to be sent. The records are persisted into the given directory
+     * before sending and records not received by the Comet are sent again when experiment with the same key is
+     * continued after crash.
+     *
+     * @param walDirectory the directory to write the write-ahead log.
+     * @return the builder configured with write-ahead log directory.
+     */
+    OnlineExperimentBuilder withWriteAheadLog(File walDirectory);
+
+    /**
+     * Enables periodic sampling of the JVM and system telemetry: CPU load, heap and non-heap usage, garbage
+     * collections, threads, allocation rate, direct buffers and process I/O. The samples are logged as metrics.
+     *
+     * @param interval the interval between samples.
+     * @return the builder configured to sample system metrics.
+     */
+    OnlineExperimentBuilder withSystemMetrics(Duration interval);
+
+    /**
+     * Sets the runtime to share the HTTP client and the retry timer with other experiments and {@link CometApi}
+     * instances built with the same runtime.
+     *
+     * @param runtime the runtime created by {@link ml.comet.experiment.ExperimentBuilder#CometRuntime()}.
+     * @return the builder configured to use the shared runtime.
+     */
+    OnlineExperimentBuilder withRuntime(CometRuntime runtime);
+
     /**
      * Turn on intercept of stdout and stderr and the logging of both in Comet.
      *
@@ -2,6 +2,9 @@ package ml.comet.experiment.exception;
 
 import lombok.Getter;
 
+import java.time.Duration;
+import java.util.Optional;
+
 /**
  * Signals that REST API call operation has been failed or returned unexpected result.
  */
@@ -12,6 +15,7 @@ public class CometApiException extends CometGeneralException {
     private int statusCode;
     @Getter
     private String statusMessage;
+    private Duration retryAfter;
 
     /**
      * Constructs a new runtime exception with the specified detail message.
@@ -40,6 +44,21 @@ public class CometApiException extends CometGeneralException {
         this.statusMessage = statusMessage;
     }
 
+    /**
+     * Constructs a new {@link CometApiException} with information about error returned by remote endpoint along
+     * with the time the remote endpoint asked to wait before retrying the request.
+     *
+     * @param statusCode    the HTTP status code.
+     * @param statusMessage the HTTP status message.
+     * @param sdkErrorCode  the Comet SDK error code related to this error.
+     * @param retryAfter    the time to wait before retry as requested by the {@code Retry-After} header
+     *                      or {@code null} if not requested.
+     */
+    public CometApiException(int statusCode, String statusMessage, int sdkErrorCode, Duration retryAfter) {
+        this(statusCode, statusMessage, sdkErrorCode);
+        this.retryAfter = retryAfter;
+    }
+
     /**
      * Constructs a new runtime exception with the specified detail message and
      * cause.
@@ -77,4 +96,13 @@ public class CometApiException extends CometGeneralException {
     public boolean hasErrorCode() {
         return this.sdkErrorCode > 0;
     }
+
+    /**
+     * Returns the time to wait before retry as requested by the remote endpoint with {@code Retry-After} header.
+     *
+     * @return the time to wait before retry or empty {@link Optional} if not requested.
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(this.retryAfter);
+    }
 }
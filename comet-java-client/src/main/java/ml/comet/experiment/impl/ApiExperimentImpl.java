@@ -3,6 +3,7 @@ package ml.comet.experiment.impl;
 import lombok.Getter;
 import lombok.NonNull;
 import ml.comet.experiment.ApiExperiment;
+import ml.comet.experiment.CometRuntime;
 import ml.comet.experiment.Experiment;
 import ml.comet.experiment.builder.ApiExperimentBuilder;
 import ml.comet.experiment.impl.config.CometConfig;
@@ -123,6 +124,7 @@ public final class ApiExperimentImpl extends BaseExperiment implements ApiExperi
         private Logger logger;
         private String projectName;
         private String workspace;
+        private CometRuntimeImpl runtime;
 
         private ApiExperimentBuilderImpl() {
         }
@@ -163,6 +165,12 @@ public final class ApiExperimentImpl extends BaseExperiment implements ApiExperi
             return this;
         }
 
+        @Override
+        public ApiExperimentImpl.ApiExperimentBuilderImpl withRuntime(@NonNull CometRuntime runtime) {
+            this.runtime = CometRuntimeImpl.fromRuntime(runtime);
+            return this;
+        }
+
         @Override
         public ApiExperiment build() {
             if (StringUtils.isBlank(this.apiKey)) {
@@ -183,6 +191,7 @@ public final class ApiExperimentImpl extends BaseExperiment implements ApiExperi
                     COMET_MAX_AUTH_RETRIES.getInt(),
                     COMET_TIMEOUT_CLEANING_SECONDS.getDuration(),
                     this.projectName, this.workspace);
+            experiment.runtime = this.runtime;
             try {
                 // initialize experiment
                 experiment.init();
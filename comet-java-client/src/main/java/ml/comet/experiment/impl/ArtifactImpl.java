@@ -6,6 +6,7 @@ import ml.comet.experiment.artifact.Artifact;
 import ml.comet.experiment.artifact.ArtifactAsset;
 import ml.comet.experiment.artifact.ArtifactBuilder;
 import ml.comet.experiment.artifact.ConflictingArtifactAssetNameException;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
 import ml.comet.experiment.impl.asset.AssetImpl;
 import ml.comet.experiment.impl.asset.RemoteAssetImpl;
@@ -27,6 +28,7 @@ import static ml.comet.experiment.impl.resources.LogMessages.CONFLICTING_ARTIFAC
 import static ml.comet.experiment.impl.resources.LogMessages.getString;
 import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromData;
 import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromFile;
+import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromSource;
 import static ml.comet.experiment.impl.utils.AssetUtils.createRemoteAsset;
 import static ml.comet.experiment.impl.utils.AssetUtils.walkFolderAssets;
 
@@ -102,6 +104,29 @@ public class ArtifactImpl extends BaseArtifactImpl implements Artifact {
         this.appendAsset(new ArtifactAssetImpl(asset));
     }
 
+    @Override
+    public void addAsset(@NonNull AssetSource source, @NonNull String logicalPath, boolean overwrite,
+                         @NonNull Map<String, Object> metadata) {
+        this.addAsset(source, logicalPath, overwrite, Optional.of(metadata));
+    }
+
+    @Override
+    public void addAsset(@NonNull AssetSource source, @NonNull String logicalPath, boolean overwrite) {
+        this.addAsset(source, logicalPath, overwrite, Optional.empty());
+    }
+
+    @Override
+    public void addAsset(@NonNull AssetSource source, @NonNull String logicalPath) {
+        this.addAsset(source, logicalPath, false);
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private void addAsset(@NonNull AssetSource source, @NonNull String name,
+                          boolean overwrite, @NonNull Optional<Map<String, Object>> metadata) {
+        AssetImpl asset = createAssetFromSource(source, name, overwrite, metadata, empty());
+        this.appendAsset(new ArtifactAssetImpl(asset));
+    }
+
     @Override
     public void addRemoteAsset(@NonNull URI uri, @NonNull String logicalPath,
                                boolean overwrite, @NonNull Map<String, Object> metadata) {
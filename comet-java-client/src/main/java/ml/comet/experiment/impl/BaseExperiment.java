@@ -24,6 +24,7 @@ import ml.comet.experiment.exception.CometGeneralException;
 import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
 import ml.comet.experiment.impl.asset.AssetImpl;
 import ml.comet.experiment.impl.asset.DownloadArtifactAssetOptions;
+import ml.comet.experiment.impl.asset.DownloadAssetOptions;
 import ml.comet.experiment.impl.http.Connection;
 import ml.comet.experiment.impl.http.ConnectionInitializer;
 import ml.comet.experiment.impl.rest.ArtifactDto;
@@ -37,6 +38,8 @@ import ml.comet.experiment.impl.rest.CreateExperimentResponse;
 import ml.comet.experiment.impl.rest.ExperimentStatusResponse;
 import ml.comet.experiment.impl.rest.MinMaxResponse;
 import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.upload.AssetPacker;
+import ml.comet.experiment.impl.upload.PackedFile;
 import ml.comet.experiment.impl.utils.CometUtils;
 import ml.comet.experiment.impl.utils.ExceptionUtils;
 import ml.comet.experiment.impl.utils.FileUtils;
@@ -50,18 +53,23 @@ import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import static java.util.Optional.empty;
 import static ml.comet.experiment.impl.asset.AssetType.ALL;
@@ -72,6 +80,7 @@ import static ml.comet.experiment.impl.constants.SdkErrorCodes.artifactVersionSt
 import static ml.comet.experiment.impl.constants.SdkErrorCodes.artifactVersionStateNotClosedErrorOccurred;
 import static ml.comet.experiment.impl.constants.SdkErrorCodes.noArtifactFound;
 import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_ASSETS_FILE_EXISTS_PRESERVING;
+import static ml.comet.experiment.impl.resources.LogMessages.ASSET_PACK_UNPACKED;
 import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_DOWNLOAD_FILE_OVERWRITTEN;
 import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_HAS_NO_DETAILS;
 import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_NOT_FOUND;
@@ -133,6 +142,12 @@ abstract class BaseExperiment implements Experiment {
     private RestApiClient restApiClient;
     @Getter
     private Connection connection;
+    /**
+     * The runtime shared with other experiments or {@code null} if this experiment owns its resources. Must be set
+     * before initialization.
+     */
+    CometRuntimeImpl runtime;
+    private boolean runtimeRetained;
 
     /**
      * Returns logger instance associated with particular experiment. The subclasses should override this method to
@@ -164,8 +179,15 @@ abstract class BaseExperiment implements Experiment {
     void init() {
         CometUtils.printCometSdkVersion();
         validateInitialParams();
-        this.connection = ConnectionInitializer.initConnection(
-                this.apiKey, this.baseUrl, this.maxAuthRetries, this.getLogger());
+        if (this.runtime != null) {
+            this.runtime.retain();
+            this.runtimeRetained = true;
+            this.connection = ConnectionInitializer.initConnection(
+                    this.apiKey, this.baseUrl, this.maxAuthRetries, this.runtime, this.getLogger());
+        } else {
+            this.connection = ConnectionInitializer.initConnection(
+                    this.apiKey, this.baseUrl, this.maxAuthRetries, this.getLogger());
+        }
         this.restApiClient = new RestApiClient(this.connection);
         // mark as initialized
         this.alive = true;
@@ -686,6 +708,61 @@ abstract class BaseExperiment implements Experiment {
         }
     }
 
+    /**
+     * Allows to synchronously download the pack of the {@link LoggedArtifactAsset} files and to unpack it
+     * into the local file system.
+     *
+     * @param asset             the pack asset to be downloaded.
+     * @param dir               the parent directory where packed files should be stored.
+     * @param overwriteStrategy the overwrite strategy to be applied if file already exists.
+     * @return the list of {@link ArtifactAsset} instances with details about unpacked files.
+     * @throws ArtifactDownloadException if failed to download or unpack the asset.
+     */
+    List<ArtifactAsset> downloadArtifactPack(@NonNull LoggedArtifactAssetImpl asset, @NonNull Path dir,
+                                             @NonNull AssetOverwriteStrategy overwriteStrategy)
+            throws ArtifactDownloadException {
+        if (asset.isRemote()) {
+            throw new ArtifactDownloadException(getString(REMOTE_ASSET_CANNOT_BE_DOWNLOADED, asset));
+        }
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(null, null);
+            DownloadArtifactAssetOptions opts = new DownloadArtifactAssetOptions(
+                    asset.getAssetId(), asset.getArtifactVersionId(), temp.toFile());
+            RestApiResponse response = validateAndGetExperimentKey()
+                    .concatMap(experimentKey -> getRestApiClient().downloadArtifactAsset(opts, experimentKey))
+                    .blockingGet();
+            if (response.hasFailed()) {
+                this.getLogger().error(getString(FAILED_TO_DOWNLOAD_ASSET, asset, response));
+                throw new ArtifactDownloadException(getString(FAILED_TO_DOWNLOAD_ASSET, asset, response));
+            }
+
+            List<PackedFile> files;
+            try (InputStream in = Files.newInputStream(temp)) {
+                files = AssetPacker.unpack(in, dir, overwriteStrategy);
+            }
+            List<ArtifactAsset> unpacked = new ArrayList<>(files.size());
+            for (PackedFile file : files) {
+                if (file.getFile() != null) {
+                    unpacked.add(new ArtifactAssetImpl(file.getLogicalPath(), file.getFile(),
+                            Files.size(file.getFile()), file.getMetadata(), file.getType()));
+                }
+            }
+            getLogger().info(getString(ASSET_PACK_UNPACKED, unpacked.size(), asset.getLogicalPath(), dir));
+            return unpacked;
+        } catch (FileAlreadyExistsException e) {
+            this.getLogger().error(getString(FAILED_TO_DOWNLOAD_ASSET_FILE_ALREADY_EXISTS, asset, e.getFile()), e);
+            throw new ArtifactDownloadException(
+                    getString(FAILED_TO_DOWNLOAD_ASSET_FILE_ALREADY_EXISTS, asset, e.getFile()), e);
+        } catch (IOException e) {
+            this.getLogger().error(getString(FAILED_TO_DOWNLOAD_ASSET, asset, e.getMessage()), e);
+            throw new ArtifactDownloadException(getString(FAILED_TO_DOWNLOAD_ASSET, asset, e.getMessage()), e);
+        } finally {
+            this.deleteTemporaryFile(temp, asset);
+        }
+    }
+
     /**
      * Allows to synchronously download specific {@link LoggedArtifactAsset} to the local file system.
      *
@@ -791,6 +868,17 @@ abstract class BaseExperiment implements Experiment {
         }
     }
 
+    private void deleteTemporaryFile(Path temp, Object asset) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            this.getLogger().error(getString(FAILED_TO_DELETE_TEMPORARY_ASSET_FILE, temp, asset), e);
+        }
+    }
+
     @Override
     public ExperimentMetadata getMetadata() {
         if (getLogger().isDebugEnabled()) {
@@ -895,9 +983,59 @@ abstract class BaseExperiment implements Experiment {
         return this.getAssetList(ALL.type());
     }
 
+    @Override
+    public List<Path> downloadAsset(@NonNull LoggedExperimentAsset asset, @NonNull Path dir,
+                                    @NonNull AssetOverwriteStrategy overwriteStrategy) throws CometGeneralException {
+        if (asset.isRemote()) {
+            throw new CometGeneralException(getString(REMOTE_ASSET_CANNOT_BE_DOWNLOADED, asset));
+        }
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(null, null);
+            DownloadAssetOptions opts = new DownloadAssetOptions(asset.getAssetId(), temp.toFile());
+            RestApiResponse response = validateAndGetExperimentKey()
+                    .concatMap(experimentKey -> getRestApiClient().downloadExperimentAsset(opts, experimentKey))
+                    .blockingGet();
+            if (response.hasFailed()) {
+                this.getLogger().error(getString(FAILED_TO_DOWNLOAD_ASSET, asset, response));
+                throw new CometGeneralException(getString(FAILED_TO_DOWNLOAD_ASSET, asset, response));
+            }
+
+            try (InputStream in = Files.newInputStream(temp)) {
+                if (AssetPacker.isPack(asset.getLogicalPath())) {
+                    List<Path> files = AssetPacker.unpack(in, dir, overwriteStrategy).stream()
+                            .map(PackedFile::getFile)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList());
+                    getLogger().info(getString(ASSET_PACK_UNPACKED, files.size(), asset.getLogicalPath(), dir));
+                    return files;
+                }
+                return Collections.singletonList(
+                        FileUtils.writeAssetFile(in, dir, Paths.get(asset.getLogicalPath()), overwriteStrategy));
+            }
+        } catch (FileAlreadyExistsException e) {
+            this.getLogger().error(getString(FAILED_TO_DOWNLOAD_ASSET_FILE_ALREADY_EXISTS, asset, e.getFile()), e);
+            throw new CometGeneralException(
+                    getString(FAILED_TO_DOWNLOAD_ASSET_FILE_ALREADY_EXISTS, asset, e.getFile()), e);
+        } catch (IOException e) {
+            this.getLogger().error(getString(FAILED_TO_DOWNLOAD_ASSET, asset, e.getMessage()), e);
+            throw new CometGeneralException(getString(FAILED_TO_DOWNLOAD_ASSET, asset, e.getMessage()), e);
+        } finally {
+            this.deleteTemporaryFile(temp, asset);
+        }
+    }
+
+    @Override
+    public List<Path> downloadAsset(@NonNull LoggedExperimentAsset asset, @NonNull Path dir)
+            throws CometGeneralException {
+        return this.downloadAsset(asset, dir, AssetOverwriteStrategy.FAIL_IF_DIFFERENT);
+    }
+
     @Override
     public void end() {
         if (!this.alive) {
+            this.releaseRuntime();
             return;
         }
 
@@ -918,21 +1056,29 @@ abstract class BaseExperiment implements Experiment {
                 getLogger().error("failed to close connection", e);
             }
         }
+
+        // release shared runtime
+        this.releaseRuntime();
+    }
+
+    private void releaseRuntime() {
+        if (this.runtimeRetained) {
+            this.runtimeRetained = false;
+            this.runtime.release();
+        }
     }
 
     /**
-     * Sends heartbeat to the server and returns the status response.
+     * Sends heartbeat to the server asynchronously.
      *
-     * @return the status response of the experiment.
+     * @return the {@link Single} emitting the status response of the experiment.
      */
-    Optional<ExperimentStatusResponse> sendExperimentStatus() {
+    Single<ExperimentStatusResponse> sendExperimentStatusAsync() {
         if (!this.alive) {
-            return Optional.empty();
+            return Single.error(new IllegalStateException("experiment is not alive"));
         }
-        return Optional.ofNullable(validateAndGetExperimentKey()
-                .concatMap(experimentKey -> restApiClient.sendExperimentStatus(experimentKey))
-                .onErrorComplete()
-                .blockingGet());
+        return validateAndGetExperimentKey()
+                .concatMap(experimentKey -> restApiClient.sendExperimentStatus(experimentKey));
     }
 
     /**
@@ -1027,12 +1173,27 @@ abstract class BaseExperiment implements Experiment {
      * @return the experiment key or error as {@link Single}.
      */
     Single<String> validateAndGetExperimentKey() {
+        try {
+            return Single.just(this.checkAndGetExperimentKey());
+        } catch (IllegalStateException e) {
+            return Single.error(e);
+        }
+    }
+
+    /**
+     * Validates the experiment state and return the experiment key synchronously. It is intended for the hot paths
+     * invoked per logged record, which must not create the {@link Single} and block on it.
+     *
+     * @return the experiment key.
+     * @throws IllegalStateException if experiment key is not present or experiment is not alive.
+     */
+    String checkAndGetExperimentKey() throws IllegalStateException {
         if (StringUtils.isBlank(this.experimentKey)) {
-            return Single.error(new IllegalStateException("Experiment key must be present!"));
+            throw new IllegalStateException("Experiment key must be present!");
         }
         if (!this.alive) {
-            return Single.error(new IllegalStateException("Experiment is not alive or already closed."));
+            throw new IllegalStateException("Experiment is not alive or already closed.");
         }
-        return Single.just(getExperimentKey());
+        return getExperimentKey();
     }
 }
@@ -1,10 +1,12 @@
 package ml.comet.experiment.impl;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Action;
 import io.reactivex.rxjava3.functions.BiFunction;
+import io.reactivex.rxjava3.functions.Supplier;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import lombok.NonNull;
 import ml.comet.experiment.artifact.Artifact;
@@ -12,37 +14,74 @@ import ml.comet.experiment.artifact.ArtifactAsset;
 import ml.comet.experiment.artifact.ArtifactException;
 import ml.comet.experiment.artifact.LoggedArtifact;
 import ml.comet.experiment.asset.Asset;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.asset.RemoteAsset;
 import ml.comet.experiment.context.ExperimentContext;
+import ml.comet.experiment.exception.CometApiException;
 import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
 import ml.comet.experiment.impl.asset.AssetImpl;
 import ml.comet.experiment.impl.asset.AssetType;
 import ml.comet.experiment.impl.asset.RemoteAssetImpl;
+import ml.comet.experiment.impl.batch.LogRecordsBatcher;
+import ml.comet.experiment.impl.batch.PrimitiveMetricsBuffer;
+import ml.comet.experiment.impl.http.Connection;
+import ml.comet.experiment.impl.journal.WriteAheadLog;
+import ml.comet.experiment.impl.queue.LogRecord;
+import ml.comet.experiment.impl.queue.LogRecordsDispatcher;
+import ml.comet.experiment.impl.queue.LogRecordsQueue;
+import ml.comet.experiment.impl.queue.OverflowPolicy;
 import ml.comet.experiment.impl.rest.ArtifactEntry;
 import ml.comet.experiment.impl.rest.ArtifactVersionState;
+import ml.comet.experiment.impl.rest.BaseExperimentObject;
 import ml.comet.experiment.impl.rest.HtmlRest;
 import ml.comet.experiment.impl.rest.LogOtherRest;
 import ml.comet.experiment.impl.rest.MetricRest;
+import ml.comet.experiment.impl.rest.MetricsBatchRest;
+import ml.comet.experiment.impl.rest.OutputLine;
 import ml.comet.experiment.impl.rest.OutputUpdate;
 import ml.comet.experiment.impl.rest.ParameterRest;
 import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.retry.RetryPolicy;
+import ml.comet.experiment.impl.retry.RetryScheduler;
+import ml.comet.experiment.impl.stats.SdkStatsRegistry;
+import ml.comet.experiment.impl.upload.AssetPacker;
+import ml.comet.experiment.impl.upload.FolderUploadScheduler;
+import ml.comet.experiment.impl.upload.UploadDeduplicator;
 import ml.comet.experiment.impl.utils.AssetUtils;
+import ml.comet.experiment.impl.utils.Inventory;
+import ml.comet.experiment.impl.utils.JsonUtils;
 import ml.comet.experiment.model.GitMetaData;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.Optional.empty;
 import static ml.comet.experiment.artifact.GetArtifactOptions.Op;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_GIT_METADATA;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_GRAPH;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_HTML;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_LOG_OTHER;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_METRIC;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_METRICS_BATCH;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_OUTPUT;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_PARAMETER;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_START_END_TIME;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_TAG;
 import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_LOGGED_WITHOUT_ASSETS;
 import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_UPLOAD_COMPLETED;
 import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_UPLOAD_STARTED;
@@ -56,14 +95,17 @@ import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_SEND_LOG_
 import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_UPLOAD_SOME_ARTIFACT_ASSET;
 import static ml.comet.experiment.impl.resources.LogMessages.LOG_ASSET_FOLDER_EMPTY;
 import static ml.comet.experiment.impl.resources.LogMessages.LOG_REMOTE_ASSET_URI_FILE_NAME_TO_DEFAULT;
+import static ml.comet.experiment.impl.resources.LogMessages.UNCHANGED_ASSETS_SKIPPED;
 import static ml.comet.experiment.impl.resources.LogMessages.getString;
 import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromData;
 import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromFile;
+import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromSource;
 import static ml.comet.experiment.impl.utils.RestApiUtils.createGitMetadataRequest;
 import static ml.comet.experiment.impl.utils.RestApiUtils.createGraphRequest;
 import static ml.comet.experiment.impl.utils.RestApiUtils.createLogEndTimeRequest;
 import static ml.comet.experiment.impl.utils.RestApiUtils.createLogHtmlRequest;
 import static ml.comet.experiment.impl.utils.RestApiUtils.createLogLineRequest;
+import static ml.comet.experiment.impl.utils.RestApiUtils.createLogLinesRequest;
 import static ml.comet.experiment.impl.utils.RestApiUtils.createLogMetricRequest;
 import static ml.comet.experiment.impl.utils.RestApiUtils.createLogOtherRequest;
 import static ml.comet.experiment.impl.utils.RestApiUtils.createLogParamRequest;
@@ -77,15 +119,337 @@ import static ml.comet.experiment.impl.utils.RestApiUtils.createTagRequest;
 abstract class BaseExperimentAsync extends BaseExperiment {
     final ExperimentContext baseContext;
 
+    final int metricsBatchSize;
+    final Duration metricsBatchLinger;
+    // The batcher to collect metric records into multi-record requests, null if batching is disabled
+    private LogRecordsBatcher<MetricRest> metricsBatcher;
+    // The buffer to collect primitive metric values without allocation per value, null if batching is disabled
+    private PrimitiveMetricsBuffer primitiveMetricsBuffer;
+
+    final int logRecordsQueueCapacity;
+    final OverflowPolicy logRecordsOverflowPolicy;
+    final int logRecordsMaxInFlight;
+    // The dispatcher to send write records through the bounded queue
+    private LogRecordsDispatcher logRecordsDispatcher;
+    // The write-ahead log of the write records, null if disabled
+    private WriteAheadLog writeAheadLog;
+    // The inventory of the write records accepted for sending and not yet sent or dropped
+    final Inventory logRecordsInventory = new Inventory();
+
+    final RetryPolicy retryPolicy;
+    // The scheduler to retry failed requests, null if retries are disabled
+    private RetryScheduler retryScheduler;
+
+    // The maximal number of files hashed concurrently to skip unchanged files, deduplication is disabled if zero
+    final int uploadDedupeParallelism;
+    // The directory to keep the upload manifests and the indexes of the uploaded files
+    final File uploadManifestDirectory;
+    private UploadDeduplicator uploadDeduplicator;
+    // The scheduler limiting concurrent uploads of the asset folders files, shared by all folders of the experiment
+    private FolderUploadScheduler folderUploadScheduler;
+    // The registry of the SDK statistics shared with the connection if it is established
+    private SdkStatsRegistry statsRegistry;
+
     BaseExperimentAsync(@NonNull final String apiKey,
                         @NonNull final String baseUrl,
                         int maxAuthRetries,
                         final String experimentKey,
                         @NonNull final Duration cleaningTimeout,
                         final String projectName,
-                        final String workspaceName) {
+                        final String workspaceName,
+                        int metricsBatchSize,
+                        @NonNull final Duration metricsBatchLinger,
+                        int logRecordsQueueCapacity,
+                        @NonNull final OverflowPolicy logRecordsOverflowPolicy,
+                        int logRecordsMaxInFlight,
+                        @NonNull final RetryPolicy retryPolicy,
+                        int uploadDedupeParallelism,
+                        @NonNull final File uploadManifestDirectory) {
         super(apiKey, baseUrl, maxAuthRetries, experimentKey, cleaningTimeout, projectName, workspaceName);
         this.baseContext = ExperimentContext.empty();
+        this.metricsBatchSize = metricsBatchSize;
+        this.metricsBatchLinger = metricsBatchLinger;
+        this.logRecordsQueueCapacity = logRecordsQueueCapacity;
+        this.logRecordsOverflowPolicy = logRecordsOverflowPolicy;
+        this.logRecordsMaxInFlight = logRecordsMaxInFlight;
+        this.retryPolicy = retryPolicy;
+        this.uploadDedupeParallelism = uploadDedupeParallelism;
+        this.uploadManifestDirectory = uploadManifestDirectory;
+    }
+
+    @Override
+    void init() {
+        super.init();
+        this.initAsyncLogging();
+    }
+
+    /**
+     * Creates the queue of the write records along with the metric batchers. Must be invoked during initialization
+     * before any record is logged. If connection is established, the write records are held in the queue while
+     * the circuit breaker of the connection is open.
+     */
+    void initAsyncLogging() {
+        if (this.retryPolicy.isEnabled()) {
+            if (this.runtime != null) {
+                this.retryScheduler = new RetryScheduler(this.retryPolicy, this.runtime.getRetryTimer(), getLogger());
+            } else {
+                // the retries are scheduled on the timer shared by all experiments in the process
+                this.retryScheduler = new RetryScheduler(this.retryPolicy, getLogger());
+            }
+        }
+        BooleanSupplier backendAvailable = () -> true;
+        Connection connection = getConnection();
+        if (connection != null) {
+            backendAvailable = connection.getCircuitBreaker()::isCallPermitted;
+            this.statsRegistry = connection.getStatsRegistry();
+        } else {
+            this.statsRegistry = new SdkStatsRegistry();
+        }
+        LogRecordsQueue queue = new LogRecordsQueue(
+                this.logRecordsQueueCapacity, this.logRecordsOverflowPolicy, getLogger());
+        Scheduler lingerScheduler;
+        if (this.runtime != null) {
+            // the queues and the batches of all experiments of the runtime are served by the same threads
+            this.logRecordsDispatcher = new LogRecordsDispatcher(queue, this.logRecordsMaxInFlight,
+                    this::sendAndAcknowledge, backendAvailable, this.runtime.getDispatchLoop(), getLogger());
+            lingerScheduler = this.runtime.getLingerScheduler();
+        } else {
+            this.logRecordsDispatcher = new LogRecordsDispatcher(
+                    queue, this.logRecordsMaxInFlight, this::sendAndAcknowledge, backendAvailable, getLogger());
+            lingerScheduler = Schedulers.computation();
+        }
+
+        if (this.metricsBatchSize > 1) {
+            this.metricsBatcher = new LogRecordsBatcher<>(
+                    this.metricsBatchSize, this.metricsBatchLinger, lingerScheduler, this::sendMetricsBatch);
+            this.primitiveMetricsBuffer = new PrimitiveMetricsBuffer(this.metricsBatchSize, this.metricsBatchLinger,
+                    lingerScheduler, this::appendMetricsBatchHead, "}", this::sendMetricsBatch);
+        }
+    }
+
+    /**
+     * Opens the write-ahead log of the write records in the given directory and dispatches all records left
+     * unacknowledged by the previous run of this experiment. Must be invoked after the experiment key is known.
+     *
+     * @param walDirectory   the root directory of the write-ahead logs.
+     * @param commitInterval the time to collect appended records before forcing them to the storage device.
+     * @throws IOException if failed to open the write-ahead log.
+     */
+    void openWriteAheadLog(@NonNull File walDirectory, @NonNull Duration commitInterval) throws IOException {
+        this.writeAheadLog = new WriteAheadLog(walDirectory.toPath().resolve(this.experimentKey),
+                WriteAheadLog.DEFAULT_SEGMENT_SIZE, commitInterval, this.logRecordsDispatcher::dispatch, getLogger());
+        List<LogRecord> records = this.writeAheadLog.replay();
+        if (!records.isEmpty()) {
+            getLogger().info("replaying {} unacknowledged records from the write-ahead log", records.size());
+            records.forEach(this.logRecordsDispatcher::dispatch);
+        }
+    }
+
+    /**
+     * Flushes and closes the write-ahead log if it was opened. Must be invoked after waiting for the inventory
+     * cleanup.
+     */
+    void closeWriteAheadLog() {
+        if (this.writeAheadLog != null) {
+            this.writeAheadLog.close();
+        }
+    }
+
+    /**
+     * Sends the write record and acknowledges it in the write-ahead log when it was received by the Comet. The
+     * records rejected by the Comet as malformed are acknowledged as well, because retry will not help them.
+     *
+     * @param record the write record to be sent.
+     * @return the {@link Single} which can be used to subscribe for operation results.
+     */
+    private Single<RestApiResponse> sendAndAcknowledge(@NonNull LogRecord record) {
+        // neither retries nor concurrent requests must reorder records of the same series
+        String seriesKey = record.getSeriesKey() != null
+                ? record.getSeriesKey() : seriesKey(this.experimentKey, record.getEndpoint(), null);
+        Single<RestApiResponse> single = this.withRetries(seriesKey, () -> this.sendLogRecord(record));
+        WriteAheadLog wal = this.writeAheadLog;
+        if (wal == null || !record.isLogged()) {
+            return single;
+        }
+        return single
+                .doOnSuccess(response -> {
+                    if (!response.hasFailed()) {
+                        wal.acknowledge(record.getSequence());
+                    }
+                })
+                .doOnError(throwable -> {
+                    if (throwable instanceof CometApiException) {
+                        int statusCode = ((CometApiException) throwable).getStatusCode();
+                        if (statusCode >= 400 && statusCode < 500 && statusCode != 429) {
+                            wal.acknowledge(record.getSequence());
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Executes the request produced by the given supplier retrying it if failed and retries are enabled.
+     *
+     * @param seriesKey the key of the series the request belongs to or {@code null} if order is not important.
+     * @param request   the supplier of the request invoked for every attempt.
+     * @param <T>       the type of the request result.
+     * @return the {@link Single} which can be used to subscribe for operation results.
+     */
+    <T> Single<T> withRetries(String seriesKey, @NonNull Supplier<Single<T>> request) {
+        RetryScheduler scheduler = this.retryScheduler;
+        if (scheduler == null) {
+            return Single.defer(request);
+        }
+        return scheduler.execute(seriesKey, request);
+    }
+
+    /**
+     * Stops retrying of the failed requests. All requests waiting for retry are abandoned. Must be invoked
+     * after waiting for the inventory cleanup.
+     */
+    void closeRetryScheduler() {
+        if (this.retryScheduler != null) {
+            this.retryScheduler.close();
+        }
+    }
+
+    /**
+     * Returns the deduplicator skipping upload of unchanged asset files or {@code null} if deduplication is disabled
+     * or the experiment key is not known yet. The deduplicator is created on first use.
+     *
+     * @return the deduplicator skipping upload of unchanged asset files.
+     */
+    synchronized UploadDeduplicator getUploadDeduplicator() {
+        if (this.uploadDeduplicator == null && this.experimentKey != null) {
+            if (this.uploadDedupeParallelism > 0) {
+                Path indexPath = this.uploadManifestDirectory.toPath()
+                        .resolve(UploadDeduplicator.INDEX_DIRECTORY).resolve(this.experimentKey + ".json");
+                this.uploadDeduplicator = new UploadDeduplicator(indexPath, this.uploadDedupeParallelism);
+            }
+        }
+        return this.uploadDeduplicator;
+    }
+
+    /**
+     * Returns the scheduler limiting the number and the total size of the asset folders files uploaded concurrently.
+     * The scheduler is created on first use.
+     *
+     * @return the scheduler limiting concurrent uploads of the asset folders files.
+     */
+    synchronized FolderUploadScheduler getFolderUploadScheduler() {
+        if (this.folderUploadScheduler == null) {
+            this.folderUploadScheduler = FolderUploadScheduler.fromConfig();
+        }
+        return this.folderUploadScheduler;
+    }
+
+    /**
+     * Writes the index of the uploaded asset files and stops the deduplicator. Must be invoked after waiting
+     * for the inventory cleanup.
+     */
+    synchronized void closeUploadDeduplicator() {
+        if (this.uploadDeduplicator != null) {
+            this.uploadDeduplicator.close();
+            this.uploadDeduplicator = null;
+        }
+    }
+
+    /**
+     * Returns the scheduler retrying failed requests or {@code null} if retries are disabled.
+     *
+     * @return the scheduler retrying failed requests.
+     */
+    RetryScheduler getRetryScheduler() {
+        return this.retryScheduler;
+    }
+
+    /**
+     * Returns the registry of the SDK statistics or {@code null} if asynchronous logging was not initialized.
+     *
+     * @return the registry of the SDK statistics.
+     */
+    SdkStatsRegistry getStatsRegistry() {
+        return this.statsRegistry;
+    }
+
+    /**
+     * Sends the write record taken from the queue to the Comet.
+     *
+     * @param record the write record to be sent.
+     * @return the {@link Single} which can be used to subscribe for operation results.
+     */
+    Single<RestApiResponse> sendLogRecord(@NonNull LogRecord record) {
+        return getRestApiClient().sendLogRecord(record);
+    }
+
+    /**
+     * Returns {@code true} if the metric records are collected into batches in memory before sending. The batching
+     * is bypassed while the write-ahead log is open, thus the metric records are appended to the log when they are
+     * logged and can not be lost in the batch if the process is killed.
+     *
+     * @return {@code true} if the metric records are collected into batches in memory before sending.
+     */
+    private boolean isBatchingMetrics() {
+        return this.metricsBatcher != null && this.writeAheadLog == null;
+    }
+
+    /**
+     * Sends all metric records collected so far without waiting for the batches to fill up or linger time to expire.
+     */
+    void flushMetricsBatcher() {
+        if (this.metricsBatcher != null) {
+            this.metricsBatcher.flush();
+        }
+        if (this.primitiveMetricsBuffer != null) {
+            this.primitiveMetricsBuffer.flush();
+        }
+    }
+
+    /**
+     * Sends all pending metric records and stops batching. Must be invoked before waiting for the inventory cleanup.
+     */
+    void closeMetricsBatcher() {
+        if (this.metricsBatcher != null) {
+            this.metricsBatcher.close();
+        }
+        if (this.primitiveMetricsBuffer != null) {
+            this.primitiveMetricsBuffer.close();
+        }
+    }
+
+    /**
+     * Stops sending of the write records. All records still waiting in the queue are dropped. Must be invoked
+     * after waiting for the inventory cleanup.
+     */
+    void closeLogRecordsDispatcher() {
+        if (this.logRecordsDispatcher != null) {
+            this.logRecordsDispatcher.close();
+        }
+    }
+
+    /**
+     * Returns the queue of the write records waiting to be sent or {@code null} if experiment is not initialized.
+     *
+     * @return the queue of the write records waiting to be sent.
+     */
+    LogRecordsQueue getLogRecordsQueue() {
+        if (this.logRecordsDispatcher == null) {
+            return null;
+        }
+        return this.logRecordsDispatcher.getQueue();
+    }
+
+    /**
+     * Returns the number of write records waiting in the queue or being sent.
+     *
+     * @return the number of write records waiting in the queue or being sent.
+     */
+    int getPendingLogRecordsCount() {
+        if (this.logRecordsDispatcher == null) {
+            return 0;
+        }
+        int uncommitted = this.writeAheadLog != null ? this.writeAheadLog.getUncommittedCount() : 0;
+        return this.logRecordsDispatcher.getPendingCount() + uncommitted;
     }
 
     ExperimentContext mergeWithBaseContextIfEmpty(ExperimentContext context) {
@@ -115,7 +479,117 @@ abstract class BaseExperimentAsync extends BaseExperiment {
         }
 
         MetricRest metricRequest = createLogMetricRequest(metricName, metricValue, ctx);
-        this.sendAsynchronously(getRestApiClient()::logMetric, metricRequest, onComplete);
+        if (this.isBatchingMetrics()) {
+            this.metricsBatcher.add(metricRequest, onComplete);
+        } else {
+            this.sendAsynchronously(ADD_METRIC, metricRequest, onComplete);
+        }
+    }
+
+    /**
+     * Asynchronous version that logs metric with primitive value using current step, epoch and context of
+     * the experiment. The record is written into the preallocated buffer without intermediate objects if
+     * batching enabled, otherwise it is sent as regular metric record.
+     *
+     * @param metricName  The name for the metric to be logged
+     * @param metricValue The new value for the metric.
+     */
+    void logMetricFast(@NonNull String metricName, double metricValue) {
+        if (this.primitiveMetricsBuffer == null || !this.isBatchingMetrics()) {
+            this.logMetric(metricName, metricValue, ExperimentContext.empty(), empty());
+            return;
+        }
+        this.primitiveMetricsBuffer.add(metricName, metricValue,
+                this.baseContext.getStep(), this.baseContext.getEpoch(), this.baseContext.getContext());
+    }
+
+    /**
+     * Asynchronous version that logs metric with primitive value using current step, epoch and context of
+     * the experiment. See {@link #logMetricFast(String, double)}.
+     *
+     * @param metricName  The name for the metric to be logged
+     * @param metricValue The new value for the metric.
+     */
+    void logMetricFast(@NonNull String metricName, float metricValue) {
+        if (this.primitiveMetricsBuffer == null || !this.isBatchingMetrics()) {
+            this.logMetric(metricName, metricValue, ExperimentContext.empty(), empty());
+            return;
+        }
+        this.primitiveMetricsBuffer.add(metricName, metricValue,
+                this.baseContext.getStep(), this.baseContext.getEpoch(), this.baseContext.getContext());
+    }
+
+    /**
+     * Asynchronous version that logs metric with primitive value using current step, epoch and context of
+     * the experiment. See {@link #logMetricFast(String, double)}.
+     *
+     * @param metricName  The name for the metric to be logged
+     * @param metricValue The new value for the metric.
+     */
+    void logMetricFast(@NonNull String metricName, long metricValue) {
+        if (this.primitiveMetricsBuffer == null || !this.isBatchingMetrics()) {
+            this.logMetric(metricName, metricValue, ExperimentContext.empty(), empty());
+            return;
+        }
+        this.primitiveMetricsBuffer.add(metricName, metricValue,
+                this.baseContext.getStep(), this.baseContext.getEpoch(), this.baseContext.getContext());
+    }
+
+    /**
+     * Asynchronous version that only logs any received exceptions or failures. All provided metrics are sent
+     * together as one group of records.
+     *
+     * @param metrics    the map with names and values of the metrics to be logged.
+     * @param context    the context to be associated with all metrics.
+     * @param onComplete The optional action to be invoked when this operation asynchronously completes.
+     *                   Can be {@code null} if not interested in completion signal.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    void logMetrics(@NonNull Map<String, Number> metrics,
+                    @NonNull ExperimentContext context, @NonNull Optional<Action> onComplete) {
+        ExperimentContext ctx = mergeWithBaseContextIfEmpty(context);
+
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("logMetricsAsync {}, context: {}", metrics, ctx);
+        }
+
+        List<MetricRest> group = new ArrayList<>(metrics.size());
+        metrics.forEach((metricName, metricValue) -> group.add(createLogMetricRequest(metricName, metricValue, ctx)));
+        if (this.isBatchingMetrics()) {
+            this.metricsBatcher.addAll(group, onComplete);
+        } else {
+            this.sendMetricsBatch(group, onComplete);
+        }
+    }
+
+    /**
+     * Sends the batch of metric records as one request.
+     *
+     * @param batch      the list of metric records.
+     * @param onComplete The optional action to be invoked when this operation asynchronously completes.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private void sendMetricsBatch(@NonNull List<MetricRest> batch, @NonNull Optional<Action> onComplete) {
+        this.sendAsynchronously(ADD_METRICS_BATCH, new MetricsBatchRest(batch), onComplete);
+    }
+
+    /**
+     * Writes the head of the metrics batch request payload preceding the JSON encoded array of metric records.
+     *
+     * @param sb the pooled buffer of the primitive metrics batch.
+     */
+    private void appendMetricsBatchHead(@NonNull StringBuilder sb) {
+        sb.append("{\"experimentKey\":\"").append(this.experimentKey).append("\",\"metrics\":");
+    }
+
+    /**
+     * Sends the metrics batch request payload formatted by the primitive metrics buffer. The payload already holds
+     * the experiment key, which is validated before sending, thus the pooled buffer is only copied into the record.
+     *
+     * @param payload the pooled buffer with the metrics batch request payload.
+     */
+    private void sendMetricsBatch(@NonNull CharSequence payload) {
+        this.sendAsynchronously(ADD_METRICS_BATCH, experimentKey -> payload.toString(), "metrics batch", empty());
     }
 
     /**
@@ -137,7 +611,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
         }
 
         ParameterRest paramRequest = createLogParamRequest(parameterName, paramValue, ctx);
-        this.sendAsynchronously(getRestApiClient()::logParameter, paramRequest, onComplete);
+        this.sendAsynchronously(ADD_PARAMETER, paramRequest, onComplete);
     }
 
     /**
@@ -156,7 +630,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
         }
 
         HtmlRest htmlRequest = createLogHtmlRequest(html, override);
-        this.sendAsynchronously(getRestApiClient()::logHtml, htmlRequest, onComplete);
+        this.sendAsynchronously(ADD_HTML, htmlRequest, onComplete);
     }
 
     /**
@@ -174,7 +648,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
         }
 
         LogOtherRest request = createLogOtherRequest(key, value);
-        sendAsynchronously(getRestApiClient()::logOther, request, onComplete);
+        sendAsynchronously(ADD_LOG_OTHER, request, onComplete);
     }
 
     /**
@@ -190,7 +664,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
             getLogger().debug("addTagAsync {}", tag);
         }
 
-        sendAsynchronously(getRestApiClient()::addTag, createTagRequest(tag), onComplete);
+        sendAsynchronously(ADD_TAG, createTagRequest(tag), onComplete);
     }
 
     /**
@@ -206,7 +680,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
             getLogger().debug("logGraphAsync {}", graph);
         }
 
-        sendAsynchronously(getRestApiClient()::logGraph, createGraphRequest(graph), onComplete);
+        sendAsynchronously(ADD_GRAPH, createGraphRequest(graph), onComplete);
     }
 
     /**
@@ -222,7 +696,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
             getLogger().debug("logStartTimeAsync {}", startTimeMillis);
         }
 
-        sendAsynchronously(getRestApiClient()::logStartEndTime, createLogStartTimeRequest(startTimeMillis), onComplete);
+        sendAsynchronously(ADD_START_END_TIME, createLogStartTimeRequest(startTimeMillis), onComplete);
     }
 
     /**
@@ -238,7 +712,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
             getLogger().debug("logEndTimeAsync {}", endTimeMillis);
         }
 
-        sendAsynchronously(getRestApiClient()::logStartEndTime, createLogEndTimeRequest(endTimeMillis), onComplete);
+        sendAsynchronously(ADD_START_END_TIME, createLogEndTimeRequest(endTimeMillis), onComplete);
     }
 
     /**
@@ -254,7 +728,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
             getLogger().debug("logGitMetadata {}", gitMetaData);
         }
 
-        sendAsynchronously(getRestApiClient()::logGitMetadata, createGitMetadataRequest(gitMetaData), onComplete);
+        sendAsynchronously(ADD_GIT_METADATA, createGitMetadataRequest(gitMetaData), onComplete);
     }
 
     /**
@@ -269,15 +743,50 @@ abstract class BaseExperimentAsync extends BaseExperiment {
      */
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     void logLine(String line, long offset, boolean stderr, String context, @NonNull Optional<Action> onComplete) {
+        this.logOutput(createLogLineRequest(line, offset, stderr, context), onComplete);
+    }
+
+    /**
+     * Asynchronous version that sends many output lines in one request. Any received exceptions or failures
+     * are ignored.
+     *
+     * @param lines      the output lines to be logged.
+     * @param context    the context to be associated with the lines.
+     * @param onComplete The optional action to be invoked when this operation asynchronously completes.
+     *                   Can be empty if not interested in completion signal.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    void logLines(@NonNull List<OutputLine> lines, String context, @NonNull Optional<Action> onComplete) {
+        this.logOutput(createLogLinesRequest(lines, context), onComplete);
+    }
+
+    /**
+     * Sends the output update to the Comet ignoring any received exceptions or failures, since they can be
+     * reported to the intercepted output and cause infinite loop.
+     *
+     * @param request    the output update to be sent.
+     * @param onComplete The optional action to be invoked when this operation asynchronously completes.
+     *                   Can be empty if not interested in completion signal.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    void logOutput(@NonNull OutputUpdate request, @NonNull Optional<Action> onComplete) {
         if (!this.alive || StringUtils.isBlank(this.experimentKey)) {
             // to avoid exceptions from StdOut logger
             return;
         }
 
-        OutputUpdate request = createLogLineRequest(line, offset, stderr, context);
+        if (this.writeAheadLog != null) {
+            // the output is appended to the write-ahead log as any other write record
+            this.sendAsynchronously(ADD_OUTPUT, request, onComplete);
+            return;
+        }
+
+        // the output stays in the inventory until it is sent
+        Runnable release = this.logRecordsInventory.register();
         Single<RestApiResponse> single = validateAndGetExperimentKey()
                 .subscribeOn(Schedulers.io())
-                .concatMap(experimentKey -> getRestApiClient().logOutputLine(request, experimentKey));
+                .concatMap(experimentKey -> getRestApiClient().logOutputLine(request, experimentKey))
+                .doFinally(release::run);
 
         // register notification action if provided
         if (onComplete.isPresent()) {
@@ -323,30 +832,55 @@ abstract class BaseExperimentAsync extends BaseExperiment {
         ExperimentContext assetContext = mergeWithBaseContextIfEmpty(context);
 
         AtomicInteger successfullyLoggedCount = new AtomicInteger();
+        AtomicInteger skippedCount = new AtomicInteger();
         try {
             Stream<AssetImpl> assets = AssetUtils.walkFolderAssets(
                             folder, logFilePath, recursive, prefixWithFolderName, metadata, assetType, groupingName)
                     .peek(asset -> asset.setContext(assetContext));
+            Optional<AssetPacker> packer = AssetPacker.fromConfig();
+            if (packer.isPresent()) {
+                // the small files are uploaded in packs
+                assets = packer.get().pack(assets, Function.identity());
+            }
 
-            // create parallel execution flow with errors delaying
-            // allowing processing of items even if some of them failed
-            Observable<RestApiResponse> responseObservable =
-                    Observable.fromStream(assets)
-                            .flatMap(asset -> Observable.fromSingle(
-                                    this.sendAssetAsync(getRestApiClient()::logAsset, asset)
-                                            .doOnSuccess(apiResponse -> {
-                                                if (!apiResponse.hasFailed()) {
-                                                    successfullyLoggedCount.incrementAndGet();
-                                                }
-                                            })), true);
-
-            if (onCompleteAction.isPresent()) {
-                responseObservable = responseObservable.doFinally(onCompleteAction.get());
+            Function<AssetImpl, Single<RestApiResponse>> upload = asset ->
+                    this.sendAssetAsync((a, key) -> getRestApiClient().logAsset(a, key), asset)
+                            .doOnSuccess(apiResponse -> {
+                                if (!apiResponse.hasFailed()) {
+                                    successfullyLoggedCount.incrementAndGet();
+                                }
+                            });
+
+            // create parallel execution flow with errors delaying allowing processing of items even if some
+            // of them failed, the number and the total size of the files in flight are limited by the scheduler
+            UploadDeduplicator deduplicator = this.getUploadDeduplicator();
+            Flowable<RestApiResponse> responseFlowable;
+            if (deduplicator == null) {
+                responseFlowable = this.getFolderUploadScheduler()
+                        .schedule(assets, asset -> upload.apply(asset).toMaybe());
+            } else {
+                // the files already uploaded with the same content are skipped
+                responseFlowable = this.getFolderUploadScheduler()
+                        .schedule(assets, asset -> deduplicator.upload(asset, upload)
+                                .doOnComplete(skippedCount::incrementAndGet));
             }
 
+            // the index of uploaded files must be written before the folder is released from the inventory
+            responseFlowable = responseFlowable.doFinally(() -> {
+                if (deduplicator != null) {
+                    deduplicator.save();
+                    if (skippedCount.get() > 0) {
+                        getLogger().info(getString(UNCHANGED_ASSETS_SKIPPED, skippedCount.get(), folder));
+                    }
+                }
+                if (onCompleteAction.isPresent()) {
+                    onCompleteAction.get().run();
+                }
+            });
+
             // subscribe for processing results
             //noinspection ResultOfMethodCallIgnored
-            responseObservable
+            responseFlowable
                     .ignoreElements() // ignore items which already processed, see: logAsset
                     .subscribe(
                             () -> getLogger().info(getString(ASSETS_FOLDER_UPLOAD_COMPLETED,
@@ -385,7 +919,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
         ExperimentContext ctx = mergeWithBaseContextIfEmpty(context);
 
         RemoteAssetImpl asset = AssetUtils.createRemoteAsset(uri, logicalPath, overwrite, metadata, empty());
-        this.logAssetAsync(getRestApiClient()::logRemoteAsset, asset, ctx, onComplete);
+        this.logAssetAsync((a, key) -> getRestApiClient().logRemoteAsset(a, key), asset, ctx, onComplete);
 
         if (Objects.equals(asset.getLogicalPath(), AssetUtils.REMOTE_FILE_NAME_DEFAULT)) {
             getLogger().warn(
@@ -431,8 +965,14 @@ abstract class BaseExperimentAsync extends BaseExperiment {
         // upload artifact assets
         final String artifactVersionId = entry.getArtifactVersionId();
 
-        Stream<ArtifactAsset> assets = artifactImpl.getAssets().stream()
-                .peek(asset -> ((ArtifactAssetImpl) asset).setArtifactVersionId(artifactVersionId));
+        Stream<ArtifactAssetImpl> assets = artifactImpl.getAssets().stream()
+                .map(ArtifactAssetImpl.class::cast);
+        Optional<AssetPacker> packer = AssetPacker.fromConfig();
+        if (packer.isPresent()) {
+            // the small files are uploaded in packs
+            assets = packer.get().pack(assets, ArtifactAssetImpl::new);
+        }
+        assets = assets.peek(asset -> asset.setArtifactVersionId(artifactVersionId));
 
         // create parallel execution flow with errors delaying
         // allowing processing of items even if some of them failed
@@ -529,6 +1069,34 @@ abstract class BaseExperimentAsync extends BaseExperiment {
         this.logAssetAsync(asset, ctx, onComplete);
     }
 
+    /**
+     * Asynchronous version that only logs any received exceptions or failures.
+     *
+     * @param source       The source to stream the content of the asset from.
+     * @param fileName     The file name under which the asset should be stored in Comet. E.g. "someFile.txt"
+     * @param overwrite    Whether to overwrite files of the same name in Comet
+     * @param assetType    the type of the asset.
+     * @param groupingName optional name of group this asset should belong.
+     * @param metadata     the optional metadata to associate.
+     * @param context      the experiment context to be associated with given assets.
+     * @param onComplete   The optional action to be invoked when this operation asynchronously completes.
+     *                     Can be {@code null} if not interested in completion signal.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    void logAssetSourceAsync(@NonNull AssetSource source, @NonNull String fileName, boolean overwrite,
+                             @NonNull Optional<String> assetType,
+                             @NonNull Optional<String> groupingName,
+                             @NonNull Optional<Map<String, Object>> metadata,
+                             @NonNull ExperimentContext context,
+                             @NonNull Optional<Action> onComplete) {
+
+        AssetImpl asset = createAssetFromSource(source, fileName, overwrite, metadata, assetType);
+        groupingName.ifPresent(asset::setGroupingName);
+        ExperimentContext ctx = mergeWithBaseContextIfEmpty(context);
+
+        this.logAssetAsync(asset, ctx, onComplete);
+    }
+
     /**
      * Asynchronous version that only logs any received exceptions or failures.
      *
@@ -577,7 +1145,7 @@ abstract class BaseExperimentAsync extends BaseExperiment {
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     void logAssetAsync(@NonNull final Asset asset, @NonNull ExperimentContext context,
                                @NonNull Optional<Action> onComplete) {
-        this.logAssetAsync(getRestApiClient()::logAsset, asset, context, onComplete);
+        this.logAssetAsync((a, key) -> getRestApiClient().logAsset(a, key), asset, context, onComplete);
     }
 
     /**
@@ -619,12 +1187,12 @@ abstract class BaseExperimentAsync extends BaseExperiment {
      * @param <T>   the {@link Asset} or its subclass.
      * @return the {@link Single} which can be used to subscribe for operation results.
      */
-    private <T extends Asset> Single<RestApiResponse> sendAssetAsync(
+    <T extends Asset> Single<RestApiResponse> sendAssetAsync(
             @NonNull final BiFunction<T, String, Single<RestApiResponse>> func, @NonNull final T asset) {
 
         return validateAndGetExperimentKey()
                 .subscribeOn(Schedulers.io())
-                .concatMap(experimentKey -> func.apply(asset, experimentKey))
+                .concatMap(experimentKey -> this.withRetries(null, () -> func.apply(asset, experimentKey)))
                 .doOnSuccess(restApiResponse ->
                         checkAndLogAssetResponse(restApiResponse, getLogger(), asset))
                 .doOnError(throwable ->
@@ -645,13 +1213,14 @@ abstract class BaseExperimentAsync extends BaseExperiment {
             // remote asset
             single = validateAndGetExperimentKey()
                     .subscribeOn(scheduler)
-                    .concatMap(experimentKey ->
-                            getRestApiClient().logRemoteAsset((RemoteAsset) asset, experimentKey));
+                    .concatMap(experimentKey -> this.withRetries(null, () ->
+                            getRestApiClient().logRemoteAsset((RemoteAsset) asset, experimentKey)));
         } else {
             // local asset
             single = validateAndGetExperimentKey()
                     .subscribeOn(scheduler)
-                    .concatMap(experimentKey -> getRestApiClient().logAsset(asset, experimentKey));
+                    .concatMap(experimentKey -> this.withRetries(null, () ->
+                            getRestApiClient().logAsset(asset, experimentKey)));
         }
 
         return single.doOnSuccess(restApiResponse -> checkAndLogAssetResponse(restApiResponse, getLogger(), asset))
@@ -660,47 +1229,106 @@ abstract class BaseExperimentAsync extends BaseExperiment {
     }
 
     /**
-     * Uses provided function to send request data asynchronously and log received output. Optionally, can use
+     * Puts provided request data into the queue of write records to be sent asynchronously. Optionally, can use
      * provided {@link Action} handler to notify about completion of the operation.
      *
-     * @param func       the function to be invoked to send request data.
+     * @param endpoint   the endpoint to send request data.
      * @param request    the request data object.
      * @param onComplete the optional {@link Action} to be notified the operation completes either
      *                   successfully or erroneously.
-     * @param <T>        the type of the request data object.
      */
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-    private <T> void sendAsynchronously(@NonNull final BiFunction<T, String, Single<RestApiResponse>> func,
-                                        @NonNull final T request, final @NonNull Optional<Action> onComplete) {
-        Single<RestApiResponse> single = validateAndGetExperimentKey()
-                .subscribeOn(Schedulers.io())
-                .concatMap(experimentKey -> func.apply(request, experimentKey));
+    private void sendAsynchronously(@NonNull final String endpoint, @NonNull final BaseExperimentObject request,
+                                    final @NonNull Optional<Action> onComplete) {
+        this.sendAsynchronously(endpoint, experimentKey -> {
+            request.setExperimentKey(experimentKey);
+            return JsonUtils.toJson(request);
+        }, request, onComplete);
+    }
 
-        // register notification action if provided
-        if (onComplete.isPresent()) {
-            single = single.doFinally(onComplete.get());
+    /**
+     * Puts the JSON payload created by provided function into the queue of write records to be sent asynchronously.
+     *
+     * @param endpoint       the endpoint to send request data.
+     * @param payloadFactory the function to create JSON payload for the given experiment key.
+     * @param request        the request data object to be used in log messages.
+     * @param onComplete     the optional {@link Action} to be notified the operation completes either
+     *                       successfully or erroneously.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private void sendAsynchronously(@NonNull final String endpoint,
+                                    @NonNull final Function<String, String> payloadFactory,
+                                    @NonNull final Object request, final @NonNull Optional<Action> onComplete) {
+        // the record stays in the inventory until it is sent or dropped
+        Runnable release = this.logRecordsInventory.register();
+        Action onRecordComplete = () -> {
+            try {
+                if (onComplete.isPresent()) {
+                    onComplete.get().run();
+                }
+            } finally {
+                release.run();
+            }
+        };
+        LogRecord record;
+        try {
+            String experimentKey = this.checkAndGetExperimentKey();
+            long startNanos = System.nanoTime();
+            String payload = payloadFactory.apply(experimentKey);
+            if (this.statsRegistry != null) {
+                this.statsRegistry.recordSerialization(System.nanoTime() - startNanos);
+            }
+            record = new LogRecord(endpoint, payload, seriesKey(experimentKey, endpoint, request),
+                    Optional.of(onRecordComplete), -1);
+        } catch (Throwable t) {
+            getLogger().error(getString(FAILED_TO_SEND_LOG_REQUEST, request), t);
+            try {
+                onRecordComplete.run();
+            } catch (Throwable throwable) {
+                getLogger().error("failed to invoke completion action of the request {}", request, throwable);
+            }
+            return;
         }
 
-        // subscribe to receive operation results
-        //noinspection ResultOfMethodCallIgnored
-        single
-                .observeOn(Schedulers.single())
-                .subscribe(
-                        restApiResponse -> checkAndLogResponse(restApiResponse, getLogger(), request),
-                        throwable -> getLogger().error(getString(FAILED_TO_SEND_LOG_REQUEST, request), throwable)
-                );
+        if (this.writeAheadLog != null) {
+            try {
+                // the record is dispatched by the write-ahead log when it became durable
+                this.writeAheadLog.append(record);
+                return;
+            } catch (IOException e) {
+                getLogger().error("failed to append the log record to the write-ahead log, sending directly", e);
+            }
+        }
+        if (!this.logRecordsDispatcher.dispatch(record) && getLogger().isDebugEnabled()) {
+            getLogger().debug("log record dropped due to the queue overflow: {}", record);
+        }
     }
 
     /**
-     * Utility method to log asynchronously received data responses.
+     * Returns the key of the series the write record belongs to. The records of one series are sent one at a time
+     * in the order they were logged. The metric, parameter and other records form the series by their name and
+     * context, thus records of different metrics are sent concurrently. The metric batches carry values of many
+     * metrics, thus all batches of the experiment form one series, as well as the records of any other kind sent
+     * to the same endpoint, e.g., the output lines.
+     *
+     * @param experimentKey the key of the experiment.
+     * @param endpoint      the endpoint to send the record to.
+     * @param request       the request data object or {@code null} if not known.
+     * @return the key of the series the write record belongs to.
      */
-    static void checkAndLogResponse(@NonNull RestApiResponse restApiResponse, @NonNull Logger logger, Object request) {
-        if (restApiResponse.hasFailed()) {
-            logger.error("failed to log {}, reason: {}, sdk error code: {}",
-                    request, restApiResponse.getMsg(), restApiResponse.getSdkErrorCode());
-        } else if (logger.isDebugEnabled()) {
-            logger.debug("successful response {} received for request {}", restApiResponse, request);
+    static String seriesKey(String experimentKey, @NonNull String endpoint, Object request) {
+        if (request instanceof MetricRest) {
+            MetricRest metric = (MetricRest) request;
+            return experimentKey + ':' + endpoint + ':' + metric.getContext() + ':' + metric.getMetricName();
+        }
+        if (request instanceof ParameterRest) {
+            ParameterRest parameter = (ParameterRest) request;
+            return experimentKey + ':' + endpoint + ':' + parameter.getContext() + ':' + parameter.getParameterName();
+        }
+        if (request instanceof LogOtherRest) {
+            return experimentKey + ':' + endpoint + ':' + ((LogOtherRest) request).getKey();
         }
+        return experimentKey + ':' + endpoint;
     }
 
     /**
@@ -5,6 +5,7 @@ import io.reactivex.rxjava3.core.Single;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import ml.comet.experiment.CometApi;
+import ml.comet.experiment.CometRuntime;
 import ml.comet.experiment.ExperimentNotFoundException;
 import ml.comet.experiment.builder.BaseCometBuilder;
 import ml.comet.experiment.builder.CometApiBuilder;
@@ -26,6 +27,7 @@ import ml.comet.experiment.impl.rest.RegistryModelUpdateItemRequest;
 import ml.comet.experiment.impl.rest.RegistryModelUpdateRequest;
 import ml.comet.experiment.impl.rest.RegistryModelVersionStageAddRequest;
 import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.stats.SdkStatsJmx;
 import ml.comet.experiment.impl.utils.CometUtils;
 import ml.comet.experiment.impl.utils.ExceptionUtils;
 import ml.comet.experiment.impl.utils.ModelUtils;
@@ -33,6 +35,7 @@ import ml.comet.experiment.impl.utils.RestApiUtils;
 import ml.comet.experiment.impl.utils.ZipUtils;
 import ml.comet.experiment.model.ExperimentMetadata;
 import ml.comet.experiment.model.Project;
+import ml.comet.experiment.model.SdkStats;
 import ml.comet.experiment.registrymodel.DownloadModelOptions;
 import ml.comet.experiment.registrymodel.Model;
 import ml.comet.experiment.registrymodel.ModelDownloadInfo;
@@ -45,6 +48,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.management.ObjectName;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -106,8 +110,19 @@ public final class CometApiImpl implements CometApi {
 
     private RestApiClient restApiClient;
     private Connection connection;
+    // the runtime shared with other users or null if this instance owns its resources
+    private final CometRuntimeImpl runtime;
+    private boolean runtimeRetained;
+    // The name of the MBean exposing the SDK statistics, null if not registered
+    private ObjectName sdkStatsMBeanName;
 
     CometApiImpl(@NonNull String apiKey, @NonNull String baseUrl, int maxAuthRetries, Logger logger) {
+        this(apiKey, baseUrl, maxAuthRetries, null, logger);
+    }
+
+    CometApiImpl(@NonNull String apiKey, @NonNull String baseUrl, int maxAuthRetries, CometRuntimeImpl runtime,
+                 Logger logger) {
+        this.runtime = runtime;
         this.apiKey = apiKey;
         this.baseUrl = baseUrl;
         this.maxAuthRetries = maxAuthRetries;
@@ -548,6 +563,11 @@ public final class CometApiImpl implements CometApi {
                 versionOverviewOptional.get().getRegistryModelItemId(), errorMsg);
     }
 
+    @Override
+    public SdkStats getSdkStats() {
+        return this.connection.getSdkStats();
+    }
+
     /**
      * Release all resources hold by this instance, such as connection to the Comet server.
      *
@@ -555,6 +575,8 @@ public final class CometApiImpl implements CometApi {
      */
     @Override
     public void close() throws IOException {
+        SdkStatsJmx.unregister(this.sdkStatsMBeanName, this.logger);
+        this.sdkStatsMBeanName = null;
         if (Objects.nonNull(this.restApiClient)) {
             this.restApiClient.dispose();
         }
@@ -562,6 +584,10 @@ public final class CometApiImpl implements CometApi {
         if (Objects.nonNull(this.connection)) {
             this.connection.close();
         }
+        if (this.runtimeRetained) {
+            this.runtimeRetained = false;
+            this.runtime.release();
+        }
     }
 
     /**
@@ -569,9 +595,18 @@ public final class CometApiImpl implements CometApi {
      */
     void init() {
         CometUtils.printCometSdkVersion();
-        this.connection = ConnectionInitializer.initConnection(
-                this.apiKey, this.baseUrl, this.maxAuthRetries, this.logger);
+        if (this.runtime != null) {
+            this.runtime.retain();
+            this.runtimeRetained = true;
+            this.connection = ConnectionInitializer.initConnection(
+                    this.apiKey, this.baseUrl, this.maxAuthRetries, this.runtime, this.logger);
+        } else {
+            this.connection = ConnectionInitializer.initConnection(
+                    this.apiKey, this.baseUrl, this.maxAuthRetries, this.logger);
+        }
         this.restApiClient = new RestApiClient(this.connection);
+        this.sdkStatsMBeanName = SdkStatsJmx.register(
+                String.format("CometApi@%x", System.identityHashCode(this)), this::getSdkStats, this.logger);
     }
 
     RestApiClient getRestApiClient() {
@@ -675,6 +710,7 @@ public final class CometApiImpl implements CometApi {
     static final class CometApiBuilderImpl implements CometApiBuilder {
         private String apiKey;
         private Logger logger;
+        private CometRuntimeImpl runtime;
 
         @Override
         public CometApiBuilder withConfigOverride(@NonNull File overrideConfig) {
@@ -694,6 +730,12 @@ public final class CometApiImpl implements CometApi {
             return this;
         }
 
+        @Override
+        public CometApiBuilder withRuntime(@NonNull CometRuntime runtime) {
+            this.runtime = CometRuntimeImpl.fromRuntime(runtime);
+            return this;
+        }
+
         /**
          * Factory method to build fully initialized instance of the {@link CometApi}.
          *
@@ -706,7 +748,8 @@ public final class CometApiImpl implements CometApi {
                 this.apiKey = COMET_API_KEY.getString();
             }
             CometApiImpl api = new CometApiImpl(
-                    this.apiKey, COMET_BASE_URL.getString(), COMET_MAX_AUTH_RETRIES.getInt(), this.logger);
+                    this.apiKey, COMET_BASE_URL.getString(), COMET_MAX_AUTH_RETRIES.getInt(), this.runtime,
+                    this.logger);
             try {
                 api.init();
             } catch (Throwable throwable) {
@@ -0,0 +1,192 @@
+package ml.comet.experiment.impl;
+
+import io.netty.util.HashedWheelTimer;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import lombok.Getter;
+import lombok.NonNull;
+import ml.comet.experiment.CometRuntime;
+import ml.comet.experiment.impl.http.AdaptiveConcurrencyLimiter;
+import ml.comet.experiment.impl.http.CircuitBreaker;
+import ml.comet.experiment.impl.http.Connection;
+import ml.comet.experiment.impl.queue.LogRecordsDispatchLoop;
+import ml.comet.experiment.impl.retry.RetryScheduler;
+import org.asynchttpclient.AsyncHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The implementation of the {@link CometRuntime} holding one HTTP client, one retry timer, one thread draining
+ * the queues of the write records, one thread sending the lingering metric batches, and one limiter of requests
+ * in flight and one circuit breaker per Comet host shared by all experiments built with it.
+ *
+ * <p>The threads of the write-ahead log committer and the standard output interceptor are still started per
+ * experiment: they block on the file system and on the pipe of the intercepted stream respectively.
+ *
+ * <p>The runtime is created with the single reference of the owner. Every user retains the runtime when
+ * initialized and releases it when ended. The resources are released when reference count drops to zero.</p>
+ */
+public final class CometRuntimeImpl implements CometRuntime {
+    private final Logger logger = LoggerFactory.getLogger(CometRuntimeImpl.class);
+
+    /**
+     * The HTTP client shared by the connections of all users of this runtime.
+     */
+    @Getter
+    private final AsyncHttpClient httpClient;
+    /**
+     * The timer wheel to schedule retries of the failed requests of all users of this runtime.
+     */
+    @Getter
+    private final HashedWheelTimer retryTimer;
+    /**
+     * The loop draining the queues of the write records of all users of this runtime.
+     */
+    @Getter
+    private final LogRecordsDispatchLoop dispatchLoop;
+    /**
+     * The scheduler to send the lingering metric batches of all users of this runtime.
+     */
+    @Getter
+    private final Scheduler lingerScheduler;
+    private final ScheduledExecutorService lingerExecutor;
+    /**
+     * The limiters of requests in flight keyed by the base URL of the Comet server. All users sending requests
+     * to the same server are throttled together, so the number of sockets opened to the server stays bounded
+     * regardless of the number of experiments.
+     */
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> concurrencyLimiters = new ConcurrentHashMap<>();
+    /**
+     * The circuit breakers keyed by the base URL of the Comet server. All users stop sending requests to the server
+     * as soon as it is detected to be unavailable.
+     */
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final AtomicBoolean ownerReleased = new AtomicBoolean();
+
+    CometRuntimeImpl() {
+        this.httpClient = Connection.createAsyncHttpClient();
+        this.retryTimer = RetryScheduler.createTimer();
+        this.dispatchLoop = new LogRecordsDispatchLoop();
+        this.lingerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "comet-metrics-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lingerScheduler = Schedulers.from(this.lingerExecutor);
+    }
+
+    /**
+     * Creates new runtime to be shared by experiments. The runtime must be closed when no more experiments will be
+     * built with it.
+     *
+     * @return the new runtime instance.
+     */
+    public static CometRuntimeImpl create() {
+        return new CometRuntimeImpl();
+    }
+
+    /**
+     * Converts the runtime provided by the user into this implementation.
+     *
+     * @param runtime the runtime provided by the user.
+     * @return the runtime implementation.
+     * @throws IllegalArgumentException if runtime was not created by the Comet SDK.
+     */
+    static CometRuntimeImpl fromRuntime(CometRuntime runtime) throws IllegalArgumentException {
+        if (!(runtime instanceof CometRuntimeImpl)) {
+            throw new IllegalArgumentException("the runtime must be created by the ExperimentBuilder.CometRuntime()");
+        }
+        return (CometRuntimeImpl) runtime;
+    }
+
+    /**
+     * Returns the limiter of requests in flight to the Comet server shared by all users of this runtime.
+     *
+     * @param cometBaseUrl the base URL of the Comet server.
+     * @return the limiter of requests in flight to the Comet server.
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter(@NonNull String cometBaseUrl) {
+        return this.concurrencyLimiters.computeIfAbsent(cometBaseUrl, url -> new AdaptiveConcurrencyLimiter());
+    }
+
+    /**
+     * Returns the circuit breaker of the requests to the Comet server shared by all users of this runtime.
+     * The breaker restarts the limiter of requests in flight to the same server when the server recovers.
+     *
+     * @param cometBaseUrl the base URL of the Comet server.
+     * @return the circuit breaker of the requests to the Comet server.
+     */
+    public CircuitBreaker getCircuitBreaker(@NonNull String cometBaseUrl) {
+        return this.circuitBreakers.computeIfAbsent(cometBaseUrl, url -> Connection.createCircuitBreaker(
+                this.getConcurrencyLimiter(url), LoggerFactory.getLogger(CircuitBreaker.class)));
+    }
+
+    /**
+     * Acquires the reference to this runtime for the new user.
+     *
+     * @return this runtime.
+     * @throws IllegalStateException if this runtime already released its resources.
+     */
+    CometRuntimeImpl retain() throws IllegalStateException {
+        for (; ; ) {
+            int count = this.references.get();
+            if (count <= 0) {
+                throw new IllegalStateException("the Comet runtime is already released");
+            }
+            if (this.references.compareAndSet(count, count + 1)) {
+                return this;
+            }
+        }
+    }
+
+    /**
+     * Releases the reference to this runtime held by the user. The resources are released with the last reference.
+     */
+    void release() {
+        int count = this.references.decrementAndGet();
+        if (count == 0) {
+            this.releaseResources();
+        } else if (count < 0) {
+            this.logger.warn("the Comet runtime released more times than retained");
+        }
+    }
+
+    @Override
+    public int getReferenceCount() {
+        return Math.max(0, this.references.get());
+    }
+
+    @Override
+    public boolean isReleased() {
+        return this.references.get() <= 0;
+    }
+
+    @Override
+    public void close() {
+        if (this.ownerReleased.compareAndSet(false, true)) {
+            this.release();
+        }
+    }
+
+    private void releaseResources() {
+        this.logger.debug("releasing the Comet runtime resources");
+        this.retryTimer.stop();
+        this.dispatchLoop.close();
+        this.lingerExecutor.shutdownNow();
+        try {
+            this.httpClient.close();
+        } catch (IOException e) {
+            this.logger.error("failed to close the shared HTTP client", e);
+        }
+    }
+}
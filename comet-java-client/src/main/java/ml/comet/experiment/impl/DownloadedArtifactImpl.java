@@ -8,6 +8,7 @@ import ml.comet.experiment.artifact.ConflictingArtifactAssetNameException;
 import ml.comet.experiment.artifact.DownloadedArtifact;
 import ml.comet.experiment.artifact.LoggedArtifactAsset;
 import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
+import ml.comet.experiment.impl.upload.AssetPacker;
 import ml.comet.experiment.impl.utils.ArtifactUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -109,7 +110,10 @@ public final class DownloadedArtifactImpl extends ArtifactImpl implements Downlo
     }
 
     void addLoggedAssets(@NonNull Collection<LoggedArtifactAsset> assets) {
-        assets.forEach(this::appendAsset);
+        // the packed files are added when the pack is downloaded
+        assets.stream()
+                .filter(asset -> !AssetPacker.isPack(asset.getLogicalPath()))
+                .forEach(this::appendAsset);
     }
 
     private void appendAsset(@NonNull LoggedArtifactAsset asset) {
@@ -139,6 +143,7 @@ public final class DownloadedArtifactImpl extends ArtifactImpl implements Downlo
     void updateAsset(@NonNull ArtifactAsset asset) {
         String key = asset.getLogicalPath();
         this.assetsMap.put(key, asset);
+        this.downloadedAssetsIdentifiers.add(key);
     }
 
     @Override
@@ -0,0 +1,206 @@
+package ml.comet.experiment.impl;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Supplier;
+import lombok.NonNull;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends heartbeats of all experiments in the process from the single timer wheel. The heartbeat requests are sent
+ * asynchronously, thus the timer thread is never blocked by a slow server.
+ *
+ * <p>Any successful write request of the experiment proves its liveness to the server. The heartbeat is skipped and
+ * postponed while the experiment has written something during the last heartbeat interval.</p>
+ */
+final class HeartbeatScheduler implements Closeable {
+    /**
+     * The value returned by the supplier of the last write time if experiment has not written anything yet.
+     */
+    static final long NO_WRITES = Long.MIN_VALUE;
+
+    private static final long TICK_DURATION_MS = 100;
+
+    private final HashedWheelTimer timer;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    HeartbeatScheduler() {
+        this.timer = new HashedWheelTimer(runnable -> {
+            Thread thread = new Thread(runnable, "comet-heartbeat-timer");
+            thread.setDaemon(true);
+            return thread;
+        }, TICK_DURATION_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the scheduler shared by all experiments in the process.
+     *
+     * @return the scheduler shared by all experiments in the process.
+     */
+    static HeartbeatScheduler getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Starts sending heartbeats.
+     *
+     * @param request          the supplier of the heartbeat request emitting the heartbeat interval requested
+     *                         by the server.
+     * @param lastWriteNanos   the supplier of the {@link System#nanoTime()} of the last successful write request
+     *                         or {@link #NO_WRITES}.
+     * @param defaultInterval  the interval between heartbeats used until server requests another one or if
+     *                         heartbeat failed.
+     * @param initialDelay     the delay before the first heartbeat.
+     * @param logger           the logger to report heartbeats.
+     * @return the {@link Heartbeat} which must be cancelled to stop sending heartbeats.
+     */
+    Heartbeat schedule(@NonNull Supplier<Single<Duration>> request, @NonNull LongSupplier lastWriteNanos,
+                       @NonNull Duration defaultInterval, @NonNull Duration initialDelay, @NonNull Logger logger) {
+        Heartbeat heartbeat = new Heartbeat(request, lastWriteNanos, defaultInterval.toNanos(), logger);
+        heartbeat.scheduleIn(initialDelay.toNanos());
+        return heartbeat;
+    }
+
+    /**
+     * Returns the number of heartbeat requests sent.
+     *
+     * @return the number of heartbeat requests sent.
+     */
+    long getSentCount() {
+        return this.sentCount.get();
+    }
+
+    /**
+     * Returns the number of heartbeats skipped because the experiment had written something recently.
+     *
+     * @return the number of heartbeats skipped.
+     */
+    long getSkippedCount() {
+        return this.skippedCount.get();
+    }
+
+    /**
+     * Stops the timer of this scheduler, no more heartbeats are sent. The default scheduler shared by all experiments
+     * in the process is never closed.
+     */
+    @Override
+    public void close() {
+        this.timer.stop();
+    }
+
+    /**
+     * The heartbeats of one experiment.
+     */
+    final class Heartbeat implements TimerTask {
+        private final Supplier<Single<Duration>> request;
+        private final LongSupplier lastWriteNanos;
+        private final long defaultIntervalNanos;
+        private final Logger logger;
+
+        private volatile long intervalNanos;
+        private volatile Timeout timeout;
+        private volatile Disposable inFlight;
+        private volatile boolean cancelled;
+
+        Heartbeat(Supplier<Single<Duration>> request, LongSupplier lastWriteNanos, long defaultIntervalNanos,
+                  Logger logger) {
+            this.request = request;
+            this.lastWriteNanos = lastWriteNanos;
+            this.defaultIntervalNanos = defaultIntervalNanos;
+            this.intervalNanos = defaultIntervalNanos;
+            this.logger = logger;
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            if (this.cancelled) {
+                return;
+            }
+            long lastWrite = this.lastWriteNanos.getAsLong();
+            if (lastWrite != NO_WRITES) {
+                long sinceWrite = System.nanoTime() - lastWrite;
+                if (sinceWrite < this.intervalNanos) {
+                    // the recent write already proved liveness
+                    HeartbeatScheduler.this.skippedCount.incrementAndGet();
+                    this.scheduleIn(this.intervalNanos - sinceWrite);
+                    return;
+                }
+            }
+
+            Single<Duration> single;
+            try {
+                single = this.request.get();
+            } catch (Throwable t) {
+                this.logger.debug("failed to create heartbeat request", t);
+                this.scheduleIn(this.defaultIntervalNanos);
+                return;
+            }
+            HeartbeatScheduler.this.sentCount.incrementAndGet();
+            this.inFlight = single.subscribe(
+                    interval -> {
+                        if (!interval.isZero() && !interval.isNegative()) {
+                            this.intervalNanos = interval.toNanos();
+                        }
+                        if (this.logger.isDebugEnabled()) {
+                            this.logger.debug("received heartbeat interval {} ms, next heartbeat in {} ms",
+                                    interval.toMillis(), TimeUnit.NANOSECONDS.toMillis(this.intervalNanos));
+                        }
+                        this.scheduleIn(this.intervalNanos);
+                    },
+                    throwable -> {
+                        this.logger.debug("failed to send heartbeat", throwable);
+                        this.scheduleIn(this.defaultIntervalNanos);
+                    });
+        }
+
+        /**
+         * Stops sending heartbeats. The heartbeat request in flight is disposed.
+         */
+        void cancel() {
+            this.cancelled = true;
+            Timeout current = this.timeout;
+            if (current != null) {
+                current.cancel();
+            }
+            Disposable disposable = this.inFlight;
+            if (disposable != null) {
+                disposable.dispose();
+            }
+        }
+
+        private void scheduleIn(long delayNanos) {
+            if (this.cancelled) {
+                return;
+            }
+            try {
+                this.timeout = HeartbeatScheduler.this.timer.newTimeout(this, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (IllegalStateException | RejectedExecutionException e) {
+                this.logger.warn("failed to schedule heartbeat, the timer already stopped");
+                return;
+            }
+            if (this.cancelled) {
+                // cancelled concurrently
+                this.timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * Lazily creates the scheduler shared by all experiments in the process.
+     */
+    private static final class DefaultHolder {
+        static final HeartbeatScheduler INSTANCE = new HeartbeatScheduler();
+    }
+}
@@ -15,6 +15,7 @@ import ml.comet.experiment.artifact.DownloadedArtifact;
 import ml.comet.experiment.artifact.LoggedArtifact;
 import ml.comet.experiment.artifact.LoggedArtifactAsset;
 import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
+import ml.comet.experiment.impl.upload.AssetPacker;
 import ml.comet.experiment.impl.utils.ArtifactUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -29,11 +30,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.nio.file.StandardOpenOption.READ;
 import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_ASSETS_DOWNLOAD_COMPLETED;
@@ -183,18 +187,21 @@ public final class LoggedArtifactImpl extends BaseArtifactImpl implements Logged
                 .flatMap(loggedArtifactAsset ->
                         Observable.just(loggedArtifactAsset)
                                 .subscribeOn(Schedulers.io()) // make it parallel on IO scheduler
-                                .map(asset -> asset.download(folder, overwriteStrategy)), true);
+                                .flatMapIterable(asset -> this.downloadFiles(asset, folder, overwriteStrategy)),
+                        true);
 
 
         // subscribe and wait for processing results
         CompletableFuture<Void> result = new CompletableFuture<>();
+        AtomicInteger filesDownloaded = new AtomicInteger();
         observable
                 .doOnNext(artifact::updateAsset) // update artifact asset
+                .doOnNext(asset -> filesDownloaded.incrementAndGet())
                 .ignoreElements() // ignore items - we are interested in overall result
                 .blockingSubscribe(
                         () -> {
                             logger.info(getString(ARTIFACT_ASSETS_DOWNLOAD_COMPLETED,
-                                    this.getFullName(), assetsToDownload, folder));
+                                    this.getFullName(), filesDownloaded.get(), folder));
                             result.complete(null);
                         },
                         throwable -> {
@@ -218,6 +225,18 @@ public final class LoggedArtifactImpl extends BaseArtifactImpl implements Logged
         return artifact;
     }
 
+    /**
+     * Downloads the file of the given asset or all files of the asset pack.
+     */
+    private List<ArtifactAsset> downloadFiles(LoggedArtifactAsset asset, Path folder,
+                                              AssetOverwriteStrategy overwriteStrategy) {
+        if (AssetPacker.isPack(asset.getLogicalPath())) {
+            return this.baseExperiment.downloadArtifactPack(
+                    (LoggedArtifactAssetImpl) asset, folder, overwriteStrategy);
+        }
+        return Collections.singletonList(asset.download(folder, overwriteStrategy));
+    }
+
     ArtifactAssetImpl downloadAsset(@NonNull LoggedArtifactAssetImpl asset, @NonNull Path dir,
                                     @NonNull Path file, @NonNull AssetOverwriteStrategy overwriteStrategy)
             throws ArtifactException {
@@ -0,0 +1,138 @@
+package ml.comet.experiment.impl;
+
+import lombok.NonNull;
+import ml.comet.experiment.builder.OfflineExperimentBuilder;
+import ml.comet.experiment.impl.config.CometConfig;
+import ml.comet.experiment.impl.queue.OverflowPolicy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.time.Duration;
+
+import static ml.comet.experiment.impl.config.CometConfig.COMET_LOG_RECORDS_MAX_IN_FLIGHT;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_LOG_RECORDS_OVERFLOW_POLICY;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_LOG_RECORDS_QUEUE_CAPACITY;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_METRICS_BATCH_LINGER_MS;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_METRICS_BATCH_SIZE;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_OFFLINE_DIRECTORY;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_OFFLINE_SEGMENT_SIZE;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_PROJECT_NAME;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_TIMEOUT_CLEANING_SECONDS;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_WORKSPACE_NAME;
+
+/**
+ * The builder to create properly configured instance of the OfflineExperimentImpl.
+ */
+final class OfflineExperimentBuilderImpl implements OfflineExperimentBuilder {
+    private String projectName;
+    private String workspace;
+    private String experimentName;
+    private File offlineDirectory;
+    private int segmentSize = -1;
+    private Logger logger;
+    private boolean interceptStdout = false;
+
+    /**
+     * Default constructor to avoid direct initialization from the outside.
+     */
+    OfflineExperimentBuilderImpl() {
+    }
+
+    @Override
+    public OfflineExperimentBuilderImpl withProjectName(@NonNull String projectName) {
+        this.projectName = projectName;
+        return this;
+    }
+
+    @Override
+    public OfflineExperimentBuilderImpl withWorkspace(@NonNull String workspace) {
+        this.workspace = workspace;
+        return this;
+    }
+
+    /**
+     * The API key is not used by the offline experiment, it should be provided to the
+     * {@link OfflineExperimentUploader} instead.
+     *
+     * @param apiKey The api key for the user running the experiment
+     * @return this builder.
+     */
+    @Override
+    public OfflineExperimentBuilderImpl withApiKey(@NonNull String apiKey) {
+        return this;
+    }
+
+    @Override
+    public OfflineExperimentBuilderImpl withExperimentName(@NonNull String experimentName) {
+        this.experimentName = experimentName;
+        return this;
+    }
+
+    @Override
+    public OfflineExperimentBuilderImpl withOfflineDirectory(@NonNull File offlineDirectory) {
+        this.offlineDirectory = offlineDirectory;
+        return this;
+    }
+
+    @Override
+    public OfflineExperimentBuilderImpl withJournalSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    @Override
+    public OfflineExperimentBuilderImpl withLogger(@NonNull Logger logger) {
+        this.logger = logger;
+        return this;
+    }
+
+    @Override
+    public OfflineExperimentBuilderImpl withConfigOverride(@NonNull File overrideConfig) {
+        CometConfig.applyConfigOverride(overrideConfig);
+        return this;
+    }
+
+    @Override
+    public OfflineExperimentBuilderImpl interceptStdout() {
+        this.interceptStdout = true;
+        return this;
+    }
+
+    @Override
+    public OfflineExperimentImpl build() {
+        if (StringUtils.isBlank(this.projectName)) {
+            this.projectName = COMET_PROJECT_NAME.getOptionalString().orElse(null);
+        }
+        if (StringUtils.isBlank(this.workspace)) {
+            this.workspace = COMET_WORKSPACE_NAME.getOptionalString().orElse(null);
+        }
+        if (this.offlineDirectory == null) {
+            this.offlineDirectory = new File(COMET_OFFLINE_DIRECTORY.getString());
+        }
+        if (this.segmentSize == -1) {
+            this.segmentSize = COMET_OFFLINE_SEGMENT_SIZE.getInt();
+        }
+        Duration cleaningTimeout = COMET_TIMEOUT_CLEANING_SECONDS.getDuration();
+        int metricsBatchSize = COMET_METRICS_BATCH_SIZE.getInt();
+        Duration metricsBatchLinger = Duration.ofMillis(COMET_METRICS_BATCH_LINGER_MS.getInt());
+        int logRecordsQueueCapacity = COMET_LOG_RECORDS_QUEUE_CAPACITY.getInt();
+        OverflowPolicy logRecordsOverflowPolicy = OverflowPolicy.valueOf(
+                COMET_LOG_RECORDS_OVERFLOW_POLICY.getString().toUpperCase());
+        int logRecordsMaxInFlight = COMET_LOG_RECORDS_MAX_IN_FLIGHT.getInt();
+
+        OfflineExperimentImpl experiment = new OfflineExperimentImpl(
+                this.projectName, this.workspace, this.experimentName, this.logger, this.interceptStdout,
+                this.offlineDirectory, this.segmentSize, cleaningTimeout, metricsBatchSize, metricsBatchLinger,
+                logRecordsQueueCapacity, logRecordsOverflowPolicy, logRecordsMaxInFlight);
+        try {
+            // initialize experiment
+            experiment.init();
+        } catch (Throwable ex) {
+            // release hold resources and signal to user about failure
+            experiment.end();
+            throw ex;
+        }
+        return experiment;
+    }
+}
@@ -0,0 +1,391 @@
+package ml.comet.experiment.impl;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Action;
+import io.reactivex.rxjava3.functions.BiFunction;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import lombok.NonNull;
+import ml.comet.experiment.OfflineExperiment;
+import ml.comet.experiment.artifact.Artifact;
+import ml.comet.experiment.artifact.ArtifactAsset;
+import ml.comet.experiment.artifact.ArtifactException;
+import ml.comet.experiment.artifact.LoggedArtifact;
+import ml.comet.experiment.asset.Asset;
+import ml.comet.experiment.asset.LoggedExperimentAsset;
+import ml.comet.experiment.exception.CometGeneralException;
+import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import ml.comet.experiment.impl.journal.JournalArtifactRecord;
+import ml.comet.experiment.impl.journal.JournalAssetRecord;
+import ml.comet.experiment.impl.journal.JournalMetadata;
+import ml.comet.experiment.impl.journal.JournalWriter;
+import ml.comet.experiment.impl.queue.LogRecord;
+import ml.comet.experiment.impl.queue.OverflowPolicy;
+import ml.comet.experiment.impl.retry.RetryPolicy;
+import ml.comet.experiment.impl.rest.OutputUpdate;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.rest.SetSystemDetailsRequest;
+import ml.comet.experiment.impl.utils.CometUtils;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import ml.comet.experiment.impl.utils.SystemUtils;
+import ml.comet.experiment.model.ExperimentMetadata;
+import ml.comet.experiment.model.GitMetaData;
+import ml.comet.experiment.model.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_OUTPUT;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.SET_SYSTEM_DETAILS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.UPSERT_ARTIFACT;
+import static ml.comet.experiment.impl.resources.LogMessages.ARTIFACT_LOGGED_WITHOUT_ASSETS;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_LOG_SYSTEM_DETAILS;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_CLOSE_JOURNAL;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_CREATE_JOURNAL;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_UPSERT_ARTIFACT;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_WRITE_JOURNAL_RECORD;
+import static ml.comet.experiment.impl.resources.LogMessages.OFFLINE_EXPERIMENT_CREATED;
+import static ml.comet.experiment.impl.resources.LogMessages.OFFLINE_EXPERIMENT_OPERATION_NOT_SUPPORTED;
+import static ml.comet.experiment.impl.resources.LogMessages.getString;
+import static ml.comet.experiment.impl.utils.RestApiUtils.createArtifactUpsertRequest;
+
+/**
+ * The implementation of the {@link OfflineExperiment} which writes all logged data into the memory-mapped journal
+ * in the local directory instead of sending it to the Comet. The journal can be uploaded later using
+ * {@link OfflineExperimentUploader}.
+ *
+ * <p>The data assets, including ones of the artifacts, are written into the separate files in the journal
+ * directory, while the file assets are journaled by reference and must stay in place until journal is uploaded.
+ */
+public final class OfflineExperimentImpl extends OnlineExperimentImpl implements OfflineExperiment {
+    /**
+     * The name of the journal subdirectory to store content of the data assets.
+     */
+    public static final String ASSETS_DIRECTORY = "assets";
+
+    private final File journalDirectory;
+    private final int journalSegmentSize;
+    private final JournalMetadata metadata = new JournalMetadata();
+    private final AtomicBoolean journalClosed = new AtomicBoolean();
+    private JournalWriter journal;
+
+    /**
+     * Creates new instance with given parameters.
+     *
+     * @param projectName              the project name (optional).
+     * @param workspaceName            the workspace name (optional).
+     * @param experimentName           the experiment name (optional).
+     * @param logger                   the logger to be used instead (optional).
+     * @param interceptStdout          the flag to indicate if StdOut should be intercepted.
+     * @param offlineDirectory         the directory to write journal of the experiment into.
+     * @param journalSegmentSize       the size of the journal segment file in bytes.
+     * @param cleaningTimeout          the cleaning timeout after experiment end.
+     * @param metricsBatchSize         the maximal number of metric records to be written in one batch record.
+     * @param metricsBatchLinger       the maximal time to keep metric records in the batch before writing.
+     * @param logRecordsQueueCapacity  the maximal number of write records kept in memory waiting to be written.
+     * @param logRecordsOverflowPolicy the policy to handle new write records when queue is full.
+     * @param logRecordsMaxInFlight    the maximal number of write records being written concurrently.
+     */
+    OfflineExperimentImpl(
+            String projectName,
+            String workspaceName,
+            String experimentName,
+            Logger logger,
+            boolean interceptStdout,
+            @NonNull File offlineDirectory,
+            int journalSegmentSize,
+            Duration cleaningTimeout,
+            int metricsBatchSize,
+            Duration metricsBatchLinger,
+            int logRecordsQueueCapacity,
+            OverflowPolicy logRecordsOverflowPolicy,
+            int logRecordsMaxInFlight) {
+        super(StringUtils.EMPTY, projectName, workspaceName, experimentName, newExperimentKey(), logger,
+                interceptStdout, StringUtils.EMPTY, 0, cleaningTimeout, metricsBatchSize, metricsBatchLinger,
+                logRecordsQueueCapacity, logRecordsOverflowPolicy, logRecordsMaxInFlight, RetryPolicy.DISABLED,
+                0, offlineDirectory, null, Duration.ZERO, Duration.ZERO);
+        this.journalDirectory = new File(offlineDirectory, this.experimentKey);
+        this.journalSegmentSize = journalSegmentSize;
+    }
+
+    @Override
+    public File getJournalDirectory() {
+        return this.journalDirectory;
+    }
+
+    @Override
+    void init() {
+        CometUtils.printCometSdkVersion();
+        try {
+            this.journal = new JournalWriter(this.journalDirectory.toPath(), this.journalSegmentSize);
+            Files.createDirectories(this.assetsDirectory());
+
+            this.metadata.setExperimentKey(this.experimentKey);
+            this.metadata.setWorkspaceName(this.workspaceName);
+            this.metadata.setProjectName(this.projectName);
+            this.metadata.setExperimentName(this.experimentName);
+            this.metadata.setStartTimeMillis(System.currentTimeMillis());
+            this.metadata.write(this.journalDirectory.toPath());
+        } catch (IOException e) {
+            throw new CometGeneralException(getString(FAILED_TO_CREATE_JOURNAL, this.journalDirectory), e);
+        }
+        // mark as initialized
+        this.alive = true;
+        this.initAsyncLogging();
+        this.setupStdOutIntercept();
+
+        // write system details
+        try {
+            SetSystemDetailsRequest request = SystemUtils.readSystemDetails();
+            request.setExperimentKey(this.experimentKey);
+            this.journal.append(SET_SYSTEM_DETAILS, JsonUtils.toJson(request));
+        } catch (Throwable t) {
+            getLogger().error(getString(FAILED_LOG_SYSTEM_DETAILS), t);
+        }
+
+        getLogger().info(getString(OFFLINE_EXPERIMENT_CREATED, this.experimentKey, this.journalDirectory));
+    }
+
+    @Override
+    public void end() {
+        super.end();
+
+        if (this.journal == null || !this.journalClosed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.metadata.setExperimentName(this.experimentName);
+            this.metadata.setEndTimeMillis(System.currentTimeMillis());
+            this.metadata.write(this.journalDirectory.toPath());
+        } catch (IOException e) {
+            getLogger().error(getString(FAILED_TO_CLOSE_JOURNAL, this.journalDirectory), e);
+        }
+        this.journal.close();
+    }
+
+    /**
+     * Returns the number of records written into the journal of this experiment.
+     *
+     * @return the number of records written into the journal of this experiment.
+     */
+    public long getJournalRecordsCount() {
+        return this.journal != null ? this.journal.getRecordsCount() : 0;
+    }
+
+    @Override
+    Single<RestApiResponse> sendLogRecord(@NonNull LogRecord record) {
+        return Single.fromCallable(() -> {
+            this.journal.append(record.getEndpoint(), record.getPayload());
+            return new RestApiResponse(200);
+        });
+    }
+
+    @Override
+    <T extends Asset> Single<RestApiResponse> sendAssetAsync(
+            @NonNull BiFunction<T, String, Single<RestApiResponse>> func, @NonNull T asset) {
+        return validateAndGetExperimentKey()
+                .subscribeOn(Schedulers.io())
+                .map(experimentKey -> this.writeAsset((AssetImpl) asset))
+                .doOnError(throwable ->
+                        getLogger().error(getString(FAILED_TO_WRITE_JOURNAL_RECORD, asset), throwable));
+    }
+
+    @Override
+    void logOutput(@NonNull OutputUpdate request, @NonNull Optional<Action> onComplete) {
+        if (!this.alive) {
+            // to avoid exceptions from StdOut logger
+            return;
+        }
+        try {
+            request.setExperimentKey(this.experimentKey);
+            this.journal.append(ADD_OUTPUT, JsonUtils.toJson(request));
+        } catch (Throwable t) {
+            // just ignore to avoid infinite loop
+        }
+        if (onComplete.isPresent()) {
+            try {
+                onComplete.get().run();
+            } catch (Throwable t) {
+                getLogger().error("failed to invoke completion action of the output line", t);
+            }
+        }
+    }
+
+    /**
+     * Journals the artifact with its assets. The content of the data assets is written into the journal directory,
+     * while the file assets are journaled by reference the same way as experiment assets. The artifact version is
+     * created when journal is uploaded, thus returned {@link LoggedArtifact} has no identifiers assigned by Comet.
+     *
+     * @param artifact the {@link Artifact} instance.
+     * @return the completed {@link CompletableFuture} with {@link LoggedArtifact} describing journaled artifact.
+     * @throws ArtifactException if failed to write artifact into the journal.
+     */
+    @Override
+    public CompletableFuture<LoggedArtifact> logArtifact(@NonNull Artifact artifact) throws ArtifactException {
+        this.checkExperimentActiveState();
+        ArtifactImpl artifactImpl = (ArtifactImpl) artifact;
+        try {
+            JournalArtifactRecord record = new JournalArtifactRecord();
+            record.setRequest(createArtifactUpsertRequest(artifactImpl));
+            for (ArtifactAsset asset : artifactImpl.getAssets()) {
+                record.getAssets().add(this.journalAsset((ArtifactAssetImpl) asset));
+            }
+            this.journal.append(UPSERT_ARTIFACT, JsonUtils.toJson(record));
+        } catch (Throwable t) {
+            throw new ArtifactException(getString(FAILED_TO_UPSERT_ARTIFACT, artifact), t);
+        }
+        if (artifactImpl.getAssets().isEmpty()) {
+            getLogger().warn(getString(ARTIFACT_LOGGED_WITHOUT_ASSETS, artifactImpl.getName()));
+        }
+
+        LoggedArtifactImpl loggedArtifact = new LoggedArtifactImpl(
+                artifactImpl.getName(), artifactImpl.getType(), this);
+        loggedArtifact.setSemanticVersion(artifactImpl.getSemanticVersion());
+        loggedArtifact.setAliases(artifactImpl.getAliases());
+        loggedArtifact.setVersionTags(artifactImpl.getVersionTags());
+        loggedArtifact.setMetadata(artifactImpl.getMetadata());
+        loggedArtifact.setExperimentKey(this.experimentKey);
+        loggedArtifact.setWorkspace(this.workspaceName);
+        return CompletableFuture.completedFuture(loggedArtifact);
+    }
+
+    @Override
+    public LoggedArtifact getArtifact(@NonNull String name, @NonNull String workspace,
+                                      @NonNull String versionOrAlias) {
+        throw unsupportedOperation("getArtifact");
+    }
+
+    @Override
+    public LoggedArtifact getArtifact(@NonNull String name, @NonNull String workspace) {
+        throw unsupportedOperation("getArtifact");
+    }
+
+    @Override
+    public LoggedArtifact getArtifact(@NonNull String name) {
+        throw unsupportedOperation("getArtifact");
+    }
+
+    @Override
+    public ExperimentMetadata getMetadata() {
+        throw unsupportedOperation("getMetadata");
+    }
+
+    @Override
+    public GitMetaData getGitMetadata() {
+        throw unsupportedOperation("getGitMetadata");
+    }
+
+    @Override
+    public Optional<String> getHtml() {
+        throw unsupportedOperation("getHtml");
+    }
+
+    @Override
+    public Optional<String> getOutput() {
+        throw unsupportedOperation("getOutput");
+    }
+
+    @Override
+    public Optional<String> getGraph() {
+        throw unsupportedOperation("getGraph");
+    }
+
+    @Override
+    public List<Value> getParameters() {
+        throw unsupportedOperation("getParameters");
+    }
+
+    @Override
+    public List<Value> getMetrics() {
+        throw unsupportedOperation("getMetrics");
+    }
+
+    @Override
+    public List<Value> getLogOther() {
+        throw unsupportedOperation("getLogOther");
+    }
+
+    @Override
+    public List<String> getTags() {
+        throw unsupportedOperation("getTags");
+    }
+
+    @Override
+    public List<LoggedExperimentAsset> getAssetList(@NonNull String type) {
+        throw unsupportedOperation("getAssetList");
+    }
+
+    @Override
+    public List<LoggedExperimentAsset> getAllAssetList() {
+        throw unsupportedOperation("getAllAssetList");
+    }
+
+    /**
+     * Writes the record describing provided asset into the journal.
+     *
+     * @param asset the asset to be journaled.
+     * @return the response to signal that asset was journaled.
+     * @throws IOException if I/O exception occurs.
+     */
+    private RestApiResponse writeAsset(@NonNull AssetImpl asset) throws IOException {
+        this.journal.append(ADD_ASSET, JsonUtils.toJson(this.journalAsset(asset)));
+        return new RestApiResponse(200);
+    }
+
+    /**
+     * Creates the journal record describing provided asset. The content of the data asset or the asset streamed
+     * from the source is written into the separate file in the journal directory.
+     *
+     * @param asset the asset to be journaled.
+     * @return the journal record describing the asset.
+     * @throws IOException if I/O exception occurs.
+     */
+    private JournalAssetRecord journalAsset(@NonNull AssetImpl asset) throws IOException {
+        File file = asset.getFile().orElse(null);
+        if (asset.getFileLikeData().isPresent()) {
+            Path dataFile = this.assetsDirectory().resolve(UUID.randomUUID().toString());
+            Files.write(dataFile, asset.getFileLikeData().get());
+            file = dataFile.toFile();
+        } else if (asset.getSource().isPresent()) {
+            Path dataFile = this.assetsDirectory().resolve(UUID.randomUUID().toString());
+            try (InputStream in = asset.getSource().get().openStream()) {
+                Files.copy(in, dataFile);
+            }
+            file = dataFile.toFile();
+        }
+        return JournalAssetRecord.fromAsset(asset, file);
+    }
+
+    private Path assetsDirectory() {
+        return this.journalDirectory.toPath().resolve(ASSETS_DIRECTORY);
+    }
+
+    private static UnsupportedOperationException unsupportedOperation(String operation) {
+        return new UnsupportedOperationException(getString(OFFLINE_EXPERIMENT_OPERATION_NOT_SUPPORTED, operation));
+    }
+
+    private static String newExperimentKey() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * Returns builder to be used to create properly configured instance of this class.
+     *
+     * @return the builder to be used to create properly configured instance of this class.
+     */
+    public static OfflineExperimentBuilderImpl offlineBuilder() {
+        return new OfflineExperimentBuilderImpl();
+    }
+}
@@ -0,0 +1,282 @@
+package ml.comet.experiment.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Function;
+import lombok.NonNull;
+import lombok.Value;
+import ml.comet.experiment.exception.CometGeneralException;
+import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import ml.comet.experiment.impl.asset.RemoteAssetImpl;
+import ml.comet.experiment.impl.http.Connection;
+import ml.comet.experiment.impl.http.ConnectionInitializer;
+import ml.comet.experiment.impl.journal.JournalArtifactRecord;
+import ml.comet.experiment.impl.journal.JournalAssetRecord;
+import ml.comet.experiment.impl.journal.JournalMetadata;
+import ml.comet.experiment.impl.journal.JournalReader;
+import ml.comet.experiment.impl.queue.LogRecord;
+import ml.comet.experiment.impl.rest.ArtifactVersionState;
+import ml.comet.experiment.impl.rest.CreateExperimentRequest;
+import ml.comet.experiment.impl.rest.CreateExperimentResponse;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.upload.AssetPacker;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static ml.comet.experiment.impl.config.CometConfig.COMET_API_KEY;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_BASE_URL;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_MAX_AUTH_RETRIES;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_OFFLINE_UPLOAD_PARALLELISM;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_TIMEOUT_CLEANING_SECONDS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.UPSERT_ARTIFACT;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_REGISTER_EXPERIMENT;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_SEND_LOG_ARTIFACT_ASSET_REQUEST;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_UPLOAD_JOURNAL_RECORD;
+import static ml.comet.experiment.impl.resources.LogMessages.OFFLINE_EXPERIMENT_UPLOADED;
+import static ml.comet.experiment.impl.resources.LogMessages.getString;
+import static ml.comet.experiment.impl.utils.RestApiUtils.createArtifactVersionStateRequest;
+import static ml.comet.experiment.impl.utils.RestApiUtils.createLogEndTimeRequest;
+import static ml.comet.experiment.impl.utils.RestApiUtils.createLogStartTimeRequest;
+
+/**
+ * Uploads the journal written by the {@link OfflineExperimentImpl} to the Comet. The new experiment is registered
+ * and all journaled records are replayed through the {@link RestApiClient}. The records of the same kind are sent
+ * one after another in the journal order, while the records of different kinds and the assets are sent
+ * concurrently. The end time of the experiment is sent last, after all records were replayed.
+ */
+public final class OfflineExperimentUploader implements Closeable {
+    private static final String EXPERIMENT_KEY = "experimentKey";
+
+    private final Connection connection;
+    private final RestApiClient restApiClient;
+    private final int parallelism;
+    private final Duration cleaningTimeout;
+    private final Logger logger;
+
+    /**
+     * Creates new instance with given parameters.
+     *
+     * @param apiKey          the Comet API key.
+     * @param baseUrl         the base URL of the Comet backend.
+     * @param maxAuthRetries  the maximal number of authentication retries.
+     * @param parallelism     the maximal number of requests in flight.
+     * @param cleaningTimeout the timeout to wait for pending requests when closing.
+     * @param logger          the logger to be used.
+     * @throws IllegalArgumentException if illegal argument is provided or mandatory argument is missing.
+     */
+    public OfflineExperimentUploader(@NonNull String apiKey, @NonNull String baseUrl, int maxAuthRetries,
+                                     int parallelism, @NonNull Duration cleaningTimeout, @NonNull Logger logger)
+            throws IllegalArgumentException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive, but was: " + parallelism);
+        }
+        this.connection = ConnectionInitializer.initConnection(apiKey, baseUrl, maxAuthRetries, logger);
+        this.restApiClient = new RestApiClient(this.connection);
+        this.parallelism = parallelism;
+        this.cleaningTimeout = cleaningTimeout;
+        this.logger = logger;
+    }
+
+    /**
+     * Creates new instance using parameters from the configuration.
+     *
+     * @param logger the logger to be used.
+     * @return the new instance configured from the configuration.
+     */
+    public static OfflineExperimentUploader fromConfig(@NonNull Logger logger) {
+        return new OfflineExperimentUploader(COMET_API_KEY.getString(), COMET_BASE_URL.getString(),
+                COMET_MAX_AUTH_RETRIES.getInt(), COMET_OFFLINE_UPLOAD_PARALLELISM.getInt(),
+                COMET_TIMEOUT_CLEANING_SECONDS.getDuration(), logger);
+    }
+
+    /**
+     * Uploads the journal of the offline experiment from the given directory as new experiment. This is blocking
+     * operation which returns when all records were sent.
+     *
+     * @param journalDirectory the directory with the journal of the offline experiment.
+     * @return the result of the upload.
+     * @throws IOException           if failed to read the journal.
+     * @throws CometGeneralException if failed to register new experiment.
+     */
+    public UploadResult upload(@NonNull File journalDirectory) throws IOException, CometGeneralException {
+        JournalMetadata metadata = JournalMetadata.read(journalDirectory.toPath());
+
+        CreateExperimentResponse response = this.restApiClient.registerExperiment(new CreateExperimentRequest(
+                metadata.getWorkspaceName(), metadata.getProjectName(), metadata.getExperimentName())).blockingGet();
+        if (StringUtils.isBlank(response.getExperimentKey())) {
+            throw new CometGeneralException(getString(FAILED_REGISTER_EXPERIMENT));
+        }
+        String experimentKey = response.getExperimentKey();
+
+        if (metadata.getStartTimeMillis() != null) {
+            this.restApiClient.logStartEndTime(
+                    createLogStartTimeRequest(metadata.getStartTimeMillis()), experimentKey).blockingGet();
+        }
+
+        AtomicLong sent = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        try (JournalReader reader = new JournalReader(journalDirectory.toPath(), this.logger)) {
+            // the records of each kind are replayed in order, only assets are sent with many requests in flight
+            Observable.fromIterable(() -> reader)
+                    .groupBy(LogRecord::getEndpoint)
+                    .flatMap(records -> {
+                        Function<LogRecord, Observable<RestApiResponse>> replay = record ->
+                                this.replay(record, metadata.getExperimentKey(), experimentKey)
+                                        .onErrorReturn(throwable -> {
+                                            this.logger.error(getString(FAILED_TO_UPLOAD_JOURNAL_RECORD, record),
+                                                    throwable);
+                                            return new RestApiResponse(500);
+                                        })
+                                        .toObservable();
+                        if (ADD_ASSET.equals(records.getKey())) {
+                            return records.flatMap(replay, false, this.parallelism);
+                        }
+                        return records.concatMap(replay);
+                    })
+                    .blockingSubscribe(apiResponse -> {
+                        if (apiResponse.hasFailed()) {
+                            failed.incrementAndGet();
+                        } else {
+                            sent.incrementAndGet();
+                        }
+                    });
+        }
+
+        if (metadata.getEndTimeMillis() != null) {
+            this.restApiClient.logStartEndTime(
+                    createLogEndTimeRequest(metadata.getEndTimeMillis()), experimentKey).blockingGet();
+        }
+
+        this.logger.info(getString(OFFLINE_EXPERIMENT_UPLOADED,
+                journalDirectory, response.getLink(), sent.get(), failed.get()));
+        return new UploadResult(experimentKey, response.getLink(), sent.get(), failed.get());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.restApiClient.dispose();
+        this.connection.waitAndClose(this.cleaningTimeout);
+    }
+
+    /**
+     * Replays journaled record for the experiment with given key.
+     *
+     * @param record        the journaled record.
+     * @param offlineKey    the key of the offline experiment used in the journaled records.
+     * @param experimentKey the key of the registered experiment.
+     * @return the {@link Single} which can be used to subscribe for operation results.
+     */
+    private Single<RestApiResponse> replay(@NonNull LogRecord record, @NonNull String offlineKey,
+                                           @NonNull String experimentKey) {
+        return Single.defer(() -> {
+            if (ADD_ASSET.equals(record.getEndpoint())) {
+                return this.sendAsset(
+                        JsonUtils.fromJson(record.getPayload(), JournalAssetRecord.class).toAsset(), experimentKey);
+            }
+            if (UPSERT_ARTIFACT.equals(record.getEndpoint())) {
+                return this.replayArtifact(
+                        JsonUtils.fromJson(record.getPayload(), JournalArtifactRecord.class), experimentKey);
+            }
+            JsonNode payload = JsonUtils.fromJson(record.getPayload(), JsonNode.class);
+            replaceExperimentKey(payload, offlineKey, experimentKey);
+            return this.restApiClient.sendLogRecord(
+                    new LogRecord(record.getEndpoint(), JsonUtils.toJson(payload), Optional.empty()));
+        });
+    }
+
+    /**
+     * Replays journaled artifact for the experiment with given key. The new artifact version is created, its assets
+     * are uploaded and the state of the version is updated to signal whether all assets were uploaded.
+     *
+     * @param artifact      the journaled artifact.
+     * @param experimentKey the key of the registered experiment.
+     * @return the {@link Single} which can be used to subscribe for operation results.
+     */
+    private Single<RestApiResponse> replayArtifact(@NonNull JournalArtifactRecord artifact,
+                                                   @NonNull String experimentKey) {
+        return this.restApiClient.upsertArtifact(artifact.getRequest(), experimentKey).flatMap(entry -> {
+            String artifactVersionId = entry.getArtifactVersionId();
+            Stream<ArtifactAssetImpl> assets = artifact.getAssets().stream().map(JournalAssetRecord::toArtifactAsset);
+            Optional<AssetPacker> packer = AssetPacker.fromConfig();
+            if (packer.isPresent()) {
+                // the small files are uploaded in packs
+                assets = packer.get().pack(assets, ArtifactAssetImpl::new);
+            }
+            return Observable.fromStream(assets.peek(asset -> asset.setArtifactVersionId(artifactVersionId)))
+                    .flatMap(asset -> this.sendAsset(asset, experimentKey)
+                            .onErrorReturn(throwable -> {
+                                this.logger.error(getString(FAILED_TO_SEND_LOG_ARTIFACT_ASSET_REQUEST, asset),
+                                        throwable);
+                                return new RestApiResponse(500);
+                            })
+                            .toObservable(), false, this.parallelism)
+                    .filter(RestApiResponse::hasFailed)
+                    .count()
+                    .flatMap(failedCount -> {
+                        ArtifactVersionState state = failedCount == 0
+                                ? ArtifactVersionState.CLOSED : ArtifactVersionState.ERROR;
+                        return this.restApiClient.updateArtifactState(
+                                        createArtifactVersionStateRequest(artifactVersionId, state), experimentKey)
+                                .map(response -> failedCount == 0 ? response : new RestApiResponse(500));
+                    });
+        });
+    }
+
+    /**
+     * Sends the asset for the experiment with given key.
+     *
+     * @param asset         the asset to be sent.
+     * @param experimentKey the key of the registered experiment.
+     * @return the {@link Single} which can be used to subscribe for operation results.
+     */
+    private Single<RestApiResponse> sendAsset(@NonNull AssetImpl asset, @NonNull String experimentKey) {
+        if (asset instanceof RemoteAssetImpl && ((RemoteAssetImpl) asset).getLink().isPresent()) {
+            return this.restApiClient.logRemoteAsset((RemoteAssetImpl) asset, experimentKey);
+        }
+        return this.restApiClient.logAsset(asset, experimentKey);
+    }
+
+    /**
+     * Replaces the key of the offline experiment with the key of the registered experiment in the
+     * {@code experimentKey} fields of the given JSON payload and the objects nested in it.
+     *
+     * @param node          the JSON payload of the journaled record.
+     * @param offlineKey    the key of the offline experiment used in the journaled records.
+     * @param experimentKey the key of the registered experiment.
+     */
+    private static void replaceExperimentKey(JsonNode node, @NonNull String offlineKey, @NonNull String experimentKey) {
+        if (node instanceof ObjectNode) {
+            JsonNode key = node.get(EXPERIMENT_KEY);
+            if (key != null && offlineKey.equals(key.asText())) {
+                ((ObjectNode) node).put(EXPERIMENT_KEY, experimentKey);
+            }
+        }
+        if (node != null && node.isContainerNode()) {
+            node.forEach(child -> replaceExperimentKey(child, offlineKey, experimentKey));
+        }
+    }
+
+    /**
+     * The result of the offline experiment upload.
+     */
+    @Value
+    public static class UploadResult {
+        String experimentKey;
+        String experimentLink;
+        long sentCount;
+        long failedCount;
+    }
+}
@@ -1,8 +1,11 @@
 package ml.comet.experiment.impl;
 
 import lombok.NonNull;
+import ml.comet.experiment.CometRuntime;
 import ml.comet.experiment.builder.OnlineExperimentBuilder;
 import ml.comet.experiment.impl.config.CometConfig;
+import ml.comet.experiment.impl.queue.OverflowPolicy;
+import ml.comet.experiment.impl.retry.RetryPolicy;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
@@ -12,9 +15,22 @@ import java.time.Duration;
 import static ml.comet.experiment.impl.config.CometConfig.COMET_API_KEY;
 import static ml.comet.experiment.impl.config.CometConfig.COMET_BASE_URL;
 import static ml.comet.experiment.impl.config.CometConfig.COMET_EXPERIMENT_KEY;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_LOG_RECORDS_MAX_IN_FLIGHT;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_LOG_RECORDS_OVERFLOW_POLICY;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_LOG_RECORDS_QUEUE_CAPACITY;
 import static ml.comet.experiment.impl.config.CometConfig.COMET_MAX_AUTH_RETRIES;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_METRICS_BATCH_LINGER_MS;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_METRICS_BATCH_SIZE;
 import static ml.comet.experiment.impl.config.CometConfig.COMET_PROJECT_NAME;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_RETRY_BASE_DELAY_MS;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_RETRY_DEADLINE_SECONDS;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_RETRY_MAX_DELAY_MS;
 import static ml.comet.experiment.impl.config.CometConfig.COMET_TIMEOUT_CLEANING_SECONDS;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_SYSTEM_METRICS_INTERVAL_MS;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_DEDUPE_PARALLELISM;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_MANIFEST_DIRECTORY;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_WAL_COMMIT_INTERVAL_MS;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_WAL_DIRECTORY;
 import static ml.comet.experiment.impl.config.CometConfig.COMET_WORKSPACE_NAME;
 
 /**
@@ -30,6 +46,9 @@ final class OnlineExperimentBuilderImpl implements OnlineExperimentBuilder {
     private String experimentKey;
     private Logger logger;
     private boolean interceptStdout = false;
+    private File walDirectory;
+    private Duration systemMetricsInterval;
+    private CometRuntimeImpl runtime;
 
     /**
      * Default constructor to avoid direct initialization from the outside.
@@ -91,6 +110,24 @@ final class OnlineExperimentBuilderImpl implements OnlineExperimentBuilder {
         return this;
     }
 
+    @Override
+    public OnlineExperimentBuilderImpl withWriteAheadLog(@NonNull File walDirectory) {
+        this.walDirectory = walDirectory;
+        return this;
+    }
+
+    @Override
+    public OnlineExperimentBuilderImpl withSystemMetrics(@NonNull Duration interval) {
+        this.systemMetricsInterval = interval;
+        return this;
+    }
+
+    @Override
+    public OnlineExperimentBuilderImpl withRuntime(@NonNull CometRuntime runtime) {
+        this.runtime = CometRuntimeImpl.fromRuntime(runtime);
+        return this;
+    }
+
     @Override
     public OnlineExperimentBuilderImpl interceptStdout() {
         this.interceptStdout = true;
@@ -118,11 +155,32 @@ final class OnlineExperimentBuilderImpl implements OnlineExperimentBuilder {
         if (this.maxAuthRetries == -1) {
             this.maxAuthRetries = COMET_MAX_AUTH_RETRIES.getInt();
         }
+        if (this.walDirectory == null) {
+            this.walDirectory = COMET_WAL_DIRECTORY.getOptionalString().map(File::new).orElse(null);
+        }
+        if (this.systemMetricsInterval == null) {
+            this.systemMetricsInterval = Duration.ofMillis(COMET_SYSTEM_METRICS_INTERVAL_MS.getInt());
+        }
         Duration cleaningTimeout = COMET_TIMEOUT_CLEANING_SECONDS.getDuration();
+        int metricsBatchSize = COMET_METRICS_BATCH_SIZE.getInt();
+        Duration metricsBatchLinger = Duration.ofMillis(COMET_METRICS_BATCH_LINGER_MS.getInt());
+        int logRecordsQueueCapacity = COMET_LOG_RECORDS_QUEUE_CAPACITY.getInt();
+        OverflowPolicy logRecordsOverflowPolicy = OverflowPolicy.valueOf(
+                COMET_LOG_RECORDS_OVERFLOW_POLICY.getString().toUpperCase());
+        int logRecordsMaxInFlight = COMET_LOG_RECORDS_MAX_IN_FLIGHT.getInt();
+        RetryPolicy retryPolicy = new RetryPolicy(Duration.ofMillis(COMET_RETRY_BASE_DELAY_MS.getInt()),
+                Duration.ofMillis(COMET_RETRY_MAX_DELAY_MS.getInt()), COMET_RETRY_DEADLINE_SECONDS.getDuration());
+        Duration walCommitInterval = Duration.ofMillis(COMET_WAL_COMMIT_INTERVAL_MS.getInt());
+        int uploadDedupeParallelism = COMET_UPLOAD_DEDUPE_PARALLELISM.getInt();
+        File uploadManifestDirectory = new File(COMET_UPLOAD_MANIFEST_DIRECTORY.getString());
 
         OnlineExperimentImpl experiment = new OnlineExperimentImpl(
                 this.apiKey, this.projectName, this.workspace, this.experimentName, this.experimentKey,
-                this.logger, this.interceptStdout, this.baseUrl, this.maxAuthRetries, cleaningTimeout);
+                this.logger, this.interceptStdout, this.baseUrl, this.maxAuthRetries, cleaningTimeout,
+                metricsBatchSize, metricsBatchLinger, logRecordsQueueCapacity, logRecordsOverflowPolicy,
+                logRecordsMaxInFlight, retryPolicy, uploadDedupeParallelism, uploadManifestDirectory,
+                this.walDirectory, walCommitInterval, this.systemMetricsInterval);
+        experiment.runtime = this.runtime;
         try {
             // initialize experiment
             experiment.init();
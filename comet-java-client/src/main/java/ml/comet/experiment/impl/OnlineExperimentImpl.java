@@ -1,39 +1,51 @@
 package ml.comet.experiment.impl;
 
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Action;
+import io.reactivex.rxjava3.functions.Consumer;
 import lombok.Getter;
 import lombok.NonNull;
 import ml.comet.experiment.OnlineExperiment;
 import ml.comet.experiment.artifact.Artifact;
 import ml.comet.experiment.artifact.ArtifactException;
 import ml.comet.experiment.artifact.LoggedArtifact;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.context.ExperimentContext;
 import ml.comet.experiment.exception.CometApiException;
 import ml.comet.experiment.impl.asset.AssetImpl;
 import ml.comet.experiment.impl.asset.AssetType;
+import ml.comet.experiment.impl.http.Connection;
 import ml.comet.experiment.impl.log.StdOutLogger;
-import ml.comet.experiment.impl.rest.ExperimentStatusResponse;
+import ml.comet.experiment.impl.queue.LogRecordsQueue;
+import ml.comet.experiment.impl.queue.OverflowPolicy;
+import ml.comet.experiment.impl.rest.OutputLine;
+import ml.comet.experiment.impl.retry.RetryPolicy;
+import ml.comet.experiment.impl.retry.RetryScheduler;
+import ml.comet.experiment.impl.stats.SdkStatsJmx;
+import ml.comet.experiment.impl.stats.SdkStatsRegistry;
+import ml.comet.experiment.impl.utils.FutureUtils;
+import ml.comet.experiment.impl.utils.Inventory;
+import ml.comet.experiment.impl.utils.SystemMetricsSampler;
 import ml.comet.experiment.model.Curve;
 import ml.comet.experiment.model.GitMetaData;
-import org.awaitility.Awaitility;
+import ml.comet.experiment.model.SdkStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.management.ObjectName;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
@@ -55,20 +67,16 @@ import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_LOG_MODEL
 import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_LOG_REMOTE_ASSET;
 import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_LOG_TEXT_ASSET;
 import static ml.comet.experiment.impl.resources.LogMessages.TIMEOUT_FOR_EXPERIMENT_INVENTORY_CLEANUP;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_OPEN_WRITE_AHEAD_LOG;
 import static ml.comet.experiment.impl.resources.LogMessages.getString;
 import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromCurve;
 
 /**
  * The implementation of the {@link OnlineExperiment} to work with Comet API asynchronously.
  */
-public final class OnlineExperimentImpl extends BaseExperimentAsync implements OnlineExperiment {
-    private static final int SCHEDULED_EXECUTOR_TERMINATION_WAIT_SEC = 60;
-    private static final int STD_OUT_LOGGER_FLUSH_WAIT_DELAY_MS = 2000;
-
-    private static final int DEFAULT_HEARTBEAT_INTERVAL_MS = 3000;
-
-    private final ScheduledExecutorService scheduledExecutorService =
-            Executors.newSingleThreadScheduledExecutor();
+public class OnlineExperimentImpl extends BaseExperimentAsync implements OnlineExperiment {
+    private static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofMillis(3000);
+    private static final Duration HEARTBEAT_INITIAL_DELAY = Duration.ofMillis(500);
 
     @Getter
     private Logger logger = LoggerFactory.getLogger(OnlineExperimentImpl.class);
@@ -77,36 +85,55 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
     private StdOutLogger stdErrLogger;
     private boolean interceptStdout;
 
-    // The future representing scheduled heartbeat sender thread
-    private ScheduledFuture<?> heartbeatSendFuture;
-    // The time instant to indicate when next heartbeat should be sent
-    private Instant nextHeartbeatInstant;
+    // The root directory of the write-ahead logs, null if write-ahead log is disabled
+    private final File walDirectory;
+    private final Duration walCommitInterval;
+    // The interval between samples of the system metrics, sampling is disabled if zero
+    private final Duration systemMetricsInterval;
+    private SystemMetricsSampler systemMetricsSampler;
+
+    // The name of the MBean exposing the SDK statistics, null if not registered
+    private ObjectName sdkStatsMBeanName;
+
+    // The heartbeats of this experiment sent by the process-wide scheduler
+    private HeartbeatScheduler.Heartbeat heartbeat;
 
     // The flag to indicate if experiment end() was called and experiment shutdown initialized
     private final AtomicBoolean atShutdown = new AtomicBoolean();
     // The flag to indicate if experiment end() was called and experiment cleaning its inventory
     private final AtomicBoolean atCleanup = new AtomicBoolean();
 
-    // The counter to maintain current inventory of the artifacts being in progress
+    // The inventory of the artifacts being in progress
     @Getter
-    private final AtomicInteger artifactsInProgress = new AtomicInteger();
-    // The counter to maintain current inventory of the assets or the set of assets (assets folder) being in progress
+    private final Inventory artifactsInProgress = new Inventory();
+    // The inventory of the assets or the set of assets (assets folder) being in progress
     @Getter
-    private final AtomicInteger assetsInProgress = new AtomicInteger();
+    private final Inventory assetsInProgress = new Inventory();
 
     /**
      * Creates new instance with given parameters.
      *
-     * @param apiKey          the Comet API key.
-     * @param projectName     the project name (optional).
-     * @param workspaceName   the workspace name (optional).
-     * @param experimentName  the experiment name (optional).
-     * @param experimentKey   the experiment key to continue existing experiment (optional).
-     * @param logger          the logger to be used instead (optional).
-     * @param interceptStdout the flag to indicate if StdOut should be intercepted.
-     * @param baseUrl         the base URL of the Comet backend.
-     * @param maxAuthRetries  the maximal number of authentication retries.
-     * @param cleaningTimeout the cleaning timeout after experiment end.
+     * @param apiKey                   the Comet API key.
+     * @param projectName              the project name (optional).
+     * @param workspaceName            the workspace name (optional).
+     * @param experimentName           the experiment name (optional).
+     * @param experimentKey            the experiment key to continue existing experiment (optional).
+     * @param logger                   the logger to be used instead (optional).
+     * @param interceptStdout          the flag to indicate if StdOut should be intercepted.
+     * @param baseUrl                  the base URL of the Comet backend.
+     * @param maxAuthRetries           the maximal number of authentication retries.
+     * @param cleaningTimeout          the cleaning timeout after experiment end.
+     * @param metricsBatchSize         the maximal number of metric records to be sent in one batch request.
+     * @param metricsBatchLinger       the maximal time to keep metric records in the batch before sending.
+     * @param logRecordsQueueCapacity  the maximal number of write records kept in memory waiting to be sent.
+     * @param logRecordsOverflowPolicy the policy to handle new write records when queue is full.
+     * @param logRecordsMaxInFlight    the maximal number of write requests in flight.
+     * @param retryPolicy              the policy to retry failed requests.
+     * @param uploadDedupeParallelism  the maximal number of files hashed concurrently to skip unchanged files.
+     * @param uploadManifestDirectory  the directory to keep the upload manifests and indexes of uploaded files.
+     * @param walDirectory             the directory of the write-ahead log or {@code null} to disable it.
+     * @param walCommitInterval        the time to collect records before forcing the write-ahead log to disk.
+     * @param systemMetricsInterval    the interval between samples of the system metrics, disabled if zero.
      * @throws IllegalArgumentException if illegal argument is provided or mandatory argument is missing.
      */
     OnlineExperimentImpl(
@@ -119,11 +146,27 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
             boolean interceptStdout,
             String baseUrl,
             int maxAuthRetries,
-            Duration cleaningTimeout) throws IllegalArgumentException {
-        super(apiKey, baseUrl, maxAuthRetries, experimentKey, cleaningTimeout, projectName, workspaceName);
+            Duration cleaningTimeout,
+            int metricsBatchSize,
+            Duration metricsBatchLinger,
+            int logRecordsQueueCapacity,
+            OverflowPolicy logRecordsOverflowPolicy,
+            int logRecordsMaxInFlight,
+            RetryPolicy retryPolicy,
+            int uploadDedupeParallelism,
+            File uploadManifestDirectory,
+            File walDirectory,
+            Duration walCommitInterval,
+            Duration systemMetricsInterval) throws IllegalArgumentException {
+        super(apiKey, baseUrl, maxAuthRetries, experimentKey, cleaningTimeout, projectName, workspaceName,
+                metricsBatchSize, metricsBatchLinger, logRecordsQueueCapacity, logRecordsOverflowPolicy,
+                logRecordsMaxInFlight, retryPolicy, uploadDedupeParallelism, uploadManifestDirectory);
 
         this.experimentName = experimentName;
         this.interceptStdout = interceptStdout;
+        this.walDirectory = walDirectory;
+        this.walCommitInterval = walCommitInterval;
+        this.systemMetricsInterval = systemMetricsInterval;
         if (logger != null) {
             this.logger = logger;
         }
@@ -141,6 +184,17 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         //
         this.atShutdown.set(true);
 
+        // stop sampling system metrics before sending pending metric records
+        //
+        if (this.systemMetricsSampler != null) {
+            this.systemMetricsSampler.stop();
+            this.systemMetricsSampler = null;
+        }
+
+        // send pending metric records
+        //
+        this.closeMetricsBatcher();
+
         // wait for inventory to complete all pending actions
         //
         this.atCleanup.set(true);
@@ -151,26 +205,22 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         }
         this.atCleanup.set(false);
 
+        // stop sending write records
+        //
+        this.closeLogRecordsDispatcher();
+        this.closeRetryScheduler();
+        this.closeUploadDeduplicator();
+        this.closeWriteAheadLog();
+
         // stop pinging server
         //
-        if (heartbeatSendFuture != null) {
-            if (!heartbeatSendFuture.cancel(true)) {
-                this.logger.error("Failed to stop experiment's heartbeat sender");
-            } else {
-                this.logger.info(getString(EXPERIMENT_HEARTBEAT_STOPPED_PROMPT));
-            }
-            heartbeatSendFuture = null;
-        }
-        // release executor
-        this.scheduledExecutorService.shutdownNow();
-        try {
-            if (!this.scheduledExecutorService.awaitTermination(
-                    SCHEDULED_EXECUTOR_TERMINATION_WAIT_SEC, TimeUnit.SECONDS)) {
-                this.logger.warn("Scheduled executor failed to terminate");
-            }
-        } catch (InterruptedException e) {
-            this.logger.error("scheduled executor's wait for termination was interrupted", e);
+        if (this.heartbeat != null) {
+            this.heartbeat.cancel();
+            this.heartbeat = null;
+            this.logger.info(getString(EXPERIMENT_HEARTBEAT_STOPPED_PROMPT));
         }
+        SdkStatsJmx.unregister(this.sdkStatsMBeanName, getLogger());
+        this.sdkStatsMBeanName = null;
 
         // stop intercepting stdout
         //
@@ -205,15 +255,26 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         }
     }
 
+    @Override
+    public CompletableFuture<Void> flush(@NonNull Duration timeout) {
+        // the records are waited for after sending the collected metrics, thus the metrics are included
+        CompletableFuture<Void> released = CompletableFuture.allOf(
+                this.assetsInProgress.whenReleased(),
+                this.artifactsInProgress.whenReleased());
+        this.flushMetricsBatcher();
+        released = CompletableFuture.allOf(released, this.logRecordsInventory.whenReleased());
+        return FutureUtils.withTimeout(released, timeout);
+    }
+
     @Override
     public void stopInterceptStdout() throws IOException {
         if (this.stdOutLogger != null) {
-            this.stopStdOutLogger(this.stdOutLogger, STD_OUT_LOGGER_FLUSH_WAIT_DELAY_MS);
+            this.stopStdOutLogger(this.stdOutLogger);
             this.stdOutLogger = null;
             this.interceptStdout = false;
         }
         if (this.stdErrLogger != null) {
-            this.stopStdOutLogger(this.stdErrLogger, 0);
+            this.stopStdOutLogger(this.stdErrLogger);
             this.stdErrLogger = null;
         }
     }
@@ -266,6 +327,73 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         return this.baseContext.getContext();
     }
 
+    /**
+     * Returns the number of write records waiting in the queue or being sent to the Comet.
+     *
+     * @return the number of write records waiting in the queue or being sent to the Comet.
+     */
+    public int getLogRecordsQueueDepth() {
+        return this.getPendingLogRecordsCount();
+    }
+
+    /**
+     * Returns the number of retries of the failed requests which failed again.
+     *
+     * @return the number of retries of the failed requests which failed again.
+     */
+    public long getFailedRetriesCount() {
+        RetryScheduler scheduler = this.getRetryScheduler();
+        return scheduler != null ? scheduler.getFailedRetriesCount() : 0;
+    }
+
+    /**
+     * Returns the number of failed requests abandoned because their retry deadline passed.
+     *
+     * @return the number of failed requests abandoned because their retry deadline passed.
+     */
+    public long getGiveUpsCount() {
+        RetryScheduler scheduler = this.getRetryScheduler();
+        return scheduler != null ? scheduler.getGiveUpsCount() : 0;
+    }
+
+    @Override
+    public SdkStats getSdkStats() {
+        long retries = 0;
+        RetryScheduler scheduler = this.getRetryScheduler();
+        if (scheduler != null) {
+            retries += scheduler.getRetriesCount();
+        }
+        Connection connection = getConnection();
+        if (connection != null) {
+            retries += connection.getRetryScheduler().getRetriesCount();
+        }
+        SdkStatsRegistry registry = this.getStatsRegistry();
+        if (registry == null) {
+            registry = connection != null ? connection.getStatsRegistry() : new SdkStatsRegistry();
+        }
+        return registry.snapshot(this.getPendingLogRecordsCount(), retries, this.getDroppedLogRecordsCount());
+    }
+
+    /**
+     * Returns the total number of write records dropped due to the queue overflow.
+     *
+     * @return the total number of write records dropped due to the queue overflow.
+     */
+    public long getDroppedLogRecordsCount() {
+        LogRecordsQueue queue = this.getLogRecordsQueue();
+        return queue != null ? queue.getDroppedCount() : 0;
+    }
+
+    /**
+     * Returns the total number of write records spilled to disk due to the queue overflow.
+     *
+     * @return the total number of write records spilled to disk due to the queue overflow.
+     */
+    public long getSpilledLogRecordsCount() {
+        LogRecordsQueue queue = this.getLogRecordsQueue();
+        return queue != null ? queue.getSpilledCount() : 0;
+    }
+
     @Override
     public Optional<String> getExperimentLink() {
         return ofNullable(this.experimentLink);
@@ -294,6 +422,35 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         this.logMetric(metricName, metricValue, ExperimentContext.empty());
     }
 
+    @Override
+    public void logMetric(@NonNull String metricName, double metricValue) {
+        this.checkExperimentActiveState();
+        this.logMetricFast(metricName, metricValue);
+    }
+
+    @Override
+    public void logMetric(@NonNull String metricName, float metricValue) {
+        this.checkExperimentActiveState();
+        this.logMetricFast(metricName, metricValue);
+    }
+
+    @Override
+    public void logMetric(@NonNull String metricName, long metricValue) {
+        this.checkExperimentActiveState();
+        this.logMetricFast(metricName, metricValue);
+    }
+
+    @Override
+    public void logMetrics(@NonNull Map<String, Number> metrics, @NonNull ExperimentContext context) {
+        this.checkExperimentActiveState();
+        this.logMetrics(metrics, context, empty());
+    }
+
+    @Override
+    public void logMetrics(@NonNull Map<String, Number> metrics) {
+        this.logMetrics(metrics, ExperimentContext.empty());
+    }
+
     @Override
     public void logParameter(@NonNull String parameterName, @NonNull Object paramValue) {
         this.logParameter(parameterName, paramValue, ExperimentContext.empty());
@@ -358,6 +515,11 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         this.logLine(line, offset, stderr, this.getContext());
     }
 
+    @Override
+    public void logLines(@NonNull List<OutputLine> lines, String context) {
+        this.logLines(lines, context, empty());
+    }
+
     @Override
     public void logLine(String line, long offset, boolean stderr, String context) {
         this.setContext(context);
@@ -367,9 +529,9 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
     @Override
     public void logAssetFolder(@NonNull File folder, boolean logFilePath,
                                boolean recursive, @NonNull ExperimentContext context) {
-        this.executeLogAction(() ->
+        this.executeLogAction(onComplete ->
                         this.logAssetFolder(folder, logFilePath, recursive, true, context,
-                                this.getLogAssetOnCompleteAction()),
+                                onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_ASSET_FOLDER, folder));
     }
 
@@ -386,9 +548,9 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
     @Override
     public void uploadAsset(@NonNull File asset, @NonNull String logicalPath,
                             boolean overwrite, @NonNull ExperimentContext context) {
-        this.executeLogAction(() ->
+        this.executeLogAction(onComplete ->
                         this.logAssetFileAsync(asset, logicalPath, overwrite, context,
-                                this.getLogAssetOnCompleteAction()),
+                                onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_ASSET, logicalPath));
     }
 
@@ -419,11 +581,31 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         this.uploadAsset(asset, asset.getName(), overwrite, ExperimentContext.empty());
     }
 
+    @Override
+    public void uploadAsset(@NonNull AssetSource source, @NonNull String logicalPath,
+                            boolean overwrite, @NonNull ExperimentContext context) {
+        this.executeLogAction(onComplete ->
+                        this.logAssetSourceAsync(source, logicalPath, overwrite,
+                                Optional.of(AssetType.ASSET.type()), empty(), empty(), context, onComplete),
+                this.assetsInProgress, getString(FAILED_TO_LOG_ASSET, logicalPath));
+    }
+
+    @Override
+    public void uploadAsset(@NonNull AssetSource source, @NonNull String logicalPath, boolean overwrite, long step) {
+        this.uploadAsset(source, logicalPath, overwrite,
+                new ExperimentContext(step, this.getEpoch(), this.getContext()));
+    }
+
+    @Override
+    public void uploadAsset(@NonNull AssetSource source, @NonNull String logicalPath, boolean overwrite) {
+        this.uploadAsset(source, logicalPath, overwrite, ExperimentContext.empty());
+    }
+
     @Override
     public void logRemoteAsset(@NonNull URI uri, String logicalPath, boolean overwrite,
                                Map<String, Object> metadata, @NonNull ExperimentContext context) {
-        this.executeLogAction(() -> this.logRemoteAsset(uri, ofNullable(logicalPath), overwrite,
-                        ofNullable(metadata), context, this.getLogAssetOnCompleteAction()),
+        this.executeLogAction(onComplete -> this.logRemoteAsset(uri, ofNullable(logicalPath), overwrite,
+                        ofNullable(metadata), context, onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_REMOTE_ASSET, uri));
     }
 
@@ -444,18 +626,18 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
 
     @Override
     public void logCode(@NonNull String code, @NonNull String logicalPath, @NonNull ExperimentContext context) {
-        this.executeLogAction(() ->
+        this.executeLogAction(onComplete ->
                         this.logAssetDataAsync(code.getBytes(StandardCharsets.UTF_8), logicalPath, false,
                                 Optional.of(SOURCE_CODE.type()), empty(), empty(), context,
-                                this.getLogAssetOnCompleteAction()),
+                                onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_CODE_ASSET, logicalPath));
     }
 
     @Override
     public void logCode(@NonNull File file, @NonNull ExperimentContext context) {
-        this.executeLogAction(() ->
+        this.executeLogAction(onComplete ->
                         this.logAssetFileAsync(file, file.getName(), false, Optional.of(SOURCE_CODE.type()),
-                                empty(), empty(), context, this.getLogAssetOnCompleteAction()),
+                                empty(), empty(), context, onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_CODE_ASSET, file));
     }
 
@@ -471,11 +653,11 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
 
     @Override
     public void logText(@NonNull String text, @NonNull ExperimentContext context, Map<String, Object> metadata) {
-        this.executeLogAction(() ->
+        this.executeLogAction(onComplete ->
                         this.logAssetDataAsync(
                                 text.getBytes(StandardCharsets.UTF_8), AUTOGENERATED_LOGICAL_PATH_HOLDER,
                                 false, Optional.of(TEXT_SAMPLE.type()), empty(),
-                                Optional.ofNullable(metadata), context, this.getLogAssetOnCompleteAction()),
+                                Optional.ofNullable(metadata), context, onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_TEXT_ASSET));
     }
 
@@ -492,8 +674,8 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
     @Override
     public void logCurve(@NonNull Curve curve, boolean overwrite, @NonNull ExperimentContext context) {
         AssetImpl asset = createAssetFromCurve(curve, overwrite);
-        this.executeLogAction(() -> this.logAssetAsync(
-                        asset, context, this.getLogAssetOnCompleteAction()),
+        this.executeLogAction(onComplete -> this.logAssetAsync(
+                        asset, context, onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_CURVE_ASSET));
     }
 
@@ -510,11 +692,11 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
     @Override
     public CompletableFuture<LoggedArtifact> logArtifact(Artifact artifact) throws ArtifactException {
         this.checkExperimentActiveState();
+        Runnable release = this.artifactsInProgress.register();
         try {
-            this.artifactsInProgress.incrementAndGet();
-            return this.logArtifact(artifact, Optional.of(this.artifactsInProgress::decrementAndGet));
+            return this.logArtifact(artifact, Optional.of(release::run));
         } catch (Throwable t) {
-            this.artifactsInProgress.decrementAndGet();
+            release.run();
             throw t;
         }
     }
@@ -522,10 +704,10 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
     @Override
     public void logModelFolder(@NonNull String modelName, @NonNull File folder, boolean logFilePath,
                                Map<String, Object> metadata, @NonNull ExperimentContext context) {
-        this.executeLogAction(() ->
+        this.executeLogAction(onComplete ->
                         this.logAssetFolder(folder, logFilePath, true, logFilePath,
                                 Optional.of(AssetType.MODEL_ELEMENT.type()), Optional.of(modelName),
-                                ofNullable(metadata), context, this.getLogAssetOnCompleteAction()),
+                                ofNullable(metadata), context, onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_MODEL_FOLDER, folder, modelName));
     }
 
@@ -548,10 +730,10 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
     @Override
     public void logModel(@NonNull String modelName, @NonNull File file, @NonNull String logicalPath, boolean overwrite,
                          Map<String, Object> metadata, @NonNull ExperimentContext context) {
-        this.executeLogAction(() ->
+        this.executeLogAction(onComplete ->
                         this.logAssetFileAsync(file, logicalPath, overwrite,
                                 Optional.of(AssetType.MODEL_ELEMENT.type()), Optional.of(modelName),
-                                ofNullable(metadata), context, this.getLogAssetOnCompleteAction()),
+                                ofNullable(metadata), context, onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_MODEL_ASSET, modelName, logicalPath));
     }
 
@@ -581,10 +763,10 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
     @Override
     public void logModel(@NonNull String modelName, byte[] data, @NonNull String logicalPath, boolean overwrite,
                          Map<String, Object> metadata, @NonNull ExperimentContext context) {
-        this.executeLogAction(() ->
+        this.executeLogAction(onComplete ->
                         this.logAssetDataAsync(data, logicalPath, overwrite,
                                 Optional.of(AssetType.MODEL_ELEMENT.type()), Optional.of(modelName),
-                                ofNullable(metadata), context, this.getLogAssetOnCompleteAction()),
+                                ofNullable(metadata), context, onComplete),
                 this.assetsInProgress, getString(FAILED_TO_LOG_MODEL_ASSET, modelName, logicalPath));
     }
 
@@ -604,6 +786,33 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         this.logModel(modelName, data, logicalPath, false);
     }
 
+    @Override
+    public void logModel(@NonNull String modelName, @NonNull AssetSource source, @NonNull String logicalPath,
+                         boolean overwrite, Map<String, Object> metadata, @NonNull ExperimentContext context) {
+        this.executeLogAction(onComplete ->
+                        this.logAssetSourceAsync(source, logicalPath, overwrite,
+                                Optional.of(AssetType.MODEL_ELEMENT.type()), Optional.of(modelName),
+                                ofNullable(metadata), context, onComplete),
+                this.assetsInProgress, getString(FAILED_TO_LOG_MODEL_ASSET, modelName, logicalPath));
+    }
+
+    @Override
+    public void logModel(@NonNull String modelName, @NonNull AssetSource source, @NonNull String logicalPath,
+                         boolean overwrite, Map<String, Object> metadata) {
+        this.logModel(modelName, source, logicalPath, overwrite, metadata, ExperimentContext.empty());
+    }
+
+    @Override
+    public void logModel(@NonNull String modelName, @NonNull AssetSource source, @NonNull String logicalPath,
+                         boolean overwrite) {
+        this.logModel(modelName, source, logicalPath, overwrite, null);
+    }
+
+    @Override
+    public void logModel(@NonNull String modelName, @NonNull AssetSource source, @NonNull String logicalPath) {
+        this.logModel(modelName, source, logicalPath, false);
+    }
+
     @Override
     void init() {
         super.init();
@@ -611,6 +820,14 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         setupStdOutIntercept();
         registerExperiment();
 
+        if (this.walDirectory != null) {
+            try {
+                this.openWriteAheadLog(this.walDirectory, this.walCommitInterval);
+            } catch (IOException e) {
+                this.logger.error(getString(FAILED_TO_OPEN_WRITE_AHEAD_LOG, this.walDirectory), e);
+            }
+        }
+
         // send system details
         try {
             this.logSystemDetails();
@@ -618,13 +835,20 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
             this.logger.error(getString(FAILED_LOG_SYSTEM_DETAILS), ex);
         }
 
-        this.nextHeartbeatInstant = Instant.now();
-        this.heartbeatSendFuture = this.scheduledExecutorService.scheduleAtFixedRate(
-                new OnlineExperimentImpl.HeartbeatPing(this),
-                500, 1000, TimeUnit.MILLISECONDS);
+        if (!this.systemMetricsInterval.isZero() && !this.systemMetricsInterval.isNegative()) {
+            this.systemMetricsSampler = SystemMetricsSampler.start(this.systemMetricsInterval,
+                    metrics -> this.logMetrics(metrics, ExperimentContext.empty(), empty()), getLogger());
+        }
+
+        this.sdkStatsMBeanName = SdkStatsJmx.register(this.experimentKey, this::getSdkStats, getLogger());
+
+        Connection connection = getConnection();
+        this.heartbeat = HeartbeatScheduler.getDefault().schedule(this::sendHeartbeat,
+                connection.getLastSuccessfulWriteNanos()::get, DEFAULT_HEARTBEAT_INTERVAL,
+                HEARTBEAT_INITIAL_DELAY, getLogger());
     }
 
-    private void setupStdOutIntercept() {
+    void setupStdOutIntercept() {
         if (this.interceptStdout) {
             try {
                 this.captureStdout();
@@ -634,51 +858,35 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         }
     }
 
-    private void stopStdOutLogger(@NonNull StdOutLogger stdOutLogger, long delay) throws IOException {
+    private void stopStdOutLogger(@NonNull StdOutLogger stdOutLogger) throws IOException {
         // flush first
         stdOutLogger.flush();
 
-        // wait a bit for changes to propagate
-        try {
-            Thread.sleep(delay);
-        } catch (InterruptedException e) {
-            this.logger.warn("interrupted while waiting for StdLogger to flush", e);
-        }
-
-        // close after that
+        // close after that - waits for all captured lines to be sent
         stdOutLogger.close();
+        if (stdOutLogger.getDroppedBytes() > 0) {
+            this.logger.warn("{} bytes of the intercepted output were dropped", stdOutLogger.getDroppedBytes());
+        }
     }
 
     // Internal OnlineExperiment Logic Methods
     private void captureStdout() throws IOException {
-        stdOutLogger = StdOutLogger.createStdoutLogger(this);
-        stdErrLogger = StdOutLogger.createStderrLogger(this);
+        stdOutLogger = StdOutLogger.createStdoutLogger(lines -> this.logLines(lines, this.getContext(), empty()));
+        stdErrLogger = StdOutLogger.createStderrLogger(lines -> this.logLines(lines, this.getContext(), empty()));
     }
 
-    private void sendHeartbeat() {
+    /**
+     * Sends heartbeat asynchronously unless experiment is not alive or already finished cleanup while shutting down.
+     *
+     * @return the {@link Single} emitting the heartbeat interval requested by the server.
+     */
+    private Single<Duration> sendHeartbeat() {
         if (!this.alive || (this.hasShutdownStarted() && !this.atCleanup.get())) {
-            // not alive or already finished cleanup while shutting down
-            return;
+            return Single.error(new IllegalStateException("experiment is not alive"));
         }
         logger.debug("sendHeartbeat");
-        Instant nowInstant = Instant.now();
-        if (nowInstant.isBefore(this.nextHeartbeatInstant)) {
-            return;
-        }
-
-        Optional<ExperimentStatusResponse> status = this.sendExperimentStatus();
-        if (status.isPresent()) {
-            long interval = status.get().getIsAliveBeatDurationMillis();
-            Instant now = Instant.now();
-            this.nextHeartbeatInstant = now.plusMillis(interval);
-            if (logger.isDebugEnabled()) {
-                logger.debug("received heartbeat interval {} ms at {}, next heartbeat at {}",
-                        interval, now, this.nextHeartbeatInstant);
-            }
-        } else {
-            // use default interval
-            this.nextHeartbeatInstant = Instant.now().plusMillis(DEFAULT_HEARTBEAT_INTERVAL_MS);
-        }
+        return this.sendExperimentStatusAsync()
+                .map(status -> Duration.ofMillis(status.getIsAliveBeatDurationMillis()));
     }
 
     /**
@@ -692,13 +900,22 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
         this.logger.info(getString(
                 EXPERIMENT_INVENTORY_STATUS_PROMPT, this.assetsInProgress.get(), this.artifactsInProgress.get()));
 
-        // wait for the inventory to be processed
-        Awaitility
-                .await(getString(TIMEOUT_FOR_EXPERIMENT_INVENTORY_CLEANUP,
-                        this.assetsInProgress.get(), this.artifactsInProgress.get()))
-                .atMost(this.cleaningTimeout)
-                .pollInterval(500, TimeUnit.MILLISECONDS)
-                .until(this::hasEmptyInventory);
+        // wait for the inventory to be processed, the waiter is signalled when the last operation completes
+        try {
+            CompletableFuture.allOf(
+                            this.assetsInProgress.whenEmpty(),
+                            this.artifactsInProgress.whenEmpty(),
+                            this.logRecordsInventory.whenEmpty())
+                    .get(this.cleaningTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            this.logger.error(getString(TIMEOUT_FOR_EXPERIMENT_INVENTORY_CLEANUP,
+                    this.assetsInProgress.get(), this.artifactsInProgress.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.logger.error(getString(FAILED_TO_CLEAN_EXPERIMENT_INVENTORY), e);
+        } catch (ExecutionException e) {
+            this.logger.error(getString(FAILED_TO_CLEAN_EXPERIMENT_INVENTORY), e.getCause());
+        }
     }
 
     /**
@@ -707,7 +924,8 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
      * @return {@code true} if experiment inventory is fully processed.
      */
     private boolean hasEmptyInventory() {
-        return this.artifactsInProgress.get() == 0 && this.assetsInProgress.get() == 0;
+        return this.artifactsInProgress.isEmpty() && this.assetsInProgress.isEmpty()
+                && this.logRecordsInventory.isEmpty();
     }
 
     /**
@@ -724,49 +942,32 @@ public final class OnlineExperimentImpl extends BaseExperimentAsync implements O
      *
      * @throws IllegalStateException is experiment was already closed by calling {@link #end()}.
      */
-    private void checkExperimentActiveState() throws IllegalStateException {
+    void checkExperimentActiveState() throws IllegalStateException {
         if (hasShutdownStarted()) {
             throw new IllegalStateException(getString(EXPERIMENT_ALREADY_CLOSED_STATUS_ERROR));
         }
     }
 
     /**
-     * Executes provided log action wrapping it into the inventory tracking.
+     * Executes provided log action wrapping it into the inventory tracking. The action receives the completion
+     * action which must be invoked when the logging operation completes either successfully or erroneously.
      *
-     * @param action    the {@link Action} to be executed.
-     * @param inventory the {@link AtomicInteger} to track inventory associated with action.
+     * @param action    the {@link Consumer} of the completion action to be executed.
+     * @param inventory the {@link Inventory} to track inventory associated with action.
      */
-    void executeLogAction(final Action action, final AtomicInteger inventory, final String errMessage) {
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    void executeLogAction(final Consumer<Optional<Action>> action, final Inventory inventory,
+                          final String errMessage) {
         this.checkExperimentActiveState();
+        Runnable release = inventory.register();
         try {
-            inventory.incrementAndGet();
-            action.run();
+            action.accept(Optional.of(release::run));
         } catch (Throwable t) {
-            inventory.decrementAndGet();
+            release.run();
             logger.error(errMessage, t);
         }
     }
 
-    Optional<Action> getLogAssetOnCompleteAction() {
-        return Optional.of(this.assetsInProgress::decrementAndGet);
-    }
-
-    /**
-     * The runnable to be invoked to send periodic heartbeat ping to mark this experiment as still running.
-     */
-    static class HeartbeatPing implements Runnable {
-        final OnlineExperimentImpl onlineExperiment;
-
-        HeartbeatPing(OnlineExperimentImpl onlineExperiment) {
-            this.onlineExperiment = onlineExperiment;
-        }
-
-        @Override
-        public void run() {
-            this.onlineExperiment.sendHeartbeat();
-        }
-    }
-
     /**
      * Returns builder to be used to create properly configured instance of this class.
      *
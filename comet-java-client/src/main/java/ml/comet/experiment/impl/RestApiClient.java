@@ -2,18 +2,22 @@ package ml.comet.experiment.impl;
 
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import lombok.NonNull;
 import ml.comet.experiment.artifact.ArtifactAsset;
 import ml.comet.experiment.artifact.GetArtifactOptions;
 import ml.comet.experiment.asset.Asset;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.asset.RemoteAsset;
 import ml.comet.experiment.exception.CometApiException;
 import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
 import ml.comet.experiment.impl.asset.AssetImpl;
 import ml.comet.experiment.impl.asset.DownloadArtifactAssetOptions;
+import ml.comet.experiment.impl.asset.DownloadAssetOptions;
 import ml.comet.experiment.impl.constants.FormParamName;
 import ml.comet.experiment.impl.constants.QueryParamName;
 import ml.comet.experiment.impl.http.Connection;
+import ml.comet.experiment.impl.queue.LogRecord;
 import ml.comet.experiment.impl.rest.AddExperimentTagsRest;
 import ml.comet.experiment.impl.rest.AddGraphRest;
 import ml.comet.experiment.impl.rest.ArtifactEntry;
@@ -57,9 +61,12 @@ import ml.comet.experiment.impl.rest.RegistryModelVersionStageAddRequest;
 import ml.comet.experiment.impl.rest.RestApiResponse;
 import ml.comet.experiment.impl.rest.SetSystemDetailsRequest;
 import ml.comet.experiment.impl.rest.TagsResponse;
+import ml.comet.experiment.impl.upload.ChunkedFileUploader;
+import ml.comet.experiment.impl.upload.ChunkedUploadOptions;
 import ml.comet.experiment.impl.utils.JsonUtils;
 import ml.comet.experiment.impl.utils.RestApiUtils;
 import ml.comet.experiment.registrymodel.DownloadModelOptions;
+import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Response;
 
 import java.io.File;
@@ -67,6 +74,8 @@ import java.io.OutputStream;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET;
 import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_GIT_METADATA;
@@ -130,6 +139,7 @@ import static ml.comet.experiment.impl.resources.LogMessages.getString;
 import static ml.comet.experiment.impl.utils.RestApiUtils.artifactDownloadAssetParams;
 import static ml.comet.experiment.impl.utils.RestApiUtils.artifactVersionDetailsParams;
 import static ml.comet.experiment.impl.utils.RestApiUtils.artifactVersionFilesParams;
+import static ml.comet.experiment.impl.utils.RestApiUtils.downloadAssetParams;
 import static ml.comet.experiment.impl.utils.RestApiUtils.downloadModelParams;
 
 /**
@@ -137,12 +147,18 @@ import static ml.comet.experiment.impl.utils.RestApiUtils.downloadModelParams;
  */
 final class RestApiClient implements Disposable {
     private Connection connection;
+    private final ChunkedFileUploader chunkedUploader;
     private boolean disposed;
 
     static final IllegalStateException ALREADY_DISPOSED = new IllegalStateException("REST API client already disposed");
 
     RestApiClient(Connection connection) {
+        this(connection, ChunkedUploadOptions.fromConfig());
+    }
+
+    RestApiClient(Connection connection, ChunkedUploadOptions chunkedUploadOptions) {
         this.connection = connection;
+        this.chunkedUploader = new ChunkedFileUploader(connection, chunkedUploadOptions);
     }
 
     @Override
@@ -233,6 +249,10 @@ final class RestApiClient implements Disposable {
         return singleFromAsyncPost(request, ADD_METRIC, RestApiResponse.class);
     }
 
+    Single<RestApiResponse> sendLogRecord(final LogRecord record) {
+        return singleFromAsyncPostJson(record.getPayload(), record.getEndpoint(), RestApiResponse.class);
+    }
+
     Single<RestApiResponse> logParameter(final ParameterRest request, String experimentKey) {
         request.setExperimentKey(experimentKey);
         return singleFromAsyncPost(request, ADD_PARAMETER, RestApiResponse.class);
@@ -291,11 +311,22 @@ final class RestApiClient implements Disposable {
 
         // call appropriate send method
         if (asset.getFile().isPresent()) {
-            return singleFromAsyncPost(asset.getFile().get(), ADD_ASSET, queryParams,
-                    formParams, RestApiResponse.class);
+            File file = asset.getFile().get();
+            if (this.chunkedUploader.isChunked(file)) {
+                if (isDisposed()) {
+                    return Single.error(ALREADY_DISPOSED);
+                }
+                // large files are uploaded in resumable chunks if server supports it
+                return this.chunkedUploader.upload(file, queryParams, formParams, () -> singleFromAsyncPost(
+                        file, ADD_ASSET, queryParams, formParams, RestApiResponse.class));
+            }
+            return singleFromAsyncPost(file, ADD_ASSET, queryParams, formParams, RestApiResponse.class);
         } else if (asset.getFileLikeData().isPresent()) {
             return singleFromAsyncPost(asset.getFileLikeData().get(), ADD_ASSET, queryParams,
                     formParams, RestApiResponse.class);
+        } else if (asset.getSource().isPresent()) {
+            return singleFromAsyncPost(asset.getSource().get(), ADD_ASSET, queryParams,
+                    formParams, RestApiResponse.class);
         }
 
         // no data response
@@ -344,6 +375,11 @@ final class RestApiClient implements Disposable {
                 true, ArtifactVersionAssetResponse.class);
     }
 
+    Single<RestApiResponse> downloadExperimentAsset(final DownloadAssetOptions options, String experimentKey) {
+        Map<QueryParamName, String> queryParams = downloadAssetParams(options, experimentKey);
+        return this.singleFromAsyncDownload(options.getFile(), GET_EXPERIMENT_ASSET, queryParams);
+    }
+
     Single<RestApiResponse> downloadArtifactAsset(final DownloadArtifactAssetOptions options, String experimentKey) {
         Map<QueryParamName, String> queryParams = artifactDownloadAssetParams(options, experimentKey);
         return this.singleFromAsyncDownload(options.getFile(), GET_EXPERIMENT_ASSET, queryParams);
@@ -439,7 +475,7 @@ final class RestApiClient implements Disposable {
         if (isDisposed()) {
             return Single.error(ALREADY_DISPOSED);
         }
-        return Single.fromFuture(this.connection.downloadAsync(output, endpoint, queryParams))
+        return singleFromListenableFuture(this.connection.downloadAsync(output, endpoint, queryParams))
                 .map(RestApiClient::mapResponse);
     }
 
@@ -450,7 +486,7 @@ final class RestApiClient implements Disposable {
             return Single.error(ALREADY_DISPOSED);
         }
 
-        return Single.fromFuture(this.connection.downloadAsync(file, endpoint, queryParams))
+        return singleFromListenableFuture(this.connection.downloadAsync(file, endpoint, queryParams))
                 .map(RestApiClient::mapResponse);
     }
 
@@ -459,7 +495,7 @@ final class RestApiClient implements Disposable {
         if (isDisposed()) {
             return Single.error(ALREADY_DISPOSED);
         }
-        return Single.fromFuture(this.connection.sendPostAsync(JsonUtils.toJson(payload), endpoint))
+        return singleFromListenableFuture(this.connection.sendPostAsync(JsonUtils.toJson(payload), endpoint))
                 .onTerminateDetach()
                 .map(RestApiClient::mapResponse);
     }
@@ -471,7 +507,7 @@ final class RestApiClient implements Disposable {
         if (isDisposed()) {
             return Single.error(ALREADY_DISPOSED);
         }
-        return Single.fromFuture(this.connection.sendPostAsync(endpoint, queryParams, formParams))
+        return singleFromListenableFuture(this.connection.sendPostAsync(endpoint, queryParams, formParams))
                 .onTerminateDetach()
                 .map(response -> JsonUtils.fromJson(response.getResponseBody(), clazz));
     }
@@ -484,7 +520,21 @@ final class RestApiClient implements Disposable {
             return Single.error(ALREADY_DISPOSED);
         }
 
-        return Single.fromFuture(this.connection.sendPostAsync(fileLikeData, endpoint, queryParams, formParams))
+        return singleFromListenableFuture(
+                this.connection.sendPostAsync(fileLikeData, endpoint, queryParams, formParams))
+                .onTerminateDetach()
+                .map(response -> JsonUtils.fromJson(response.getResponseBody(), clazz));
+    }
+
+    private <T> Single<T> singleFromAsyncPost(
+            @NonNull AssetSource source, @NonNull String endpoint,
+            @NonNull Map<QueryParamName, String> queryParams, Map<FormParamName, Object> formParams,
+            @NonNull Class<T> clazz) {
+        if (isDisposed()) {
+            return Single.error(ALREADY_DISPOSED);
+        }
+
+        return singleFromListenableFuture(this.connection.sendPostAsync(source, endpoint, queryParams, formParams))
                 .onTerminateDetach()
                 .map(response -> JsonUtils.fromJson(response.getResponseBody(), clazz));
     }
@@ -497,7 +547,7 @@ final class RestApiClient implements Disposable {
             return Single.error(ALREADY_DISPOSED);
         }
 
-        return Single.fromFuture(this.connection.sendPostAsync(file, endpoint, queryParams, formParams))
+        return singleFromListenableFuture(this.connection.sendPostAsync(file, endpoint, queryParams, formParams))
                 .onTerminateDetach()
                 .map(response -> JsonUtils.fromJson(response.getResponseBody(), clazz));
     }
@@ -508,7 +558,18 @@ final class RestApiClient implements Disposable {
             return Single.error(ALREADY_DISPOSED);
         }
 
-        return Single.fromFuture(this.connection.sendPostAsync(JsonUtils.toJson(payload), endpoint))
+        return singleFromListenableFuture(this.connection.sendPostAsync(JsonUtils.toJson(payload), endpoint))
+                .onTerminateDetach()
+                .map(response -> JsonUtils.fromJson(response.getResponseBody(), clazz));
+    }
+
+    private <T> Single<T> singleFromAsyncPostJson(
+            @NonNull String json, @NonNull String endpoint, @NonNull Class<T> clazz) {
+        if (isDisposed()) {
+            return Single.error(ALREADY_DISPOSED);
+        }
+
+        return singleFromListenableFuture(this.connection.sendPostAsync(json, endpoint))
                 .onTerminateDetach()
                 .map(response -> JsonUtils.fromJson(response.getResponseBody(), clazz));
     }
@@ -522,10 +583,9 @@ final class RestApiClient implements Disposable {
         }
 
         String request = JsonUtils.toJson(payload);
-        return this.connection.sendPostWithRetries(request, endpoint, throwOnFailure)
-                .map(body -> Single.just(JsonUtils.fromJson(body, clazz)))
-                .orElse(Single.error(new CometApiException(
-                        getString(NO_RESPONSE_RETURNED_BY_REMOTE_ENDPOINT, endpoint))));
+        return this.connection.sendPostWithRetriesAsync(request, endpoint, throwOnFailure)
+                .flatMap(body -> bodyOrError(body, endpoint))
+                .map(body -> JsonUtils.fromJson(body, clazz));
     }
 
     private Single<RestApiResponse> singleFromSyncPostWithRetriesEmptyBody(@NonNull Object payload,
@@ -534,18 +594,16 @@ final class RestApiClient implements Disposable {
             return Single.error(ALREADY_DISPOSED);
         }
 
-        return this.connection.sendPostWithRetries(JsonUtils.toJson(payload), endpoint, true)
-                .map(body -> Single.just(new RestApiResponse(200, body)))
-                .orElse(Single.error(new CometApiException(
-                        getString(NO_RESPONSE_RETURNED_BY_REMOTE_ENDPOINT, endpoint))));
+        return this.connection.sendPostWithRetriesAsync(JsonUtils.toJson(payload), endpoint, true)
+                .flatMap(body -> bodyOrError(body, endpoint))
+                .map(body -> new RestApiResponse(200, body));
     }
 
     private Single<RestApiResponse> singleFromSyncGetWithRetries(@NonNull String endpoint,
                                                                  @NonNull Map<QueryParamName, String> params) {
-        return this.connection.sendGetWithRetries(endpoint, params, true)
-                .map(body -> Single.just(new RestApiResponse(200, body)))
-                .orElse(Single.error(new CometApiException(
-                        getString(NO_RESPONSE_RETURNED_BY_REMOTE_ENDPOINT, endpoint))));
+        return this.connection.sendGetWithRetriesAsync(endpoint, params, true)
+                .flatMap(body -> bodyOrError(body, endpoint))
+                .map(body -> new RestApiResponse(200, body));
     }
 
     private <T> Single<T> singleFromSyncGetWithRetries(@NonNull String endpoint,
@@ -568,12 +626,48 @@ final class RestApiClient implements Disposable {
         if (isDisposed()) {
             return Single.error(ALREADY_DISPOSED);
         }
-        return this.connection.sendGetWithRetries(endpoint, queryParams, throwOnFailure)
-                .map(body -> Single.just(JsonUtils.fromJson(body, clazz)))
-                .orElse(Single.error(new CometApiException(
+        return this.connection.sendGetWithRetriesAsync(endpoint, queryParams, throwOnFailure)
+                .flatMap(body -> bodyOrError(body, endpoint))
+                .map(body -> JsonUtils.fromJson(body, clazz));
+    }
+
+    private static Single<String> bodyOrError(@NonNull Optional<String> body, @NonNull String endpoint) {
+        return body
+                .map(Single::just)
+                .orElseGet(() -> Single.error(new CometApiException(
                         getString(NO_RESPONSE_RETURNED_BY_REMOTE_ENDPOINT, endpoint))));
     }
 
+    /**
+     * Adapts provided {@link ListenableFuture} into the {@link Single} without blocking any thread while waiting
+     * for the response. The completion is signaled on the {@link Schedulers#io()} thread to avoid running
+     * downstream operators on the I/O threads of the HTTP client. If {@link Single} is disposed before response
+     * received, the request will be cancelled.
+     *
+     * @param future the {@link ListenableFuture} of the HTTP request.
+     * @return the {@link Single} to be completed with response of the request.
+     */
+    private static Single<Response> singleFromListenableFuture(@NonNull ListenableFuture<Response> future) {
+        return Single.<Response>create(emitter -> {
+                    emitter.setCancellable(() -> {
+                        // cancellation of the already completed request may close the pooled connection
+                        if (!future.isDone()) {
+                            future.cancel(true);
+                        }
+                    });
+                    future.addListener(() -> {
+                        try {
+                            emitter.onSuccess(future.get());
+                        } catch (ExecutionException e) {
+                            emitter.tryOnError(e.getCause() != null ? e.getCause() : e);
+                        } catch (Throwable t) {
+                            emitter.tryOnError(t);
+                        }
+                    }, null);
+                })
+                .observeOn(Schedulers.io());
+    }
+
     private static RestApiResponse mapResponse(Response response) {
         try {
             checkResponseStatus(response);
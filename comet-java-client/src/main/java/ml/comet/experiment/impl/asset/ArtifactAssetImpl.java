@@ -47,11 +47,13 @@ public final class ArtifactAssetImpl extends RemoteAssetImpl implements Artifact
     public ArtifactAssetImpl(AssetImpl asset) {
         this.setRawFile(asset.getRawFile());
         this.setRawFileLikeData(asset.getRawFileLikeData());
+        this.setRawSource(asset.getRawSource());
         this.setFileExtension(asset.getFileExtension());
         this.logicalPath = asset.getLogicalPath();
         this.type = asset.getType();
         this.overwrite = asset.getOverwrite();
         this.metadata = asset.getMetadata();
+        this.encodedMetadata = asset.getEncodedMetadata();
     }
 
     /**
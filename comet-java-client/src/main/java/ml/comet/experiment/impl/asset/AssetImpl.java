@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import ml.comet.experiment.asset.Asset;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.context.ExperimentContext;
 
 import java.io.File;
@@ -25,6 +26,9 @@ public class AssetImpl implements Asset {
     private byte[] rawFileLikeData;
     @Getter
     @Setter
+    private AssetSource rawSource;
+    @Getter
+    @Setter
     private String fileExtension;
 
     @ToString.Include
@@ -42,13 +46,26 @@ public class AssetImpl implements Asset {
 
     @Getter
     ExperimentContext context;
-    @Setter
     Map<String, Object> metadata;
+    // The JSON encoded metadata shared by many assets, e.g., the files of the asset folder
+    @Getter
+    @Setter
+    String encodedMetadata;
 
     public void setContext(ExperimentContext context) {
         this.context = new ExperimentContext(context);
     }
 
+    /**
+     * Sets the metadata of this asset and drops its JSON encoded form set before.
+     *
+     * @param metadata the metadata to associate with this asset.
+     */
+    public void setMetadata(Map<String, Object> metadata) {
+        this.metadata = metadata;
+        this.encodedMetadata = null;
+    }
+
     @Override
     public Map<String, Object> getMetadata() {
         if (this.metadata != null) {
@@ -67,6 +84,11 @@ public class AssetImpl implements Asset {
         return Optional.ofNullable(this.rawFileLikeData);
     }
 
+    @Override
+    public Optional<AssetSource> getSource() {
+        return Optional.ofNullable(this.rawSource);
+    }
+
     @Override
     public Optional<ExperimentContext> getExperimentContext() {
         return Optional.ofNullable(this.context);
@@ -0,0 +1,205 @@
+package ml.comet.experiment.impl.batch;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.functions.Action;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects log records into the bounded batch and sends collected records as one multi-record request when either
+ * the maximal batch size reached or the linger time elapsed.
+ *
+ * <p>The records added as a group (see {@link #addAll(Collection, Optional)}) are never split between batches.
+ *
+ * @param <T> the type of the log record.
+ */
+public final class LogRecordsBatcher<T> implements Closeable {
+    private final int maxBatchSize;
+    private final BiConsumer<List<T>, Optional<Action>> sender;
+    private final Disposable lingerTimer;
+
+    private List<T> records;
+    private List<Action> onCompleteActions;
+    private boolean closed;
+
+    /**
+     * Creates new instance with given parameters.
+     *
+     * @param maxBatchSize the maximal number of records in one batch.
+     * @param lingerTime   the maximal time to keep records in the batch before sending. If it is zero
+     *                     the batch will be sent only when full or explicitly flushed.
+     * @param sender       the function to be invoked to send the batch of records along with optional action to be
+     *                     invoked when sending completes.
+     * @throws IllegalArgumentException if maximal batch size is not positive.
+     */
+    public LogRecordsBatcher(int maxBatchSize, @NonNull Duration lingerTime,
+                             @NonNull BiConsumer<List<T>, Optional<Action>> sender)
+            throws IllegalArgumentException {
+        this(maxBatchSize, lingerTime, Schedulers.computation(), sender);
+    }
+
+    /**
+     * Creates new instance which sends the batch on the given scheduler, which can be shared by many batchers,
+     * when linger time elapsed.
+     *
+     * @param maxBatchSize    the maximal number of records in one batch.
+     * @param lingerTime      the maximal time to keep records in the batch before sending. If it is zero
+     *                        the batch will be sent only when full or explicitly flushed.
+     * @param lingerScheduler the scheduler to send the batch when linger time elapsed.
+     * @param sender          the function to be invoked to send the batch of records along with optional action
+     *                        to be invoked when sending completes.
+     * @throws IllegalArgumentException if maximal batch size is not positive.
+     */
+    public LogRecordsBatcher(int maxBatchSize, @NonNull Duration lingerTime, @NonNull Scheduler lingerScheduler,
+                             @NonNull BiConsumer<List<T>, Optional<Action>> sender)
+            throws IllegalArgumentException {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maximal batch size must be positive, but was: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.sender = sender;
+        this.records = new ArrayList<>(maxBatchSize);
+        this.onCompleteActions = new ArrayList<>();
+
+        long lingerMillis = lingerTime.toMillis();
+        if (lingerMillis > 0) {
+            this.lingerTimer = lingerScheduler.schedulePeriodicallyDirect(
+                    this::flush, lingerMillis, lingerMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.lingerTimer = Disposable.disposed();
+        }
+    }
+
+    /**
+     * Adds the log record to the current batch. If batch is full after that it will be sent immediately.
+     *
+     * @param record     the log record to be added.
+     * @param onComplete the optional action to be invoked when batch with this record was sent.
+     * @throws IllegalStateException if this batcher already closed.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public void add(@NonNull T record, @NonNull Optional<Action> onComplete) throws IllegalStateException {
+        this.addAll(Collections.singletonList(record), onComplete);
+    }
+
+    /**
+     * Adds the group of log records to the batch. All records of the group will be sent in the same batch. If
+     * the group doesn't fit into the current batch, the current batch will be sent first. The group which is bigger
+     * than maximal batch size will be sent as a separate batch.
+     *
+     * @param group      the group of log records to be added.
+     * @param onComplete the optional action to be invoked when batch with this group was sent.
+     * @throws IllegalStateException if this batcher already closed.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public void addAll(@NonNull Collection<T> group, @NonNull Optional<Action> onComplete)
+            throws IllegalStateException {
+        if (group.isEmpty()) {
+            return;
+        }
+        List<T> pendingBatch = null;
+        List<Action> pendingActions = null;
+        List<T> fullBatch = null;
+        List<Action> fullActions = null;
+        synchronized (this) {
+            if (this.closed) {
+                throw new IllegalStateException("the log records batcher already closed");
+            }
+            if (!this.records.isEmpty() && this.records.size() + group.size() > this.maxBatchSize) {
+                // group doesn't fit - send current batch first
+                pendingBatch = this.records;
+                pendingActions = this.onCompleteActions;
+                this.resetBatch();
+            }
+            this.records.addAll(group);
+            onComplete.ifPresent(this.onCompleteActions::add);
+
+            if (this.records.size() >= this.maxBatchSize) {
+                fullBatch = this.records;
+                fullActions = this.onCompleteActions;
+                this.resetBatch();
+            }
+        }
+
+        // send outside the lock
+        if (pendingBatch != null) {
+            this.send(pendingBatch, pendingActions);
+        }
+        if (fullBatch != null) {
+            this.send(fullBatch, fullActions);
+        }
+    }
+
+    /**
+     * Sends all records collected in the current batch.
+     */
+    public void flush() {
+        List<T> batch;
+        List<Action> actions;
+        synchronized (this) {
+            if (this.records.isEmpty()) {
+                return;
+            }
+            batch = this.records;
+            actions = this.onCompleteActions;
+            this.resetBatch();
+        }
+        this.send(batch, actions);
+    }
+
+    /**
+     * Returns the number of records waiting in the current batch.
+     *
+     * @return the number of records waiting in the current batch.
+     */
+    public synchronized int size() {
+        return this.records.size();
+    }
+
+    /**
+     * Stops linger timer and sends all pending records. After that no records can be added.
+     */
+    @Override
+    public void close() {
+        this.lingerTimer.dispose();
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+        }
+        this.flush();
+    }
+
+    private void resetBatch() {
+        this.records = new ArrayList<>(this.maxBatchSize);
+        this.onCompleteActions = new ArrayList<>();
+    }
+
+    private void send(List<T> batch, List<Action> actions) {
+        Optional<Action> onComplete;
+        if (actions.isEmpty()) {
+            onComplete = Optional.empty();
+        } else if (actions.size() == 1) {
+            onComplete = Optional.of(actions.get(0));
+        } else {
+            onComplete = Optional.of(() -> {
+                for (Action action : actions) {
+                    action.run();
+                }
+            });
+        }
+        this.sender.accept(batch, onComplete);
+    }
+}
@@ -0,0 +1,415 @@
+package ml.comet.experiment.impl.batch;
+
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Collects primitive metric values into preallocated columnar storage and formats the collected records directly
+ * into the pooled JSON buffer when either the buffer is full or the linger time elapsed.
+ *
+ * <p>Appending a record doesn't allocate: the values are stored in primitive arrays and the JSON encoded form of
+ * the metric names is cached. The full batch is swapped with the spare one under the lock, then it is formatted
+ * into its pooled buffer and handed to the sender outside the lock, thus adding records is not blocked while
+ * the batch is sent. The head and the tail of the request payload are written into the pooled buffer around
+ * the records, thus formatting the batch doesn't allocate either as long as the buffer doesn't grow. The sender
+ * still has to copy the payload to keep it after the call.
+ */
+public final class PrimitiveMetricsBuffer implements Closeable {
+    // The maximal number of distinct metric names to keep JSON encoded form in cache
+    static final int MAX_CACHED_NAMES = 4096;
+
+    private static final byte TYPE_DOUBLE = 0;
+    private static final byte TYPE_FLOAT = 1;
+    private static final byte TYPE_LONG = 2;
+
+    private final int capacity;
+    private final Consumer<StringBuilder> payloadHead;
+    private final String payloadTail;
+    private final Consumer<CharSequence> sender;
+    private final Disposable lingerTimer;
+
+    // The batch collecting new records
+    private Batch active;
+    // The batch to replace the active one when it is sent, null if the previous batch is still being sent
+    private Batch spare;
+
+    // The cache of JSON encoded metric names
+    private final Map<String, String> encodedNames = new HashMap<>();
+
+    private boolean closed;
+
+    /**
+     * Creates new instance which sends bare JSON encoded array of the metric records.
+     *
+     * @param capacity   the maximal number of records in one batch.
+     * @param lingerTime the maximal time to keep records in the buffer before sending. If it is zero
+     *                   the batch will be sent only when full or explicitly flushed.
+     * @param sender     the function to be invoked with JSON encoded array of the metric records. The provided
+     *                   {@link CharSequence} is pooled and valid only during the call.
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public PrimitiveMetricsBuffer(int capacity, @NonNull Duration lingerTime, @NonNull Consumer<CharSequence> sender)
+            throws IllegalArgumentException {
+        this(capacity, lingerTime, sb -> {
+        }, "", sender);
+    }
+
+    /**
+     * Creates new instance which wraps JSON encoded array of the metric records into the request payload.
+     *
+     * @param capacity    the maximal number of records in one batch.
+     * @param lingerTime  the maximal time to keep records in the buffer before sending. If it is zero
+     *                    the batch will be sent only when full or explicitly flushed.
+     * @param payloadHead the function to write the head of the request payload preceding the array of the records.
+     * @param payloadTail the tail of the request payload following the array of the records.
+     * @param sender      the function to be invoked with the request payload. The provided {@link CharSequence}
+     *                    is pooled and valid only during the call.
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public PrimitiveMetricsBuffer(int capacity, @NonNull Duration lingerTime,
+                                  @NonNull Consumer<StringBuilder> payloadHead, @NonNull String payloadTail,
+                                  @NonNull Consumer<CharSequence> sender) throws IllegalArgumentException {
+        this(capacity, lingerTime, Schedulers.computation(), payloadHead, payloadTail, sender);
+    }
+
+    /**
+     * Creates new instance which wraps JSON encoded array of the metric records into the request payload and
+     * flushes the buffer on the given scheduler, which can be shared by many buffers.
+     *
+     * @param capacity        the maximal number of records in one batch.
+     * @param lingerTime      the maximal time to keep records in the buffer before sending. If it is zero
+     *                        the batch will be sent only when full or explicitly flushed.
+     * @param lingerScheduler the scheduler to flush the buffer when linger time elapsed.
+     * @param payloadHead     the function to write the head of the request payload preceding the array
+     *                        of the records.
+     * @param payloadTail     the tail of the request payload following the array of the records.
+     * @param sender          the function to be invoked with the request payload. The provided {@link CharSequence}
+     *                        is pooled and valid only during the call.
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public PrimitiveMetricsBuffer(int capacity, @NonNull Duration lingerTime, @NonNull Scheduler lingerScheduler,
+                                  @NonNull Consumer<StringBuilder> payloadHead, @NonNull String payloadTail,
+                                  @NonNull Consumer<CharSequence> sender) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, but was: " + capacity);
+        }
+        this.capacity = capacity;
+        this.payloadHead = payloadHead;
+        this.payloadTail = payloadTail;
+        this.sender = sender;
+        this.active = new Batch(capacity);
+        this.spare = new Batch(capacity);
+
+        long lingerMillis = lingerTime.toMillis();
+        if (lingerMillis > 0) {
+            this.lingerTimer = lingerScheduler.schedulePeriodicallyDirect(
+                    this::flush, lingerMillis, lingerMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.lingerTimer = Disposable.disposed();
+        }
+    }
+
+    /**
+     * Adds the metric record with {@code double} value.
+     *
+     * @param name    the name of the metric.
+     * @param value   the value of the metric.
+     * @param step    the step or {@code null}.
+     * @param epoch   the epoch or {@code null}.
+     * @param context the context or {@code null}.
+     * @throws IllegalStateException if this buffer already closed.
+     */
+    public void add(@NonNull String name, double value, Long step, Long epoch, String context)
+            throws IllegalStateException {
+        Batch full;
+        synchronized (this) {
+            int i = this.nextSlot();
+            this.active.types[i] = TYPE_DOUBLE;
+            this.active.doubleValues[i] = value;
+            full = this.completeSlot(i, name, step, epoch, context);
+        }
+        this.send(full);
+    }
+
+    /**
+     * Adds the metric record with {@code float} value.
+     *
+     * @param name    the name of the metric.
+     * @param value   the value of the metric.
+     * @param step    the step or {@code null}.
+     * @param epoch   the epoch or {@code null}.
+     * @param context the context or {@code null}.
+     * @throws IllegalStateException if this buffer already closed.
+     */
+    public void add(@NonNull String name, float value, Long step, Long epoch, String context)
+            throws IllegalStateException {
+        Batch full;
+        synchronized (this) {
+            int i = this.nextSlot();
+            this.active.types[i] = TYPE_FLOAT;
+            this.active.doubleValues[i] = value;
+            full = this.completeSlot(i, name, step, epoch, context);
+        }
+        this.send(full);
+    }
+
+    /**
+     * Adds the metric record with {@code long} value.
+     *
+     * @param name    the name of the metric.
+     * @param value   the value of the metric.
+     * @param step    the step or {@code null}.
+     * @param epoch   the epoch or {@code null}.
+     * @param context the context or {@code null}.
+     * @throws IllegalStateException if this buffer already closed.
+     */
+    public void add(@NonNull String name, long value, Long step, Long epoch, String context)
+            throws IllegalStateException {
+        Batch full;
+        synchronized (this) {
+            int i = this.nextSlot();
+            this.active.types[i] = TYPE_LONG;
+            this.active.longValues[i] = value;
+            full = this.completeSlot(i, name, step, epoch, context);
+        }
+        this.send(full);
+    }
+
+    /**
+     * Sends all records collected in the buffer.
+     */
+    public void flush() {
+        Batch batch;
+        synchronized (this) {
+            if (this.active.size == 0) {
+                return;
+            }
+            batch = this.swap();
+        }
+        this.send(batch);
+    }
+
+    /**
+     * Returns the number of records waiting in the buffer.
+     *
+     * @return the number of records waiting in the buffer.
+     */
+    public synchronized int size() {
+        return this.active.size;
+    }
+
+    /**
+     * Stops linger timer and sends all pending records. After that no records can be added.
+     */
+    @Override
+    public void close() {
+        this.lingerTimer.dispose();
+        Batch batch = null;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (this.active.size > 0) {
+                batch = this.swap();
+            }
+        }
+        this.send(batch);
+    }
+
+    private int nextSlot() {
+        if (this.closed) {
+            throw new IllegalStateException("the primitive metrics buffer already closed");
+        }
+        return this.active.size;
+    }
+
+    /**
+     * Completes the record in the given slot of the active batch.
+     *
+     * @return the full batch to be sent or {@code null} if the active batch has free slots.
+     */
+    private Batch completeSlot(int i, String name, Long step, Long epoch, String context) {
+        Batch batch = this.active;
+        batch.names[i] = this.encodedName(name);
+        batch.contexts[i] = context;
+        batch.hasStep[i] = step != null;
+        batch.steps[i] = step != null ? step : 0;
+        batch.hasEpoch[i] = epoch != null;
+        batch.epochs[i] = epoch != null ? epoch : 0;
+        batch.timestamps[i] = System.currentTimeMillis();
+        if (++batch.size == this.capacity) {
+            return this.swap();
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the active batch with the spare one. The new batch is allocated only if the previous batch is
+     * still being sent. Must be invoked while holding the lock.
+     *
+     * @return the batch which was active.
+     */
+    private Batch swap() {
+        Batch batch = this.active;
+        this.active = this.spare != null ? this.spare : new Batch(this.capacity);
+        this.spare = null;
+        return batch;
+    }
+
+    /**
+     * Formats records of the given batch and hands them to the sender. Must be invoked without holding the lock.
+     *
+     * @param batch the batch swapped out of the buffer or {@code null} if there is nothing to send.
+     */
+    private void send(Batch batch) {
+        if (batch == null) {
+            return;
+        }
+        try {
+            StringBuilder out = batch.out;
+            out.setLength(0);
+            this.payloadHead.accept(out);
+            batch.formatRecords();
+            out.append(this.payloadTail);
+            this.sender.accept(out);
+        } finally {
+            batch.size = 0;
+            synchronized (this) {
+                if (this.spare == null) {
+                    this.spare = batch;
+                }
+            }
+        }
+    }
+
+    private String encodedName(String name) {
+        String encoded = this.encodedNames.get(name);
+        if (encoded == null) {
+            StringBuilder sb = new StringBuilder(name.length() + 2);
+            appendJsonString(sb, name);
+            encoded = sb.toString();
+            if (this.encodedNames.size() < MAX_CACHED_NAMES) {
+                this.encodedNames.put(name, encoded);
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * The columnar storage of the metric records with the pooled buffer to format them into.
+     */
+    private static final class Batch {
+        private final String[] names;
+        private final String[] contexts;
+        private final byte[] types;
+        private final double[] doubleValues;
+        private final long[] longValues;
+        private final long[] steps;
+        private final long[] epochs;
+        private final boolean[] hasStep;
+        private final boolean[] hasEpoch;
+        private final long[] timestamps;
+        private final StringBuilder out;
+        private int size;
+
+        Batch(int capacity) {
+            this.names = new String[capacity];
+            this.contexts = new String[capacity];
+            this.types = new byte[capacity];
+            this.doubleValues = new double[capacity];
+            this.longValues = new long[capacity];
+            this.steps = new long[capacity];
+            this.epochs = new long[capacity];
+            this.hasStep = new boolean[capacity];
+            this.hasEpoch = new boolean[capacity];
+            this.timestamps = new long[capacity];
+            this.out = new StringBuilder(capacity * 128);
+        }
+
+        /**
+         * Appends collected records as JSON array to the pooled buffer and resets the batch.
+         */
+        void formatRecords() {
+            StringBuilder sb = this.out;
+            sb.append('[');
+            for (int i = 0; i < this.size; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"metricName\":").append(this.names[i]);
+                sb.append(",\"metricValue\":\"");
+                switch (this.types[i]) {
+                    case TYPE_LONG:
+                        sb.append(this.longValues[i]);
+                        break;
+                    case TYPE_FLOAT:
+                        sb.append((float) this.doubleValues[i]);
+                        break;
+                    default:
+                        sb.append(this.doubleValues[i]);
+                }
+                sb.append('"');
+                if (this.contexts[i] != null) {
+                    sb.append(",\"context\":");
+                    appendJsonString(sb, this.contexts[i]);
+                }
+                if (this.hasStep[i]) {
+                    sb.append(",\"step\":").append(this.steps[i]);
+                }
+                if (this.hasEpoch[i]) {
+                    sb.append(",\"epoch\":").append(this.epochs[i]);
+                }
+                sb.append(",\"timestamp\":").append(this.timestamps[i]).append('}');
+
+                // release references
+                this.names[i] = null;
+                this.contexts[i] = null;
+            }
+            sb.append(']');
+            this.size = 0;
+        }
+    }
+
+    static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append("\\u00");
+                        sb.append(Character.forDigit(c >> 4, 16));
+                        sb.append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
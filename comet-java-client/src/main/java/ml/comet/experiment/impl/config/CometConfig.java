@@ -75,6 +75,122 @@ public final class CometConfig {
      */
     public static final ConfigItem COMET_TIMEOUT_CLEANING_SECONDS =
             new ConfigItem("cleaningTimeoutSeconds", "COMET_TIMEOUT_CLEANING", instance);
+    /**
+     * The maximal number of metric records to be sent in one batch request.
+     */
+    public static final ConfigItem COMET_METRICS_BATCH_SIZE =
+            new ConfigItem("metricsBatchSize", "COMET_METRICS_BATCH_SIZE", instance);
+    /**
+     * The maximal time to keep metric records in the batch before sending (milliseconds).
+     */
+    public static final ConfigItem COMET_METRICS_BATCH_LINGER_MS =
+            new ConfigItem("metricsBatchLingerMillis", "COMET_METRICS_BATCH_LINGER_MS", instance);
+    /**
+     * The maximal number of write records kept in memory waiting to be sent.
+     */
+    public static final ConfigItem COMET_LOG_RECORDS_QUEUE_CAPACITY =
+            new ConfigItem("logRecordsQueueCapacity", "COMET_LOG_RECORDS_QUEUE_CAPACITY", instance);
+    /**
+     * The policy to handle new write records when queue is full: BLOCK, DROP_OLDEST, DROP_NEWEST or SPILL_TO_DISK.
+     */
+    public static final ConfigItem COMET_LOG_RECORDS_OVERFLOW_POLICY =
+            new ConfigItem("logRecordsOverflowPolicy", "COMET_LOG_RECORDS_OVERFLOW_POLICY", instance);
+    /**
+     * The maximal number of write requests sent to the Comet concurrently.
+     */
+    public static final ConfigItem COMET_LOG_RECORDS_MAX_IN_FLIGHT =
+            new ConfigItem("logRecordsMaxInFlight", "COMET_LOG_RECORDS_MAX_IN_FLIGHT", instance);
+    /**
+     * The directory to write journals of the offline experiments.
+     */
+    public static final ConfigItem COMET_OFFLINE_DIRECTORY =
+            new ConfigItem("offlineDirectory", "COMET_OFFLINE_DIRECTORY", instance);
+    /**
+     * The size of the offline experiment journal segment file (bytes).
+     */
+    public static final ConfigItem COMET_OFFLINE_SEGMENT_SIZE =
+            new ConfigItem("offlineSegmentSize", "COMET_OFFLINE_SEGMENT_SIZE", instance);
+    /**
+     * The maximal number of requests sent to the Comet concurrently while uploading offline experiment.
+     */
+    public static final ConfigItem COMET_OFFLINE_UPLOAD_PARALLELISM =
+            new ConfigItem("offlineUploadParallelism", "COMET_OFFLINE_UPLOAD_PARALLELISM", instance);
+    /**
+     * The delay before the first retry of the failed request (ms).
+     */
+    public static final ConfigItem COMET_RETRY_BASE_DELAY_MS =
+            new ConfigItem("retryBaseDelayMillis", "COMET_RETRY_BASE_DELAY_MS", instance);
+    /**
+     * The maximal delay between retries of the failed request (ms).
+     */
+    public static final ConfigItem COMET_RETRY_MAX_DELAY_MS =
+            new ConfigItem("retryMaxDelayMillis", "COMET_RETRY_MAX_DELAY_MS", instance);
+    /**
+     * The maximal time since the first attempt to retry the failed request (seconds).
+     */
+    public static final ConfigItem COMET_RETRY_DEADLINE_SECONDS =
+            new ConfigItem("retryDeadlineSeconds", "COMET_RETRY_DEADLINE_SECONDS", instance);
+    /**
+     * The directory to write the write-ahead log of the records to be sent (optional, disabled if not set).
+     */
+    public static final ConfigItem COMET_WAL_DIRECTORY =
+            new ConfigItem("walDirectory", "COMET_WAL_DIRECTORY", instance);
+    /**
+     * The time to collect records appended to the write-ahead log before forcing them to the storage device (ms).
+     */
+    public static final ConfigItem COMET_WAL_COMMIT_INTERVAL_MS =
+            new ConfigItem("walCommitIntervalMillis", "COMET_WAL_COMMIT_INTERVAL_MS", instance);
+    /**
+     * The interval between samples of the JVM and system telemetry logged as metrics (ms, disabled if 0).
+     */
+    public static final ConfigItem COMET_SYSTEM_METRICS_INTERVAL_MS =
+            new ConfigItem("systemMetricsIntervalMillis", "COMET_SYSTEM_METRICS_INTERVAL_MS", instance);
+    /**
+     * The minimal size of the file to be uploaded in chunks (bytes, disabled if 0).
+     */
+    public static final ConfigItem COMET_UPLOAD_CHUNK_THRESHOLD =
+            new ConfigItem("uploadChunkThreshold", "COMET_UPLOAD_CHUNK_THRESHOLD", instance);
+    /**
+     * The size of the chunk of the file uploaded in chunks (bytes).
+     */
+    public static final ConfigItem COMET_UPLOAD_CHUNK_SIZE =
+            new ConfigItem("uploadChunkSize", "COMET_UPLOAD_CHUNK_SIZE", instance);
+    /**
+     * The maximal number of chunks of one file uploaded concurrently.
+     */
+    public static final ConfigItem COMET_UPLOAD_CHUNK_PARALLELISM =
+            new ConfigItem("uploadChunkParallelism", "COMET_UPLOAD_CHUNK_PARALLELISM", instance);
+    /**
+     * The directory to keep manifests of the chunked uploads allowing to resume interrupted uploads.
+     */
+    public static final ConfigItem COMET_UPLOAD_MANIFEST_DIRECTORY =
+            new ConfigItem("uploadManifestDirectory", "COMET_UPLOAD_MANIFEST_DIRECTORY", instance);
+    /**
+     * The number of threads hashing the files of the asset folders to skip upload of unchanged files (disabled if 0).
+     */
+    public static final ConfigItem COMET_UPLOAD_DEDUPE_PARALLELISM =
+            new ConfigItem("uploadDedupeParallelism", "COMET_UPLOAD_DEDUPE_PARALLELISM", instance);
+    /**
+     * The maximal number of files of the asset folder uploaded concurrently.
+     */
+    public static final ConfigItem COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT =
+            new ConfigItem("uploadFolderMaxInFlight", "COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT", instance);
+    /**
+     * The maximal total size of the files of the asset folder uploaded concurrently (bytes).
+     */
+    public static final ConfigItem COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT_BYTES =
+            new ConfigItem("uploadFolderMaxInFlightBytes", "COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT_BYTES", instance);
+    /**
+     * The maximal size of the asset folder file to be packed with other small files into one archive asset
+     * (bytes, disabled if 0).
+     */
+    public static final ConfigItem COMET_UPLOAD_PACK_THRESHOLD =
+            new ConfigItem("uploadPackThreshold", "COMET_UPLOAD_PACK_THRESHOLD", instance);
+    /**
+     * The maximal total size of the files packed into one archive asset (bytes).
+     */
+    public static final ConfigItem COMET_UPLOAD_PACK_SIZE =
+            new ConfigItem("uploadPackSize", "COMET_UPLOAD_PACK_SIZE", instance);
 
     private static final String ERR_MISSING_FORMAT = "No configuration parameter [%s] found! "
             + "Please specify it in the environment variables or configuration file";
@@ -91,8 +207,7 @@ public final class CometConfig {
      */
     public static void applyConfigOverride(@NonNull File configFile) {
         Config overrideConfig = ConfigFactory.parseFile(configFile).getConfig("comet");
-        overrideConfig.withFallback(instance.defaultConfig);
-        instance.config = overrideConfig;
+        instance.config = overrideConfig.withFallback(instance.defaultConfig);
     }
 
     /**
@@ -103,8 +218,7 @@ public final class CometConfig {
      */
     public static void applyConfigOverride(@NonNull URL configFileUrl) {
         Config overrideConfig = ConfigFactory.parseURL(configFileUrl).getConfig("comet");
-        overrideConfig.withFallback(instance.defaultConfig);
-        instance.config = overrideConfig;
+        instance.config = overrideConfig.withFallback(instance.defaultConfig);
     }
 
     /**
@@ -14,12 +14,16 @@ public final class ApiEndpoints {
     public static final String ADD_TAG = UPDATE_API_URL + "/experiment/tags";
     public static final String ADD_GIT_METADATA = UPDATE_API_URL + "/experiment/git/metadata";
     public static final String ADD_ASSET = UPDATE_API_URL + "/experiment/upload-asset";
+    public static final String ADD_ASSET_CHUNKED_START = ADD_ASSET + "/chunked/start";
+    public static final String ADD_ASSET_CHUNK = ADD_ASSET + "/chunked/part";
+    public static final String ADD_ASSET_CHUNKED_COMPLETE = ADD_ASSET + "/chunked/complete";
     public static final String ADD_START_END_TIME = UPDATE_API_URL + "/experiment/set-start-end-time";
     public static final String ADD_GRAPH = UPDATE_API_URL + "/experiment/graph";
     public static final String ADD_LOG_OTHER = UPDATE_API_URL + "/experiment/log-other";
     public static final String ADD_HTML = UPDATE_API_URL + "/experiment/html";
     public static final String ADD_PARAMETER = UPDATE_API_URL + "/experiment/parameter";
     public static final String ADD_METRIC = UPDATE_API_URL + "/experiment/metric";
+    public static final String ADD_METRICS_BATCH = UPDATE_API_URL + "/experiment/metrics/batch";
     public static final String SET_SYSTEM_DETAILS = UPDATE_API_URL + "/experiment/system-details";
     public static final String UPSERT_ARTIFACT = UPDATE_API_URL + "/artifacts/upsert";
     public static final String UPDATE_ARTIFACT_STATE = UPDATE_API_URL + "/artifacts/state";
@@ -37,7 +37,13 @@ public enum QueryParamName {
     MODEL_NAME("modelName"), // string
     STAGE("stage"), // string
 
-    MODEL_ITEM_ID("modelItemId"); // string
+    MODEL_ITEM_ID("modelItemId"), // string
+
+    UPLOAD_ID("uploadId"), // string
+    CHUNK_INDEX("chunkIndex"), // integer
+    CHUNK_COUNT("chunkCount"), // integer
+    CHUNK_SIZE("chunkSize"), // integer
+    TOTAL_SIZE("totalSize"); // long
 
 
     private final String paramName;
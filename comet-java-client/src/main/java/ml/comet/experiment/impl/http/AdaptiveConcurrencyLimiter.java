@@ -0,0 +1,238 @@
+package ml.comet.experiment.impl.http;
+
+import lombok.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * The adaptive limiter of the number of requests in flight to the Comet server. It uses the AIMD algorithm: the limit
+ * grows additively (by one per limit-sized set of successful requests) while the server stays healthy and shrinks
+ * multiplicatively when the server signals overload (HTTP 429, 5xx, timeouts) or when the p99 latency of the recent
+ * requests rises well above its long-run average.
+ *
+ * <p>Tasks submitted above the current limit are queued and executed in submission order as soon as permits
+ * are released. Thus, the number of concurrently opened sockets stays bounded.
+ */
+public final class AdaptiveConcurrencyLimiter {
+    /**
+     * The default initial limit of requests in flight.
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 16;
+    /**
+     * The default minimal limit of requests in flight.
+     */
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    /**
+     * The default maximal limit of requests in flight.
+     */
+    public static final int DEFAULT_MAX_LIMIT = 128;
+    /**
+     * The default ratio to multiply the limit by on overload.
+     */
+    public static final double DEFAULT_BACKOFF_RATIO = 0.5;
+    /**
+     * The default ratio of the window p99 latency to its long-run average to be considered as overload.
+     */
+    public static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+    /**
+     * The default number of latency samples to estimate p99 latency.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+
+    // the smoothing factor of the long-run p99 latency average
+    private static final double BASELINE_SMOOTHING = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    // the state of the limiter, guarded by this
+    private final Deque<Runnable> pending = new ArrayDeque<>();
+    private final long[] window;
+    private int windowCount;
+    private double baselineP99Nanos;
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    /**
+     * Creates new limiter with default parameters.
+     */
+    public AdaptiveConcurrencyLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT,
+                DEFAULT_BACKOFF_RATIO, DEFAULT_LATENCY_TOLERANCE, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates new limiter with specified parameters.
+     *
+     * @param initialLimit     the initial limit of requests in flight.
+     * @param minLimit         the minimal limit of requests in flight.
+     * @param maxLimit         the maximal limit of requests in flight.
+     * @param backoffRatio     the ratio in range (0, 1) to multiply the limit by on overload.
+     * @param latencyTolerance the ratio of the window p99 latency to its long-run average to be considered
+     *                         as overload.
+     * @param windowSize       the number of latency samples to estimate p99 latency.
+     * @throws IllegalArgumentException if any of parameters is out of the valid range.
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                      double latencyTolerance, int windowSize) throws IllegalArgumentException {
+        if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong concurrency limits, initial: %d, min: %d, max: %d", initialLimit, minLimit, maxLimit));
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoff ratio must be in range (0, 1), but was: " + backoffRatio);
+        }
+        if (latencyTolerance <= 1) {
+            throw new IllegalArgumentException("latency tolerance must be greater than 1, but was: "
+                    + latencyTolerance);
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("window size must be positive, but was: " + windowSize);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.window = new long[windowSize];
+    }
+
+    /**
+     * Executes provided task immediately if the limit of requests in flight is not reached or queues it otherwise.
+     * The task holds the permit while running and must invoke {@link #release(long, long, boolean)} when the request
+     * started by it completes.
+     *
+     * @param task the task to start the request.
+     */
+    public void execute(@NonNull Runnable task) {
+        synchronized (this) {
+            if (this.inFlight >= this.currentLimit()) {
+                this.pending.add(task);
+                return;
+            }
+            this.inFlight++;
+        }
+        task.run();
+    }
+
+    /**
+     * Releases the permit held by the completed request and updates the limit according to the request outcome.
+     * The queued tasks are started if the limit allows.
+     *
+     * @param startNanos   the {@link System#nanoTime()} when request was started.
+     * @param latencyNanos the latency of the request in nanoseconds.
+     * @param overloaded   {@code true} if server signalled overload.
+     */
+    public void release(long startNanos, long latencyNanos, boolean overloaded) {
+        Runnable[] tasks;
+        synchronized (this) {
+            boolean saturated = this.inFlight >= this.currentLimit() / 2;
+            this.inFlight--;
+            if (overloaded) {
+                this.decrease(startNanos);
+            } else if (this.recordLatency(latencyNanos)) {
+                this.decrease(startNanos);
+            } else if (saturated) {
+                // additive increase - by one when the whole limit of requests completed successfully
+                this.limit = Math.min(this.maxLimit, this.limit + 1.0 / this.limit);
+            }
+
+            int available = Math.min(this.pending.size(), this.currentLimit() - this.inFlight);
+            if (available <= 0) {
+                return;
+            }
+            tasks = new Runnable[available];
+            for (int i = 0; i < available; i++) {
+                tasks[i] = this.pending.poll();
+            }
+            this.inFlight += available;
+        }
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+    /**
+     * Drops the limit to the minimal value. Used when the server recovered after outage, thus the backlog
+     * of the requests accumulated during outage is sent with additively growing concurrency instead of
+     * hitting the server all at once.
+     */
+    public synchronized void restart() {
+        this.limit = this.minLimit;
+        this.windowCount = 0;
+    }
+
+    /**
+     * Returns the current limit of requests in flight.
+     *
+     * @return the current limit of requests in flight.
+     */
+    public synchronized int getLimit() {
+        return this.currentLimit();
+    }
+
+    /**
+     * Returns the current number of requests in flight.
+     *
+     * @return the current number of requests in flight.
+     */
+    public synchronized int getInFlight() {
+        return this.inFlight;
+    }
+
+    /**
+     * Returns the number of tasks waiting for the permit.
+     *
+     * @return the number of tasks waiting for the permit.
+     */
+    public synchronized int getPendingCount() {
+        return this.pending.size();
+    }
+
+    private int currentLimit() {
+        return (int) this.limit;
+    }
+
+    /**
+     * Multiplicatively decreases the limit. The requests started before the previous decrease are ignored,
+     * thus the limit is decreased at most once per round trip.
+     */
+    private void decrease(long startNanos) {
+        if (this.decreased && startNanos - this.lastDecreaseNanos < 0) {
+            return;
+        }
+        this.limit = Math.max(this.minLimit, this.limit * this.backoffRatio);
+        this.lastDecreaseNanos = System.nanoTime();
+        this.decreased = true;
+    }
+
+    /**
+     * Records the latency sample and checks p99 latency of the window when it is full.
+     *
+     * @return {@code true} if the p99 latency of the window rose above the tolerated level.
+     */
+    private boolean recordLatency(long latencyNanos) {
+        this.window[this.windowCount++] = latencyNanos;
+        if (this.windowCount < this.window.length) {
+            return false;
+        }
+        this.windowCount = 0;
+        long[] sorted = this.window.clone();
+        Arrays.sort(sorted);
+        long p99 = sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+
+        if (this.baselineP99Nanos == 0) {
+            this.baselineP99Nanos = p99;
+            return false;
+        }
+        boolean rising = p99 > this.baselineP99Nanos * this.latencyTolerance;
+        this.baselineP99Nanos += BASELINE_SMOOTHING * (p99 - this.baselineP99Nanos);
+        return rising;
+    }
+}
@@ -0,0 +1,240 @@
+package ml.comet.experiment.impl.http;
+
+import lombok.NonNull;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The circuit breaker of the requests to the Comet server. It opens after the given number of consecutive requests
+ * failed due to the server being unreachable or unhealthy (I/O errors, timeouts, 5xx). While it is open the requests
+ * are rejected immediately instead of holding sockets until they time out. After the probe interval elapsed the
+ * breaker becomes half-open and lets exactly one probe request through: the breaker closes if the probe succeeded
+ * and opens again otherwise.
+ */
+public final class CircuitBreaker {
+    /**
+     * The default number of consecutive failed requests to open the breaker.
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    /**
+     * The default time to keep the breaker open before sending the probe request.
+     */
+    public static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofSeconds(5);
+
+    /**
+     * The states of the circuit breaker.
+     */
+    public enum State {
+        /**
+         * The requests are sent to the server.
+         */
+        CLOSED,
+        /**
+         * The requests are rejected until the probe interval elapsed.
+         */
+        OPEN,
+        /**
+         * The single probe request is sent to the server, other requests are rejected.
+         */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long probeIntervalNanos;
+    private final Logger logger;
+    private final List<Consumer<State>> listeners = new CopyOnWriteArrayList<>();
+
+    // the state of the breaker, guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long probeAtNanos;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong openedCount = new AtomicLong();
+
+    /**
+     * Creates new instance with default parameters.
+     *
+     * @param logger the logger to report state transitions.
+     */
+    public CircuitBreaker(@NonNull Logger logger) {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_PROBE_INTERVAL, logger);
+    }
+
+    /**
+     * Creates new instance with specified parameters.
+     *
+     * @param failureThreshold the number of consecutive failed requests to open the breaker.
+     * @param probeInterval    the time to keep the breaker open before sending the probe request.
+     * @param logger           the logger to report state transitions.
+     * @throws IllegalArgumentException if failure threshold or probe interval is not positive.
+     */
+    public CircuitBreaker(int failureThreshold, @NonNull Duration probeInterval, @NonNull Logger logger)
+            throws IllegalArgumentException {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failure threshold must be positive, but was: " + failureThreshold);
+        }
+        if (probeInterval.isZero() || probeInterval.isNegative()) {
+            throw new IllegalArgumentException("probe interval must be positive, but was: " + probeInterval);
+        }
+        this.failureThreshold = failureThreshold;
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.logger = logger;
+    }
+
+    /**
+     * Registers the listener to be notified about state transitions. The listener is invoked by the thread
+     * completing the request which caused the transition and must not block.
+     *
+     * @param listener the listener to be notified with the new state.
+     */
+    public void addStateListener(@NonNull Consumer<State> listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Acquires the permission to send the request. When the breaker is open and the probe interval elapsed,
+     * the breaker becomes half-open and the caller gets the permission to send the probe request.
+     *
+     * @return {@code true} if request can be sent, {@code false} if it must be rejected.
+     */
+    public boolean tryAcquire() {
+        boolean probe;
+        synchronized (this) {
+            if (this.state == State.CLOSED) {
+                return true;
+            }
+            probe = this.state == State.OPEN && System.nanoTime() - this.probeAtNanos >= 0;
+            if (probe) {
+                this.state = State.HALF_OPEN;
+            }
+        }
+        if (probe) {
+            this.logger.info("probing the Comet server after outage");
+            this.fireStateChanged(State.HALF_OPEN);
+            return true;
+        }
+        this.rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Allows checking without side effects if the request would be permitted now.
+     *
+     * @return {@code true} if the breaker is closed or the probe request is due.
+     */
+    public synchronized boolean isCallPermitted() {
+        return this.state == State.CLOSED
+                || this.state == State.OPEN && System.nanoTime() - this.probeAtNanos >= 0;
+    }
+
+    /**
+     * Records successful request. Closes the breaker if it was the probe request.
+     */
+    public void onSuccess() {
+        synchronized (this) {
+            this.consecutiveFailures = 0;
+            if (this.state == State.CLOSED) {
+                return;
+            }
+            this.state = State.CLOSED;
+        }
+        this.logger.info("the Comet server is reachable again, resuming requests");
+        this.fireStateChanged(State.CLOSED);
+    }
+
+    /**
+     * Records the request failed because the server is unreachable or unhealthy. Opens the breaker if the
+     * threshold of consecutive failures is reached or the probe request failed.
+     */
+    public void onFailure() {
+        synchronized (this) {
+            this.consecutiveFailures++;
+            if (this.state == State.OPEN
+                    || this.state == State.CLOSED && this.consecutiveFailures < this.failureThreshold) {
+                return;
+            }
+            this.state = State.OPEN;
+            this.probeAtNanos = System.nanoTime() + this.probeIntervalNanos;
+        }
+        this.openedCount.incrementAndGet();
+        this.logger.warn("the Comet server is unavailable, requests are suspended for {} ms",
+                TimeUnit.NANOSECONDS.toMillis(this.probeIntervalNanos));
+        this.fireStateChanged(State.OPEN);
+    }
+
+    /**
+     * Records the request completed without telling anything about server health, e.g. cancelled. If it was
+     * the probe request, the breaker returns to the open state with the probe due immediately.
+     */
+    public void onIgnored() {
+        synchronized (this) {
+            if (this.state != State.HALF_OPEN) {
+                return;
+            }
+            this.state = State.OPEN;
+            this.probeAtNanos = System.nanoTime();
+        }
+        this.fireStateChanged(State.OPEN);
+    }
+
+    /**
+     * Returns the time left before the probe request is due.
+     *
+     * @return the time left before the probe request is due or zero if the breaker is closed.
+     */
+    public synchronized Duration getTimeToProbe() {
+        switch (this.state) {
+            case OPEN:
+                return Duration.ofNanos(Math.max(0, this.probeAtNanos - System.nanoTime()));
+            case HALF_OPEN:
+                return Duration.ofNanos(this.probeIntervalNanos);
+            case CLOSED:
+            default:
+                return Duration.ZERO;
+        }
+    }
+
+    /**
+     * Returns the current state of the breaker.
+     *
+     * @return the current state of the breaker.
+     */
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    /**
+     * Returns the number of requests rejected while the breaker was not closed.
+     *
+     * @return the number of rejected requests.
+     */
+    public long getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+
+    /**
+     * Returns the number of times the breaker was opened.
+     *
+     * @return the number of times the breaker was opened.
+     */
+    public long getOpenedCount() {
+        return this.openedCount.get();
+    }
+
+    private void fireStateChanged(State newState) {
+        for (Consumer<State> listener : this.listeners) {
+            try {
+                listener.accept(newState);
+            } catch (Throwable t) {
+                this.logger.warn("circuit breaker state listener failed", t);
+            }
+        }
+    }
+}
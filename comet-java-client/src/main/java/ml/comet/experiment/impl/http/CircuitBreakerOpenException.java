@@ -0,0 +1,23 @@
+package ml.comet.experiment.impl.http;
+
+import ml.comet.experiment.exception.CometApiException;
+
+import java.time.Duration;
+
+/**
+ * Signals that request was rejected without sending because the {@link CircuitBreaker} considers the Comet server
+ * unavailable. It is reported as {@code 503 Service Unavailable} with the time left before the probe request
+ * as the retry delay, thus retried requests wait for the server to recover.
+ */
+public class CircuitBreakerOpenException extends CometApiException {
+    static final int HTTP_SERVICE_UNAVAILABLE = 503;
+
+    /**
+     * Constructs a new {@link CircuitBreakerOpenException}.
+     *
+     * @param retryAfter the time left before the probe request.
+     */
+    public CircuitBreakerOpenException(Duration retryAfter) {
+        super(HTTP_SERVICE_UNAVAILABLE, "circuit breaker is open, the Comet server is unavailable", 0, retryAfter);
+    }
+}
@@ -1,13 +1,22 @@
 package ml.comet.experiment.impl.http;
 
+import io.netty.util.HashedWheelTimer;
+import io.reactivex.rxjava3.core.Single;
 import lombok.NonNull;
 import lombok.Value;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.exception.CometApiException;
 import ml.comet.experiment.exception.CometGeneralException;
 import ml.comet.experiment.impl.constants.FormParamName;
 import ml.comet.experiment.impl.constants.QueryParamName;
 import ml.comet.experiment.impl.rest.CometWebJavaSdkException;
+import ml.comet.experiment.impl.retry.RetryPolicy;
+import ml.comet.experiment.impl.retry.RetryScheduler;
+import ml.comet.experiment.impl.stats.SdkStatsRegistry;
+import ml.comet.experiment.impl.utils.Inventory;
+import ml.comet.experiment.model.SdkStats;
 import org.asynchttpclient.AsyncCompletionHandlerBase;
+import org.asynchttpclient.AsyncHandler;
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.AsyncHttpClientConfig;
 import org.asynchttpclient.DefaultAsyncHttpClientConfig;
@@ -16,30 +25,38 @@ import org.asynchttpclient.HttpResponseStatus;
 import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Request;
 import org.asynchttpclient.Response;
-import org.awaitility.Awaitility;
-import org.awaitility.core.ConditionTimeoutException;
+import org.asynchttpclient.util.HttpConstants;
 import org.slf4j.Logger;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 import static ml.comet.experiment.impl.http.ConnectionUtils.createGetRequest;
 import static ml.comet.experiment.impl.http.ConnectionUtils.createPostByteArrayRequest;
 import static ml.comet.experiment.impl.http.ConnectionUtils.createPostFileRequest;
 import static ml.comet.experiment.impl.http.ConnectionUtils.createPostFormRequest;
 import static ml.comet.experiment.impl.http.ConnectionUtils.createPostJsonRequest;
+import static ml.comet.experiment.impl.http.ConnectionUtils.createPostStreamRequest;
 import static org.asynchttpclient.Dsl.asyncHttpClient;
-import static org.hamcrest.Matchers.is;
-import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 /**
  * Represents connection with the CometML server. Provides utility methods to send
@@ -55,10 +72,17 @@ public class Connection implements Closeable {
     public static final int REQUEST_TIMEOUT_MS = 60 * 1000;
     // The default connection shutdown timeout in milliseconds
     public static final int CONNECTION_SHUTDOWN_TIMEOUT_MS = 5 * 1000;
+    // The HTTP status code signaling that client sends too many requests
+    static final int HTTP_TOO_MANY_REQUESTS = 429;
     // The name of the HTTP header with Comet API key
     public static final String COMET_SDK_API_HEADER = "Comet-Sdk-Api";
 
-    private static final String RESPONSE_NO_BODY = "NO BODY";
+    // The default delay before the first retry of the synchronous request
+    static final Duration SYNC_RETRY_BASE_DELAY = Duration.ofSeconds(1);
+    // The default maximal delay between retries of the synchronous request
+    static final Duration SYNC_RETRY_MAX_DELAY = Duration.ofSeconds(16);
+    // The default deadline budget of all attempts of the synchronous request
+    static final Duration SYNC_RETRY_DEADLINE = Duration.ofMinutes(2);
 
     AsyncHttpClient asyncHttpClient;
     String cometBaseUrl;
@@ -72,30 +96,160 @@ public class Connection implements Closeable {
      * This is inventory tracker to maintain remaining list of scheduled asynchronous request posts. It will be used
      * to properly close this connection only after all scheduled requests are processed.
      */
-    AtomicInteger requestsInventory;
+    Inventory requestsInventory;
+    /**
+     * The adaptive limiter of the number of requests in flight to the Comet server. Requests above the limit are
+     * queued instead of opening more connections to the server. It is shared by all connections to the same host
+     * built with one {@link ml.comet.experiment.CometRuntime}.
+     */
+    AdaptiveConcurrencyLimiter concurrencyLimiter;
+    /**
+     * The policy to retry failed requests executed with retries.
+     */
+    RetryPolicy retryPolicy;
+    /**
+     * The scheduler of retries of the failed requests.
+     */
+    RetryScheduler retryScheduler;
+    /**
+     * The circuit breaker rejecting requests while the Comet server is unavailable. It is shared by all connections
+     * to the same host built with one {@link ml.comet.experiment.CometRuntime}.
+     */
+    CircuitBreaker circuitBreaker;
+    /**
+     * The flag to indicate if HTTP client is shared with other connections and must not be closed by this connection.
+     */
+    boolean sharedHttpClient;
+    /**
+     * The flag to indicate if this connection was closed.
+     */
+    AtomicBoolean closed;
+    /**
+     * The {@link System#nanoTime()} of the last successful write request or {@link Long#MIN_VALUE} if there was none.
+     */
+    AtomicLong lastSuccessfulWriteNanos;
+    /**
+     * The registry of the statistics of the requests executed by this connection.
+     */
+    SdkStatsRegistry statsRegistry;
 
     /**
      * Creates new instance with specified parameters.
      *
      * @param cometBaseUrl   the base URL of the Comet server's endpoints.
      * @param apiKey         the API key to authorize Comet API access
-     * @param maxAuthRetries the maximum number of retries per failed request.
+     * @param maxAuthRetries the maximum number of attempts per failed request.
      * @param logger         the Logger to collect log records.
      */
     public Connection(@NonNull String cometBaseUrl, @NonNull String apiKey,
                       int maxAuthRetries, @NonNull Logger logger) {
+        this(cometBaseUrl, apiKey, maxAuthRetries, syncRetryPolicy(maxAuthRetries), logger);
+    }
+
+    /**
+     * Creates new instance with specified parameters. The retries are scheduled on the timer shared by all
+     * connections in the process, see {@link RetryScheduler#getDefaultTimer()}.
+     *
+     * @param cometBaseUrl   the base URL of the Comet server's endpoints.
+     * @param apiKey         the API key to authorize Comet API access
+     * @param maxAuthRetries the maximum number of attempts per failed request.
+     * @param retryPolicy    the policy to retry failed requests.
+     * @param logger         the Logger to collect log records.
+     */
+    Connection(@NonNull String cometBaseUrl, @NonNull String apiKey, int maxAuthRetries,
+               @NonNull RetryPolicy retryPolicy, @NonNull Logger logger) {
+        this(cometBaseUrl, apiKey, maxAuthRetries, retryPolicy, createAsyncHttpClient(),
+                new RetryScheduler(retryPolicy, logger), false, new AdaptiveConcurrencyLimiter(), logger);
+    }
+
+    private Connection(String cometBaseUrl, String apiKey, int maxAuthRetries, RetryPolicy retryPolicy,
+                       AsyncHttpClient httpClient, RetryScheduler retryScheduler, boolean sharedHttpClient,
+                       AdaptiveConcurrencyLimiter concurrencyLimiter, Logger logger) {
+        this(cometBaseUrl, apiKey, maxAuthRetries, retryPolicy, httpClient, retryScheduler, sharedHttpClient,
+                concurrencyLimiter, createCircuitBreaker(concurrencyLimiter, logger), logger);
+    }
+
+    /**
+     * Creates new instance which sends requests through the HTTP client and schedules retries on the timer shared
+     * with other connections. The shared HTTP client and timer are not closed when this connection is closed.
+     *
+     * @param cometBaseUrl       the base URL of the Comet server's endpoints.
+     * @param apiKey             the API key to authorize Comet API access
+     * @param maxAuthRetries     the maximum number of attempts per failed request.
+     * @param httpClient         the shared HTTP client.
+     * @param retryTimer         the shared timer to schedule retries.
+     * @param concurrencyLimiter the limiter of requests in flight shared by all connections to the same host.
+     * @param circuitBreaker     the circuit breaker shared by all connections to the same host, see
+     *                           {@link #createCircuitBreaker(AdaptiveConcurrencyLimiter, Logger)}.
+     * @param logger             the Logger to collect log records.
+     */
+    public Connection(@NonNull String cometBaseUrl, @NonNull String apiKey, int maxAuthRetries,
+                      @NonNull AsyncHttpClient httpClient, @NonNull HashedWheelTimer retryTimer,
+                      @NonNull AdaptiveConcurrencyLimiter concurrencyLimiter, @NonNull CircuitBreaker circuitBreaker,
+                      @NonNull Logger logger) {
+        this(cometBaseUrl, apiKey, maxAuthRetries, syncRetryPolicy(maxAuthRetries), httpClient, retryTimer,
+                concurrencyLimiter, circuitBreaker, logger);
+    }
+
+    Connection(@NonNull String cometBaseUrl, @NonNull String apiKey, int maxAuthRetries,
+               @NonNull RetryPolicy retryPolicy, @NonNull AsyncHttpClient httpClient,
+               @NonNull HashedWheelTimer retryTimer, @NonNull AdaptiveConcurrencyLimiter concurrencyLimiter,
+               @NonNull CircuitBreaker circuitBreaker, @NonNull Logger logger) {
+        this(cometBaseUrl, apiKey, maxAuthRetries, retryPolicy, httpClient,
+                new RetryScheduler(retryPolicy, retryTimer, logger), true, concurrencyLimiter, circuitBreaker, logger);
+    }
+
+    private Connection(String cometBaseUrl, String apiKey, int maxAuthRetries, RetryPolicy retryPolicy,
+                       AsyncHttpClient httpClient, RetryScheduler retryScheduler, boolean sharedHttpClient,
+                       AdaptiveConcurrencyLimiter concurrencyLimiter, CircuitBreaker circuitBreaker, Logger logger) {
         this.cometBaseUrl = cometBaseUrl;
         this.apiKey = apiKey;
         this.logger = logger;
         this.maxAuthRetries = maxAuthRetries;
-        this.requestsInventory = new AtomicInteger();
-        // create configured HTTP client
+        this.requestsInventory = new Inventory();
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.retryPolicy = retryPolicy;
+        this.retryScheduler = retryScheduler;
+        this.sharedHttpClient = sharedHttpClient;
+        this.closed = new AtomicBoolean();
+        this.lastSuccessfulWriteNanos = new AtomicLong(Long.MIN_VALUE);
+        this.statsRegistry = new SdkStatsRegistry();
+        this.circuitBreaker = circuitBreaker;
+        this.asyncHttpClient = httpClient;
+    }
+
+    /**
+     * Creates the circuit breaker of the requests to the Comet server which restarts the limiter of requests
+     * in flight to the same server when the server recovers.
+     *
+     * @param concurrencyLimiter the limiter of requests in flight to the same server.
+     * @param logger             the Logger to collect log records.
+     * @return the new circuit breaker.
+     */
+    public static CircuitBreaker createCircuitBreaker(@NonNull AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                                      @NonNull Logger logger) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(logger);
+        // the backlog accumulated during outage is drained with the gradually growing concurrency
+        circuitBreaker.addStateListener(state -> {
+            if (state == CircuitBreaker.State.CLOSED) {
+                concurrencyLimiter.restart();
+            }
+        });
+        return circuitBreaker;
+    }
+
+    /**
+     * Creates the HTTP client configured to communicate with the Comet server.
+     *
+     * @return the new HTTP client, it must be closed to release resources.
+     */
+    public static AsyncHttpClient createAsyncHttpClient() {
         AsyncHttpClientConfig conf = new DefaultAsyncHttpClientConfig.Builder()
                 .setReadTimeout(READ_TIMEOUT_MS)
                 .setRequestTimeout(REQUEST_TIMEOUT_MS)
                 .setShutdownTimeout(CONNECTION_SHUTDOWN_TIMEOUT_MS)
                 .build();
-        this.asyncHttpClient = asyncHttpClient(conf);
+        return asyncHttpClient(conf);
     }
 
     /**
@@ -127,15 +281,91 @@ public class Connection implements Closeable {
     public Optional<String> sendGetWithRetries(
             @NonNull String endpoint, @NonNull Map<QueryParamName, String> params, boolean throwOnFailure)
             throws CometApiException {
+        Runnable release = this.requestsInventory.register();
         try {
-            this.requestsInventory.incrementAndGet();
             return executeRequestSyncWithRetries(
                     createGetRequest(this.buildCometUrl(endpoint), params), throwOnFailure);
         } finally {
-            this.requestsInventory.decrementAndGet();
+            release.run();
         }
     }
 
+    /**
+     * Allows sending GET request to the specified endpoint with given request parameters asynchronously.
+     * It will attempt to retry request if failed for the {@code maxAuthRetries} attempts without blocking
+     * any thread between attempts.
+     *
+     * @param endpoint       the request path of the endpoint
+     * @param params         the map with request parameters.
+     * @param throwOnFailure if {@code true} then {@link CometApiException} will be signalled on failure.
+     *                       Otherwise, the empty {@link Optional} emitted.
+     * @return the {@link Single} to be completed with the {@link Optional} of response body.
+     */
+    public Single<Optional<String>> sendGetWithRetriesAsync(
+            @NonNull String endpoint, @NonNull Map<QueryParamName, String> params, boolean throwOnFailure) {
+        return this.withInventory(this.executeRequestAsyncWithRetries(
+                createGetRequest(this.buildCometUrl(endpoint), params), throwOnFailure));
+    }
+
+    /**
+     * Allows sending POST to the specified endpoint with body as JSON string asynchronously. It will attempt
+     * to retry request if failed for the {@code maxAuthRetries} attempts without blocking any thread between
+     * attempts.
+     *
+     * @param json           the JSON string to be posted.
+     * @param endpoint       the relative path to the endpoint
+     * @param throwOnFailure if {@code true} then {@link CometApiException} will be signalled on failure.
+     *                       Otherwise, the empty {@link Optional} emitted.
+     * @return the {@link Single} to be completed with the {@link Optional} of response body.
+     */
+    public Single<Optional<String>> sendPostWithRetriesAsync(
+            @NonNull String json, @NonNull String endpoint, boolean throwOnFailure) {
+        String url = this.buildCometUrl(endpoint);
+        if (logger.isDebugEnabled()) {
+            logger.debug("sending JSON {} to {}", json, url);
+        }
+        return this.withInventory(this.executeRequestAsyncWithRetries(
+                createPostJsonRequest(json, url), throwOnFailure));
+    }
+
+    /**
+     * Allows FORM submission to the specified endpoint asynchronously. It will attempt to retry request if failed
+     * for the {@code maxAuthRetries} attempts without blocking any thread between attempts.
+     *
+     * @param endpoint       the relative path to the endpoint.
+     * @param queryParams    the request query parameters.
+     * @param formParams     the form parameters.
+     * @param throwOnFailure if {@code true} then {@link CometApiException} will be signalled on failure.
+     *                       Otherwise, the empty {@link Optional} emitted.
+     * @return the {@link Single} to be completed with the {@link Optional} of response body.
+     */
+    public Single<Optional<String>> sendPostWithRetriesAsync(
+            @NonNull String endpoint, @NonNull Map<QueryParamName, String> queryParams,
+            @NonNull Map<FormParamName, Object> formParams, boolean throwOnFailure) {
+        return this.withInventory(this.executeRequestAsyncWithRetries(
+                createPostFormRequest(this.buildCometUrl(endpoint), queryParams, formParams), throwOnFailure));
+    }
+
+    /**
+     * Allows posting of provided byte array as multipart form data to the specified endpoint asynchronously.
+     * It will attempt to retry request if failed for the {@code maxAuthRetries} attempts without blocking
+     * any thread between attempts.
+     *
+     * @param bytes          the data array.
+     * @param endpoint       the relative path to the endpoint.
+     * @param queryParams    the request query parameters.
+     * @param throwOnFailure if {@code true} then {@link CometApiException} will be signalled on failure.
+     *                       Otherwise, the empty {@link Optional} emitted.
+     * @return the {@link Single} to be completed with the {@link Optional} of response body.
+     */
+    public Single<Optional<String>> sendPostWithRetriesAsync(
+            byte[] bytes, @NonNull String endpoint, @NonNull Map<QueryParamName, String> queryParams,
+            boolean throwOnFailure) {
+        return this.withInventory(this.executeRequestAsyncWithRetries(
+                createPostByteArrayRequest(bytes, this.buildCometUrl(endpoint), queryParams, null),
+                throwOnFailure));
+    }
+
     /**
      * Allows sending POST to the specified endpoint with body as JSON string. This method will retry request using
      * {@link #maxAuthRetries} attempts. If failed empty {@link Optional} will be returned or {@link CometApiException}
@@ -153,11 +383,11 @@ public class Connection implements Closeable {
         if (logger.isDebugEnabled()) {
             logger.debug("sending JSON {} to {}", json, url);
         }
+        Runnable release = this.requestsInventory.register();
         try {
-            this.requestsInventory.incrementAndGet();
             return executeRequestSyncWithRetries(createPostJsonRequest(json, url), throwOnFailure);
         } finally {
-            this.requestsInventory.decrementAndGet();
+            release.run();
         }
     }
 
@@ -209,6 +439,34 @@ public class Connection implements Closeable {
         return executeRequestAsync(createPostByteArrayRequest(bytes, url, params, formParams));
     }
 
+    /**
+     * Allows asynchronous streaming of the content from provided source as POST request to the specified endpoint.
+     * The content is read from the source while the request is being sent.
+     *
+     * @param source     the source of the content.
+     * @param endpoint   the relative path to the endpoint.
+     * @param params     the request parameters map.
+     * @param formParams the form parameters
+     * @return the {@link ListenableFuture} which can be used to monitor status of the request execution.
+     */
+    public ListenableFuture<Response> sendPostAsync(@NonNull AssetSource source, @NonNull String endpoint,
+                                                    @NonNull Map<QueryParamName, String> params,
+                                                    Map<FormParamName, Object> formParams) {
+        String url = this.buildCometUrl(endpoint);
+        if (logger.isDebugEnabled()) {
+            logger.debug("sending POST stream with length {} to {}", source.getContentLength(), url);
+        }
+
+        InputStream stream;
+        try {
+            stream = source.openStream();
+        } catch (IOException | IllegalStateException e) {
+            return new ListenableFuture.CompletedFailure<>(e);
+        }
+        return executeRequestAsync(
+                createPostStreamRequest(stream, source.getContentLength(), url, params, formParams));
+    }
+
     /**
      * Allows asynchronous FORM submission to the specified endpoint.
      *
@@ -284,7 +542,27 @@ public class Connection implements Closeable {
      */
     @Override
     public void close() throws IOException {
-        this.asyncHttpClient.close();
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        this.retryScheduler.close();
+        if (!this.sharedHttpClient) {
+            this.asyncHttpClient.close();
+        }
+    }
+
+    /**
+     * Allows checking if this connection was closed or its HTTP client was closed.
+     *
+     * @return {@code true} if this connection can not be used to send requests anymore.
+     */
+    public boolean isClosed() {
+        return this.closed.get() || this.asyncHttpClient.isClosed();
+    }
+
+    private static RetryPolicy syncRetryPolicy(int maxAuthRetries) {
+        return new RetryPolicy(SYNC_RETRY_BASE_DELAY, SYNC_RETRY_MAX_DELAY, SYNC_RETRY_DEADLINE,
+                Math.max(1, maxAuthRetries));
     }
 
     /**
@@ -295,15 +573,13 @@ public class Connection implements Closeable {
      */
     public void waitAndClose(@NonNull Duration timeout) throws IOException {
         try {
-            Awaitility
-                    .await()
-                    .atMost(timeout)
-                    .pollInterval(100, TimeUnit.MILLISECONDS)
-                    .untilAtomic(this.requestsInventory, is(lessThanOrEqualTo(0)));
-        } catch (ConditionTimeoutException e) {
-            getLogger().error(
-                    String.format("Timeout exceeded while waiting for remaining requests to complete, "
-                            + "remaining requests: %d", this.requestsInventory.get()), e);
+            if (!this.requestsInventory.awaitEmpty(timeout)) {
+                getLogger().error(String.format("Timeout exceeded while waiting for remaining requests to complete, "
+                        + "remaining requests: %d", this.requestsInventory.get()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLogger().error("interrupted while waiting for remaining requests to complete", e);
         } finally {
             // close connection
             this.close();
@@ -342,25 +618,71 @@ public class Connection implements Closeable {
     ListenableFuture<Response> executeRequestAsync(@NonNull Request request,
                                                    DownloadListener downloadListener) {
         // check that client is not closed
-        if (this.asyncHttpClient.isClosed()) {
+        if (this.isClosed()) {
             String msg = String.format("failed to execute request %s connection to the server already closed", request);
             return new ListenableFuture.CompletedFailure<>(
                     "asyncHttpClient already closed", new CometGeneralException(msg));
         }
 
-        // increment inventory
-        this.requestsInventory.incrementAndGet();
+        // register in inventory
+        Runnable release = this.requestsInventory.register();
 
         request.getHeaders().add(COMET_SDK_API_HEADER, apiKey);
         String endpoint = request.getUrl();
-        return this.asyncHttpClient.executeRequest(request,
-                new AsyncCompletionInventoryHandler(this.requestsInventory, this.logger, endpoint, downloadListener));
+        return this.executeLimited(request,
+                new AsyncCompletionInventoryHandler(release, this.logger, endpoint, downloadListener));
+    }
+
+    /**
+     * Executes provided request when the {@link #concurrencyLimiter} allows. The latency and the status of
+     * the completed request are used to adjust the limit of requests in flight. If the {@link #circuitBreaker}
+     * is open the request is rejected immediately with {@link CircuitBreakerOpenException}.
+     *
+     * @param request the request to be executed.
+     * @param handler the {@link AsyncHandler} to process response.
+     * @return the {@link ListenableFuture} which can be used to check request status.
+     */
+    ListenableFuture<Response> executeLimited(@NonNull Request request, @NonNull AsyncHandler<Response> handler) {
+        if (!this.circuitBreaker.tryAcquire()) {
+            CircuitBreakerOpenException e = new CircuitBreakerOpenException(this.circuitBreaker.getTimeToProbe());
+            handler.onThrowable(e);
+            return new ListenableFuture.CompletedFailure<>(e);
+        }
+        DeferredResponseFuture future = new DeferredResponseFuture();
+        this.concurrencyLimiter.execute(() -> {
+            long startNanos = System.nanoTime();
+            ListenableFuture<Response> responseFuture;
+            try {
+                if (future.isCancelled()) {
+                    throw new CancellationException("request was cancelled before execution");
+                }
+                responseFuture = this.asyncHttpClient.executeRequest(request, handler);
+            } catch (Throwable t) {
+                this.concurrencyLimiter.release(startNanos, System.nanoTime() - startNanos, false);
+                this.recordOutcome(null, t);
+                this.recordStats(request, null, t, System.nanoTime() - startNanos);
+                handler.onThrowable(t);
+                future.completeExceptionally(t);
+                return;
+            }
+            // the outcome is recorded before the caller is notified
+            future.bind(responseFuture, (response, throwable) -> {
+                long latencyNanos = System.nanoTime() - startNanos;
+                this.concurrencyLimiter.release(startNanos, latencyNanos, isOverloaded(response, throwable));
+                this.recordOutcome(response, throwable);
+                this.recordStats(request, response, throwable, latencyNanos);
+                if (isSuccessfulWrite(request, response)) {
+                    this.lastSuccessfulWriteNanos.set(System.nanoTime());
+                }
+            });
+        });
+        return future;
     }
 
     /**
-     * Synchronously executes provided request. It will attempt to execute request {@link #maxAuthRetries} in
-     * case of failure. If all attempts failed the empty optional will be returned or {@link CometApiException}
-     * will be thrown in case of {@code throwOnFailure} is {@code true}.
+     * Synchronously executes provided request. It will attempt to execute request {@link #maxAuthRetries} times
+     * according to the {@link #retryPolicy}. If all attempts failed the empty optional will be returned or
+     * {@link CometApiException} will be thrown in case of {@code throwOnFailure} is {@code true}.
      *
      * @param request        the request to be executed
      * @param throwOnFailure if {@code true} throws exception on failure. Otherwise, empty {@link Optional} will be
@@ -370,114 +692,319 @@ public class Connection implements Closeable {
      */
     Optional<String> executeRequestSyncWithRetries(
             @NonNull Request request, boolean throwOnFailure) throws CometApiException {
+        return this.executeRequestAsyncWithRetries(request, throwOnFailure).blockingGet();
+    }
+
+    /**
+     * Asynchronously executes provided request. It will attempt to execute request {@link #maxAuthRetries} times
+     * according to the {@link #retryPolicy}. The retries are scheduled on the timer, thus no thread is blocked
+     * while waiting for the next attempt. If all attempts failed the empty optional will be emitted or
+     * {@link CometApiException} will be signalled in case of {@code throwOnFailure} is {@code true}.
+     *
+     * @param request        the request to be executed
+     * @param throwOnFailure if {@code true} signals exception on failure. Otherwise, empty {@link Optional} will be
+     *                       emitted.
+     * @return the {@link Single} to be completed with the response body or empty {@link Optional}.
+     */
+    Single<Optional<String>> executeRequestAsyncWithRetries(@NonNull Request request, boolean throwOnFailure) {
         request.getHeaders().add(COMET_SDK_API_HEADER, apiKey);
         String endpoint = request.getUrl();
-        org.asynchttpclient.Response response = null;
-        for (int i = 1; i < this.maxAuthRetries; i++) {
-            if (this.asyncHttpClient.isClosed()) {
-                this.logger.warn("failed to execute request {}, the connection already closed.", request);
-                if (throwOnFailure) {
-                    throw new CometApiException("failed to execute request, the connection already closed.");
-                }
-                return Optional.empty();
-            }
-
-            int statusCode = 0;
-            try {
-                // execute request and wait for completion until default REQUEST_TIMEOUT_MS exceeded
-                response = this.asyncHttpClient.executeRequest(request).get();
-                statusCode = response.getStatusCode();
-
-                // check status code for possible errors
-                ConnectionUtils.checkResponseStatus(response);
-
-                // success - log debug and continue with result
-                if (this.logger.isDebugEnabled()) {
-                    this.logger.debug("for endpoint {} got response {}", endpoint, response.getResponseBody());
-                }
-                break;
-
-            } catch (CometApiException apiException) {
-                // connection attempt failed - check if to retry
-                String body = response != null ? response.getStatusText() : RESPONSE_NO_BODY;
-                if (i < this.maxAuthRetries - 1) {
-                    // sleep for a while and repeat
-                    this.logger.debug("for endpoint {} got response {}, retrying", endpoint, body);
-                    try {
-                        Thread.sleep((2 ^ i) * 1000L);
-                    } catch (InterruptedException ex) {
-                        this.logger.error("Interrupted while sleeping before next attempt of executing request to {}",
-                                endpoint, ex);
+        return this.retryScheduler.execute(null, () -> this.executeRequestOnce(request))
+                .map(response -> {
+                    // success - log debug and continue with result
+                    if (this.logger.isDebugEnabled()) {
+                        this.logger.debug("for endpoint {} got response {}", endpoint, response.getResponseBody());
+                    }
+                    return Optional.of(response.getResponseBody());
+                })
+                .onErrorResumeNext(throwable -> {
+                    CometApiException apiException;
+                    if (throwable instanceof CometApiException) {
+                        apiException = (CometApiException) throwable;
+                        this.logger.error("For endpoint {} got the error '{}', the last attempt failed",
+                                endpoint, apiException.getMessage());
+                    } else {
+                        this.logger.error("Failed to execute request: {}, unexpected error", request, throwable);
+                        apiException = new CometApiException("failed to execute request, unexpected error",
+                                throwable);
                     }
-                } else {
-                    // maximal number of attempts exceeded - throw or return
-                    this.logger.error(
-                            "For endpoint {} got the response '{}', the last retry failed from {} attempts",
-                            endpoint, body, this.maxAuthRetries);
                     if (throwOnFailure) {
-                        throw apiException;
+                        return Single.error(apiException);
                     }
-                    return Optional.empty();
+                    return Single.just(Optional.empty());
+                });
+    }
+
+    /**
+     * Executes provided request once and checks the status of the response.
+     *
+     * @param request the request to be executed.
+     * @return the {@link Single} to be completed with successful response or failed with {@link CometApiException}
+     *     if response has error status.
+     */
+    private Single<Response> executeRequestOnce(@NonNull Request request) {
+        if (this.isClosed()) {
+            this.logger.warn("failed to execute request {}, the connection already closed.", request);
+            return Single.error(new CometApiException("failed to execute request, the connection already closed."));
+        }
+        return Single.create(emitter -> {
+            ListenableFuture<Response> future = this.executeLimited(request, new AsyncCompletionHandlerBase());
+            emitter.setCancellable(() -> {
+                if (!future.isDone()) {
+                    future.cancel(true);
                 }
-            } catch (CometWebJavaSdkException ex) {
-                // remote endpoint signalled processing error - throw or return
-                this.logger.error("Failed to execute request: {}, remote endpoint raised error", request, ex);
-                if (throwOnFailure) {
-                    throw new CometApiException(statusCode, ex.getMessage(), ex.getSdkErrorCode());
+            });
+            future.addListener(() -> {
+                Response response;
+                try {
+                    response = future.get();
+                } catch (ExecutionException e) {
+                    emitter.tryOnError(e.getCause() != null ? e.getCause() : e);
+                    return;
+                } catch (Throwable t) {
+                    emitter.tryOnError(t);
+                    return;
                 }
-                return Optional.empty();
-            } catch (Throwable e) {
-                // unexpected error - throw or return
-                if (e instanceof InterruptedException) {
-                    // ignore InterruptedException as it can be thrown during shutdown - just debug it
-                    this.logger.debug("Failed to execute request: {}, unexpected error: {}", request, e);
-                } else {
-                    this.logger.error("Failed to execute request: {}, unexpected error", request, e);
-                    if (throwOnFailure) {
-                        throw new CometApiException("failed to execute request, unexpected error", e);
-                    }
+                try {
+                    // check status code for possible errors
+                    ConnectionUtils.checkResponseStatus(response);
+                    emitter.onSuccess(response);
+                } catch (CometWebJavaSdkException ex) {
+                    // remote endpoint signalled processing error
+                    emitter.tryOnError(new CometApiException(
+                            response.getStatusCode(), ex.getMessage(), ex.getSdkErrorCode()));
+                } catch (Throwable t) {
+                    emitter.tryOnError(t);
                 }
-                return Optional.empty();
-            }
-        }
+            }, null);
+        });
+    }
+
+    /**
+     * Checks if the request wrote data to the Comet server successfully, thus proving liveness of the experiment.
+     */
+    static boolean isSuccessfulWrite(Request request, Response response) {
+        return response != null && HttpConstants.Methods.POST.equals(request.getMethod())
+                && response.getStatusCode() >= 200 && response.getStatusCode() < 300;
+    }
+
+    /**
+     * Returns the snapshot of the statistics of the requests executed by this connection.
+     *
+     * @return the snapshot of the statistics of the requests executed by this connection.
+     */
+    public SdkStats getSdkStats() {
+        return this.statsRegistry.snapshot(0, this.retryScheduler.getRetriesCount(), 0);
+    }
 
-        if (response == null) {
-            return Optional.empty();
+    /**
+     * Records the outcome of the completed request with the {@link #circuitBreaker}.
+     *
+     * @param response  the response or {@code null} if request failed.
+     * @param throwable the error or {@code null} if response received.
+     */
+    private void recordOutcome(Response response, Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (isUnavailable(response, throwable)) {
+            this.circuitBreaker.onFailure();
+        } else if (response != null || throwable instanceof CometApiException) {
+            // the server responded
+            this.circuitBreaker.onSuccess();
         } else {
-            return Optional.of(response.getResponseBody());
+            this.circuitBreaker.onIgnored();
+        }
+    }
+
+    private void recordStats(Request request, Response response, Throwable throwable, long latencyNanos) {
+        try {
+            boolean failed = throwable != null || response == null || response.getStatusCode() >= 400;
+            this.statsRegistry.recordRequest(request.getUri().getPath(), latencyNanos, failed,
+                    ConnectionUtils.requestBodySize(request), ConnectionUtils.responseBodySize(response));
+        } catch (Throwable t) {
+            // the statistics must never break the request processing
+            this.logger.debug("failed to record statistics of the request {}", request.getUrl(), t);
         }
     }
 
+    private <T> Single<T> withInventory(@NonNull Single<T> single) {
+        return Single.defer(() -> {
+            // the inventory is released before the result is delivered, thus it is consistent for the subscriber
+            Runnable release = this.requestsInventory.register();
+            return single
+                    .doOnTerminate(release::run)
+                    .doOnDispose(release::run);
+        });
+    }
+
     private String buildCometUrl(String endpoint) {
         return this.cometBaseUrl + endpoint;
     }
 
+    /**
+     * Checks if the outcome of the request signals that the server is overloaded.
+     *
+     * @param response  the response or {@code null} if request failed.
+     * @param throwable the error or {@code null} if response received.
+     * @return {@code true} if server responded with 429, 5xx status code or request timed out.
+     */
+    static boolean isOverloaded(Response response, Throwable throwable) {
+        int statusCode = 0;
+        if (response != null) {
+            statusCode = response.getStatusCode();
+        } else if (throwable instanceof CometApiException) {
+            statusCode = ((CometApiException) throwable).getStatusCode();
+        } else if (throwable instanceof TimeoutException) {
+            return true;
+        }
+        return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode >= HTTP_INTERNAL_ERROR;
+    }
+
+    /**
+     * Checks if the outcome of the request signals that the server is unreachable or unhealthy.
+     *
+     * @param response  the response or {@code null} if request failed.
+     * @param throwable the error or {@code null} if response received.
+     * @return {@code true} if server responded with 5xx status code, request timed out or failed with I/O error.
+     */
+    static boolean isUnavailable(Response response, Throwable throwable) {
+        if (response != null) {
+            return response.getStatusCode() >= HTTP_INTERNAL_ERROR;
+        }
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof CometApiException) {
+                return ((CometApiException) t).getStatusCode() >= HTTP_INTERNAL_ERROR;
+            }
+            if (t instanceof IOException || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The {@link ListenableFuture} of the request which execution can be deferred by the concurrency limiter.
+     * It is bound to the actual future of the request when request execution starts.
+     */
+    static final class DeferredResponseFuture implements ListenableFuture<Response> {
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        volatile ListenableFuture<Response> delegate;
+
+        void bind(ListenableFuture<Response> delegate, BiConsumer<Response, Throwable> onDelegateDone) {
+            this.delegate = delegate;
+            delegate.toCompletableFuture().whenComplete((response, throwable) -> {
+                onDelegateDone.accept(response, throwable);
+                if (throwable != null) {
+                    this.future.completeExceptionally(throwable);
+                } else {
+                    this.future.complete(response);
+                }
+            });
+            if (this.future.isCancelled()) {
+                delegate.cancel(true);
+            }
+        }
+
+        void completeExceptionally(Throwable t) {
+            this.future.completeExceptionally(t);
+        }
+
+        @Override
+        public void done() {
+            // completed by the bound delegate
+        }
+
+        @Override
+        public void abort(Throwable t) {
+            ListenableFuture<Response> delegate = this.delegate;
+            if (delegate != null) {
+                delegate.abort(t);
+            } else {
+                this.future.completeExceptionally(t);
+            }
+        }
+
+        @Override
+        public void touch() {
+            ListenableFuture<Response> delegate = this.delegate;
+            if (delegate != null) {
+                delegate.touch();
+            }
+        }
+
+        @Override
+        public ListenableFuture<Response> addListener(Runnable listener, Executor exec) {
+            if (exec == null) {
+                exec = Runnable::run;
+            }
+            this.future.whenCompleteAsync((response, throwable) -> listener.run(), exec);
+            return this;
+        }
+
+        @Override
+        public CompletableFuture<Response> toCompletableFuture() {
+            return this.future;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = this.future.cancel(mayInterruptIfRunning);
+            ListenableFuture<Response> delegate = this.delegate;
+            if (cancelled && delegate != null) {
+                delegate.cancel(mayInterruptIfRunning);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return this.future.isDone();
+        }
+
+        @Override
+        public Response get() throws InterruptedException, ExecutionException {
+            return this.future.get();
+        }
+
+        @Override
+        public Response get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return this.future.get(timeout, unit);
+        }
+    }
+
     /**
      * The request completion listener to be used to maintain the current requests' inventory status.
      */
     static final class AsyncCompletionInventoryHandler extends AsyncCompletionHandlerBase {
-        final AtomicInteger requestInventory;
+        final Runnable inventoryRelease;
         final Logger logger;
         final String endpoint;
         DownloadListener downloadListener;
         UploadListener uploadListener;
         HttpResponseStatus status;
 
-        AsyncCompletionInventoryHandler(AtomicInteger inventory, Logger logger, String endpoint) {
-            this.requestInventory = inventory;
+        AsyncCompletionInventoryHandler(Runnable inventoryRelease, Logger logger, String endpoint) {
+            this.inventoryRelease = inventoryRelease;
             this.logger = logger;
             this.endpoint = endpoint;
         }
 
-        AsyncCompletionInventoryHandler(AtomicInteger inventory, Logger logger, String endpoint,
+        AsyncCompletionInventoryHandler(Runnable inventoryRelease, Logger logger, String endpoint,
                                         DownloadListener downloadListener) {
-            this(inventory, logger, endpoint);
+            this(inventoryRelease, logger, endpoint);
             this.downloadListener = downloadListener;
         }
 
-        AsyncCompletionInventoryHandler(AtomicInteger inventory, Logger logger, String endpoint,
+        AsyncCompletionInventoryHandler(Runnable inventoryRelease, Logger logger, String endpoint,
                                         UploadListener uploadListener) {
-            this(inventory, logger, endpoint);
+            this(inventoryRelease, logger, endpoint);
             this.uploadListener = uploadListener;
         }
 
@@ -533,13 +1060,18 @@ public class Connection implements Closeable {
         public void onThrowable(Throwable t) {
             // decrease inventory
             this.decreaseInventory();
-            this.logger.error("failed to execute request to the endpoint {}", this.endpoint, t);
+            if (t instanceof CircuitBreakerOpenException) {
+                // do not flood the log while the server is unavailable
+                this.logger.debug("request to the endpoint {} rejected, the circuit breaker is open", this.endpoint);
+            } else {
+                this.logger.error("failed to execute request to the endpoint {}", this.endpoint, t);
+            }
 
             this.fireOnThrowable(t);
         }
 
         private void decreaseInventory() {
-            this.requestInventory.decrementAndGet();
+            this.inventoryRelease.run();
         }
 
         private void fireOnEnd() {
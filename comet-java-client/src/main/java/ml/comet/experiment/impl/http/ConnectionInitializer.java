@@ -1,6 +1,7 @@
 package ml.comet.experiment.impl.http;
 
 import lombok.experimental.UtilityClass;
+import ml.comet.experiment.impl.CometRuntimeImpl;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
@@ -25,4 +26,24 @@ public class ConnectionInitializer {
         }
         return new Connection(cometBaseUrl, apiKey, maxAuthRetries, logger);
     }
+
+    /**
+     * Builds properly configured Connection instance using resources of the runtime shared with other connections:
+     * the HTTP client, the retry timer, the limiter of requests in flight and the circuit breaker of the Comet server.
+     *
+     * @param apiKey         the Comet API key
+     * @param cometBaseUrl   the base URL of the Comet REST API server
+     * @param maxAuthRetries the maximum number of authentication retries.
+     * @param runtime        the runtime holding the shared resources.
+     * @param logger         the logger to be used for logging
+     * @return the properly initialized Connection instance.
+     */
+    public Connection initConnection(String apiKey, String cometBaseUrl, int maxAuthRetries,
+                                     CometRuntimeImpl runtime, Logger logger) {
+        if (StringUtils.isBlank(apiKey)) {
+            throw new IllegalArgumentException("Api key required!");
+        }
+        return new Connection(cometBaseUrl, apiKey, maxAuthRetries, runtime.getHttpClient(), runtime.getRetryTimer(),
+                runtime.getConcurrencyLimiter(cometBaseUrl), runtime.getCircuitBreaker(cometBaseUrl), logger);
+    }
 }
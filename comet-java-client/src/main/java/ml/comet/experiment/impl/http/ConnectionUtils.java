@@ -16,13 +16,19 @@ import org.asynchttpclient.request.body.generator.ByteArrayBodyGenerator;
 import org.asynchttpclient.request.body.multipart.ByteArrayPart;
 import org.asynchttpclient.request.body.multipart.FileLikePart;
 import org.asynchttpclient.request.body.multipart.FilePart;
+import org.asynchttpclient.request.body.multipart.InputStreamPart;
 import org.asynchttpclient.request.body.multipart.Part;
 import org.asynchttpclient.request.body.multipart.StringPart;
 import org.asynchttpclient.util.HttpConstants;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -86,6 +92,28 @@ public class ConnectionUtils {
                 .build();
     }
 
+    /**
+     * Creates POST request streaming the content of the given stream to the specified endpoint. If the length
+     * of the content is unknown the chunked transfer encoding is used.
+     *
+     * @param stream        the stream with the content to include into request.
+     * @param contentLength the length of the content or negative value if unknown.
+     * @param url           the URL of the endpoint.
+     * @param queryParams   the query parameters of the request.
+     * @param formParams    the form parameters to be added
+     * @return the POST request with the content of the stream as body part.
+     */
+    static Request createPostStreamRequest(@NonNull InputStream stream, long contentLength, @NonNull String url,
+                                           Map<QueryParamName, String> queryParams,
+                                           Map<FormParamName, Object> formParams) {
+        return createMultipartRequestBuilder(
+                new InputStreamPart(FILE.paramName(), stream, null, contentLength,
+                        HttpHeaderValues.APPLICATION_OCTET_STREAM.toString()),
+                queryParams, formParams)
+                .setUrl(url)
+                .build();
+    }
+
     /**
      * Creates POST FORM request from given parameters to the specified endpoint.
      *
@@ -200,7 +228,90 @@ public class ConnectionUtils {
             throw JsonUtils.fromJson(
                     response.getResponseBody(), CometWebJavaSdkException.class);
         }
-        throw new CometApiException(response.getStatusCode(), response.getStatusText(), 0);
+        throw new CometApiException(response.getStatusCode(), response.getStatusText(), 0,
+                parseRetryAfter(response.getHeader(HttpHeaderNames.RETRY_AFTER)));
+    }
+
+    /**
+     * Parses the value of the {@code Retry-After} header which can be either the number of seconds to wait
+     * or the HTTP date after which request can be retried.
+     *
+     * @param value the value of the header.
+     * @return the time to wait before retry or {@code null} if value is missing or malformed.
+     */
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // not a number of seconds - check for HTTP date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(date.getZone()), date);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Estimates the size of the body of the request. The size of the multipart request is estimated as the sum
+     * of the sizes of its parts without the multipart boilerplate.
+     *
+     * @param request the request.
+     * @return the estimated size of the body of the request or zero if it is unknown.
+     */
+    static long requestBodySize(@NonNull Request request) {
+        if (request.getByteData() != null) {
+            return request.getByteData().length;
+        }
+        if (request.getStringData() != null) {
+            return request.getStringData().length();
+        }
+        if (request.getFile() != null) {
+            return request.getFile().length();
+        }
+        if (request.getBodyGenerator() instanceof ByteArrayBodyGenerator) {
+            return Math.max(0, request.getBodyGenerator().createBody().getContentLength());
+        }
+        long size = 0;
+        if (request.getBodyParts() != null) {
+            for (Part part : request.getBodyParts()) {
+                if (part instanceof ByteArrayPart) {
+                    size += ((ByteArrayPart) part).getBytes().length;
+                } else if (part instanceof FilePart) {
+                    size += ((FilePart) part).getFile().length();
+                } else if (part instanceof StringPart) {
+                    size += ((StringPart) part).getValue().length();
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the size of the body of the response as declared by the {@code Content-Length} header or the size
+     * of the received body if header is missing.
+     *
+     * @param response the response or {@code null} if request failed.
+     * @return the size of the body of the response or zero if there is no response.
+     */
+    static long responseBodySize(Response response) {
+        if (response == null) {
+            return 0;
+        }
+        String contentLength = response.getHeader(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                // fallback to the size of received body
+            }
+        }
+        return response.hasResponseBody() ? response.getResponseBodyAsByteBuffer().remaining() : 0;
     }
 
     private static Part createStringPart(String name, @NonNull Object value) {
@@ -0,0 +1,23 @@
+package ml.comet.experiment.impl.journal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ml.comet.experiment.impl.rest.ArtifactRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The journal record describing logged artifact. It holds the request to upsert the artifact version and
+ * the records describing artifact assets, which are journaled by reference the same way as experiment assets.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JournalArtifactRecord {
+    private ArtifactRequest request;
+    private List<JournalAssetRecord> assets = new ArrayList<>();
+}
@@ -0,0 +1,112 @@
+package ml.comet.experiment.impl.journal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import ml.comet.experiment.asset.RemoteAsset;
+import ml.comet.experiment.context.ExperimentContext;
+import ml.comet.experiment.impl.asset.ArtifactAssetImpl;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import ml.comet.experiment.impl.asset.RemoteAssetImpl;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * The journal record describing logged asset. The content of the asset is not written into the journal, instead
+ * it holds the path to the asset file or the URI of the remote asset.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JournalAssetRecord {
+    private String filePath;
+    private String uri;
+    private String logicalPath;
+    private String type;
+    private Boolean overwrite;
+    private String groupingName;
+    private String fileExtension;
+    private Map<String, Object> metadata;
+    private Long step;
+    private Long epoch;
+    private String context;
+
+    /**
+     * Creates the journal record from the given asset.
+     *
+     * @param asset the asset to be journaled.
+     * @param file  the file with asset content or {@code null} if asset is remote.
+     * @return the journal record describing the asset.
+     */
+    public static JournalAssetRecord fromAsset(@NonNull AssetImpl asset, File file) {
+        JournalAssetRecord record = new JournalAssetRecord();
+        if (file != null) {
+            record.filePath = file.getAbsolutePath();
+        }
+        if (asset instanceof RemoteAsset) {
+            ((RemoteAsset) asset).getLink().ifPresent(link -> record.uri = link.toString());
+        }
+        record.logicalPath = asset.getLogicalPath();
+        record.type = asset.getType();
+        record.overwrite = asset.getOverwrite();
+        record.groupingName = asset.getGroupingName().orElse(null);
+        record.fileExtension = asset.getFileExtension();
+        if (!asset.getMetadata().isEmpty()) {
+            record.metadata = asset.getMetadata();
+        }
+        asset.getExperimentContext().ifPresent(context -> {
+            record.step = context.getStep();
+            record.epoch = context.getEpoch();
+            record.context = context.getContext();
+        });
+        return record;
+    }
+
+    /**
+     * Restores the asset described by this record.
+     *
+     * @return the {@link RemoteAssetImpl} if this record describes remote asset or {@link AssetImpl} otherwise.
+     */
+    public AssetImpl toAsset() {
+        AssetImpl asset;
+        if (this.uri != null) {
+            RemoteAssetImpl remoteAsset = new RemoteAssetImpl();
+            remoteAsset.setUri(URI.create(this.uri));
+            asset = remoteAsset;
+        } else {
+            asset = new AssetImpl();
+            asset.setRawFile(new File(this.filePath));
+        }
+        asset.setLogicalPath(this.logicalPath);
+        asset.setType(this.type);
+        asset.setOverwrite(this.overwrite);
+        asset.setGroupingName(this.groupingName);
+        asset.setFileExtension(this.fileExtension);
+        asset.setMetadata(this.metadata);
+
+        ExperimentContext experimentContext = ExperimentContext.empty();
+        experimentContext.setStep(this.step);
+        experimentContext.setEpoch(this.epoch);
+        experimentContext.setContext(this.context);
+        asset.setContext(experimentContext);
+        return asset;
+    }
+
+    /**
+     * Restores the artifact asset described by this record.
+     *
+     * @return the {@link ArtifactAssetImpl} described by this record.
+     */
+    public ArtifactAssetImpl toArtifactAsset() {
+        AssetImpl asset = this.toAsset();
+        if (asset instanceof RemoteAssetImpl) {
+            return new ArtifactAssetImpl((RemoteAssetImpl) asset);
+        }
+        return new ArtifactAssetImpl(asset);
+    }
+}
@@ -0,0 +1,56 @@
+package ml.comet.experiment.impl.journal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import ml.comet.experiment.impl.utils.JsonUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The metadata of the offline experiment stored along with its journal.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JournalMetadata {
+    /**
+     * The name of the file with metadata in the journal directory.
+     */
+    public static final String METADATA_FILE_NAME = "experiment.json";
+
+    private String experimentKey;
+    private String workspaceName;
+    private String projectName;
+    private String experimentName;
+    private Long startTimeMillis;
+    private Long endTimeMillis;
+
+    /**
+     * Writes this metadata into the specified journal directory.
+     *
+     * @param directory the journal directory.
+     * @throws IOException if I/O exception occurs.
+     */
+    public void write(@NonNull Path directory) throws IOException {
+        Files.write(directory.resolve(METADATA_FILE_NAME), JsonUtils.toJson(this).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads metadata from the specified journal directory.
+     *
+     * @param directory the journal directory.
+     * @return the metadata of the offline experiment.
+     * @throws IOException if I/O exception occurs.
+     */
+    public static JournalMetadata read(@NonNull Path directory) throws IOException {
+        byte[] data = Files.readAllBytes(directory.resolve(METADATA_FILE_NAME));
+        return JsonUtils.fromJson(new String(data, StandardCharsets.UTF_8), JournalMetadata.class);
+    }
+}
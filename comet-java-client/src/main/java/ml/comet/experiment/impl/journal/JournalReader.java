@@ -0,0 +1,151 @@
+package ml.comet.experiment.impl.journal;
+
+import lombok.NonNull;
+import ml.comet.experiment.impl.queue.LogRecord;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static ml.comet.experiment.impl.journal.JournalWriter.RECORD_HEADER_SIZE;
+import static ml.comet.experiment.impl.journal.JournalWriter.SEGMENT_FILE_PREFIX;
+import static ml.comet.experiment.impl.journal.JournalWriter.SEGMENT_FILE_SUFFIX;
+
+/**
+ * Reads the records written by the {@link JournalWriter} in the order they were appended. The reading of the
+ * segment stops at the first record with the broken checksum, because the rest of the segment can not be trusted.
+ */
+public final class JournalReader implements Iterator<LogRecord>, Closeable {
+    private final Deque<Path> segments;
+    private final Logger logger;
+    private final CRC32 crc = new CRC32();
+
+    private MappedByteBuffer buffer;
+    private Path segment;
+    private LogRecord next;
+    private long corruptedSegmentsCount;
+
+    /**
+     * Creates new reader of the journal in the specified directory.
+     *
+     * @param directory the directory of the journal.
+     * @param logger    the logger to report corrupted segments.
+     * @throws IOException if failed to list the journal segments.
+     */
+    public JournalReader(@NonNull Path directory, @NonNull Logger logger) throws IOException {
+        this.logger = logger;
+        try (Stream<Path> files = Files.list(directory)) {
+            this.segments = files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_FILE_PREFIX) && name.endsWith(SEGMENT_FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayDeque::new));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null) {
+            this.next = this.readNext();
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public LogRecord next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        LogRecord record = this.next;
+        this.next = null;
+        return record;
+    }
+
+    /**
+     * Returns the number of segments which reading was stopped due to the corrupted record.
+     *
+     * @return the number of segments which reading was stopped due to the corrupted record.
+     */
+    public long getCorruptedSegmentsCount() {
+        return this.corruptedSegmentsCount;
+    }
+
+    @Override
+    public void close() {
+        this.segments.clear();
+        this.buffer = null;
+        this.next = null;
+    }
+
+    private LogRecord readNext() {
+        while (true) {
+            if (this.buffer == null && !this.mapNextSegment()) {
+                return null;
+            }
+            if (this.buffer.remaining() < RECORD_HEADER_SIZE) {
+                this.buffer = null;
+                continue;
+            }
+            int bodyLength = this.buffer.getInt();
+            if (bodyLength == 0) {
+                // end of the segment
+                this.buffer = null;
+                continue;
+            }
+            int checksum = this.buffer.getInt();
+            if (bodyLength < Short.BYTES || bodyLength > this.buffer.remaining()) {
+                this.onCorrupted();
+                continue;
+            }
+            byte[] body = new byte[bodyLength];
+            this.buffer.get(body);
+            this.crc.reset();
+            this.crc.update(body, 0, body.length);
+            int endpointLength = ((body[0] & 0xFF) << 8) | (body[1] & 0xFF);
+            if ((int) this.crc.getValue() != checksum || endpointLength > bodyLength - Short.BYTES) {
+                this.onCorrupted();
+                continue;
+            }
+            String endpoint = new String(body, Short.BYTES, endpointLength, StandardCharsets.UTF_8);
+            int payloadOffset = Short.BYTES + endpointLength;
+            String payload = new String(body, payloadOffset, bodyLength - payloadOffset, StandardCharsets.UTF_8);
+            return new LogRecord(endpoint, payload, Optional.empty());
+        }
+    }
+
+    private boolean mapNextSegment() {
+        while (!this.segments.isEmpty()) {
+            this.segment = this.segments.poll();
+            try (FileChannel channel = FileChannel.open(this.segment, StandardOpenOption.READ)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return true;
+            } catch (IOException e) {
+                this.logger.error("failed to read the journal segment {}", this.segment, e);
+            }
+        }
+        return false;
+    }
+
+    private void onCorrupted() {
+        this.logger.warn("corrupted record found in the journal segment {}, the rest of the segment skipped",
+                this.segment);
+        this.corruptedSegmentsCount++;
+        this.buffer = null;
+    }
+}
@@ -0,0 +1,162 @@
+package ml.comet.experiment.impl.journal;
+
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * The append-only journal of the write records split into the segment files of fixed size. Each segment is
+ * memory-mapped and the records are appended by copying into the mapped buffer, thus no system calls are made
+ * except when the next segment is started.
+ *
+ * <p>The layout of the record is: the length of the record body (int), the CRC32 checksum of the body (int),
+ * followed by the body - the length of the endpoint (short), the UTF-8 encoded endpoint and the UTF-8 encoded
+ * payload. The length is written last, thus the record torn by the crash is never visible to the reader.
+ * The zero length marks the end of the records in the segment.
+ */
+public final class JournalWriter implements Closeable {
+    /**
+     * The default size of the journal segment in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    static final String SEGMENT_FILE_PREFIX = "segment-";
+    static final String SEGMENT_FILE_SUFFIX = ".journal";
+    static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+    static final int MIN_SEGMENT_SIZE = 4096;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CRC32 crc = new CRC32();
+
+    // the state of the writer, guarded by this
+    private MappedByteBuffer buffer;
+    private int segmentIndex = -1;
+    private long recordsCount;
+    private boolean closed;
+
+    /**
+     * Creates new journal in the specified directory.
+     *
+     * @param directory   the directory to write journal segments into. It is created if not exists.
+     * @param segmentSize the size of the journal segment in bytes.
+     * @throws IOException              if failed to create the first segment.
+     * @throws IllegalArgumentException if segment size is too small.
+     */
+    public JournalWriter(@NonNull Path directory, int segmentSize) throws IOException, IllegalArgumentException {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "journal segment size must be at least %d bytes, but was: %d", MIN_SEGMENT_SIZE, segmentSize));
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        this.nextSegment(segmentSize);
+    }
+
+    /**
+     * Appends the record to the journal.
+     *
+     * @param endpoint the endpoint to send record to.
+     * @param payload  the JSON encoded payload of the record.
+     * @throws IOException if failed to start the next segment or journal already closed.
+     */
+    public synchronized void append(@NonNull String endpoint, @NonNull String payload) throws IOException {
+        if (this.closed) {
+            throw new IOException("the journal already closed");
+        }
+        byte[] endpointBytes = endpoint.getBytes(StandardCharsets.UTF_8);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        if (endpointBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("the endpoint is too long: " + endpoint);
+        }
+        int bodyLength = Short.BYTES + endpointBytes.length + payloadBytes.length;
+        // keep the room for the end marker
+        int requiredLength = RECORD_HEADER_SIZE + bodyLength + Integer.BYTES;
+        if (this.buffer.remaining() < requiredLength) {
+            this.nextSegment(Math.max(this.segmentSize, requiredLength));
+        }
+
+        this.crc.reset();
+        this.crc.update(endpointBytes.length >>> 8);
+        this.crc.update(endpointBytes.length);
+        this.crc.update(endpointBytes, 0, endpointBytes.length);
+        this.crc.update(payloadBytes, 0, payloadBytes.length);
+
+        int start = this.buffer.position();
+        this.buffer.position(start + RECORD_HEADER_SIZE);
+        this.buffer.putShort((short) endpointBytes.length);
+        this.buffer.put(endpointBytes);
+        this.buffer.put(payloadBytes);
+        this.buffer.putInt(start + Integer.BYTES, (int) this.crc.getValue());
+        this.buffer.putInt(start, bodyLength);
+
+        this.recordsCount++;
+    }
+
+    /**
+     * Forces all records written so far to the storage device.
+     */
+    public synchronized void flush() {
+        if (!this.closed) {
+            this.buffer.force();
+        }
+    }
+
+    /**
+     * Returns the number of records written into this journal.
+     *
+     * @return the number of records written into this journal.
+     */
+    public synchronized long getRecordsCount() {
+        return this.recordsCount;
+    }
+
+    /**
+     * Returns the directory of this journal.
+     *
+     * @return the directory of this journal.
+     */
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Forces all written records to the storage device and closes this journal.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.buffer.force();
+        this.buffer = null;
+        this.closed = true;
+    }
+
+    private void nextSegment(int size) throws IOException {
+        if (this.buffer != null) {
+            this.buffer.force();
+        }
+        this.segmentIndex++;
+        Path segment = this.directory.resolve(segmentFileName(this.segmentIndex));
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // the new file content is zeroed which gives the end marker
+            file.setLength(size);
+            // the mapping stays valid after the channel is closed
+            this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    static String segmentFileName(int index) {
+        return String.format("%s%06d%s", SEGMENT_FILE_PREFIX, index, SEGMENT_FILE_SUFFIX);
+    }
+}
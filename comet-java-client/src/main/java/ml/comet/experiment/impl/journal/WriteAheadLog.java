@@ -0,0 +1,517 @@
+package ml.comet.experiment.impl.journal;
+
+import lombok.NonNull;
+import ml.comet.experiment.impl.queue.LogRecord;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The write-ahead log of the records to be sent to the Comet. The records are appended to the log file and handed
+ * over for sending only after they were forced to the storage device. The single committer thread forces all
+ * records appended during the commit interval at once (group commit), thus durability does not cost one
+ * {@code fsync} per record.
+ *
+ * <p>The records are acknowledged when the server received them. The log segments with all records acknowledged
+ * are deleted. When the log is opened again the records which were not acknowledged are returned for replay.
+ * The acknowledgements arriving out of order are kept in memory, thus after crash some already sent records
+ * can be replayed again.
+ *
+ * <p>The metric records and the output lines are appended when they are logged, the in-memory batching of
+ * the metrics is bypassed while the log is open. The assets are not written into the log: the file assets are
+ * uploaded from their files, while the content of the data assets logged from memory is lost if the process
+ * is killed before upload.
+ *
+ * <p>The layout of the record is: the length of the record body (int), the CRC32 checksum of the body (int),
+ * followed by the body - the sequence number (long), the length of the endpoint (short), the UTF-8 encoded
+ * endpoint and the UTF-8 encoded payload.
+ */
+public final class WriteAheadLog implements Closeable {
+    /**
+     * The default size of the log segment in bytes.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    static final String SEGMENT_FILE_PREFIX = "wal-";
+    static final String SEGMENT_FILE_SUFFIX = ".log";
+    static final String ACKNOWLEDGED_FILE_NAME = "acknowledged";
+
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int BODY_HEADER_SIZE = Long.BYTES + Short.BYTES;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final long commitIntervalNanos;
+    private final Consumer<LogRecord> consumer;
+    private final Logger logger;
+    private final CRC32 crc = new CRC32();
+    private final Thread committer;
+
+    // the state of the appender, guarded by this
+    private FileChannel channel;
+    private long segmentLength;
+    private long nextSequence;
+    private List<LogRecord> pending = new ArrayList<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private List<LogRecord> unacknowledged = new ArrayList<>();
+    private boolean closed;
+
+    // the state of acknowledgements, guarded by acknowledged
+    private final TreeSet<Long> acknowledged = new TreeSet<>();
+    private long acknowledgedUpTo;
+    private long persistedUpTo;
+
+    private final AtomicInteger uncommittedCount = new AtomicInteger();
+
+    /**
+     * Opens the write-ahead log in the specified directory and starts the committer thread. If the directory
+     * contains records which were not acknowledged, they are returned by {@link #replay()}.
+     *
+     * @param directory      the directory of the log. It is created if not exists.
+     * @param segmentSize    the size of the log segment in bytes after which the next segment is started.
+     * @param commitInterval the time to collect appended records before forcing them to the storage device.
+     * @param consumer       the consumer to receive durable records.
+     * @param logger         the logger to report failures.
+     * @throws IOException if failed to open the log.
+     */
+    public WriteAheadLog(@NonNull Path directory, long segmentSize, @NonNull Duration commitInterval,
+                         @NonNull Consumer<LogRecord> consumer, @NonNull Logger logger) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.commitIntervalNanos = commitInterval.toNanos();
+        this.consumer = consumer;
+        this.logger = logger;
+
+        Files.createDirectories(directory);
+        this.acknowledgedUpTo = this.readAcknowledged();
+        this.persistedUpTo = this.acknowledgedUpTo;
+        this.nextSequence = this.acknowledgedUpTo + 1;
+        for (Path file : this.listSegments()) {
+            this.segments.add(new Segment(file, parseFirstSequence(file)));
+            long validLength = this.readSegment(file, this.unacknowledged);
+            if (validLength < Files.size(file)) {
+                // cut the torn tail, thus the records appended after restart are readable on the next replay
+                try (FileChannel segment = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    segment.truncate(validLength);
+                    segment.force(false);
+                }
+            }
+        }
+        for (LogRecord record : this.unacknowledged) {
+            // the records lost in the torn tail will never be acknowledged
+            for (long lost = this.nextSequence; lost < record.getSequence(); lost++) {
+                this.acknowledge(lost);
+            }
+            this.nextSequence = record.getSequence() + 1;
+        }
+
+        this.committer = new Thread(this::commitLoop, "comet-write-ahead-log");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Returns all records found in the log when it was opened which were not acknowledged yet. The returned
+     * records should be sent before any new record is appended and acknowledged as usual.
+     *
+     * @return the list of records which were not acknowledged.
+     */
+    public synchronized List<LogRecord> replay() {
+        List<LogRecord> records = this.unacknowledged;
+        this.unacknowledged = new ArrayList<>();
+        return records;
+    }
+
+    /**
+     * Appends the record to the log. The record is handed over to the consumer after it was forced
+     * to the storage device.
+     *
+     * @param record the record to be appended.
+     * @throws IOException if failed to write the record or log already closed.
+     */
+    public void append(@NonNull LogRecord record) throws IOException {
+        byte[] endpoint = record.getEndpoint().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = record.getPayload().getBytes(StandardCharsets.UTF_8);
+        int bodyLength = BODY_HEADER_SIZE + endpoint.length + payload.length;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + bodyLength);
+
+        synchronized (this) {
+            if (this.closed) {
+                throw new IOException("the write-ahead log already closed");
+            }
+            long sequence = this.nextSequence;
+            buffer.position(RECORD_HEADER_SIZE);
+            buffer.putLong(sequence);
+            buffer.putShort((short) endpoint.length);
+            buffer.put(endpoint);
+            buffer.put(payload);
+            this.crc.reset();
+            this.crc.update(buffer.array(), RECORD_HEADER_SIZE, bodyLength);
+            buffer.putInt(0, bodyLength);
+            buffer.putInt(Integer.BYTES, (int) this.crc.getValue());
+            buffer.rewind();
+
+            if (this.channel == null || this.segmentLength >= this.segmentSize) {
+                this.nextSegment(sequence);
+            }
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            this.segmentLength += buffer.capacity();
+            this.nextSequence++;
+
+            this.pending.add(new LogRecord(record.getEndpoint(), record.getPayload(), record.getSeriesKey(),
+                    record.getOnComplete(), sequence));
+            this.uncommittedCount.incrementAndGet();
+            if (this.pending.size() == 1) {
+                this.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Acknowledges that record with given sequence number was received by the server.
+     *
+     * @param sequence the sequence number of the record.
+     */
+    public void acknowledge(long sequence) {
+        synchronized (this.acknowledged) {
+            if (sequence <= this.acknowledgedUpTo) {
+                return;
+            }
+            this.acknowledged.add(sequence);
+            while (!this.acknowledged.isEmpty() && this.acknowledged.first() == this.acknowledgedUpTo + 1) {
+                this.acknowledgedUpTo = this.acknowledged.pollFirst();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of records appended, but not yet handed over to the consumer.
+     *
+     * @return the number of records appended, but not yet handed over to the consumer.
+     */
+    public int getUncommittedCount() {
+        return this.uncommittedCount.get();
+    }
+
+    /**
+     * Returns the number of records appended to the log, but not acknowledged yet.
+     *
+     * @return the number of records appended to the log, but not acknowledged yet.
+     */
+    public long getUnacknowledgedCount() {
+        long next;
+        synchronized (this) {
+            next = this.nextSequence;
+        }
+        synchronized (this.acknowledged) {
+            return next - 1 - this.acknowledgedUpTo - this.acknowledged.size();
+        }
+    }
+
+    /**
+     * Blocks until all appended records are forced to the storage device and handed over to the consumer.
+     *
+     * @param timeout the maximal time to wait.
+     * @return {@code true} if all records were committed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public synchronized boolean flush(@NonNull Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (this.uncommittedCount.get() > 0 && this.committer.isAlive()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            this.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+        }
+        return this.uncommittedCount.get() == 0;
+    }
+
+    /**
+     * Commits all pending records, stops the committer thread and truncates acknowledged records. If all records
+     * were acknowledged the log directory is removed.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.notifyAll();
+        }
+        try {
+            this.committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            this.closeChannel();
+        }
+        this.truncate();
+        if (this.getUnacknowledgedCount() == 0) {
+            try {
+                this.deleteSegments(Long.MAX_VALUE);
+                Files.deleteIfExists(this.directory.resolve(ACKNOWLEDGED_FILE_NAME));
+                Files.deleteIfExists(this.directory);
+            } catch (IOException e) {
+                this.logger.warn("failed to remove the write-ahead log directory {}", this.directory, e);
+            }
+        }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            List<LogRecord> batch;
+            FileChannel channelToForce;
+            synchronized (this) {
+                while (this.pending.isEmpty() && !this.closed) {
+                    try {
+                        this.wait(TimeUnit.NANOSECONDS.toMillis(this.commitIntervalNanos) + 1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (this.pending.isEmpty()) {
+                        // truncate acknowledged records while idle
+                        this.truncate();
+                    }
+                }
+                if (this.pending.isEmpty()) {
+                    // closed
+                    return;
+                }
+            }
+            if (!this.isClosed()) {
+                // collect more records into the same commit
+                try {
+                    TimeUnit.NANOSECONDS.sleep(this.commitIntervalNanos);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            synchronized (this) {
+                batch = this.pending;
+                this.pending = new ArrayList<>();
+                channelToForce = this.channel;
+            }
+
+            try {
+                if (channelToForce != null) {
+                    channelToForce.force(false);
+                }
+            } catch (ClosedChannelException e) {
+                // the segment was rolled and forced on close
+            } catch (IOException e) {
+                this.logger.error("failed to force the write-ahead log to the storage device", e);
+            }
+
+            for (LogRecord record : batch) {
+                try {
+                    this.consumer.accept(record);
+                } catch (Throwable t) {
+                    this.logger.error("failed to dispatch the log record {}", record, t);
+                }
+                this.uncommittedCount.decrementAndGet();
+            }
+            synchronized (this) {
+                this.notifyAll();
+            }
+            this.truncate();
+        }
+    }
+
+    private synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * Persists the acknowledged sequence number and deletes segments with all records acknowledged.
+     */
+    private void truncate() {
+        long upTo;
+        synchronized (this.acknowledged) {
+            upTo = this.acknowledgedUpTo;
+            if (upTo == this.persistedUpTo) {
+                return;
+            }
+            this.persistedUpTo = upTo;
+        }
+        try {
+            Path tmp = this.directory.resolve(ACKNOWLEDGED_FILE_NAME + ".tmp");
+            Files.write(tmp, Long.toString(upTo).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+            Files.move(tmp, this.directory.resolve(ACKNOWLEDGED_FILE_NAME),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.deleteSegments(upTo);
+        } catch (IOException e) {
+            this.logger.warn("failed to truncate the write-ahead log {}", this.directory, e);
+        }
+    }
+
+    /**
+     * Deletes the closed segments which last record has sequence number not greater than specified.
+     */
+    private void deleteSegments(long upTo) throws IOException {
+        List<Path> toDelete = new ArrayList<>();
+        synchronized (this) {
+            while (!this.segments.isEmpty()) {
+                Segment first = this.segments.pollFirst();
+                Segment next = this.segments.peekFirst();
+                if (next == null && this.channel != null) {
+                    // the segment is still written
+                    this.segments.addFirst(first);
+                    break;
+                }
+                long lastSequence = next != null ? next.firstSequence - 1 : this.nextSequence - 1;
+                if (lastSequence > upTo) {
+                    this.segments.addFirst(first);
+                    break;
+                }
+                toDelete.add(first.file);
+            }
+        }
+        for (Path file : toDelete) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void nextSegment(long firstSequence) throws IOException {
+        this.closeChannel();
+        Path file = this.directory.resolve(String.format("%s%020d%s",
+                SEGMENT_FILE_PREFIX, firstSequence, SEGMENT_FILE_SUFFIX));
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.segmentLength = this.channel.size();
+        Segment last = this.segments.peekLast();
+        if (last == null || !last.file.equals(file)) {
+            // the recovered segment which all records were torn is reopened
+            this.segments.add(new Segment(file, firstSequence));
+        }
+    }
+
+    private void closeChannel() {
+        if (this.channel == null) {
+            return;
+        }
+        try {
+            this.channel.force(false);
+            this.channel.close();
+        } catch (IOException e) {
+            this.logger.error("failed to close the write-ahead log segment", e);
+        }
+        this.channel = null;
+    }
+
+    /**
+     * Reads the valid records of the segment up to the first torn or corrupted one.
+     *
+     * @return the length of the valid part of the segment.
+     */
+    private long readSegment(Path file, List<LogRecord> records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        long upTo;
+        synchronized (this.acknowledged) {
+            upTo = this.acknowledgedUpTo;
+        }
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int recordStart = buffer.position();
+            int bodyLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (bodyLength < BODY_HEADER_SIZE || bodyLength > buffer.remaining()) {
+                // the tail was torn by crash
+                this.logger.warn("torn record found in the write-ahead log segment {}", file);
+                return recordStart;
+            }
+            this.crc.reset();
+            this.crc.update(buffer.array(), buffer.position(), bodyLength);
+            if ((int) this.crc.getValue() != checksum) {
+                this.logger.warn("corrupted record found in the write-ahead log segment {}", file);
+                return recordStart;
+            }
+            int bodyEnd = buffer.position() + bodyLength;
+            long sequence = buffer.getLong();
+            int endpointLength = buffer.getShort();
+            String endpoint = new String(buffer.array(), buffer.position(), endpointLength, StandardCharsets.UTF_8);
+            int payloadOffset = buffer.position() + endpointLength;
+            String payload = new String(buffer.array(), payloadOffset, bodyEnd - payloadOffset,
+                    StandardCharsets.UTF_8);
+            buffer.position(bodyEnd);
+            if (sequence > upTo) {
+                records.add(new LogRecord(endpoint, payload, Optional.empty(), sequence));
+            }
+        }
+        if (buffer.hasRemaining()) {
+            this.logger.warn("torn record found in the write-ahead log segment {}", file);
+        }
+        return buffer.position();
+    }
+
+    private long readAcknowledged() throws IOException {
+        Path file = this.directory.resolve(ACKNOWLEDGED_FILE_NAME);
+        if (!Files.exists(file)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            this.logger.warn("malformed acknowledgement file of the write-ahead log {}", file);
+            return -1;
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_FILE_PREFIX) && name.endsWith(SEGMENT_FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long parseFirstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_FILE_PREFIX.length(),
+                name.length() - SEGMENT_FILE_SUFFIX.length()));
+    }
+
+    /**
+     * The segment file of the log along with sequence number of its first record.
+     */
+    private static final class Segment {
+        final Path file;
+        final long firstSequence;
+
+        Segment(Path file, long firstSequence) {
+            this.file = file;
+            this.firstSequence = firstSequence;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ml.comet.experiment.impl.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The bounded lock-free ring buffer of bytes for the single producer and the single consumer. The producer never
+ * waits for the consumer: the bytes which do not fit into the free space of the buffer are rejected.
+ *
+ * <p>The capacity of the buffer is always rounded up to the closest power of two.
+ */
+final class ByteRingBuffer {
+    private final byte[] buffer;
+    private final int mask;
+    // the position of the next byte to be written, advanced only by the producer
+    private final AtomicLong producerPosition = new AtomicLong();
+    // the position of the next byte to be read, advanced only by the consumer
+    private final AtomicLong consumerPosition = new AtomicLong();
+
+    /**
+     * Creates new buffer with at least specified capacity.
+     *
+     * @param capacity the minimal capacity of the buffer in bytes.
+     * @throws IllegalArgumentException if capacity is not positive or too big.
+     */
+    ByteRingBuffer(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("ring buffer capacity must be in range [1, 2^30], but was: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new byte[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Writes as many bytes from the given array as fit into the free space of the buffer. Must be invoked
+     * only by the single producer.
+     *
+     * @param bytes  the source array.
+     * @param offset the offset of the first byte to write.
+     * @param length the number of bytes to write.
+     * @return the number of bytes written.
+     */
+    int write(byte[] bytes, int offset, int length) {
+        long position = this.producerPosition.get();
+        int free = this.buffer.length - (int) (position - this.consumerPosition.get());
+        int count = Math.min(free, length);
+        if (count <= 0) {
+            return 0;
+        }
+        int index = (int) (position & this.mask);
+        int firstPart = Math.min(count, this.buffer.length - index);
+        System.arraycopy(bytes, offset, this.buffer, index, firstPart);
+        System.arraycopy(bytes, offset + firstPart, this.buffer, 0, count - firstPart);
+        // publish written bytes to the consumer
+        this.producerPosition.lazySet(position + count);
+        return count;
+    }
+
+    /**
+     * Reads available bytes into the given array. Must be invoked only by the single consumer.
+     *
+     * @param bytes the destination array.
+     * @return the number of bytes read, zero if buffer is empty.
+     */
+    int read(byte[] bytes) {
+        long position = this.consumerPosition.get();
+        int count = Math.min(bytes.length, (int) (this.producerPosition.get() - position));
+        if (count <= 0) {
+            return 0;
+        }
+        int index = (int) (position & this.mask);
+        int firstPart = Math.min(count, this.buffer.length - index);
+        System.arraycopy(this.buffer, index, bytes, 0, firstPart);
+        System.arraycopy(this.buffer, 0, bytes, firstPart, count - firstPart);
+        // release the space to the producer
+        this.consumerPosition.lazySet(position + count);
+        return count;
+    }
+
+    /**
+     * Returns the number of bytes available to read.
+     *
+     * @return the number of bytes available to read.
+     */
+    int size() {
+        return (int) (this.producerPosition.get() - this.consumerPosition.get());
+    }
+
+    /**
+     * Returns the capacity of this buffer in bytes.
+     *
+     * @return the capacity of this buffer in bytes.
+     */
+    int capacity() {
+        return this.buffer.length;
+    }
+}
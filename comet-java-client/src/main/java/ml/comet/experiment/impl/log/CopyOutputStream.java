@@ -20,6 +20,18 @@ class CopyOutputStream extends OutputStream {
         str2.write(b);
     }
 
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        str1.write(b, off, len);
+        str2.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        str1.flush();
+        str2.flush();
+    }
+
     @Override
     public void close() throws IOException {
         try {
@@ -1,64 +1,119 @@
 package ml.comet.experiment.impl.log;
 
 import lombok.NonNull;
-import ml.comet.experiment.OnlineExperiment;
+import ml.comet.experiment.impl.rest.OutputLine;
 
-import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 /**
  * The logger to capture StdOut/StdErr streams and log collected text to the Comet.
+ *
+ * <p>The intercepted stream copies written bytes into the ring buffer without ever blocking the writer: the bytes
+ * which do not fit into the buffer are dropped. The logger thread drains the buffer, splits it into lines and sends
+ * lines in batches when the batch is large enough or the linger time elapsed. The lines longer than the limit are
+ * truncated and the lines above the rate limit are dropped. The number of dropped bytes is reported by
+ * {@link #getDroppedBytes()} and by the notice line sent along with the next batch.
  */
 public class StdOutLogger implements Runnable, Closeable {
+    /**
+     * The default capacity of the ring buffer of the intercepted bytes.
+     */
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024 * 1024;
+    /**
+     * The default maximal length of the line in bytes, longer lines are truncated.
+     */
+    public static final int DEFAULT_MAX_LINE_LENGTH = 16 * 1024;
+    /**
+     * The default maximal size of the lines batch in bytes.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64 * 1024;
+    /**
+     * The default maximal time to keep lines in the batch before sending.
+     */
+    public static final Duration DEFAULT_BATCH_LINGER = Duration.ofSeconds(1);
+    /**
+     * The default maximal number of bytes to be sent per second, the lines above this rate are dropped.
+     */
+    public static final int DEFAULT_MAX_BYTES_PER_SECOND = 1024 * 1024;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
     final AtomicLong offset = new AtomicLong();
+    final AtomicLong droppedBytes = new AtomicLong();
 
-    final OutputStream outputStream;
-    final InputStream inputStream;
+    final ByteRingBuffer ringBuffer;
     final PrintStream original;
-    final OnlineExperiment experiment;
+    final Consumer<List<OutputLine>> linesConsumer;
     final boolean stdOut;
+    final int maxLineLength;
+    final int maxBatchSize;
+    final long batchLingerNanos;
+    final long maxBytesPerSecond;
+    final Charset charset = Charset.defaultCharset();
+
+    private Thread loggerThread;
+    private volatile boolean running = true;
+
+    // the state of the logger thread
+    private final byte[] line;
+    private int lineLength;
+    private long lineTruncatedBytes;
+    private boolean lastWasCarriageReturn;
+    private final List<OutputLine> batch = new ArrayList<>();
+    private int batchSize;
+    private long batchStartNanos;
+    private long reportedDroppedBytes;
+    private double rateTokens;
+    private long rateRefillNanos = System.nanoTime();
 
     /**
-     * Creates logger instance that captures StdOut stream for a given OnlineExperiment.
+     * Creates logger instance that captures StdOut stream and sends captured lines to the given consumer.
      *
-     * @param experiment the OnlineExperiment instance
+     * @param linesConsumer the consumer of the batches of captured lines.
      * @return the initialized StdOutLogger instance.
-     * @throws IOException if any I/O exception occurs.
      */
-    public static StdOutLogger createStdoutLogger(@NonNull OnlineExperiment experiment) throws IOException {
-        return createLogger(experiment, System.out, true);
+    public static StdOutLogger createStdoutLogger(@NonNull Consumer<List<OutputLine>> linesConsumer) {
+        return createLogger(linesConsumer, System.out, true);
     }
 
     /**
-     * Creates logger instance that captures StdErr stream for a given OnlineExperiment.
+     * Creates logger instance that captures StdErr stream and sends captured lines to the given consumer.
      *
-     * @param experiment the OnlineExperiment instance
+     * @param linesConsumer the consumer of the batches of captured lines.
      * @return the initialized StdOutLogger instance.
-     * @throws IOException if any I/O exception occurs.
      */
-    public static StdOutLogger createStderrLogger(@NonNull OnlineExperiment experiment) throws IOException {
-        return createLogger(experiment, System.err, false);
+    public static StdOutLogger createStderrLogger(@NonNull Consumer<List<OutputLine>> linesConsumer) {
+        return createLogger(linesConsumer, System.err, false);
     }
 
     /**
-     * Closes this logger and release any hold resources.
+     * Closes this logger: restores original stream and waits for the logger thread to send all captured lines.
      *
      * @throws IOException if I/O exception occurs.
      */
     @Override
     public void close() throws IOException {
         this.restoreOriginalAndStop();
-
-        // close output stream to release resources - this will cause logger thread to stop as well.
-        this.outputStream.close();
+        if (this.loggerThread != null && this.loggerThread != Thread.currentThread()) {
+            LockSupport.unpark(this.loggerThread);
+            try {
+                this.loggerThread.join(CLOSE_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
     /**
@@ -73,25 +128,32 @@ public class StdOutLogger implements Runnable, Closeable {
         }
     }
 
-    private StdOutLogger(PrintStream original, OnlineExperiment experiment,
-                         InputStream in, OutputStream out, boolean stdOut) {
+    /**
+     * Returns the number of captured bytes which were not sent due to buffer overflow, truncation or rate limit.
+     *
+     * @return the number of dropped bytes.
+     */
+    public long getDroppedBytes() {
+        return this.droppedBytes.get();
+    }
+
+    StdOutLogger(PrintStream original, Consumer<List<OutputLine>> linesConsumer, boolean stdOut,
+                 int bufferCapacity, int maxLineLength, int maxBatchSize, Duration batchLinger,
+                 int maxBytesPerSecond) {
         this.original = original;
-        this.experiment = experiment;
-        this.inputStream = in;
-        this.outputStream = out;
+        this.linesConsumer = linesConsumer;
         this.stdOut = stdOut;
+        this.ringBuffer = new ByteRingBuffer(bufferCapacity);
+        this.maxLineLength = maxLineLength;
+        this.maxBatchSize = maxBatchSize;
+        this.batchLingerNanos = batchLinger.toNanos();
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.rateTokens = maxBytesPerSecond;
+        this.line = new byte[maxLineLength];
     }
 
-    @SuppressWarnings("checkstyle:EmptyCatchBlock")
     private void restoreOriginalAndStop() {
-        // close input stream for graceful interception stop
-        if (this.inputStream != null) {
-            try {
-                this.inputStream.close();
-            } catch (IOException ignore) {
-            }
-        }
-
+        this.running = false;
         if (this.stdOut) {
             System.setOut(original);
         } else {
@@ -101,11 +163,28 @@ public class StdOutLogger implements Runnable, Closeable {
 
     @Override
     public void run() {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(this.inputStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                experiment.logLine(line.concat("\n"), offset.incrementAndGet(), !stdOut);
+        byte[] chunk = new byte[8192];
+        try {
+            for (; ; ) {
+                // check before reading to not miss the bytes written right before stop
+                boolean stopping = !this.running;
+                int count = this.ringBuffer.read(chunk);
+                if (count > 0) {
+                    this.processBytes(chunk, count);
+                } else if (stopping) {
+                    break;
+                }
+                if (!this.batch.isEmpty() && System.nanoTime() - this.batchStartNanos >= this.batchLingerNanos) {
+                    this.sendBatch();
+                }
+                if (count == 0) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
             }
+            if (this.lineLength > 0 || this.lineTruncatedBytes > 0) {
+                this.completeLine();
+            }
+            this.sendBatch();
         } catch (Throwable t) {
             // restore original
             this.restoreOriginalAndStop();
@@ -125,22 +204,146 @@ public class StdOutLogger implements Runnable, Closeable {
         }
     }
 
-    private static StdOutLogger createLogger(@NonNull OnlineExperiment experiment,
-                                             @NonNull PrintStream original, boolean stdOut) throws IOException {
-        PipedInputStream in = new PipedInputStream();
-        PipedOutputStream out = new PipedOutputStream(in);
-        OutputStream copyStream = new CopyOutputStream(original, out);
+    /**
+     * Writes the bytes written to the intercepted stream into the ring buffer. Invoked by the intercepted
+     * {@link PrintStream} holding its lock, thus by the single producer at a time.
+     */
+    void capture(byte[] bytes, int offset, int length) {
+        int written = this.ringBuffer.write(bytes, offset, length);
+        if (written < length) {
+            this.droppedBytes.addAndGet(length - written);
+        }
+    }
+
+    private void processBytes(byte[] bytes, int count) {
+        for (int i = 0; i < count; i++) {
+            byte b = bytes[i];
+            if (b == '\n') {
+                if (!this.lastWasCarriageReturn) {
+                    this.completeLine();
+                }
+                this.lastWasCarriageReturn = false;
+            } else if (b == '\r') {
+                this.completeLine();
+                this.lastWasCarriageReturn = true;
+            } else {
+                this.lastWasCarriageReturn = false;
+                if (this.lineLength < this.maxLineLength) {
+                    this.line[this.lineLength++] = b;
+                } else {
+                    this.lineTruncatedBytes++;
+                }
+            }
+        }
+    }
+
+    private void completeLine() {
+        int length = this.lineLength;
+        long truncated = this.lineTruncatedBytes;
+        this.lineLength = 0;
+        this.lineTruncatedBytes = 0;
+        if (truncated > 0) {
+            this.droppedBytes.addAndGet(truncated);
+        }
+        if (!this.tryAcquireRate(length + 1)) {
+            this.droppedBytes.addAndGet(length + 1);
+            return;
+        }
+        String text = new String(this.line, 0, length, this.charset);
+        if (truncated > 0) {
+            text = text.concat(String.format(" [%d bytes truncated]", truncated));
+        }
+        this.addLine(text.concat("\n"));
+    }
+
+    private void addLine(String text) {
+        if (this.batch.isEmpty()) {
+            this.batchStartNanos = System.nanoTime();
+        }
+        this.batch.add(this.newOutputLine(text));
+        this.batchSize += text.length();
+        if (this.batchSize >= this.maxBatchSize) {
+            this.sendBatch();
+        }
+    }
+
+    private void sendBatch() {
+        long dropped = this.droppedBytes.get();
+        if (dropped > this.reportedDroppedBytes) {
+            String notice = String.format("[%d bytes of output dropped]%n", dropped - this.reportedDroppedBytes);
+            this.reportedDroppedBytes = dropped;
+            this.batch.add(this.newOutputLine(notice));
+        }
+        if (this.batch.isEmpty()) {
+            return;
+        }
+        List<OutputLine> lines = new ArrayList<>(this.batch);
+        this.batch.clear();
+        this.batchSize = 0;
+        this.linesConsumer.accept(lines);
+    }
+
+    private OutputLine newOutputLine(String text) {
+        return new OutputLine(text, !this.stdOut, System.currentTimeMillis(), this.offset.incrementAndGet());
+    }
+
+    /**
+     * Takes the given number of bytes from the token bucket refilled with the maximal rate per second.
+     */
+    private boolean tryAcquireRate(int bytes) {
+        long now = System.nanoTime();
+        double refill = (now - this.rateRefillNanos) * this.maxBytesPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        this.rateTokens = Math.min(this.maxBytesPerSecond, this.rateTokens + refill);
+        this.rateRefillNanos = now;
+        if (this.rateTokens < bytes) {
+            return false;
+        }
+        this.rateTokens -= bytes;
+        return true;
+    }
+
+    private static StdOutLogger createLogger(@NonNull Consumer<List<OutputLine>> linesConsumer,
+                                             @NonNull PrintStream original, boolean stdOut) {
+        StdOutLogger logger = new StdOutLogger(original, linesConsumer, stdOut, DEFAULT_BUFFER_CAPACITY,
+                DEFAULT_MAX_LINE_LENGTH, DEFAULT_MAX_BATCH_SIZE, DEFAULT_BATCH_LINGER, DEFAULT_MAX_BYTES_PER_SECOND);
+        logger.start();
+
+        OutputStream copyStream = new CopyOutputStream(original, new CaptureOutputStream(logger));
         PrintStream replacement = new PrintStream(copyStream);
         if (stdOut) {
             System.setOut(replacement);
         } else {
             System.setErr(replacement);
         }
-
-        StdOutLogger logger = new StdOutLogger(original, experiment, in, out, stdOut);
-        Thread loggerThread = new Thread(logger);
-        loggerThread.setDaemon(true);
-        loggerThread.start();
         return logger;
     }
+
+    void start() {
+        this.loggerThread = new Thread(this, this.stdOut ? "comet-stdout-logger" : "comet-stderr-logger");
+        this.loggerThread.setDaemon(true);
+        this.loggerThread.start();
+    }
+
+    /**
+     * The stream writing intercepted bytes into the ring buffer of the logger.
+     */
+    static final class CaptureOutputStream extends OutputStream {
+        private final StdOutLogger logger;
+        private final byte[] single = new byte[1];
+
+        CaptureOutputStream(StdOutLogger logger) {
+            this.logger = logger;
+        }
+
+        @Override
+        public void write(int b) {
+            this.single[0] = (byte) b;
+            this.logger.capture(this.single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.logger.capture(b, off, len);
+        }
+    }
 }
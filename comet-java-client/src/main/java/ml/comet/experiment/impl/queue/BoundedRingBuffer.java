@@ -0,0 +1,125 @@
+package ml.comet.experiment.impl.queue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The bounded lock-free ring buffer based on the array of slots with sequence numbers. Each slot sequence tells
+ * whether slot is free for the producer at given position or holds the element for the consumer at given position.
+ * It is safe to use with many producers and many consumers, but intended to be drained by the single consumer.
+ *
+ * <p>The capacity of the buffer is always rounded up to the closest power of two, but it is not less than two,
+ * because with single slot the free and the filled slot states are indistinguishable.
+ *
+ * @param <E> the type of the elements.
+ */
+final class BoundedRingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerPosition = new AtomicLong();
+    private final AtomicLong consumerPosition = new AtomicLong();
+
+    /**
+     * Creates new buffer with at least specified capacity.
+     *
+     * @param capacity the minimal capacity of the buffer.
+     * @throws IllegalArgumentException if capacity is not positive or too big.
+     */
+    BoundedRingBuffer(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("ring buffer capacity must be in range [1, 2^30], but was: " + capacity);
+        }
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Attempts to put element into the buffer.
+     *
+     * @param element the element to be added.
+     * @return {@code true} if element was added or {@code false} if buffer is full.
+     */
+    boolean offer(E element) {
+        long position = this.producerPosition.get();
+        int index;
+        for (; ; ) {
+            index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.producerPosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = this.producerPosition.get();
+            } else if (difference < 0) {
+                // the slot was not released by the consumer yet - buffer is full
+                return false;
+            } else {
+                position = this.producerPosition.get();
+            }
+        }
+        this.slots.set(index, element);
+        this.sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Retrieves and removes the oldest element of this buffer.
+     *
+     * @return the oldest element or {@code null} if this buffer is empty.
+     */
+    E poll() {
+        long position = this.consumerPosition.get();
+        int index;
+        for (; ; ) {
+            index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (this.consumerPosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = this.consumerPosition.get();
+            } else if (difference < 0) {
+                // the slot was not filled by the producer yet - buffer is empty
+                return null;
+            } else {
+                position = this.consumerPosition.get();
+            }
+        }
+        E element = this.slots.get(index);
+        this.slots.set(index, null);
+        this.sequences.set(index, position + this.mask + 1);
+        return element;
+    }
+
+    /**
+     * Returns the approximate number of elements in this buffer.
+     *
+     * @return the approximate number of elements in this buffer.
+     */
+    int size() {
+        long size = this.producerPosition.get() - this.consumerPosition.get();
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, this.capacity());
+    }
+
+    /**
+     * Returns the capacity of this buffer.
+     *
+     * @return the capacity of this buffer.
+     */
+    int capacity() {
+        return this.mask + 1;
+    }
+}
@@ -0,0 +1,90 @@
+package ml.comet.experiment.impl.queue;
+
+import io.reactivex.rxjava3.functions.Action;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Optional;
+
+/**
+ * The write record to be sent to the Comet backend. It holds the JSON encoded payload along with the endpoint
+ * to post it, which allows keeping the record outside the JVM heap if needed.
+ */
+@Getter
+@ToString(exclude = "onComplete")
+public final class LogRecord {
+    private final String endpoint;
+    private final String payload;
+    private final Action onComplete;
+    private final long sequence;
+    /**
+     * The key of the series the record belongs to or {@code null} if it is not known, e.g., for records recovered
+     * from the write-ahead log. The records of the same series must be delivered in the order they were logged.
+     */
+    private final String seriesKey;
+
+    /**
+     * Creates new instance with given parameters.
+     *
+     * @param endpoint   the endpoint to post the record to.
+     * @param payload    the JSON encoded payload of the record.
+     * @param onComplete the optional action to be invoked when record was sent or dropped.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public LogRecord(@NonNull String endpoint, @NonNull String payload, @NonNull Optional<Action> onComplete) {
+        this(endpoint, payload, onComplete, -1);
+    }
+
+    /**
+     * Creates new instance with given parameters.
+     *
+     * @param endpoint   the endpoint to post the record to.
+     * @param payload    the JSON encoded payload of the record.
+     * @param onComplete the optional action to be invoked when record was sent or dropped.
+     * @param sequence   the sequence number of the record in the write-ahead log.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public LogRecord(@NonNull String endpoint, @NonNull String payload, @NonNull Optional<Action> onComplete,
+                     long sequence) {
+        this(endpoint, payload, null, onComplete, sequence);
+    }
+
+    /**
+     * Creates new instance with given parameters.
+     *
+     * @param endpoint   the endpoint to post the record to.
+     * @param payload    the JSON encoded payload of the record.
+     * @param seriesKey  the key of the series the record belongs to or {@code null} if not known.
+     * @param onComplete the optional action to be invoked when record was sent or dropped.
+     * @param sequence   the sequence number of the record in the write-ahead log or {@code -1}.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public LogRecord(@NonNull String endpoint, @NonNull String payload, String seriesKey,
+                     @NonNull Optional<Action> onComplete, long sequence) {
+        this.endpoint = endpoint;
+        this.payload = payload;
+        this.seriesKey = seriesKey;
+        this.onComplete = onComplete.orElse(null);
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the optional action to be invoked when this record was sent or dropped.
+     *
+     * @return the optional action to be invoked when this record was sent or dropped.
+     */
+    public Optional<Action> getOnComplete() {
+        return Optional.ofNullable(this.onComplete);
+    }
+
+    /**
+     * Returns {@code true} if this record was written into the write-ahead log and must be acknowledged
+     * when sent.
+     *
+     * @return {@code true} if this record was written into the write-ahead log.
+     */
+    public boolean isLogged() {
+        return this.sequence >= 0;
+    }
+}
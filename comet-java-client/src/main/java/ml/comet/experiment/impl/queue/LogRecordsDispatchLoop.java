@@ -0,0 +1,154 @@
+package ml.comet.experiment.impl.queue;
+
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The single consumer thread draining the queues of all registered {@link LogRecordsDispatcher}s. Thus, experiments
+ * sharing one loop do not start a dispatcher thread each.
+ *
+ * <p>The loop takes at most one record from every dispatcher per round, thus the busy experiment can not starve
+ * others. The idle loop parks until a producer puts new record into the queue or a request in flight completes.
+ */
+public final class LogRecordsDispatchLoop implements Closeable {
+    // The interval to check if the backend recovered, there is no signal when circuit breaker permits calls again
+    private static final long BACKEND_CHECK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Logger logger = LoggerFactory.getLogger(LogRecordsDispatchLoop.class);
+    private final List<LogRecordsDispatcher> dispatchers = new CopyOnWriteArrayList<>();
+    private final Thread consumer;
+
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    /**
+     * The outcome of one attempt to send the record of the dispatcher.
+     */
+    enum DrainStep {
+        /**
+         * The record was sent.
+         */
+        SENT,
+        /**
+         * There is no record to send or the limit of requests in flight reached.
+         */
+        IDLE,
+        /**
+         * The backend is unavailable and records are held in the queue.
+         */
+        SUSPENDED
+    }
+
+    /**
+     * Creates new instance and starts the consumer thread.
+     */
+    public LogRecordsDispatchLoop() {
+        this.consumer = new Thread(this::drain, "comet-log-records-dispatcher");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Returns the number of dispatchers served by this loop.
+     *
+     * @return the number of dispatchers served by this loop.
+     */
+    public int getDispatchersCount() {
+        return this.dispatchers.size();
+    }
+
+    /**
+     * Stops the consumer thread waiting at most given time for it to finish current round.
+     *
+     * @param timeout the maximal time to wait for the consumer thread to stop.
+     */
+    public void close(@NonNull Duration timeout) {
+        this.running = false;
+        LockSupport.unpark(this.consumer);
+        try {
+            this.consumer.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the consumer thread.
+     */
+    @Override
+    public void close() {
+        this.close(Duration.ofSeconds(1));
+    }
+
+    void register(LogRecordsDispatcher dispatcher) {
+        this.dispatchers.add(dispatcher);
+        LockSupport.unpark(this.consumer);
+    }
+
+    void unregister(LogRecordsDispatcher dispatcher) {
+        this.dispatchers.remove(dispatcher);
+    }
+
+    /**
+     * Wakes up the consumer if it is idle. Invoked when new record is put into the queue or when the request
+     * in flight completes.
+     */
+    void wakeUp() {
+        // the consumer is idle only if it found nothing to send
+        if (this.idle) {
+            LockSupport.unpark(this.consumer);
+        }
+    }
+
+    private void drain() {
+        while (this.running) {
+            DrainStep step = this.drainRound();
+            if (step == DrainStep.SENT) {
+                continue;
+            }
+            this.idle = true;
+            // check again to not miss the record added before idle flag set
+            step = this.drainRound();
+            if (step == DrainStep.SENT) {
+                this.idle = false;
+                continue;
+            }
+            if (step == DrainStep.SUSPENDED) {
+                // keep records buffered until backend recovers
+                LockSupport.parkNanos(this, BACKEND_CHECK_PARK_NANOS);
+            } else {
+                // wait for the producer or close to unpark, spurious wake-ups are handled by the loop
+                LockSupport.park(this);
+            }
+            this.idle = false;
+        }
+    }
+
+    private DrainStep drainRound() {
+        DrainStep result = DrainStep.IDLE;
+        for (LogRecordsDispatcher dispatcher : this.dispatchers) {
+            DrainStep step;
+            try {
+                step = dispatcher.drainOne();
+            } catch (Throwable t) {
+                // the failure of one dispatcher must not stop the others
+                this.logger.error("failed to drain log records queue", t);
+                continue;
+            }
+            if (step == DrainStep.SENT) {
+                result = DrainStep.SENT;
+            } else if (step == DrainStep.SUSPENDED && result == DrainStep.IDLE) {
+                result = DrainStep.SUSPENDED;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,261 @@
+package ml.comet.experiment.impl.queue;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Function;
+import lombok.NonNull;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_OUTPUT;
+
+/**
+ * Sends the records of the {@link LogRecordsQueue} to the Comet backend with bounded number of requests in flight.
+ * The queue is drained by the consumer thread of the {@link LogRecordsDispatchLoop} which can be shared by many
+ * dispatchers. Thus, the number of threads and the memory used by pending write records stay bounded even if
+ * the backend is slow or unreachable.
+ *
+ * <p>The idle consumer parks until the producer puts new record into the empty queue and unparks it, thus no CPU
+ * is used while there is nothing to send and the new record is sent without delay.
+ *
+ * <p>While the backend is reported unavailable the consumer stops taking records from the queue, thus records are
+ * buffered in memory and then on disk until the backend recovers.
+ */
+public final class LogRecordsDispatcher implements Closeable {
+    private final LogRecordsQueue queue;
+    private final Function<LogRecord, Single<RestApiResponse>> sender;
+    private final BooleanSupplier backendAvailable;
+    private final Logger logger;
+    private final Semaphore inFlightPermits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LogRecordsDispatchLoop loop;
+    private final boolean ownLoop;
+
+    // guarded by this
+    private boolean closed;
+
+    /**
+     * Creates new instance drained by its own consumer thread.
+     *
+     * @param queue       the queue of the records to be sent.
+     * @param maxInFlight the maximal number of requests in flight.
+     * @param sender      the function to send record to the backend.
+     * @param logger      the logger to report failed requests.
+     * @throws IllegalArgumentException if maximal number of requests in flight is not positive.
+     */
+    public LogRecordsDispatcher(@NonNull LogRecordsQueue queue, int maxInFlight,
+                                @NonNull Function<LogRecord, Single<RestApiResponse>> sender,
+                                @NonNull Logger logger) throws IllegalArgumentException {
+        this(queue, maxInFlight, sender, () -> true, logger);
+    }
+
+    /**
+     * Creates new instance drained by its own consumer thread.
+     *
+     * @param queue            the queue of the records to be sent.
+     * @param maxInFlight      the maximal number of requests in flight.
+     * @param sender           the function to send record to the backend.
+     * @param backendAvailable the supplier to check if records can be sent to the backend now.
+     * @param logger           the logger to report failed requests.
+     * @throws IllegalArgumentException if maximal number of requests in flight is not positive.
+     */
+    public LogRecordsDispatcher(@NonNull LogRecordsQueue queue, int maxInFlight,
+                                @NonNull Function<LogRecord, Single<RestApiResponse>> sender,
+                                @NonNull BooleanSupplier backendAvailable,
+                                @NonNull Logger logger) throws IllegalArgumentException {
+        this(queue, maxInFlight, sender, backendAvailable, new LogRecordsDispatchLoop(), true, logger);
+    }
+
+    /**
+     * Creates new instance drained by the consumer thread of the loop shared with other dispatchers. The shared
+     * loop is not closed when this dispatcher is closed.
+     *
+     * @param queue            the queue of the records to be sent.
+     * @param maxInFlight      the maximal number of requests in flight.
+     * @param sender           the function to send record to the backend.
+     * @param backendAvailable the supplier to check if records can be sent to the backend now.
+     * @param loop             the shared loop draining the queue.
+     * @param logger           the logger to report failed requests.
+     * @throws IllegalArgumentException if maximal number of requests in flight is not positive.
+     */
+    public LogRecordsDispatcher(@NonNull LogRecordsQueue queue, int maxInFlight,
+                                @NonNull Function<LogRecord, Single<RestApiResponse>> sender,
+                                @NonNull BooleanSupplier backendAvailable, @NonNull LogRecordsDispatchLoop loop,
+                                @NonNull Logger logger) throws IllegalArgumentException {
+        this(queue, maxInFlight, sender, backendAvailable, loop, false, logger);
+    }
+
+    private LogRecordsDispatcher(LogRecordsQueue queue, int maxInFlight,
+                                 Function<LogRecord, Single<RestApiResponse>> sender,
+                                 BooleanSupplier backendAvailable, LogRecordsDispatchLoop loop, boolean ownLoop,
+                                 Logger logger) throws IllegalArgumentException {
+        if (maxInFlight <= 0) {
+            if (ownLoop) {
+                loop.close();
+            }
+            throw new IllegalArgumentException("maximal number of requests in flight must be positive, but was: "
+                    + maxInFlight);
+        }
+        this.queue = queue;
+        this.sender = sender;
+        this.backendAvailable = backendAvailable;
+        this.logger = logger;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.loop = loop;
+        this.ownLoop = ownLoop;
+        this.loop.register(this);
+    }
+
+    /**
+     * Puts the record into the queue to be sent asynchronously.
+     *
+     * @param record the record to be sent.
+     * @return {@code true} if record was accepted, {@code false} if it was dropped due to overflow.
+     * @throws IllegalStateException if this dispatcher already closed.
+     */
+    public boolean dispatch(@NonNull LogRecord record) throws IllegalStateException {
+        boolean accepted = this.queue.offer(record);
+        if (accepted) {
+            this.loop.wakeUp();
+        }
+        return accepted;
+    }
+
+    /**
+     * Returns the number of records waiting in the queue or being sent.
+     *
+     * @return the number of records waiting in the queue or being sent.
+     */
+    public int getPendingCount() {
+        return this.queue.size() + this.inFlight.get();
+    }
+
+    /**
+     * Returns the queue of the records used by this dispatcher.
+     *
+     * @return the queue of the records used by this dispatcher.
+     */
+    public LogRecordsQueue getQueue() {
+        return this.queue;
+    }
+
+    /**
+     * Stops draining the queue. If this dispatcher owns the consumer thread waits at most given time for it
+     * to stop. All records still waiting in the queue are dropped.
+     *
+     * @param timeout the maximal time to wait for the consumer thread to stop.
+     */
+    public void close(@NonNull Duration timeout) {
+        synchronized (this) {
+            // waits for the consumer to finish current record
+            this.closed = true;
+        }
+        this.loop.unregister(this);
+        if (this.ownLoop) {
+            this.loop.close(timeout);
+        }
+        this.queue.close();
+    }
+
+    /**
+     * Stops draining the queue and drops all records still waiting in the queue.
+     */
+    @Override
+    public void close() {
+        this.close(Duration.ofSeconds(1));
+    }
+
+    /**
+     * Sends the next record of the queue if the backend is available and the limit of requests in flight
+     * is not reached. Invoked by the consumer thread of the loop.
+     *
+     * @return the outcome of the attempt to send the record.
+     */
+    synchronized LogRecordsDispatchLoop.DrainStep drainOne() {
+        if (this.closed) {
+            return LogRecordsDispatchLoop.DrainStep.IDLE;
+        }
+        if (!this.backendAvailable.getAsBoolean()) {
+            // keep records buffered until backend recovers
+            this.queue.setDrainSuspended(true);
+            return LogRecordsDispatchLoop.DrainStep.SUSPENDED;
+        }
+        this.queue.setDrainSuspended(false);
+        if (!this.inFlightPermits.tryAcquire()) {
+            // the loop is woken up when the request in flight completes
+            return LogRecordsDispatchLoop.DrainStep.IDLE;
+        }
+        LogRecord record = this.takeRecord();
+        if (record == null) {
+            this.inFlightPermits.release();
+            return LogRecordsDispatchLoop.DrainStep.IDLE;
+        }
+        this.send(record);
+        return LogRecordsDispatchLoop.DrainStep.SENT;
+    }
+
+    private LogRecord takeRecord() {
+        // count record as in flight before it leaves the queue to keep pending count consistent
+        this.inFlight.incrementAndGet();
+        LogRecord record = this.queue.poll();
+        if (record == null) {
+            this.inFlight.decrementAndGet();
+        }
+        return record;
+    }
+
+    private void send(LogRecord record) {
+        // the failures to send the output are not reported, since they can be intercepted as output again
+        boolean quiet = ADD_OUTPUT.equals(record.getEndpoint());
+        Single<RestApiResponse> single;
+        try {
+            single = this.sender.apply(record);
+        } catch (Throwable t) {
+            if (!quiet) {
+                this.logger.error("failed to send log record {}", record, t);
+            }
+            this.onSent(record);
+            return;
+        }
+
+        //noinspection ResultOfMethodCallIgnored
+        single
+                .doFinally(() -> this.onSent(record))
+                .subscribe(
+                        response -> {
+                            if (response.hasFailed() && !quiet) {
+                                this.logger.error("failed to log {}, reason: {}, sdk error code: {}",
+                                        record, response.getMsg(), response.getSdkErrorCode());
+                            } else if (this.logger.isDebugEnabled()) {
+                                this.logger.debug("response {} received for request {}", response, record);
+                            }
+                        },
+                        throwable -> {
+                            if (!quiet) {
+                                this.logger.error("failed to send log record {}", record, throwable);
+                            }
+                        });
+    }
+
+    private void onSent(LogRecord record) {
+        this.inFlight.decrementAndGet();
+        this.inFlightPermits.release();
+        this.loop.wakeUp();
+        this.complete(record);
+    }
+
+    private void complete(LogRecord record) {
+        if (record.getOnComplete().isPresent()) {
+            try {
+                record.getOnComplete().get().run();
+            } catch (Throwable t) {
+                this.logger.error("failed to invoke completion action of the log record {}", record, t);
+            }
+        }
+    }
+}
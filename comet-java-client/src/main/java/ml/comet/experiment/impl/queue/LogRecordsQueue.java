@@ -0,0 +1,351 @@
+package ml.comet.experiment.impl.queue;
+
+import io.reactivex.rxjava3.functions.Action;
+import lombok.NonNull;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The bounded queue of the write records waiting to be sent to the Comet backend. Records are written by many
+ * producers and drained by the single consumer. When queue is full the new records are processed according
+ * to the selected {@link OverflowPolicy}.
+ *
+ * <p>With {@link OverflowPolicy#SPILL_TO_DISK} policy the overflowing records are appended to the spill file and
+ * all subsequent records go to the spill file as well until it is drained, thus preserving the order of records.
+ * Only the completion actions of the spilled records are kept in memory.
+ *
+ * <p>While draining of this queue is suspended (e.g. the Comet backend is unavailable) the producers are not blocked
+ * with {@link OverflowPolicy#BLOCK} policy: the overflowing records are spilled to disk instead, since the outage
+ * can last much longer than the producers can afford to wait.
+ */
+public final class LogRecordsQueue implements Closeable {
+    private static final long MAX_BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final BoundedRingBuffer<LogRecord> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final Logger logger;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+
+    // the spill file state, guarded by this
+    private Path spillFile;
+    private BufferedWriter spillWriter;
+    private BufferedReader spillReader;
+    // the parts of the spilled records which are not written to the spill file
+    private final Deque<SpilledRecord> spilledRecords = new ArrayDeque<>();
+    private volatile boolean spilling;
+    private volatile boolean drainSuspended;
+    private volatile boolean closed;
+
+    /**
+     * Creates new instance with given parameters.
+     *
+     * @param capacity       the maximal number of records kept in memory.
+     * @param overflowPolicy the policy to handle new records when queue is full.
+     * @param logger         the logger to report spill file failures.
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public LogRecordsQueue(int capacity, @NonNull OverflowPolicy overflowPolicy, @NonNull Logger logger)
+            throws IllegalArgumentException {
+        this.buffer = new BoundedRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.logger = logger;
+    }
+
+    /**
+     * Adds the record to this queue applying the overflow policy if queue is full. The completion action of
+     * the dropped record is invoked immediately.
+     *
+     * @param record the record to be added.
+     * @return {@code true} if record was accepted, {@code false} if it was dropped.
+     * @throws IllegalStateException if this queue already closed.
+     */
+    public boolean offer(@NonNull LogRecord record) throws IllegalStateException {
+        if (this.closed) {
+            throw new IllegalStateException("the log records queue already closed");
+        }
+        if (!this.spilling && this.buffer.offer(record)) {
+            return true;
+        }
+        switch (this.overflowPolicy) {
+            case BLOCK:
+                if (this.drainSuspended) {
+                    return this.spill(record);
+                }
+                return this.offerBlocking(record);
+            case DROP_OLDEST:
+                return this.offerDroppingOldest(record);
+            case SPILL_TO_DISK:
+                return this.spill(record);
+            case DROP_NEWEST:
+            default:
+                this.drop(record);
+                return false;
+        }
+    }
+
+    /**
+     * Retrieves and removes the oldest record of this queue. Must be invoked only by the single consumer.
+     *
+     * @return the oldest record or {@code null} if this queue is empty.
+     */
+    public LogRecord poll() {
+        LogRecord record = this.buffer.poll();
+        if (record == null && this.spilling) {
+            record = this.readSpilled();
+        }
+        return record;
+    }
+
+    /**
+     * Returns the number of records waiting in this queue including spilled ones.
+     *
+     * @return the number of records waiting in this queue including spilled ones.
+     */
+    public int size() {
+        int size = this.buffer.size();
+        if (this.spilling) {
+            synchronized (this) {
+                size += this.spilledRecords.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if there are no records waiting in this queue.
+     *
+     * @return {@code true} if there are no records waiting in this queue.
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns the maximal number of records kept in memory.
+     *
+     * @return the maximal number of records kept in memory.
+     */
+    public int capacity() {
+        return this.buffer.capacity();
+    }
+
+    /**
+     * Returns the total number of records dropped due to overflow.
+     *
+     * @return the total number of records dropped due to overflow.
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Returns the total number of records written to the spill file.
+     *
+     * @return the total number of records written to the spill file.
+     */
+    public long getSpilledCount() {
+        return this.spilledCount.get();
+    }
+
+    /**
+     * Marks draining of this queue as suspended or resumed by the consumer.
+     *
+     * @param suspended {@code true} if consumer suspended draining of this queue.
+     */
+    public void setDrainSuspended(boolean suspended) {
+        this.drainSuspended = suspended;
+    }
+
+    /**
+     * Returns {@code true} if the consumer suspended draining of this queue.
+     *
+     * @return {@code true} if the consumer suspended draining of this queue.
+     */
+    public boolean isDrainSuspended() {
+        return this.drainSuspended;
+    }
+
+    /**
+     * Returns the overflow policy of this queue.
+     *
+     * @return the overflow policy of this queue.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    /**
+     * Closes this queue. All records still waiting in the queue are dropped and the spill file is removed.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        LogRecord record;
+        while ((record = this.buffer.poll()) != null) {
+            this.drop(record);
+        }
+        synchronized (this) {
+            while (!this.spilledRecords.isEmpty()) {
+                this.droppedCount.incrementAndGet();
+                runQuietly(this.spilledRecords.poll().onComplete);
+            }
+            this.resetSpill();
+        }
+    }
+
+    private boolean offerBlocking(LogRecord record) {
+        long parkNanos = 1000;
+        while (!this.buffer.offer(record)) {
+            if (this.closed) {
+                this.drop(record);
+                return false;
+            }
+            if (this.drainSuspended) {
+                return this.spill(record);
+            }
+            LockSupport.parkNanos(this, parkNanos);
+            parkNanos = Math.min(parkNanos << 1, MAX_BLOCK_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private boolean offerDroppingOldest(LogRecord record) {
+        while (!this.buffer.offer(record)) {
+            LogRecord oldest = this.buffer.poll();
+            if (oldest != null) {
+                this.drop(oldest);
+            }
+        }
+        return true;
+    }
+
+    private void drop(LogRecord record) {
+        this.droppedCount.incrementAndGet();
+        runQuietly(record.getOnComplete());
+    }
+
+    private synchronized boolean spill(LogRecord record) {
+        try {
+            if (this.spillWriter == null) {
+                this.spillFile = Files.createTempFile("comet-log-records", ".spill");
+                this.spillFile.toFile().deleteOnExit();
+                this.spillWriter = Files.newBufferedWriter(this.spillFile, StandardCharsets.UTF_8);
+                this.spillReader = Files.newBufferedReader(this.spillFile, StandardCharsets.UTF_8);
+            }
+            // JSON payload and endpoint never contain raw line separators
+            this.spillWriter.write(Long.toString(record.getSequence()));
+            this.spillWriter.write('\t');
+            this.spillWriter.write(record.getEndpoint());
+            this.spillWriter.write('\t');
+            this.spillWriter.write(record.getPayload());
+            this.spillWriter.newLine();
+            this.spillWriter.flush();
+        } catch (IOException e) {
+            this.logger.error("failed to write log record to the spill file, record dropped", e);
+            this.drop(record);
+            return false;
+        }
+        this.spilledRecords.add(new SpilledRecord(record.getOnComplete(), record.getSeriesKey()));
+        this.spilledCount.incrementAndGet();
+        this.spilling = true;
+        return true;
+    }
+
+    private synchronized LogRecord readSpilled() {
+        if (this.spilledRecords.isEmpty()) {
+            return null;
+        }
+        SpilledRecord spilled = this.spilledRecords.poll();
+        Optional<Action> onComplete = spilled.onComplete;
+        LogRecord record = null;
+        try {
+            String line = this.spillReader.readLine();
+            int sequenceEnd = line != null ? line.indexOf('\t') : -1;
+            int separator = sequenceEnd > 0 ? line.indexOf('\t', sequenceEnd + 1) : -1;
+            if (separator > 0) {
+                record = new LogRecord(line.substring(sequenceEnd + 1, separator), line.substring(separator + 1),
+                        spilled.seriesKey, onComplete, Long.parseLong(line.substring(0, sequenceEnd)));
+            } else {
+                this.logger.error("malformed log record found in the spill file {}, record dropped", this.spillFile);
+            }
+        } catch (IOException | NumberFormatException e) {
+            this.logger.error("failed to read log record from the spill file, record dropped", e);
+        }
+        if (record == null) {
+            this.droppedCount.incrementAndGet();
+            runQuietly(onComplete);
+        }
+        if (this.spilledRecords.isEmpty()) {
+            // spill file drained - switch back to the in-memory buffer
+            this.resetSpill();
+        }
+        return record;
+    }
+
+    private void resetSpill() {
+        this.spilling = false;
+        if (this.spillFile == null) {
+            return;
+        }
+        try {
+            this.spillWriter.close();
+            this.spillReader.close();
+            Files.deleteIfExists(this.spillFile);
+        } catch (IOException e) {
+            this.logger.warn("failed to remove the spill file {}", this.spillFile, e);
+        }
+        this.spillFile = null;
+        this.spillWriter = null;
+        this.spillReader = null;
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private static void runQuietly(Optional<Action> action) {
+        if (action != null && action.isPresent()) {
+            try {
+                action.get().run();
+            } catch (Throwable ignore) {
+                // the completion action is not allowed to break the queue
+            }
+        }
+    }
+
+    /**
+     * Returns the current spill file if any.
+     *
+     * @return the current spill file if any.
+     */
+    synchronized Optional<File> getSpillFile() {
+        return Optional.ofNullable(this.spillFile).map(Path::toFile);
+    }
+
+    /**
+     * The completion action and the series key of the record written to the spill file.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private static final class SpilledRecord {
+        final Optional<Action> onComplete;
+        final String seriesKey;
+
+        SpilledRecord(Optional<Action> onComplete, String seriesKey) {
+            this.onComplete = onComplete;
+            this.seriesKey = seriesKey;
+        }
+    }
+}
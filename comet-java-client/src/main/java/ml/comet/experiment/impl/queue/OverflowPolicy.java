@@ -0,0 +1,23 @@
+package ml.comet.experiment.impl.queue;
+
+/**
+ * Defines how the log records queue handles new records when it is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * The producer thread is blocked until there is room in the queue.
+     */
+    BLOCK,
+    /**
+     * The oldest record in the queue is dropped to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * The new record is dropped.
+     */
+    DROP_NEWEST,
+    /**
+     * The new record is written to the spill file on disk and sent after the queue is drained.
+     */
+    SPILL_TO_DISK
+}
@@ -32,6 +32,8 @@ public class LogMessages {
     public static final String DOWNLOADING_REGISTRY_MODEL_TO_FILE = "DOWNLOADING_REGISTRY_MODEL_TO_FILE";
     public static final String DOWNLOADING_REGISTRY_MODEL_TO_DIR = "DOWNLOADING_REGISTRY_MODEL_TO_DIR";
     public static final String EXTRACTED_N_REGISTRY_MODEL_FILES = "EXTRACTED_N_REGISTRY_MODEL_FILES";
+    public static final String OFFLINE_EXPERIMENT_CREATED = "OFFLINE_EXPERIMENT_CREATED";
+    public static final String OFFLINE_EXPERIMENT_UPLOADED = "OFFLINE_EXPERIMENT_UPLOADED";
 
     public static final String LOG_ASSET_FOLDER_EMPTY = "LOG_ASSET_FOLDER_EMPTY";
     public static final String LOG_REMOTE_ASSET_URI_FILE_NAME_TO_DEFAULT = "LOG_REMOTE_ASSET_URI_FILE_NAME_TO_DEFAULT";
@@ -106,6 +108,19 @@ public class LogMessages {
     public static final String NO_RESPONSE_RETURNED_BY_REMOTE_ENDPOINT = "NO_RESPONSE_RETURNED_BY_REMOTE_ENDPOINT";
     public static final String FAILED_TO_DELETE_REGISTRY_MODEL_VERSION = "FAILED_TO_DELETE_REGISTRY_MODEL_VERSION";
     public static final String EXPERIMENT_WITH_KEY_NOT_FOUND = "EXPERIMENT_WITH_KEY_NOT_FOUND";
+    public static final String OFFLINE_EXPERIMENT_OPERATION_NOT_SUPPORTED =
+            "OFFLINE_EXPERIMENT_OPERATION_NOT_SUPPORTED";
+    public static final String FAILED_TO_CREATE_JOURNAL = "FAILED_TO_CREATE_JOURNAL";
+    public static final String FAILED_TO_WRITE_JOURNAL_RECORD = "FAILED_TO_WRITE_JOURNAL_RECORD";
+    public static final String FAILED_TO_UPLOAD_JOURNAL_RECORD = "FAILED_TO_UPLOAD_JOURNAL_RECORD";
+    public static final String FAILED_TO_CLOSE_JOURNAL = "FAILED_TO_CLOSE_JOURNAL";
+    public static final String FAILED_TO_OPEN_WRITE_AHEAD_LOG = "FAILED_TO_OPEN_WRITE_AHEAD_LOG";
+    public static final String CHUNKED_UPLOAD_NOT_SUPPORTED = "CHUNKED_UPLOAD_NOT_SUPPORTED";
+    public static final String CHUNKED_UPLOAD_RESUMED = "CHUNKED_UPLOAD_RESUMED";
+    public static final String FAILED_TO_WRITE_UPLOAD_MANIFEST = "FAILED_TO_WRITE_UPLOAD_MANIFEST";
+    public static final String FAILED_TO_WRITE_UPLOAD_INDEX = "FAILED_TO_WRITE_UPLOAD_INDEX";
+    public static final String UNCHANGED_ASSETS_SKIPPED = "UNCHANGED_ASSETS_SKIPPED";
+    public static final String ASSET_PACK_UNPACKED = "ASSET_PACK_UNPACKED";
 
 
     /**
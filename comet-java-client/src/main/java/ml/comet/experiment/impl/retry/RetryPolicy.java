@@ -0,0 +1,130 @@
+package ml.comet.experiment.impl.retry;
+
+import lombok.NonNull;
+import lombok.Value;
+import ml.comet.experiment.exception.CometApiException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Defines how failed requests are retried: exponential backoff with full jitter starting from the base delay
+ * and limited by the maximal delay. The request is not retried after its deadline passed since the first attempt
+ * or when the maximal number of attempts reached.
+ *
+ * <p>The retry behaviour depends on the class of the failure: the requests rejected by the server as malformed or
+ * unauthorized (4xx) fail immediately, the throttled requests (429) and the requests to the unavailable server
+ * (503) wait as long as the server asked by {@code Retry-After} header, other server errors (5xx), timeouts and
+ * I/O errors are retried with exponential backoff.
+ */
+@Value
+public class RetryPolicy {
+    /**
+     * The policy which disables retries.
+     */
+    public static final RetryPolicy DISABLED = new RetryPolicy(Duration.ZERO, Duration.ZERO, Duration.ZERO);
+    /**
+     * The value of the maximal number of attempts meaning that number of attempts is limited only by deadline.
+     */
+    public static final int UNLIMITED_ATTEMPTS = Integer.MAX_VALUE;
+
+    private static final int HTTP_REQUEST_TIMEOUT = 408;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_INTERNAL_ERROR = 500;
+    private static final int HTTP_NOT_IMPLEMENTED = 501;
+    private static final int HTTP_VERSION_NOT_SUPPORTED = 505;
+    // the maximal exponent of the backoff to avoid overflow
+    private static final int MAX_BACKOFF_EXPONENT = 30;
+
+    Duration baseDelay;
+    Duration maxDelay;
+    Duration deadline;
+    int maxAttempts;
+
+    /**
+     * Creates new instance with given parameters and number of attempts limited only by deadline.
+     *
+     * @param baseDelay the delay before the first retry.
+     * @param maxDelay  the maximal delay between retries.
+     * @param deadline  the maximal time since the first attempt to retry the request.
+     */
+    public RetryPolicy(@NonNull Duration baseDelay, @NonNull Duration maxDelay, @NonNull Duration deadline) {
+        this(baseDelay, maxDelay, deadline, UNLIMITED_ATTEMPTS);
+    }
+
+    /**
+     * Creates new instance with given parameters.
+     *
+     * @param baseDelay   the delay before the first retry.
+     * @param maxDelay    the maximal delay between retries.
+     * @param deadline    the maximal time since the first attempt to retry the request.
+     * @param maxAttempts the maximal number of attempts including the first one.
+     */
+    public RetryPolicy(@NonNull Duration baseDelay, @NonNull Duration maxDelay, @NonNull Duration deadline,
+                       int maxAttempts) {
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.deadline = deadline;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Allows checking if this policy allows retries.
+     *
+     * @return {@code true} if failed requests should be retried.
+     */
+    public boolean isEnabled() {
+        return !this.deadline.isZero() && !this.deadline.isNegative() && this.maxAttempts > 1;
+    }
+
+    /**
+     * Calculates the delay before the next retry. If the server requested specific delay with
+     * {@code Retry-After} header it is used, otherwise the delay is chosen randomly between zero
+     * and the exponential backoff for given attempt (full jitter).
+     *
+     * @param attempt   the number of retries already made.
+     * @param throwable the error of the last attempt.
+     * @return the delay before the next retry.
+     */
+    public Duration nextDelay(int attempt, Throwable throwable) {
+        if (throwable instanceof CometApiException) {
+            Duration retryAfter = ((CometApiException) throwable).getRetryAfter().orElse(null);
+            if (retryAfter != null) {
+                return retryAfter;
+            }
+        }
+        long backoff = this.baseDelay.toMillis() << Math.min(attempt, MAX_BACKOFF_EXPONENT);
+        if (backoff <= 0 || backoff > this.maxDelay.toMillis()) {
+            backoff = this.maxDelay.toMillis();
+        }
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(backoff + 1));
+    }
+
+    /**
+     * Checks if request failed with given error can be retried. The requests are retried if the server is
+     * unavailable, overloaded or the request timed out. The requests rejected by the server as malformed
+     * are not retried.
+     *
+     * @param throwable the error of the request.
+     * @return {@code true} if request can be retried.
+     */
+    public static boolean isRetryable(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof CometApiException) {
+                int statusCode = ((CometApiException) t).getStatusCode();
+                if (statusCode == HTTP_NOT_IMPLEMENTED || statusCode == HTTP_VERSION_NOT_SUPPORTED) {
+                    // retry will not help
+                    return false;
+                }
+                return statusCode == HTTP_REQUEST_TIMEOUT || statusCode == HTTP_TOO_MANY_REQUESTS
+                        || statusCode >= HTTP_INTERNAL_ERROR;
+            }
+            if (t instanceof IOException || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,287 @@
+package ml.comet.experiment.impl.retry;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.reactivex.rxjava3.functions.Supplier;
+import lombok.NonNull;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retries failed asynchronous requests according to the {@link RetryPolicy}. The retries are scheduled on the
+ * timer wheel, thus no thread is blocked while waiting for the next attempt.
+ *
+ * <p>The requests can be grouped into series by the series key. While a request of the series is in flight or
+ * waiting for retry, the requests of the same series submitted later are held back and sent one by one in
+ * submission order after it completes, thus neither concurrent requests nor retries reorder the series.
+ */
+public final class RetryScheduler implements Closeable {
+    private static final long TICK_DURATION_MS = 10;
+
+    private final RetryPolicy policy;
+    private final Logger logger;
+    private final HashedWheelTimer timer;
+
+    // the retries scheduled on the shared timer, cancelled on close
+    private final Set<Timeout> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    // the series with request in flight or waiting for retry mapped to the requests held back, guarded by itself
+    private final Map<String, Deque<Attempt<?>>> blockedSeries = new HashMap<>();
+
+    private final AtomicLong retriesCount = new AtomicLong();
+    private final AtomicLong failedRetriesCount = new AtomicLong();
+    private final AtomicLong giveUpsCount = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates new instance which schedules retries on the timer shared by all schedulers in the process,
+     * see {@link #getDefaultTimer()}.
+     *
+     * @param policy the retry policy.
+     * @param logger the logger to report retries.
+     */
+    public RetryScheduler(@NonNull RetryPolicy policy, @NonNull Logger logger) {
+        this(policy, getDefaultTimer(), logger);
+    }
+
+    /**
+     * Creates new instance which schedules retries on the given timer shared with other users. The shared timer
+     * is not stopped when this scheduler is closed.
+     *
+     * @param policy the retry policy.
+     * @param timer  the shared timer to schedule retries.
+     * @param logger the logger to report retries.
+     */
+    public RetryScheduler(@NonNull RetryPolicy policy, @NonNull HashedWheelTimer timer, @NonNull Logger logger) {
+        this.policy = policy;
+        this.logger = logger;
+        this.timer = timer;
+    }
+
+    /**
+     * Returns the timer wheel shared by all users in the process which are not given their own timer. The timer
+     * thread is daemon and the timer is never stopped, thus the number of timer threads doesn't grow with the number
+     * of experiments and connections.
+     *
+     * @return the timer wheel shared by all users in the process.
+     */
+    public static HashedWheelTimer getDefaultTimer() {
+        return DefaultTimerHolder.TIMER;
+    }
+
+    /**
+     * Creates the timer wheel suitable to schedule retries.
+     *
+     * @return the new timer wheel, the timer thread is started with the first scheduled task.
+     */
+    public static HashedWheelTimer createTimer() {
+        return new HashedWheelTimer(runnable -> {
+            Thread thread = new Thread(runnable, "comet-retry-timer");
+            thread.setDaemon(true);
+            return thread;
+        }, TICK_DURATION_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Executes the request produced by the given supplier and retries it according to the policy if it failed.
+     * The supplier is invoked for every attempt.
+     *
+     * @param seriesKey the key of the series the request belongs to or {@code null} if order is not important.
+     * @param request   the supplier of the request.
+     * @param <T>       the type of the request result.
+     * @return the {@link Single} which can be used to subscribe for the result of the last attempt.
+     */
+    public <T> Single<T> execute(String seriesKey, @NonNull Supplier<Single<T>> request) {
+        if (!this.policy.isEnabled()) {
+            return Single.defer(request);
+        }
+        return Single.create(emitter -> {
+            Attempt<T> attempt = new Attempt<>(seriesKey, request, emitter,
+                    System.nanoTime() + this.policy.getDeadline().toNanos());
+            if (seriesKey != null) {
+                synchronized (this.blockedSeries) {
+                    Deque<Attempt<?>> held = this.blockedSeries.get(seriesKey);
+                    if (held != null) {
+                        held.add(attempt);
+                        return;
+                    }
+                    // the series is blocked until this request completes
+                    this.blockedSeries.put(seriesKey, new ArrayDeque<>());
+                }
+            }
+            this.send(attempt);
+        });
+    }
+
+    /**
+     * Returns the number of retries made.
+     *
+     * @return the number of retries made.
+     */
+    public long getRetriesCount() {
+        return this.retriesCount.get();
+    }
+
+    /**
+     * Returns the number of retries which failed again.
+     *
+     * @return the number of retries which failed again.
+     */
+    public long getFailedRetriesCount() {
+        return this.failedRetriesCount.get();
+    }
+
+    /**
+     * Returns the number of retryable requests abandoned because their deadline passed, the maximal number
+     * of attempts reached or scheduler was closed.
+     *
+     * @return the number of abandoned requests.
+     */
+    public long getGiveUpsCount() {
+        return this.giveUpsCount.get();
+    }
+
+    /**
+     * Cancels retries scheduled on the shared timer, the timer itself is not stopped. All requests waiting for retry
+     * fail with their last error.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        for (Timeout timeout : this.pendingRetries) {
+            this.cancel(timeout);
+        }
+    }
+
+    private void cancel(Timeout timeout) {
+        // only the retry which has not started yet can be cancelled
+        if (this.pendingRetries.remove(timeout) && timeout.cancel()) {
+            Attempt<?> attempt = (Attempt<?>) timeout.task();
+            this.giveUp(attempt, attempt.lastError);
+        }
+    }
+
+    private <T> void send(Attempt<T> attempt) {
+        Single<T> single;
+        try {
+            single = attempt.request.get();
+        } catch (Throwable t) {
+            this.complete(attempt, null, t);
+            return;
+        }
+        //noinspection ResultOfMethodCallIgnored
+        single.subscribe(
+                value -> this.complete(attempt, value, null),
+                throwable -> this.onFailure(attempt, throwable));
+    }
+
+    private <T> void onFailure(Attempt<T> attempt, Throwable throwable) {
+        if (attempt.attempts > 0) {
+            this.failedRetriesCount.incrementAndGet();
+        }
+        if (!RetryPolicy.isRetryable(throwable)) {
+            this.complete(attempt, null, throwable);
+            return;
+        }
+        long delayNanos = this.policy.nextDelay(attempt.attempts, throwable).toNanos();
+        if (this.closed || attempt.attempts + 1 >= this.policy.getMaxAttempts()
+                || System.nanoTime() + delayNanos > attempt.deadlineNanos) {
+            this.giveUp(attempt, throwable);
+            return;
+        }
+
+        attempt.attempts++;
+        attempt.lastError = throwable;
+        try {
+            Timeout timeout = this.timer.newTimeout(attempt, delayNanos, TimeUnit.NANOSECONDS);
+            this.retriesCount.incrementAndGet();
+            this.pendingRetries.add(timeout);
+            if (timeout.isExpired()) {
+                // already fired before it was tracked
+                this.pendingRetries.remove(timeout);
+            } else if (this.closed) {
+                // closed concurrently, the retry may be missed by close()
+                this.cancel(timeout);
+            }
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug("request failed, retry {} scheduled in {} ms", attempt.attempts,
+                        TimeUnit.NANOSECONDS.toMillis(delayNanos), throwable);
+            }
+        } catch (IllegalStateException | RejectedExecutionException e) {
+            // the timer already stopped
+            this.giveUp(attempt, throwable);
+        }
+    }
+
+    private void giveUp(Attempt<?> attempt, Throwable throwable) {
+        this.giveUpsCount.incrementAndGet();
+        this.logger.warn("giving up the request after {} retries", attempt.attempts, throwable);
+        this.complete(attempt, null, throwable);
+    }
+
+    private <T> void complete(Attempt<T> attempt, T value, Throwable throwable) {
+        if (throwable != null) {
+            attempt.emitter.onError(throwable);
+        } else {
+            attempt.emitter.onSuccess(value);
+        }
+        if (attempt.seriesKey == null) {
+            return;
+        }
+        // pass the series to the next request held back or unblock it
+        Attempt<?> next;
+        synchronized (this.blockedSeries) {
+            Deque<Attempt<?>> held = this.blockedSeries.get(attempt.seriesKey);
+            next = held.poll();
+            if (next == null) {
+                this.blockedSeries.remove(attempt.seriesKey);
+            }
+        }
+        if (next != null) {
+            this.send(next);
+        }
+    }
+
+    private static final class DefaultTimerHolder {
+        static final HashedWheelTimer TIMER = createTimer();
+    }
+
+    /**
+     * The state of the request being retried.
+     */
+    private final class Attempt<T> implements TimerTask {
+        final String seriesKey;
+        final Supplier<Single<T>> request;
+        final SingleEmitter<T> emitter;
+        final long deadlineNanos;
+        volatile int attempts;
+        volatile Throwable lastError;
+
+        Attempt(String seriesKey, Supplier<Single<T>> request, SingleEmitter<T> emitter, long deadlineNanos) {
+            this.seriesKey = seriesKey;
+            this.request = request;
+            this.emitter = emitter;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            RetryScheduler.this.pendingRetries.remove(timeout);
+            RetryScheduler.this.send(this);
+        }
+    }
+}
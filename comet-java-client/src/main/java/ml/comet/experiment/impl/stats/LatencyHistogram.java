@@ -0,0 +1,107 @@
+package ml.comet.experiment.impl.stats;
+
+import ml.comet.experiment.model.LatencyStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The lock-free histogram of durations with log-linear buckets in the style of HdrHistogram. Every power of two
+ * range of values is split into {@value #SUB_BUCKETS} linear sub-buckets, thus the relative error of the reported
+ * percentiles is below 3% for any value while the memory footprint stays fixed.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records the duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        this.counts.incrementAndGet(bucketIndex(value));
+        this.totalCount.increment();
+        this.totalNanos.add(value);
+        this.maxNanos.accumulate(value);
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return the number of recorded durations.
+     */
+    public long getCount() {
+        return this.totalCount.sum();
+    }
+
+    /**
+     * Returns the snapshot of the recorded durations. The snapshot is not atomic, the values recorded concurrently
+     * can be partially reflected.
+     *
+     * @return the snapshot of the recorded durations.
+     */
+    public LatencyStats snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = this.counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return new LatencyStats(0, 0, 0, 0, 0, 0, 0);
+        }
+        long max = this.maxNanos.get();
+        double mean = this.totalNanos.sum() / (double) Math.max(this.totalCount.sum(), 1);
+        return new LatencyStats(count, toMillis(mean),
+                toMillis(percentile(snapshot, count, 0.5, max)),
+                toMillis(percentile(snapshot, count, 0.9, max)),
+                toMillis(percentile(snapshot, count, 0.99, max)),
+                toMillis(percentile(snapshot, count, 0.999, max)),
+                toMillis(max));
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        int subBucket = (int) (value >>> exponent) - SUB_BUCKETS;
+        return (exponent + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << exponent) - 1;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        long rank = Math.max((long) Math.ceil(quantile * total), 1);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,117 @@
+package ml.comet.experiment.impl.stats;
+
+import lombok.NonNull;
+import ml.comet.experiment.model.EndpointStats;
+import ml.comet.experiment.model.LatencyStats;
+import ml.comet.experiment.model.SdkStats;
+import org.slf4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Exposes the statistics of the SDK as the MBean named {@code ml.comet:type=SdkStats,name=<name>}.
+ */
+public final class SdkStatsJmx implements SdkStatsMXBean {
+    static final String DOMAIN = "ml.comet";
+
+    private final Supplier<SdkStats> stats;
+
+    SdkStatsJmx(@NonNull Supplier<SdkStats> stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Registers the MBean exposing the statistics provided by given supplier. The registration failures are
+     * logged and ignored, since the statistics are not essential.
+     *
+     * @param name   the name of the MBean, e.g. the experiment key.
+     * @param stats  the supplier of the statistics snapshots.
+     * @param logger the logger to report registration failures.
+     * @return the name of the registered MBean or {@code null} if registration failed.
+     */
+    public static ObjectName register(@NonNull String name, @NonNull Supplier<SdkStats> stats,
+                                      @NonNull Logger logger) {
+        try {
+            ObjectName objectName = ObjectName.getInstance(
+                    String.format("%s:type=SdkStats,name=%s", DOMAIN, ObjectName.quote(name)));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new SdkStatsJmx(stats), objectName);
+            return objectName;
+        } catch (JMException | SecurityException e) {
+            logger.warn("failed to register MBean with SDK statistics, name: {}", name, e);
+            return null;
+        }
+    }
+
+    /**
+     * Unregisters the MBean registered by {@link #register(String, Supplier, Logger)}.
+     *
+     * @param objectName the name of the registered MBean, ignored if {@code null}.
+     * @param logger     the logger to report failures.
+     */
+    public static void unregister(ObjectName objectName, @NonNull Logger logger) {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException | SecurityException e) {
+            logger.warn("failed to unregister MBean with SDK statistics: {}", objectName, e);
+        }
+    }
+
+    @Override
+    public Map<String, EndpointStats> getEndpoints() {
+        return this.stats.get().getEndpoints();
+    }
+
+    @Override
+    public long getRequestCount() {
+        return this.stats.get().getRequestCount();
+    }
+
+    @Override
+    public long getFailedRequestCount() {
+        return this.stats.get().getFailedRequestCount();
+    }
+
+    @Override
+    public long getBytesSent() {
+        return this.stats.get().getBytesSent();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return this.stats.get().getBytesReceived();
+    }
+
+    @Override
+    public LatencyStats getRequestLatency() {
+        return this.stats.get().getRequestLatency();
+    }
+
+    @Override
+    public LatencyStats getSerializationTime() {
+        return this.stats.get().getSerializationTime();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return this.stats.get().getQueueDepth();
+    }
+
+    @Override
+    public long getRetriesCount() {
+        return this.stats.get().getRetriesCount();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return this.stats.get().getDroppedCount();
+    }
+}
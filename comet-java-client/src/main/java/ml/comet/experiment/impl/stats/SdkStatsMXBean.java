@@ -0,0 +1,32 @@
+package ml.comet.experiment.impl.stats;
+
+import ml.comet.experiment.model.EndpointStats;
+import ml.comet.experiment.model.LatencyStats;
+
+import java.util.Map;
+
+/**
+ * The management interface exposing the statistics of the SDK via JMX.
+ */
+public interface SdkStatsMXBean {
+
+    Map<String, EndpointStats> getEndpoints();
+
+    long getRequestCount();
+
+    long getFailedRequestCount();
+
+    long getBytesSent();
+
+    long getBytesReceived();
+
+    LatencyStats getRequestLatency();
+
+    LatencyStats getSerializationTime();
+
+    int getQueueDepth();
+
+    long getRetriesCount();
+
+    long getDroppedCount();
+}
@@ -0,0 +1,87 @@
+package ml.comet.experiment.impl.stats;
+
+import lombok.NonNull;
+import ml.comet.experiment.model.EndpointStats;
+import ml.comet.experiment.model.SdkStats;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The registry of the statistics of the SDK itself. The statistics are recorded without locks, thus the registry
+ * can be updated from the hot paths of the SDK.
+ */
+public final class SdkStatsRegistry {
+    private final ConcurrentMap<String, EndpointRecorder> endpoints = new ConcurrentHashMap<>();
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final LatencyHistogram serializationTime = new LatencyHistogram();
+    private final LongAdder failedRequests = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    /**
+     * Records the completed request.
+     *
+     * @param endpoint      the path of the endpoint.
+     * @param latencyNanos  the time from sending the request to receiving the response.
+     * @param failed        {@code true} if request failed or the server responded with error status.
+     * @param bytesSent     the size of the request body.
+     * @param bytesReceived the size of the response body.
+     */
+    public void recordRequest(@NonNull String endpoint, long latencyNanos, boolean failed,
+                              long bytesSent, long bytesReceived) {
+        EndpointRecorder recorder = this.endpoints.computeIfAbsent(endpoint, key -> new EndpointRecorder());
+        recorder.latency.record(latencyNanos);
+        recorder.bytesSent.add(bytesSent);
+        recorder.bytesReceived.add(bytesReceived);
+        this.requestLatency.record(latencyNanos);
+        this.bytesSent.add(bytesSent);
+        this.bytesReceived.add(bytesReceived);
+        if (failed) {
+            recorder.failed.increment();
+            this.failedRequests.increment();
+        }
+    }
+
+    /**
+     * Records the time spent serializing the write record.
+     *
+     * @param nanos the time spent serializing the write record.
+     */
+    public void recordSerialization(long nanos) {
+        this.serializationTime.record(nanos);
+    }
+
+    /**
+     * Creates the snapshot of the statistics.
+     *
+     * @param queueDepth    the number of write records waiting to be sent.
+     * @param retriesCount  the number of retries of the failed requests.
+     * @param droppedCount  the number of dropped write records.
+     * @return the snapshot of the statistics.
+     */
+    public SdkStats snapshot(int queueDepth, long retriesCount, long droppedCount) {
+        Map<String, EndpointStats> endpointStats = new TreeMap<>();
+        this.endpoints.forEach((endpoint, recorder) -> endpointStats.put(endpoint, recorder.snapshot()));
+        return new SdkStats(Collections.unmodifiableMap(endpointStats), this.requestLatency.getCount(),
+                this.failedRequests.sum(), this.bytesSent.sum(), this.bytesReceived.sum(),
+                this.requestLatency.snapshot(), this.serializationTime.snapshot(), queueDepth, retriesCount,
+                droppedCount);
+    }
+
+    private static final class EndpointRecorder {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder failed = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+
+        EndpointStats snapshot() {
+            return new EndpointStats(this.latency.getCount(), this.failed.sum(), this.bytesSent.sum(),
+                    this.bytesReceived.sum(), this.latency.snapshot());
+        }
+    }
+}
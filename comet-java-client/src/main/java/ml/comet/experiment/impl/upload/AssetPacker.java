@@ -0,0 +1,275 @@
+package ml.comet.experiment.impl.upload;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.NonNull;
+import ml.comet.experiment.artifact.AssetOverwriteStrategy;
+import ml.comet.experiment.asset.AssetSource;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import ml.comet.experiment.impl.utils.FileUtils;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_PACK_SIZE;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_PACK_THRESHOLD;
+
+/**
+ * Packs the small asset files into the ZIP archive assets to avoid the overhead of the request per file.
+ * The archive is built on the fly while it is uploaded, thus nothing is written to the disk.
+ *
+ * <p>The first entry of the archive is the index describing each packed file: its logical path, size, type and
+ * metadata. The packed files are stored under their logical paths. The packs are recognized by the
+ * {@link #PACK_SUFFIX} of their logical path and unpacked by {@link #unpack(InputStream, Path,
+ * AssetOverwriteStrategy)} when downloaded.
+ */
+public final class AssetPacker {
+    /**
+     * The suffix of the logical path of the pack asset.
+     */
+    public static final String PACK_SUFFIX = ".comet-pack.zip";
+    /**
+     * The name of the archive entry with the index of the packed files.
+     */
+    static final String INDEX_ENTRY = ".comet-pack-index.json";
+
+    private final long threshold;
+    private final long packSize;
+
+    /**
+     * Creates new instance.
+     *
+     * @param threshold the maximal size of the file to be packed.
+     * @param packSize  the maximal total size of the files packed into one archive.
+     */
+    public AssetPacker(long threshold, long packSize) {
+        if (threshold <= 0 || packSize <= 0) {
+            throw new IllegalArgumentException("the pack threshold and size must be positive");
+        }
+        this.threshold = threshold;
+        this.packSize = packSize;
+    }
+
+    /**
+     * Creates the packer with parameters from the Comet configuration.
+     *
+     * @return the packer or empty if packing is disabled.
+     */
+    public static Optional<AssetPacker> fromConfig() {
+        int threshold = COMET_UPLOAD_PACK_THRESHOLD.getInt();
+        if (threshold <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new AssetPacker(threshold, COMET_UPLOAD_PACK_SIZE.getInt()));
+    }
+
+    /**
+     * Checks if the asset with given logical path is the pack of files.
+     *
+     * @param logicalPath the logical path of the asset.
+     * @return {@code true} if the asset with given logical path is the pack of files.
+     */
+    public static boolean isPack(String logicalPath) {
+        return logicalPath != null && logicalPath.endsWith(PACK_SUFFIX);
+    }
+
+    /**
+     * Replaces the consecutive small file assets of the given stream with the pack assets. The files are packed
+     * together only if they have the same type, grouping name, overwrite flag and context. Other assets are
+     * passed as is.
+     *
+     * @param assets      the stream of assets to be uploaded.
+     * @param packFactory the function to convert the pack asset into the type of the stream elements.
+     * @param <T>         the type of assets.
+     * @return the stream of assets with small files packed.
+     */
+    public <T extends AssetImpl> Stream<T> pack(@NonNull Stream<T> assets,
+                                                @NonNull Function<AssetImpl, T> packFactory) {
+        Iterator<T> packing = new PackingIterator<>(assets.iterator(), packFactory);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(packing,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(assets::close);
+    }
+
+    /**
+     * Extracts the files from the pack read from the given stream into the directory under their logical paths.
+     *
+     * @param stream            the stream with the content of the pack.
+     * @param dir               the directory to extract files into.
+     * @param overwriteStrategy the overwrite strategy to be applied if file already exists.
+     * @return the index of the packed files with the paths to the extracted files.
+     * @throws IOException if I/O exception occurs or the stream is not a valid pack.
+     */
+    public static List<PackedFile> unpack(@NonNull InputStream stream, @NonNull Path dir,
+                                          @NonNull AssetOverwriteStrategy overwriteStrategy) throws IOException {
+        Path root = dir.toAbsolutePath().normalize();
+        try (ZipInputStream zip = new ZipInputStream(stream)) {
+            ZipEntry entry = zip.getNextEntry();
+            if (entry == null || !INDEX_ENTRY.equals(entry.getName())) {
+                throw new IOException("the index of the pack is missing");
+            }
+            List<PackedFile> index = JsonUtils.fromJson(new String(IOUtils.toByteArray(zip), StandardCharsets.UTF_8),
+                    new TypeReference<List<PackedFile>>() {
+                    });
+            Map<String, PackedFile> files = new HashMap<>();
+            index.forEach(file -> files.put(file.getLogicalPath(), file));
+
+            while ((entry = zip.getNextEntry()) != null) {
+                PackedFile file = files.get(entry.getName());
+                if (file == null) {
+                    throw new IOException("the pack entry is missing in the index: " + entry.getName());
+                }
+                Path path = root.resolve(entry.getName()).normalize();
+                if (!path.startsWith(root) || path.equals(root)) {
+                    throw new IOException("Bad pack entry: " + entry.getName());
+                }
+                file.setFile(FileUtils.writeAssetFile(zip, root, root.relativize(path), overwriteStrategy));
+            }
+            return index;
+        }
+    }
+
+    private boolean isPackable(AssetImpl asset) {
+        File file = asset.getRawFile();
+        return file != null && file.length() <= this.threshold
+                && !INDEX_ENTRY.equals(asset.getLogicalPath()) && !isPack(asset.getLogicalPath());
+    }
+
+    private static boolean canPackTogether(AssetImpl first, AssetImpl other) {
+        return Objects.equals(first.getType(), other.getType())
+                && Objects.equals(first.getGroupingName(), other.getGroupingName())
+                && Objects.equals(first.getOverwrite(), other.getOverwrite())
+                && Objects.equals(first.getContext(), other.getContext());
+    }
+
+    /**
+     * Creates the asset streaming the pack of the given files. The content of the pack is built again for each
+     * attempt to upload it.
+     */
+    static AssetImpl createPack(List<? extends AssetImpl> files) {
+        List<PackedFile> index = files.stream()
+                .map(file -> new PackedFile(file.getLogicalPath(), file.getRawFile().length(), file.getType(),
+                        file.getMetadata().isEmpty() ? null : file.getMetadata()))
+                .collect(Collectors.toList());
+        byte[] indexJson = JsonUtils.toJson(index).getBytes(StandardCharsets.UTF_8);
+        List<AssetImpl> packed = new ArrayList<>(files);
+
+        AssetImpl first = files.get(0);
+        AssetImpl pack = new AssetImpl();
+        pack.setRawSource(AssetSource.fromChannel(() -> Channels.newChannel(new PackInputStream(indexJson, packed))));
+        pack.setLogicalPath(packName(files));
+        pack.setFileExtension("zip");
+        pack.setType(first.getType());
+        pack.setGroupingName(first.getGroupingName().orElse(null));
+        pack.setOverwrite(first.getOverwrite());
+        if (first.getContext() != null) {
+            pack.setContext(first.getContext());
+        }
+        return pack;
+    }
+
+    /**
+     * The name of the pack is derived from the names, sizes and modification times of the packed files, thus
+     * the pack of the same files gets the same name.
+     */
+    private static String packName(List<? extends AssetImpl> files) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (AssetImpl file : files) {
+                digest.update(String.format("%s\u0000%d\u0000%d\n", file.getLogicalPath(),
+                        file.getRawFile().length(), file.getRawFile().lastModified()).getBytes(StandardCharsets.UTF_8));
+            }
+            return String.format("%064x", new BigInteger(1, digest.digest())).substring(0, 32) + PACK_SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Collects the consecutive small files into the packs while passing other assets as is.
+     */
+    private final class PackingIterator<T extends AssetImpl> implements Iterator<T> {
+        private final Iterator<T> source;
+        private final Function<AssetImpl, T> packFactory;
+        private final Deque<T> ready = new ArrayDeque<>();
+        private List<T> group = new ArrayList<>();
+        private long groupSize;
+
+        PackingIterator(Iterator<T> source, Function<AssetImpl, T> packFactory) {
+            this.source = source;
+            this.packFactory = packFactory;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.ready.isEmpty() && (this.source.hasNext() || !this.group.isEmpty())) {
+                this.advance();
+            }
+            return !this.ready.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.ready.poll();
+        }
+
+        private void advance() {
+            if (!this.source.hasNext()) {
+                this.flush();
+                return;
+            }
+            T asset = this.source.next();
+            if (!isPackable(asset)) {
+                this.ready.add(asset);
+                return;
+            }
+            long size = asset.getRawFile().length();
+            if (!this.group.isEmpty() && (this.groupSize + size > packSize
+                    || !canPackTogether(this.group.get(0), asset))) {
+                this.flush();
+            }
+            this.group.add(asset);
+            this.groupSize += size;
+        }
+
+        private void flush() {
+            if (this.group.size() == 1) {
+                // nothing to save by packing of one file
+                this.ready.add(this.group.get(0));
+            } else if (!this.group.isEmpty()) {
+                this.ready.add(this.packFactory.apply(createPack(this.group)));
+            }
+            this.group = new ArrayList<>();
+            this.groupSize = 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ml.comet.experiment.impl.upload;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.CompletableEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Limits the total size of the data uploaded concurrently. The leases are granted in the order of request without
+ * blocking any thread. The lease larger than the whole budget is granted when nothing else is in flight.
+ */
+final class ByteBudget {
+    private final long capacity;
+    private long available;
+    private final Deque<Lease> waiting = new ArrayDeque<>();
+
+    ByteBudget(long capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("the capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.available = capacity;
+    }
+
+    /**
+     * Creates the lease of the given number of bytes which is not acquired yet.
+     *
+     * @param bytes the number of bytes to lease.
+     * @return the lease to be acquired.
+     */
+    Lease lease(long bytes) {
+        return new Lease(Math.min(Math.max(bytes, 0), this.capacity));
+    }
+
+    synchronized long getAvailable() {
+        return this.available;
+    }
+
+    private void release(long bytes) {
+        List<Lease> granted = new ArrayList<>();
+        synchronized (this) {
+            this.available += bytes;
+            while (!this.waiting.isEmpty() && this.waiting.peek().bytes <= this.available) {
+                Lease lease = this.waiting.poll();
+                this.available -= lease.bytes;
+                lease.granted = true;
+                granted.add(lease);
+            }
+        }
+        granted.forEach(lease -> lease.emitter.onComplete());
+    }
+
+    /**
+     * The lease of the part of the budget. It must be released when upload is finished regardless it was granted
+     * or not.
+     */
+    final class Lease {
+        private final long bytes;
+        private boolean granted;
+        private boolean released;
+        private CompletableEmitter emitter;
+
+        private Lease(long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the {@link Completable} which completes when the lease is granted.
+         *
+         * @return the {@link Completable} which completes when the lease is granted.
+         */
+        Completable acquire() {
+            return Completable.create(emitter -> {
+                synchronized (ByteBudget.this) {
+                    if (this.released) {
+                        return;
+                    }
+                    if (!ByteBudget.this.waiting.isEmpty() || ByteBudget.this.available < this.bytes) {
+                        this.emitter = emitter;
+                        ByteBudget.this.waiting.add(this);
+                        return;
+                    }
+                    ByteBudget.this.available -= this.bytes;
+                    this.granted = true;
+                }
+                emitter.onComplete();
+            });
+        }
+
+        /**
+         * Returns the leased bytes to the budget if the lease was granted or stops waiting for it otherwise.
+         */
+        void release() {
+            boolean wasGranted;
+            synchronized (ByteBudget.this) {
+                if (this.released) {
+                    return;
+                }
+                this.released = true;
+                wasGranted = this.granted;
+                if (!wasGranted) {
+                    ByteBudget.this.waiting.remove(this);
+                }
+            }
+            if (wasGranted) {
+                ByteBudget.this.release(this.bytes);
+            } else {
+                // the waiting lease could block the others
+                ByteBudget.this.release(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package ml.comet.experiment.impl.upload;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import lombok.NonNull;
+import ml.comet.experiment.exception.CometApiException;
+import ml.comet.experiment.impl.constants.FormParamName;
+import ml.comet.experiment.impl.constants.QueryParamName;
+import ml.comet.experiment.impl.http.Connection;
+import ml.comet.experiment.impl.rest.ChunkedUploadResponse;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET_CHUNK;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET_CHUNKED_COMPLETE;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET_CHUNKED_START;
+import static ml.comet.experiment.impl.constants.QueryParamName.CHUNK_COUNT;
+import static ml.comet.experiment.impl.constants.QueryParamName.CHUNK_INDEX;
+import static ml.comet.experiment.impl.constants.QueryParamName.CHUNK_SIZE;
+import static ml.comet.experiment.impl.constants.QueryParamName.TOTAL_SIZE;
+import static ml.comet.experiment.impl.constants.QueryParamName.UPLOAD_ID;
+import static ml.comet.experiment.impl.resources.LogMessages.CHUNKED_UPLOAD_NOT_SUPPORTED;
+import static ml.comet.experiment.impl.resources.LogMessages.CHUNKED_UPLOAD_RESUMED;
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_WRITE_UPLOAD_MANIFEST;
+import static ml.comet.experiment.impl.resources.LogMessages.NO_RESPONSE_RETURNED_BY_REMOTE_ENDPOINT;
+import static ml.comet.experiment.impl.resources.LogMessages.getString;
+
+/**
+ * Uploads the large files in chunks. The chunks are uploaded concurrently and each chunk is retried independently,
+ * thus the network failure costs at most one chunk instead of the whole file. The server assembles the file
+ * when all chunks are uploaded.
+ *
+ * <p>The progress of the upload is persisted in the {@link UploadManifest} after each chunk. If the upload
+ * is interrupted, the next attempt to upload the same file with the same parameters resumes from the chunks
+ * missing on the server.
+ *
+ * <p>If the server does not support chunked upload, i.e., rejects the start of the upload with any client error,
+ * the file is uploaded in one request and chunked upload is not attempted anymore.
+ */
+public final class ChunkedFileUploader {
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedFileUploader.class);
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_SERVER_ERROR = 500;
+
+    private final Connection connection;
+    private final ChunkedUploadOptions options;
+    private final AtomicBoolean unsupported = new AtomicBoolean();
+
+    /**
+     * Creates new instance.
+     *
+     * @param connection the connection to the Comet server.
+     * @param options    the options of the chunked upload.
+     */
+    public ChunkedFileUploader(@NonNull Connection connection, @NonNull ChunkedUploadOptions options) {
+        this.connection = connection;
+        this.options = options;
+    }
+
+    /**
+     * Checks if the given file should be uploaded in chunks.
+     *
+     * @param file the file to be uploaded.
+     * @return {@code true} if the given file should be uploaded in chunks.
+     */
+    public boolean isChunked(@NonNull File file) {
+        return !this.unsupported.get() && this.options.isChunked(file.length());
+    }
+
+    /**
+     * Uploads the file in chunks.
+     *
+     * @param file        the file to be uploaded.
+     * @param queryParams the query parameters of the asset upload.
+     * @param formParams  the form parameters of the asset upload.
+     * @param fallback    the supplier of the upload in one request used if the server does not support
+     *                    chunked upload.
+     * @return the {@link Single} to be completed with the response of the server when file assembled.
+     */
+    public Single<RestApiResponse> upload(@NonNull File file, @NonNull Map<QueryParamName, String> queryParams,
+                                          @NonNull Map<FormParamName, Object> formParams,
+                                          @NonNull Supplier<Single<RestApiResponse>> fallback) {
+        Path manifestPath = this.manifestPath(file, queryParams);
+        return Single.fromCallable(() -> this.readManifest(file, manifestPath))
+                .subscribeOn(Schedulers.io())
+                .flatMap(manifest -> this.start(manifest, queryParams, formParams)
+                        .flatMap(started -> {
+                            if (!started.isPresent()) {
+                                logger.warn(getString(CHUNKED_UPLOAD_NOT_SUPPORTED, file));
+                                return fallback.get();
+                            }
+                            this.onStarted(file, manifest, manifestPath, started.get());
+                            return this.uploadChunks(file, manifest, manifestPath)
+                                    .andThen(Single.defer(() -> this.complete(manifest, manifestPath)));
+                        }));
+    }
+
+    private Single<Optional<ChunkedUploadResponse>> start(UploadManifest manifest,
+                                                          Map<QueryParamName, String> queryParams,
+                                                          Map<FormParamName, Object> formParams) {
+        Map<QueryParamName, String> params = new EnumMap<>(queryParams);
+        params.put(TOTAL_SIZE, Long.toString(manifest.getFileSize()));
+        params.put(CHUNK_SIZE, Integer.toString(manifest.getChunkSize()));
+        params.put(CHUNK_COUNT, Integer.toString(manifest.getChunkCount()));
+        if (manifest.getUploadId() != null) {
+            params.put(UPLOAD_ID, manifest.getUploadId());
+        }
+        return this.connection.sendPostWithRetriesAsync(ADD_ASSET_CHUNKED_START, params, formParams, true)
+                .map(body -> Optional.of(JsonUtils.fromJson(body.orElseThrow(() -> new CometApiException(
+                        getString(NO_RESPONSE_RETURNED_BY_REMOTE_ENDPOINT, ADD_ASSET_CHUNKED_START))),
+                        ChunkedUploadResponse.class)))
+                .onErrorResumeNext(throwable -> {
+                    // the servers without chunked upload can reject the unknown endpoint with any client error
+                    if (isClientError(throwable)) {
+                        this.unsupported.set(true);
+                        return Single.just(Optional.empty());
+                    }
+                    return Single.error(throwable);
+                });
+    }
+
+    private void onStarted(File file, UploadManifest manifest, Path manifestPath, ChunkedUploadResponse started) {
+        if (!started.getUploadId().equals(manifest.getUploadId())) {
+            // the server started new upload - all chunks should be uploaded
+            manifest.setUploadId(started.getUploadId());
+            manifest.getCompletedChunks().clear();
+        }
+        if (started.getUploadedChunks() != null) {
+            // the server knows better which chunks were received
+            manifest.getCompletedChunks().clear();
+            started.getUploadedChunks().forEach(manifest::markCompleted);
+        }
+        if (manifest.completedCount() > 0) {
+            logger.info(getString(CHUNKED_UPLOAD_RESUMED, file, manifest.completedCount(), manifest.getChunkCount()));
+        }
+        this.writeManifest(manifest, manifestPath);
+    }
+
+    private Completable uploadChunks(File file, UploadManifest manifest, Path manifestPath) {
+        return Flowable.range(0, manifest.getChunkCount())
+                .filter(chunk -> !manifest.isCompleted(chunk))
+                .flatMapSingle(chunk -> Single.fromCallable(() -> readChunk(file, manifest, chunk))
+                        .subscribeOn(Schedulers.io())
+                        .flatMap(bytes -> this.connection.sendPostWithRetriesAsync(
+                                bytes, ADD_ASSET_CHUNK, chunkParams(manifest, chunk), true))
+                        .doOnSuccess(body -> {
+                            manifest.markCompleted(chunk);
+                            this.writeManifest(manifest, manifestPath);
+                        }), false, this.options.getParallelism())
+                .ignoreElements()
+                .doOnError(throwable -> {
+                    if (isNotFound(throwable)) {
+                        // the upload expired on the server - start from scratch next time
+                        deleteManifest(manifestPath);
+                    }
+                });
+    }
+
+    private Single<RestApiResponse> complete(UploadManifest manifest, Path manifestPath) {
+        Map<QueryParamName, String> params = new EnumMap<>(QueryParamName.class);
+        params.put(UPLOAD_ID, manifest.getUploadId());
+        return this.connection.sendPostWithRetriesAsync(
+                        ADD_ASSET_CHUNKED_COMPLETE, params, new EnumMap<>(FormParamName.class), true)
+                .map(body -> body
+                        .map(json -> JsonUtils.fromJson(json, RestApiResponse.class))
+                        .orElseGet(() -> new RestApiResponse(200)))
+                .doOnSuccess(response -> deleteManifest(manifestPath))
+                .doOnError(throwable -> {
+                    if (isNotFound(throwable)) {
+                        deleteManifest(manifestPath);
+                    }
+                });
+    }
+
+    private UploadManifest readManifest(File file, Path manifestPath) {
+        if (Files.isRegularFile(manifestPath)) {
+            try {
+                UploadManifest manifest = UploadManifest.read(manifestPath);
+                if (manifest.matches(file, this.options.getChunkSize())) {
+                    return manifest;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.debug("failed to read upload manifest {}, starting new upload", manifestPath, e);
+            }
+        }
+        return new UploadManifest(file, this.options.getChunkSize());
+    }
+
+    private void writeManifest(UploadManifest manifest, Path manifestPath) {
+        try {
+            manifest.write(manifestPath);
+        } catch (IOException e) {
+            logger.warn(getString(FAILED_TO_WRITE_UPLOAD_MANIFEST, manifestPath), e);
+        }
+    }
+
+    /**
+     * Returns the path to the manifest of the upload identified by the file and the parameters of the upload,
+     * e.g., the experiment key and the logical path of the asset.
+     */
+    private Path manifestPath(File file, Map<QueryParamName, String> queryParams) {
+        StringBuilder key = new StringBuilder(file.getAbsolutePath());
+        new TreeMap<>(queryParams).forEach((name, value) -> key.append('&').append(name).append('=').append(value));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return this.options.getManifestDirectory().resolve(String.format("%064x.json", new BigInteger(1, digest)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static Map<QueryParamName, String> chunkParams(UploadManifest manifest, int chunk) {
+        Map<QueryParamName, String> params = new EnumMap<>(QueryParamName.class);
+        params.put(UPLOAD_ID, manifest.getUploadId());
+        params.put(CHUNK_INDEX, Integer.toString(chunk));
+        return params;
+    }
+
+    static byte[] readChunk(File file, UploadManifest manifest, int chunk) throws IOException {
+        long position = (long) chunk * manifest.getChunkSize();
+        int length = (int) Math.min(manifest.getChunkSize(), manifest.getFileSize() - position);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException(String.format("file %s was truncated during upload", file));
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    private static void deleteManifest(Path manifestPath) {
+        try {
+            Files.deleteIfExists(manifestPath);
+        } catch (IOException e) {
+            logger.debug("failed to delete upload manifest {}", manifestPath, e);
+        }
+    }
+
+    private static boolean isNotFound(Throwable throwable) {
+        return throwable instanceof CometApiException
+                && ((CometApiException) throwable).getStatusCode() == HTTP_NOT_FOUND;
+    }
+
+    private static boolean isClientError(Throwable throwable) {
+        if (!(throwable instanceof CometApiException)) {
+            return false;
+        }
+        int statusCode = ((CometApiException) throwable).getStatusCode();
+        return statusCode >= HTTP_BAD_REQUEST && statusCode < HTTP_SERVER_ERROR;
+    }
+}
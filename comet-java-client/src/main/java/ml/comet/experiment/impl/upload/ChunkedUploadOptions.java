@@ -0,0 +1,64 @@
+package ml.comet.experiment.impl.upload;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_CHUNK_PARALLELISM;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_CHUNK_SIZE;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_CHUNK_THRESHOLD;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_MANIFEST_DIRECTORY;
+
+/**
+ * The options of the chunked upload of the large files.
+ */
+@Value
+public class ChunkedUploadOptions {
+    /**
+     * The options which disable chunked upload.
+     */
+    public static final ChunkedUploadOptions DISABLED = new ChunkedUploadOptions(0, 1, 1, Paths.get("."));
+
+    /**
+     * The minimal size of the file to be uploaded in chunks or zero if chunked upload is disabled.
+     */
+    long threshold;
+    /**
+     * The size of the chunk.
+     */
+    int chunkSize;
+    /**
+     * The maximal number of chunks of one file uploaded concurrently.
+     */
+    int parallelism;
+    /**
+     * The directory to keep manifests of the chunked uploads.
+     */
+    @NonNull
+    Path manifestDirectory;
+
+    /**
+     * Creates the options from the Comet configuration.
+     *
+     * @return the options from the Comet configuration.
+     */
+    public static ChunkedUploadOptions fromConfig() {
+        return new ChunkedUploadOptions(
+                COMET_UPLOAD_CHUNK_THRESHOLD.getInt(),
+                COMET_UPLOAD_CHUNK_SIZE.getInt(),
+                COMET_UPLOAD_CHUNK_PARALLELISM.getInt(),
+                Paths.get(COMET_UPLOAD_MANIFEST_DIRECTORY.getString()));
+    }
+
+    /**
+     * Checks if the file of the given size should be uploaded in chunks.
+     *
+     * @param fileSize the size of the file.
+     * @return {@code true} if the file should be uploaded in chunks.
+     */
+    public boolean isChunked(long fileSize) {
+        return this.threshold > 0 && fileSize >= this.threshold && fileSize > this.chunkSize;
+    }
+}
@@ -0,0 +1,114 @@
+package ml.comet.experiment.impl.upload;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import lombok.Getter;
+import lombok.NonNull;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT;
+import static ml.comet.experiment.impl.config.CometConfig.COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT_BYTES;
+
+/**
+ * Schedules upload of the asset files found in the folder. The number of files and the total size of the files
+ * uploaded concurrently are limited, thus the large folders do not exhaust file descriptors and memory.
+ *
+ * <p>The files are walked lazily in windows. The files of each window are interleaved by size - the largest file
+ * is followed by the smallest one and so on, thus the small files are uploaded while the large ones are in flight.
+ */
+public final class FolderUploadScheduler {
+    /**
+     * The number of files reordered by size at once.
+     */
+    static final int INTERLEAVE_WINDOW = 256;
+
+    @Getter
+    private final int maxInFlight;
+    private final ByteBudget budget;
+
+    /**
+     * Creates new instance.
+     *
+     * @param maxInFlight      the maximal number of files uploaded concurrently.
+     * @param maxInFlightBytes the maximal total size of the files uploaded concurrently.
+     */
+    public FolderUploadScheduler(int maxInFlight, long maxInFlightBytes) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("the maximal number of uploads in flight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.budget = new ByteBudget(maxInFlightBytes);
+    }
+
+    /**
+     * Creates the scheduler with limits from the Comet configuration.
+     *
+     * @return the scheduler with limits from the Comet configuration.
+     */
+    public static FolderUploadScheduler fromConfig() {
+        return new FolderUploadScheduler(COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT.getInt(),
+                COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT_BYTES.getInt());
+    }
+
+    /**
+     * Uploads the given assets using provided function within the limits of this scheduler.
+     *
+     * @param assets the assets to be uploaded.
+     * @param upload the function to upload one asset. It can complete empty if upload was skipped.
+     * @return the {@link Flowable} emitting the responses of the uploads. The errors are delayed until all assets
+     *     processed.
+     */
+    public Flowable<RestApiResponse> schedule(@NonNull Stream<AssetImpl> assets,
+                                              @NonNull Function<AssetImpl, Maybe<RestApiResponse>> upload) {
+        return Flowable.fromStream(assets)
+                .map(SizedAsset::new)
+                .buffer(INTERLEAVE_WINDOW)
+                .concatMapIterable(FolderUploadScheduler::interleaveBySize)
+                .flatMapMaybe(sized -> Maybe.using(
+                        () -> this.budget.lease(sized.size),
+                        lease -> lease.acquire().andThen(Maybe.defer(() -> upload.apply(sized.asset))),
+                        ByteBudget.Lease::release), true, this.maxInFlight);
+    }
+
+    long getAvailableBytes() {
+        return this.budget.getAvailable();
+    }
+
+    /**
+     * Reorders the given assets alternating the largest and the smallest of remaining ones.
+     */
+    static List<SizedAsset> interleaveBySize(List<SizedAsset> assets) {
+        List<SizedAsset> sorted = new ArrayList<>(assets);
+        sorted.sort(Comparator.comparingLong(sized -> sized.size));
+        List<SizedAsset> interleaved = new ArrayList<>(sorted.size());
+        for (int small = 0, large = sorted.size() - 1; small <= large; small++, large--) {
+            interleaved.add(sorted.get(large));
+            if (small < large) {
+                interleaved.add(sorted.get(small));
+            }
+        }
+        return interleaved;
+    }
+
+    /**
+     * The asset with the size of its file.
+     */
+    static final class SizedAsset {
+        final AssetImpl asset;
+        final long size;
+
+        SizedAsset(AssetImpl asset) {
+            this.asset = asset;
+            File file = asset.getRawFile();
+            this.size = file != null ? file.length() : 0;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ml.comet.experiment.impl.upload;
+
+import ml.comet.experiment.impl.asset.AssetImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Reads the ZIP archive of the packed files which is built on the fly while the stream is read. Only the small
+ * portion of the archive is kept in memory and nothing is written to the disk.
+ *
+ * <p>The first entry of the archive is the index of the packed files followed by the entries of the files
+ * in the order of the index.
+ */
+final class PackInputStream extends InputStream {
+    private static final int READ_SIZE = 8192;
+
+    private final byte[] indexJson;
+    private final Iterator<? extends AssetImpl> files;
+    private final PendingBytes pending = new PendingBytes();
+    private final ZipOutputStream zip = new ZipOutputStream(this.pending);
+    private final byte[] chunk = new byte[READ_SIZE];
+
+    private boolean indexWritten;
+    private InputStream current;
+    private int position;
+    private boolean finished;
+    private boolean closed;
+
+    PackInputStream(byte[] indexJson, List<? extends AssetImpl> files) {
+        this.indexJson = indexJson;
+        this.files = files.iterator();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int count = this.read(single, 0, 1);
+        return count < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (this.closed) {
+            throw new IOException("the stream is closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        while (this.position >= this.pending.size()) {
+            if (this.finished) {
+                return -1;
+            }
+            this.pending.reset();
+            this.position = 0;
+            this.fill();
+        }
+        int count = Math.min(length, this.pending.size() - this.position);
+        System.arraycopy(this.pending.buffer(), this.position, bytes, offset, count);
+        this.position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            if (this.current != null) {
+                this.current.close();
+            }
+        } finally {
+            this.zip.close();
+        }
+    }
+
+    /**
+     * Writes the next portion of the archive into the pending bytes. The compressor can buffer the data, thus
+     * nothing could be written by one invocation.
+     */
+    private void fill() throws IOException {
+        if (this.current == null) {
+            if (!this.indexWritten) {
+                this.indexWritten = true;
+                this.zip.putNextEntry(new ZipEntry(AssetPacker.INDEX_ENTRY));
+                this.current = new ByteArrayInputStream(this.indexJson);
+            } else if (this.files.hasNext()) {
+                AssetImpl file = this.files.next();
+                ZipEntry entry = new ZipEntry(file.getLogicalPath());
+                entry.setTime(file.getRawFile().lastModified());
+                this.zip.putNextEntry(entry);
+                this.current = Files.newInputStream(file.getRawFile().toPath());
+            } else {
+                this.zip.finish();
+                this.finished = true;
+                return;
+            }
+        }
+        int count = this.current.read(this.chunk);
+        if (count < 0) {
+            this.current.close();
+            this.current = null;
+            this.zip.closeEntry();
+        } else {
+            this.zip.write(this.chunk, 0, count);
+        }
+    }
+
+    /**
+     * The bytes of the archive written by the compressor and not read yet.
+     */
+    private static final class PendingBytes extends ByteArrayOutputStream {
+        byte[] buffer() {
+            return this.buf;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ml.comet.experiment.impl.upload;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * The entry of the pack index describing one file packed into the archive asset.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackedFile {
+    private String logicalPath;
+    private long size;
+    private String type;
+    private Map<String, Object> metadata;
+
+    /**
+     * The path to the file extracted from the pack. Not included into the index.
+     */
+    @JsonIgnore
+    private Path file;
+
+    PackedFile(String logicalPath, long size, String type, Map<String, Object> metadata) {
+        this(logicalPath, size, type, metadata, null);
+    }
+}
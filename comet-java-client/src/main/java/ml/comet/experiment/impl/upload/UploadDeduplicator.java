@@ -0,0 +1,193 @@
+package ml.comet.experiment.impl.upload;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import lombok.NonNull;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static ml.comet.experiment.impl.resources.LogMessages.FAILED_TO_WRITE_UPLOAD_INDEX;
+import static ml.comet.experiment.impl.resources.LogMessages.getString;
+
+/**
+ * Skips upload of the asset files which content was already uploaded under the same name. The files are identified
+ * by the SHA-256 digest of their content which is computed in parallel on the dedicated {@link ForkJoinPool}
+ * reading the files through the memory mapped buffers.
+ *
+ * <p>The digests of the uploaded files are kept in the local index file, thus the unchanged files are skipped
+ * by the subsequent runs of the same experiment as well.
+ */
+public final class UploadDeduplicator implements Closeable {
+    /**
+     * The name of the subdirectory of the upload manifest directory to keep the indexes of the uploaded files.
+     */
+    public static final String INDEX_DIRECTORY = "index";
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadDeduplicator.class);
+    /**
+     * The maximal size of the file region mapped into memory at once.
+     */
+    static final long MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final Path indexPath;
+    private final Map<String, String> index;
+    private final ForkJoinPool pool;
+    private final Scheduler scheduler;
+    private final AtomicBoolean modified = new AtomicBoolean();
+
+    /**
+     * Creates new instance.
+     *
+     * @param indexPath   the path to the index of the uploaded files.
+     * @param parallelism the maximal number of files hashed concurrently.
+     */
+    public UploadDeduplicator(@NonNull Path indexPath, int parallelism) {
+        this.indexPath = indexPath;
+        this.index = new ConcurrentHashMap<>(readIndex(indexPath));
+        this.pool = new ForkJoinPool(parallelism);
+        this.scheduler = Schedulers.from(this.pool);
+    }
+
+    /**
+     * Uploads the given file asset using provided function unless the file with the same content was already
+     * uploaded under the same name. The digest of the file is recorded in the index if upload succeeded.
+     *
+     * @param asset  the file asset to be uploaded.
+     * @param upload the function to upload the asset.
+     * @return the {@link Maybe} to be completed with the upload response or completed empty if upload was skipped.
+     */
+    public Maybe<RestApiResponse> upload(@NonNull AssetImpl asset,
+                                         @NonNull Function<AssetImpl, Single<RestApiResponse>> upload) {
+        File file = asset.getRawFile();
+        if (file == null) {
+            return upload.apply(asset).toMaybe();
+        }
+        String key = indexKey(asset);
+        return Single.fromCallable(() -> digest(file.toPath()))
+                .subscribeOn(this.scheduler)
+                .flatMapMaybe(digest -> {
+                    if (digest.equals(this.index.get(key))) {
+                        logger.debug("skipping upload of the unchanged asset {}", asset);
+                        return Maybe.empty();
+                    }
+                    return upload.apply(asset)
+                            .doOnSuccess(response -> {
+                                if (!response.hasFailed()) {
+                                    this.index.put(key, digest);
+                                    this.modified.set(true);
+                                }
+                            })
+                            .toMaybe();
+                });
+    }
+
+    /**
+     * Writes the index of the uploaded files if it was modified. The file is replaced atomically. The temporary
+     * file is written next to the directory of the indexes, thus it is never listed among the indexes.
+     */
+    public synchronized void save() {
+        if (!this.modified.getAndSet(false)) {
+            return;
+        }
+        try {
+            Path parent = this.indexPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tempDir = parent.getParent() != null ? parent.getParent() : parent;
+            Path temp = Files.createTempFile(tempDir, this.indexPath.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, JsonUtils.toJson(new TreeMap<>(this.index)).getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, this.indexPath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            this.modified.set(true);
+            logger.warn(getString(FAILED_TO_WRITE_UPLOAD_INDEX, this.indexPath), e);
+        }
+    }
+
+    /**
+     * Writes the index and stops the threads computing digests.
+     */
+    @Override
+    public void close() {
+        this.save();
+        this.pool.shutdown();
+    }
+
+    /**
+     * Computes the digest of the file content reading it through the memory mapped buffers.
+     *
+     * @param file the path to the file.
+     * @return the hex string of the file digest prefixed with the file size.
+     * @throws IOException if I/O exception occurs.
+     */
+    static String digest(@NonNull Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW_SIZE) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_WINDOW_SIZE, size - position)));
+            }
+        }
+        return String.format("%d:%064x", size, new BigInteger(1, digest.digest()));
+    }
+
+    /**
+     * Identifies the asset by its name, type and the name of the model it belongs to.
+     */
+    private static String indexKey(AssetImpl asset) {
+        return String.format("%s/%s/%s", asset.getType(), asset.getGroupingName().orElse(""),
+                asset.getLogicalPath());
+    }
+
+    private static Map<String, String> readIndex(Path indexPath) {
+        if (!Files.isRegularFile(indexPath)) {
+            return new TreeMap<>();
+        }
+        try {
+            String json = new String(Files.readAllBytes(indexPath), StandardCharsets.UTF_8);
+            return JsonUtils.fromJson(json, new TypeReference<Map<String, String>>() {
+            });
+        } catch (IOException | RuntimeException e) {
+            logger.debug("failed to read the index of uploaded assets {}, starting new index", indexPath, e);
+            return new TreeMap<>();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ml.comet.experiment.impl.upload;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import ml.comet.experiment.impl.utils.JsonUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The manifest of the chunked upload of the file persisted after each uploaded chunk. It allows resuming
+ * the interrupted upload from the first missing chunk as long as the file was not changed.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UploadManifest {
+    private String uploadId;
+    private String filePath;
+    private long fileSize;
+    private long lastModified;
+    private int chunkSize;
+    private int chunkCount;
+    private Set<Integer> completedChunks = new TreeSet<>();
+
+    UploadManifest(@NonNull File file, int chunkSize) {
+        this.filePath = file.getAbsolutePath();
+        this.fileSize = file.length();
+        this.lastModified = file.lastModified();
+        this.chunkSize = chunkSize;
+        this.chunkCount = (int) Math.max((this.fileSize + chunkSize - 1) / chunkSize, 1);
+    }
+
+    /**
+     * Checks if this manifest describes the upload of the given file in its current state split into
+     * the chunks of the given size.
+     *
+     * @param file      the file to be uploaded.
+     * @param chunkSize the size of the chunk.
+     * @return {@code true} if this manifest describes the upload of the given file.
+     */
+    boolean matches(@NonNull File file, int chunkSize) {
+        return this.uploadId != null && this.chunkSize == chunkSize
+                && file.getAbsolutePath().equals(this.filePath)
+                && file.length() == this.fileSize && file.lastModified() == this.lastModified;
+    }
+
+    /**
+     * Writes this manifest to the specified file. The file is replaced atomically, thus the manifest is never
+     * left partially written.
+     *
+     * @param path the path to the manifest file.
+     * @throws IOException if I/O exception occurs.
+     */
+    synchronized void write(@NonNull Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, JsonUtils.toJson(this).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads the manifest from the specified file.
+     *
+     * @param path the path to the manifest file.
+     * @return the manifest of the chunked upload.
+     * @throws IOException if I/O exception occurs.
+     */
+    static UploadManifest read(@NonNull Path path) throws IOException {
+        byte[] data = Files.readAllBytes(path);
+        return JsonUtils.fromJson(new String(data, StandardCharsets.UTF_8), UploadManifest.class);
+    }
+
+    synchronized void markCompleted(int chunk) {
+        this.completedChunks.add(chunk);
+    }
+
+    synchronized boolean isCompleted(int chunk) {
+        return this.completedChunks.contains(chunk);
+    }
+
+    synchronized int completedCount() {
+        return this.completedChunks.size();
+    }
+}
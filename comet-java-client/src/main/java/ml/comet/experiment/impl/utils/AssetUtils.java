@@ -3,6 +3,7 @@ package ml.comet.experiment.impl.utils;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import ml.comet.experiment.asset.Asset;
+import ml.comet.experiment.asset.AssetSource;
 import ml.comet.experiment.asset.RemoteAsset;
 import ml.comet.experiment.impl.asset.AssetImpl;
 import ml.comet.experiment.impl.asset.AssetType;
@@ -17,6 +18,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -56,10 +58,16 @@ public class AssetUtils {
             @NonNull Optional<Map<String, Object>> metadata, @NonNull Optional<String> type,
             @NonNull Optional<String> groupingName)
             throws IOException {
+        // the metadata shared by all files is encoded once
+        String encodedMetadata = JsonUtils.toJson(metadata.orElse(Collections.emptyMap()));
         // list files in the directory and process each file as an asset
         return FileUtils.listFiles(folder, recursive)
-                .map(path -> mapToFileAsset(
-                        folder, path, logFilePath, prefixWithFolderName, metadata, type, groupingName));
+                .map(path -> {
+                    AssetImpl asset = mapToFileAsset(
+                            folder, path, logFilePath, prefixWithFolderName, metadata, type, groupingName);
+                    asset.setEncodedMetadata(encodedMetadata);
+                    return asset;
+                });
     }
 
     /**
@@ -132,6 +140,29 @@ public class AssetUtils {
         return updateAsset(asset, overwrite, metadata, type);
     }
 
+    /**
+     * Creates the {@link Asset} which content is streamed from the given source.
+     *
+     * @param source      the source of the asset's content.
+     * @param logicalPath the logical name for the asset file.
+     * @param overwrite   if {@code true} mark as override
+     * @param metadata    the metadata to associate with asset. The dictionary values must be JSON compatible.
+     * @param type        the type of the asset. If not specified the default type {@code AssetType.ASSET_TYPE_ASSET}
+     *                    will be assigned.
+     * @return the instance of the {@link AssetImpl} with the content source.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public static AssetImpl createAssetFromSource(@NonNull AssetSource source, @NonNull String logicalPath,
+                                                  boolean overwrite, @NonNull Optional<Map<String, Object>> metadata,
+                                                  @NonNull Optional<String> type) {
+        AssetImpl asset = new AssetImpl();
+        asset.setRawSource(source);
+        asset.setLogicalPath(logicalPath);
+        asset.setFileExtension(FilenameUtils.getExtension(logicalPath));
+
+        return updateAsset(asset, overwrite, metadata, type);
+    }
+
     /**
      * Creates {@code Asset} from provided {@code Curve} instance.
      *
@@ -7,10 +7,12 @@ import org.apache.commons.io.file.PathUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Optional;
@@ -90,6 +92,47 @@ public class FileUtils {
         return Optional.of(assetPath);
     }
 
+    /**
+     * Writes the content of the asset file read from the given stream to the file system applying the overwrite
+     * strategy if file already exists. The stream is not closed.
+     *
+     * @param content           the stream with the content of the asset file.
+     * @param dir               the path to the parent directory of the asset file.
+     * @param file              the relative path to the asset file within {@code dir}.
+     * @param overwriteStrategy the overwrite strategy to be applied in case file already exists.
+     * @return the path to the asset file in the file system.
+     * @throws IOException                if an I/O exception occurred.
+     * @throws FileAlreadyExistsException if {@code overwriteStrategy} is to FAIL when file already exists and
+     *                                    its content is different.
+     */
+    public static Path writeAssetFile(@NonNull InputStream content, @NonNull Path dir, @NonNull Path file,
+                                      @NonNull AssetOverwriteStrategy overwriteStrategy)
+            throws FileAlreadyExistsException, IOException {
+        Optional<Path> resolved;
+        try {
+            resolved = resolveAssetPath(dir, file, overwriteStrategy);
+        } catch (FileAlreadyExistsException e) {
+            // the existing file is kept only if it has the same content
+            Path existing = assetFilePath(dir, file);
+            Path temp = Files.createTempFile(null, null);
+            try {
+                Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+                if (!fileContentsEquals(existing, temp)) {
+                    throw e;
+                }
+                return existing;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        if (!resolved.isPresent()) {
+            // the existing file is preserved
+            return assetFilePath(dir, file);
+        }
+        Files.copy(content, resolved.get());
+        return resolved.get();
+    }
+
     /**
      * Allows checking if content of asset file is equal to the content of the specified file.
      *
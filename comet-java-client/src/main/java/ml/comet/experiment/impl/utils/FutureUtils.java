@@ -0,0 +1,53 @@
+package ml.comet.experiment.impl.utils;
+
+import io.netty.util.Timeout;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import ml.comet.experiment.impl.retry.RetryScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The utilities to work with {@link CompletableFuture}.
+ */
+@UtilityClass
+public final class FutureUtils {
+
+    /**
+     * Returns the future which completes the same way as provided one or exceptionally with
+     * {@link TimeoutException} if provided one is not completed during given time.
+     *
+     * @param future  the future to wait for.
+     * @param timeout the maximal time to wait.
+     * @param <T>     the type of the future result.
+     * @return the future which completes the same way as provided one or exceptionally with
+     * {@link TimeoutException} if timeout elapsed.
+     */
+    public static <T> CompletableFuture<T> withTimeout(@NonNull CompletableFuture<T> future,
+                                                       @NonNull Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Timeout timer;
+        try {
+            // the timeouts are scheduled on the same timer wheel as retries to not start another timer thread
+            timer = RetryScheduler.getDefaultTimer().newTimeout(t -> result.completeExceptionally(
+                    new TimeoutException(String.format("not completed in %d ms", timeout.toMillis()))),
+                    timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        future.whenComplete((value, throwable) -> {
+            timer.cancel();
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+}
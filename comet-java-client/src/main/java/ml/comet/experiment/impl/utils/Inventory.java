@@ -0,0 +1,136 @@
+package ml.comet.experiment.impl.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The inventory of the operations in progress which signals the waiters the moment the operations they wait for
+ * are completed, thus no waiter polls the inventory.
+ *
+ * <p>Every operation registered in the inventory gets the release action which must be invoked when operation
+ * completes either successfully or erroneously. The waiters can wait either for the inventory to become empty or
+ * only for the operations registered before the wait started.</p>
+ */
+public final class Inventory {
+    // the sequence numbers of the registered operations not yet released, guarded by this
+    private final TreeSet<Long> pending = new TreeSet<>();
+    // the waiters mapped by the sequence number of the first operation they do not wait for, guarded by this
+    private final TreeMap<Long, List<CompletableFuture<Void>>> waiters = new TreeMap<>();
+    private long nextSequence;
+
+    /**
+     * Registers new operation in this inventory.
+     *
+     * @return the action to be invoked when operation completes. Subsequent invocations of the action are ignored.
+     */
+    public Runnable register() {
+        long sequence;
+        synchronized (this) {
+            sequence = this.nextSequence++;
+            this.pending.add(sequence);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                this.release(sequence);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of operations in progress.
+     *
+     * @return the number of operations in progress.
+     */
+    public synchronized int get() {
+        return this.pending.size();
+    }
+
+    /**
+     * Allows checking if there is no operation in progress.
+     *
+     * @return {@code true} if there is no operation in progress.
+     */
+    public synchronized boolean isEmpty() {
+        return this.pending.isEmpty();
+    }
+
+    /**
+     * Returns the future to be completed when there is no operation in progress.
+     *
+     * @return the future to be completed when there is no operation in progress.
+     */
+    public CompletableFuture<Void> whenEmpty() {
+        return this.waitBefore(Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the future to be completed when all operations registered before this call are completed. The
+     * operations registered later are not waited for.
+     *
+     * @return the future to be completed when all operations registered before this call are completed.
+     */
+    public CompletableFuture<Void> whenReleased() {
+        long boundary;
+        synchronized (this) {
+            boundary = this.nextSequence;
+        }
+        return this.waitBefore(boundary);
+    }
+
+    /**
+     * Waits at most given time for the inventory to become empty.
+     *
+     * @param timeout the maximal time to wait.
+     * @return {@code true} if inventory became empty, {@code false} if the timeout elapsed.
+     * @throws InterruptedException if current thread was interrupted while waiting.
+     */
+    public boolean awaitEmpty(Duration timeout) throws InterruptedException {
+        try {
+            this.whenEmpty().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            // never completed exceptionally
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CompletableFuture<Void> waitBefore(long boundary) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this) {
+            if (this.pending.isEmpty() || this.pending.first() >= boundary) {
+                future.complete(null);
+                return future;
+            }
+            this.waiters.computeIfAbsent(boundary, key -> new ArrayList<>()).add(future);
+        }
+        return future;
+    }
+
+    private void release(long sequence) {
+        List<CompletableFuture<Void>> ready = new ArrayList<>();
+        synchronized (this) {
+            this.pending.remove(sequence);
+            long firstPending = this.pending.isEmpty() ? Long.MAX_VALUE : this.pending.first();
+            NavigableMap<Long, List<CompletableFuture<Void>>> satisfied = this.waiters.headMap(firstPending, true);
+            for (Map.Entry<Long, List<CompletableFuture<Void>>> entry : satisfied.entrySet()) {
+                ready.addAll(entry.getValue());
+            }
+            satisfied.clear();
+        }
+        // complete outside the lock to not run dependent actions while holding it
+        ready.forEach(future -> future.complete(null));
+    }
+}
@@ -10,6 +10,7 @@ import ml.comet.experiment.impl.ArtifactImpl;
 import ml.comet.experiment.impl.RegistryModelImpl;
 import ml.comet.experiment.impl.asset.AssetImpl;
 import ml.comet.experiment.impl.asset.DownloadArtifactAssetOptions;
+import ml.comet.experiment.impl.asset.DownloadAssetOptions;
 import ml.comet.experiment.impl.constants.FormParamName;
 import ml.comet.experiment.impl.constants.QueryParamName;
 import ml.comet.experiment.impl.rest.AddExperimentTagsRest;
@@ -34,6 +35,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static ml.comet.experiment.impl.constants.QueryParamName.ALIAS;
@@ -121,9 +123,20 @@ public class RestApiUtils {
         outputLine.setLocalTimestamp(System.currentTimeMillis());
         outputLine.setOffset(offset);
 
+        return createLogLinesRequest(Collections.singletonList(outputLine), context);
+    }
+
+    /**
+     * The factory to create {@link OutputUpdate} instance holding many log lines.
+     *
+     * @param lines   the log lines
+     * @param context the current context
+     * @return the initialized {@link OutputUpdate} instance.
+     */
+    public static OutputUpdate createLogLinesRequest(@NonNull List<OutputLine> lines, String context) {
         OutputUpdate outputUpdate = new OutputUpdate();
         outputUpdate.setRunContext(context);
-        outputUpdate.setOutputLines(Collections.singletonList(outputLine));
+        outputUpdate.setOutputLines(lines);
         return outputUpdate;
     }
 
@@ -398,7 +411,10 @@ public class RestApiUtils {
      */
     public static Map<FormParamName, Object> assetFormParameters(@NonNull final Asset asset) {
         Map<FormParamName, Object> map = new HashMap<>();
-        if (asset.getMetadata() != null) {
+        if (asset instanceof AssetImpl && ((AssetImpl) asset).getEncodedMetadata() != null) {
+            // the metadata already encoded once for many assets
+            map.put(FormParamName.METADATA, ((AssetImpl) asset).getEncodedMetadata());
+        } else if (asset.getMetadata() != null) {
             // encode metadata to JSON and store
             map.put(FormParamName.METADATA, JsonUtils.toJson(asset.getMetadata()));
         }
@@ -445,6 +461,22 @@ public class RestApiUtils {
         return queryParams;
     }
 
+    /**
+     * Extracts query parameters from provided {@link DownloadAssetOptions} to be used to download specific
+     * asset logged by the experiment.
+     *
+     * @param options       the {@link DownloadAssetOptions}
+     * @param experimentKey the current experiment's key
+     * @return the map with query parameters.
+     */
+    public static Map<QueryParamName, String> downloadAssetParams(
+            @NonNull final DownloadAssetOptions options, @NonNull String experimentKey) {
+        Map<QueryParamName, String> queryParams = new HashMap<>();
+        queryParams.put(EXPERIMENT_KEY, experimentKey);
+        queryParams.put(ASSET_ID, options.getAssetId());
+        return queryParams;
+    }
+
     /**
      * Extracts query parameters from provided {@link DownloadArtifactAssetOptions} to be used to download specific
      * asset associated with Comet artifact.
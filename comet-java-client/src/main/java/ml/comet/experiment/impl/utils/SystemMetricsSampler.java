@@ -0,0 +1,280 @@
+package ml.comet.experiment.impl.utils;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import lombok.NonNull;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Periodically samples the JVM and process telemetry: CPU load, heap and non-heap usage, garbage collections,
+ * threads, allocation rate, direct buffers and process I/O. The samples of all experiments in the process are
+ * taken by the single daemon timer thread.
+ *
+ * <p>The counters, e.g. garbage collections or I/O, are reported as the change since the previous sample, thus
+ * the metrics can be lined up with the training progress.</p>
+ */
+public final class SystemMetricsSampler implements TimerTask {
+    public static final String CPU_PROCESS_LOAD = "sys.cpu.process.load";
+    public static final String CPU_SYSTEM_LOAD = "sys.cpu.system.load";
+    public static final String HEAP_USED = "sys.jvm.heap.used";
+    public static final String HEAP_COMMITTED = "sys.jvm.heap.committed";
+    public static final String NON_HEAP_USED = "sys.jvm.nonheap.used";
+    public static final String GC_COUNT = "sys.jvm.gc.count";
+    public static final String GC_TIME_MS = "sys.jvm.gc.time.ms";
+    public static final String THREADS = "sys.jvm.threads";
+    public static final String ALLOCATION_RATE = "sys.jvm.allocation.bytes_per_sec";
+    public static final String DIRECT_BUFFERS_USED = "sys.jvm.direct.used";
+    public static final String MAPPED_BUFFERS_USED = "sys.jvm.mapped.used";
+    public static final String IO_READ_RATE = "sys.io.read.bytes_per_sec";
+    public static final String IO_WRITE_RATE = "sys.io.write.bytes_per_sec";
+
+    private static final Path PROC_SELF_IO = Paths.get("/proc/self/io");
+
+    private final Path procIo;
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<BufferPoolMXBean> bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+
+    private long lastSampleNanos;
+    private long lastGcCount;
+    private long lastGcTimeMs;
+    private long lastAllocatedBytes;
+    private long lastIoRead;
+    private long lastIoWrite;
+
+    private Duration interval;
+    private Consumer<Map<String, Number>> sink;
+    private Logger logger;
+    private volatile Timeout timeout;
+    private volatile boolean stopped;
+
+    /**
+     * Creates new sampler reading the process I/O from {@code /proc/self/io}.
+     */
+    public SystemMetricsSampler() {
+        this(PROC_SELF_IO);
+    }
+
+    SystemMetricsSampler(@NonNull Path procIo) {
+        this.procIo = procIo;
+        this.updateCounters(System.nanoTime());
+    }
+
+    /**
+     * Starts sampling with given interval.
+     *
+     * @param interval the interval between samples.
+     * @param sink     the consumer of the samples invoked by the timer thread.
+     * @param logger   the logger to report failures.
+     * @return the started sampler which must be stopped with {@link #stop()}.
+     */
+    public static SystemMetricsSampler start(@NonNull Duration interval, @NonNull Consumer<Map<String, Number>> sink,
+                                             @NonNull Logger logger) {
+        SystemMetricsSampler sampler = new SystemMetricsSampler();
+        sampler.interval = interval;
+        sampler.sink = sink;
+        sampler.logger = logger;
+        sampler.scheduleNext();
+        return sampler;
+    }
+
+    /**
+     * Stops sampling.
+     */
+    public void stop() {
+        this.stopped = true;
+        Timeout current = this.timeout;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public void run(Timeout timeout) {
+        if (this.stopped) {
+            return;
+        }
+        try {
+            this.sink.accept(this.sample());
+        } catch (Throwable t) {
+            this.logger.warn("failed to sample system metrics", t);
+        }
+        this.scheduleNext();
+    }
+
+    /**
+     * Takes the sample of the system metrics. The counters are reported as the change since the previous sample.
+     *
+     * @return the map of metric names and values.
+     */
+    public synchronized Map<String, Number> sample() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        double seconds = Math.max(now - this.lastSampleNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        if (this.osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            com.sun.management.OperatingSystemMXBean os = (com.sun.management.OperatingSystemMXBean) this.osBean;
+            putIfAvailable(metrics, CPU_PROCESS_LOAD, os.getProcessCpuLoad());
+            putIfAvailable(metrics, CPU_SYSTEM_LOAD, readSystemCpuLoad(os));
+        }
+
+        MemoryUsage heap = this.memoryBean.getHeapMemoryUsage();
+        metrics.put(HEAP_USED, heap.getUsed());
+        metrics.put(HEAP_COMMITTED, heap.getCommitted());
+        metrics.put(NON_HEAP_USED, this.memoryBean.getNonHeapMemoryUsage().getUsed());
+        metrics.put(THREADS, this.threadBean.getThreadCount());
+
+        for (BufferPoolMXBean pool : this.bufferPools) {
+            if ("direct".equals(pool.getName())) {
+                metrics.put(DIRECT_BUFFERS_USED, pool.getMemoryUsed());
+            } else if ("mapped".equals(pool.getName())) {
+                metrics.put(MAPPED_BUFFERS_USED, pool.getMemoryUsed());
+            }
+        }
+
+        long gcCount = this.readGcCount();
+        long gcTimeMs = this.readGcTimeMs();
+        metrics.put(GC_COUNT, gcCount - this.lastGcCount);
+        metrics.put(GC_TIME_MS, gcTimeMs - this.lastGcTimeMs);
+
+        long allocated = this.readAllocatedBytes();
+        if (allocated >= 0) {
+            // the bytes allocated by the terminated threads are lost, thus the difference can be negative
+            metrics.put(ALLOCATION_RATE, Math.max(allocated - this.lastAllocatedBytes, 0) / seconds);
+        }
+
+        long[] io = this.readProcessIo();
+        if (io != null) {
+            metrics.put(IO_READ_RATE, Math.max(io[0] - this.lastIoRead, 0) / seconds);
+            metrics.put(IO_WRITE_RATE, Math.max(io[1] - this.lastIoWrite, 0) / seconds);
+        }
+
+        this.updateCounters(now);
+        return metrics;
+    }
+
+    private void scheduleNext() {
+        if (this.stopped) {
+            return;
+        }
+        try {
+            this.timeout = TimerHolder.TIMER.newTimeout(this, this.interval.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            this.logger.warn("failed to schedule sampling of the system metrics", e);
+        }
+    }
+
+    private void updateCounters(long now) {
+        this.lastSampleNanos = now;
+        this.lastGcCount = this.readGcCount();
+        this.lastGcTimeMs = this.readGcTimeMs();
+        this.lastAllocatedBytes = Math.max(this.readAllocatedBytes(), 0);
+        long[] io = this.readProcessIo();
+        if (io != null) {
+            this.lastIoRead = io[0];
+            this.lastIoWrite = io[1];
+        }
+    }
+
+    // getCpuLoad() replaced it in JDK 14, but is not available to the Java 8 target of this library
+    @SuppressWarnings("deprecation")
+    private static double readSystemCpuLoad(com.sun.management.OperatingSystemMXBean os) {
+        return os.getSystemCpuLoad();
+    }
+
+    private long readGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : this.gcBeans) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private long readGcTimeMs() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : this.gcBeans) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
+    /**
+     * Returns the total number of bytes allocated by the live threads or -1 if not supported.
+     */
+    private long readAllocatedBytes() {
+        if (!(this.threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) this.threadBean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(allocated, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of characters read and written by the process or {@code null} if not available.
+     */
+    private long[] readProcessIo() {
+        if (!Files.isReadable(this.procIo)) {
+            return null;
+        }
+        long[] io = new long[2];
+        try (BufferedReader reader = Files.newBufferedReader(this.procIo, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("rchar:")) {
+                    io[0] = Long.parseLong(line.substring(6).trim());
+                } else if (line.startsWith("wchar:")) {
+                    io[1] = Long.parseLong(line.substring(6).trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+        return io;
+    }
+
+    private static void putIfAvailable(Map<String, Number> metrics, String name, double value) {
+        // the negative value is returned if metric is not available
+        if (value >= 0) {
+            metrics.put(name, value);
+        }
+    }
+
+    private static final class TimerHolder {
+        static final HashedWheelTimer TIMER = new HashedWheelTimer(runnable -> {
+            Thread thread = new Thread(runnable, "comet-system-metrics-timer");
+            thread.setDaemon(true);
+            return thread;
+        }, 100, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,15 @@
+package ml.comet.experiment.model;
+
+import lombok.Value;
+
+/**
+ * The statistics of the requests sent by the SDK to one endpoint of the Comet server.
+ */
+@Value
+public class EndpointStats {
+    long requestCount;
+    long failedRequestCount;
+    long bytesSent;
+    long bytesReceived;
+    LatencyStats latency;
+}
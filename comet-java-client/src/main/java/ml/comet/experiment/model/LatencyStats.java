@@ -0,0 +1,17 @@
+package ml.comet.experiment.model;
+
+import lombok.Value;
+
+/**
+ * The distribution of the durations of the operations performed by the SDK, in milliseconds.
+ */
+@Value
+public class LatencyStats {
+    long count;
+    double meanMillis;
+    double p50Millis;
+    double p90Millis;
+    double p99Millis;
+    double p999Millis;
+    double maxMillis;
+}
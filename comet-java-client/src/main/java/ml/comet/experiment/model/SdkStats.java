@@ -0,0 +1,42 @@
+package ml.comet.experiment.model;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * The snapshot of the statistics of the SDK itself: the requests sent to the Comet server, the write records
+ * waiting to be sent, retries, drops and the time spent serializing the records. It allows detecting when the SDK
+ * becomes the bottleneck of the application.
+ */
+@Value
+public class SdkStats {
+    /**
+     * The statistics of the requests by the endpoint path.
+     */
+    Map<String, EndpointStats> endpoints;
+    long requestCount;
+    long failedRequestCount;
+    long bytesSent;
+    long bytesReceived;
+    /**
+     * The latency of all requests.
+     */
+    LatencyStats requestLatency;
+    /**
+     * The time spent serializing the write records to JSON.
+     */
+    LatencyStats serializationTime;
+    /**
+     * The number of write records waiting in the queue or being sent.
+     */
+    int queueDepth;
+    /**
+     * The number of retries of the failed requests.
+     */
+    long retriesCount;
+    /**
+     * The number of write records dropped due to the queue overflow.
+     */
+    long droppedCount;
+}
@@ -0,0 +1,61 @@
+package ml.comet.experiment.asset;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AssetSourceTest {
+    private static final byte[] CONTENT = "some asset content".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testFromStreamIsReadOnce() throws Exception {
+        AssetSource source = AssetSource.fromStream(new ByteArrayInputStream(CONTENT));
+        assertFalse(source.isRepeatable());
+        assertEquals(AssetSource.UNKNOWN_LENGTH, source.getContentLength());
+        try (InputStream in = source.openStream()) {
+            assertArrayEquals(CONTENT, IOUtils.toByteArray(in));
+        }
+        assertThrows(IllegalStateException.class, source::openStream);
+    }
+
+    @Test
+    public void testFromBufferKeepsBufferPosition() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CONTENT.length + 4);
+        buffer.putInt(42).put(CONTENT).flip().position(4);
+
+        AssetSource source = AssetSource.fromBuffer(buffer);
+        assertTrue(source.isRepeatable());
+        assertEquals(CONTENT.length, source.getContentLength());
+        for (int i = 0; i < 2; i++) {
+            try (InputStream in = source.openStream()) {
+                assertArrayEquals(CONTENT, IOUtils.toByteArray(in));
+            }
+        }
+        assertEquals(4, buffer.position());
+        assertEquals(CONTENT.length + 4, buffer.limit());
+    }
+
+    @Test
+    public void testFromChannelOpensNewChannelForEachRead() throws Exception {
+        AssetSource source = AssetSource.fromChannel(
+                () -> Channels.newChannel(new ByteArrayInputStream(CONTENT)), CONTENT.length);
+        assertTrue(source.isRepeatable());
+        assertEquals(CONTENT.length, source.getContentLength());
+        for (int i = 0; i < 2; i++) {
+            try (InputStream in = source.openStream()) {
+                assertArrayEquals(CONTENT, IOUtils.toByteArray(in));
+            }
+        }
+    }
+}
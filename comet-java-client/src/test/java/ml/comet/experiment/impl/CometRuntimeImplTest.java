@@ -0,0 +1,125 @@
+package ml.comet.experiment.impl;
+
+import ml.comet.experiment.CometRuntime;
+import ml.comet.experiment.impl.batch.LogRecordsBatcher;
+import ml.comet.experiment.impl.http.Connection;
+import ml.comet.experiment.impl.http.ConnectionInitializer;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static ml.comet.experiment.impl.TestUtils.awaitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CometRuntimeImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(CometRuntimeImplTest.class);
+
+    @Test
+    public void testConnectionsShareHttpClient() throws IOException {
+        CometRuntimeImpl runtime = CometRuntimeImpl.create();
+        Connection first = this.newConnection(runtime.retain());
+        Connection second = this.newConnection(runtime.retain());
+        assertSame(first.getAsyncHttpClient(), second.getAsyncHttpClient());
+        assertEquals(3, runtime.getReferenceCount());
+
+        // closing of the connection must not close the shared client
+        first.close();
+        assertTrue(first.isClosed());
+        runtime.release();
+        assertFalse(second.isClosed());
+        assertFalse(runtime.getHttpClient().isClosed());
+
+        // the owner closed the runtime while it is still used
+        runtime.close();
+        runtime.close();
+        assertEquals(1, runtime.getReferenceCount());
+        assertFalse(runtime.isReleased());
+
+        second.close();
+        runtime.release();
+        assertTrue(runtime.isReleased());
+        assertTrue(runtime.getHttpClient().isClosed());
+    }
+
+    @Test
+    public void testConnectionsShareTrafficControlPerHost() throws IOException {
+        try (CometRuntimeImpl runtime = CometRuntimeImpl.create();
+             Connection first = this.newConnection(runtime, "http://localhost");
+             Connection second = this.newConnection(runtime, "http://localhost");
+             Connection other = this.newConnection(runtime, "http://127.0.0.1")) {
+            assertSame(first.getConcurrencyLimiter(), second.getConcurrencyLimiter());
+            assertNotSame(first.getConcurrencyLimiter(), other.getConcurrencyLimiter());
+            assertSame(first.getCircuitBreaker(), second.getCircuitBreaker());
+            assertNotSame(first.getCircuitBreaker(), other.getCircuitBreaker());
+        }
+
+        // connections without runtime are throttled separately
+        try (Connection first = new Connection("http://localhost", "api-key", 1, logger);
+             Connection second = new Connection("http://localhost", "api-key", 1, logger)) {
+            assertNotSame(first.getConcurrencyLimiter(), second.getConcurrencyLimiter());
+            assertNotSame(first.getCircuitBreaker(), second.getCircuitBreaker());
+        }
+    }
+
+    @Test
+    public void testMetricBatchesLingerOnSharedScheduler() {
+        CometRuntimeImpl runtime = CometRuntimeImpl.create();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        LogRecordsBatcher<Integer> batcher = new LogRecordsBatcher<>(10, Duration.ofMillis(20),
+                runtime.getLingerScheduler(), (batch, onComplete) -> threads.add(Thread.currentThread().getName()));
+        batcher.add(1, Optional.empty());
+        awaitForCondition(() -> !threads.isEmpty(), "batch not sent when linger time elapsed");
+        assertEquals("comet-metrics-linger", threads.get(0));
+        batcher.close();
+
+        runtime.close();
+        assertTrue(runtime.isReleased());
+    }
+
+    @Test
+    public void testRetainAfterRelease() {
+        CometRuntimeImpl runtime = CometRuntimeImpl.create();
+        runtime.close();
+        assertTrue(runtime.isReleased());
+        assertThrows(IllegalStateException.class, runtime::retain);
+    }
+
+    @Test
+    public void testForeignRuntimeRejected() {
+        CometRuntime foreign = new CometRuntime() {
+            @Override
+            public int getReferenceCount() {
+                return 1;
+            }
+
+            @Override
+            public boolean isReleased() {
+                return false;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> OnlineExperimentImpl.builder().withRuntime(foreign));
+    }
+
+    private Connection newConnection(CometRuntimeImpl runtime) {
+        return this.newConnection(runtime, "http://localhost");
+    }
+
+    private Connection newConnection(CometRuntimeImpl runtime, String baseUrl) {
+        return ConnectionInitializer.initConnection("api-key", baseUrl, 1, runtime, logger);
+    }
+}
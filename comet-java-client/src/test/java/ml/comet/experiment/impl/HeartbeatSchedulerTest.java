@@ -0,0 +1,71 @@
+package ml.comet.experiment.impl;
+
+import io.reactivex.rxjava3.core.Single;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ml.comet.experiment.impl.TestUtils.awaitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HeartbeatSchedulerTest {
+    private static final Logger logger = LoggerFactory.getLogger(HeartbeatSchedulerTest.class);
+    private static final Duration INTERVAL = Duration.ofMillis(200);
+
+    @Test
+    public void testHeartbeatsSentWithServerInterval() throws InterruptedException {
+        try (HeartbeatScheduler scheduler = new HeartbeatScheduler()) {
+            AtomicInteger sent = new AtomicInteger();
+            HeartbeatScheduler.Heartbeat heartbeat = scheduler.schedule(() -> {
+                sent.incrementAndGet();
+                return Single.just(INTERVAL);
+            }, () -> HeartbeatScheduler.NO_WRITES, Duration.ofMinutes(1), Duration.ZERO, logger);
+
+            awaitForCondition(() -> sent.get() >= 3, "heartbeats not sent with the interval requested by server");
+            heartbeat.cancel();
+            int sentBeforeCancel = sent.get();
+            Thread.sleep(INTERVAL.toMillis() * 3);
+            assertTrue(sent.get() <= sentBeforeCancel + 1, "heartbeats must stop after cancel");
+            assertEquals(0, scheduler.getSkippedCount());
+        }
+    }
+
+    @Test
+    public void testHeartbeatsSkippedWhileWriting() throws InterruptedException {
+        try (HeartbeatScheduler scheduler = new HeartbeatScheduler()) {
+            AtomicInteger sent = new AtomicInteger();
+            // the experiment writes constantly
+            HeartbeatScheduler.Heartbeat heartbeat = scheduler.schedule(() -> {
+                sent.incrementAndGet();
+                return Single.just(INTERVAL);
+            }, System::nanoTime, INTERVAL, Duration.ZERO, logger);
+
+            awaitForCondition(() -> scheduler.getSkippedCount() >= 3, "heartbeats not skipped");
+            heartbeat.cancel();
+            assertEquals(0, sent.get(), "no heartbeat must be sent while experiment writes");
+            assertEquals(0, scheduler.getSentCount());
+        }
+    }
+
+    @Test
+    public void testSlowHeartbeatNotBlockingOthers() {
+        try (HeartbeatScheduler scheduler = new HeartbeatScheduler()) {
+            // the server never responds to the first experiment
+            HeartbeatScheduler.Heartbeat stalled = scheduler.schedule(Single::never,
+                    () -> HeartbeatScheduler.NO_WRITES, INTERVAL, Duration.ZERO, logger);
+            AtomicInteger sent = new AtomicInteger();
+            HeartbeatScheduler.Heartbeat heartbeat = scheduler.schedule(() -> {
+                sent.incrementAndGet();
+                return Single.just(INTERVAL);
+            }, () -> HeartbeatScheduler.NO_WRITES, INTERVAL, Duration.ZERO, logger);
+
+            awaitForCondition(() -> sent.get() >= 3, "heartbeats blocked by the stalled request");
+            stalled.cancel();
+            heartbeat.cancel();
+        }
+    }
+}
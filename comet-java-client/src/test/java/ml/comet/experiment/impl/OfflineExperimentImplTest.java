@@ -0,0 +1,126 @@
+package ml.comet.experiment.impl;
+
+import ml.comet.experiment.ExperimentBuilder;
+import ml.comet.experiment.OfflineExperiment;
+import ml.comet.experiment.artifact.Artifact;
+import ml.comet.experiment.impl.journal.JournalArtifactRecord;
+import ml.comet.experiment.impl.journal.JournalAssetRecord;
+import ml.comet.experiment.impl.journal.JournalMetadata;
+import ml.comet.experiment.impl.journal.JournalReader;
+import ml.comet.experiment.impl.queue.LogRecord;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_METRIC;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_METRICS_BATCH;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_OUTPUT;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_PARAMETER;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_TAG;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.SET_SYSTEM_DETAILS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.UPSERT_ARTIFACT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The unit tests of the {@link OfflineExperiment} implementation
+ */
+@DisplayName("OfflineExperimentImplTest UNIT")
+@Tag("unit")
+public class OfflineExperimentImplTest {
+    private static final Logger logger = LoggerFactory.getLogger(OfflineExperimentImplTest.class);
+
+    @TempDir
+    Path offlineDir;
+
+    @Test
+    public void testLogIntoJournal() throws Exception {
+        File journalDir;
+        try (OfflineExperiment experiment = ExperimentBuilder.OfflineExperiment()
+                .withOfflineDirectory(this.offlineDir.toFile())
+                .withProjectName("offline-project")
+                .withExperimentName("offline-experiment")
+                .build()) {
+            journalDir = experiment.getJournalDirectory();
+            assertEquals(this.offlineDir.resolve(experiment.getExperimentKey()).toFile(), journalDir);
+
+            experiment.logParameter("learning_rate", 0.01);
+            experiment.logMetric("loss", 0.5, 1);
+            experiment.logMetric("accuracy", 0.9);
+            experiment.addTag("offline");
+            experiment.logLine("some output", 0, false);
+            experiment.logText("some text");
+            experiment.logRemoteAsset(new URI("s3://bucket/data.csv"), "data.csv", false);
+
+            Artifact artifact = Artifact.newArtifact("offline-artifact", "dataset").build();
+            artifact.addAsset("artifact data".getBytes(StandardCharsets.UTF_8), "artifact.txt");
+            artifact.addRemoteAsset(new URI("s3://bucket/artifact.csv"), "artifact.csv");
+            assertEquals("offline-artifact", experiment.logArtifact(artifact).get().getName());
+
+            assertThrows(UnsupportedOperationException.class, experiment::getMetrics);
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        try (JournalReader reader = new JournalReader(journalDir.toPath(), logger)) {
+            reader.forEachRemaining(records::add);
+        }
+        List<String> endpoints = records.stream().map(LogRecord::getEndpoint).collect(Collectors.toList());
+        assertTrue(endpoints.contains(SET_SYSTEM_DETAILS), "system details not journaled");
+        assertTrue(endpoints.contains(ADD_PARAMETER), "parameter not journaled");
+        assertTrue(endpoints.contains(ADD_METRIC) || endpoints.contains(ADD_METRICS_BATCH), "metrics not journaled");
+        assertTrue(endpoints.contains(ADD_TAG), "tag not journaled");
+        assertTrue(endpoints.contains(ADD_OUTPUT), "output line not journaled");
+
+        List<JournalAssetRecord> assets = records.stream()
+                .filter(record -> ADD_ASSET.equals(record.getEndpoint()))
+                .map(record -> JsonUtils.fromJson(record.getPayload(), JournalAssetRecord.class))
+                .collect(Collectors.toList());
+        assertEquals(2, assets.size(), "wrong number of journaled assets");
+        for (JournalAssetRecord asset : assets) {
+            if (asset.getUri() != null) {
+                assertEquals("s3://bucket/data.csv", asset.getUri());
+            } else {
+                assertNotNull(asset.getFilePath());
+                assertTrue(Files.isRegularFile(new File(asset.getFilePath()).toPath()),
+                        "content of the data asset must be written into the journal directory");
+            }
+        }
+
+        List<JournalArtifactRecord> artifacts = records.stream()
+                .filter(record -> UPSERT_ARTIFACT.equals(record.getEndpoint()))
+                .map(record -> JsonUtils.fromJson(record.getPayload(), JournalArtifactRecord.class))
+                .collect(Collectors.toList());
+        assertEquals(1, artifacts.size(), "artifact not journaled");
+        assertEquals("offline-artifact", artifacts.get(0).getRequest().getArtifactName());
+        assertEquals(2, artifacts.get(0).getAssets().size(), "wrong number of journaled artifact assets");
+        for (JournalAssetRecord asset : artifacts.get(0).getAssets()) {
+            if (asset.getUri() == null) {
+                assertTrue(Files.isRegularFile(new File(asset.getFilePath()).toPath()),
+                        "content of the artifact data asset must be written into the journal directory");
+            }
+        }
+
+        JournalMetadata metadata = JournalMetadata.read(journalDir.toPath());
+        assertEquals("offline-project", metadata.getProjectName());
+        assertEquals("offline-experiment", metadata.getExperimentName());
+        assertNotNull(metadata.getEndTimeMillis(), "end time must be written on experiment end");
+        assertFalse(records.isEmpty());
+    }
+}
@@ -28,12 +28,11 @@ public class OnlineExperimentImplTest {
     public void testExecuteLogAction() {
         try (OnlineExperimentImpl experiment = (OnlineExperimentImpl) createOnlineExperiment()) {
             AtomicBoolean stopAction = new AtomicBoolean(false);
-            Action testAction = createAsyncNoopAction(stopAction, experiment.getLogAssetOnCompleteAction());
-
             assertEquals(0, experiment.getAssetsInProgress().get(), "must be zero");
 
             // execute action for assets and check that assets counter was incremented
-            experiment.executeLogAction(testAction, experiment.getAssetsInProgress(), "failed");
+            experiment.executeLogAction(onComplete -> createAsyncNoopAction(stopAction, onComplete).run(),
+                    experiment.getAssetsInProgress(), "failed");
             assertEquals(1, experiment.getAssetsInProgress().get(), "wrong number of assets in progress");
 
             // stop asynchronous action and check that assets counter was decremented
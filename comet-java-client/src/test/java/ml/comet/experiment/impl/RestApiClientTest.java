@@ -0,0 +1,163 @@
+package ml.comet.experiment.impl;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.reactivex.rxjava3.observers.TestObserver;
+import lombok.NonNull;
+import ml.comet.experiment.exception.CometApiException;
+import ml.comet.experiment.impl.constants.SdkErrorCodes;
+import ml.comet.experiment.impl.http.Connection;
+import ml.comet.experiment.impl.queue.LogRecord;
+import ml.comet.experiment.impl.rest.CometWebJavaSdkException;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.badRequest;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_JSON;
+import static ml.comet.experiment.impl.TestUtils.awaitForCondition;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@WireMockTest
+public class RestApiClientTest {
+    private static final Logger logger = LoggerFactory.getLogger(RestApiClientTest.class);
+    private static final String SOME_ENDPOINT = "/someEndpoint";
+    private static final String SOME_PAYLOAD = "{\"someKey\":\"someValue\"}";
+    private static final String SOME_MESSAGE = "some message";
+    private static final int SLOW_RESPONSE_DELAY_MS = 5000;
+
+    @Test
+    public void testSendLogRecord(@NonNull WireMockRuntimeInfo wmRuntimeInfo) throws IOException {
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT))
+                .withRequestBody(equalTo(SOME_PAYLOAD))
+                .willReturn(ok(JsonUtils.toJson(new RestApiResponse(200, SOME_MESSAGE)))
+                        .withHeader(CONTENT_TYPE.toString(), APPLICATION_JSON.toString())));
+
+        try (Connection connection = newConnection(wmRuntimeInfo)) {
+            RestApiClient client = new RestApiClient(connection);
+            TestObserver<RestApiResponse> observer = client.sendLogRecord(someRecord()).test();
+            observer.awaitDone(10, TimeUnit.SECONDS);
+            observer.assertNoErrors();
+            observer.assertValue(response -> response.getCode() == 200 && SOME_MESSAGE.equals(response.getMsg()));
+        }
+        verify(postRequestedFor(urlPathEqualTo(SOME_ENDPOINT)));
+    }
+
+    @Test
+    public void testSendLogRecordFailed(@NonNull WireMockRuntimeInfo wmRuntimeInfo) throws IOException {
+        CometWebJavaSdkException sdkException = new CometWebJavaSdkException(
+                400, SOME_MESSAGE, SdkErrorCodes.noArtifactFound);
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT))
+                .willReturn(badRequest()
+                        .withHeader(CONTENT_TYPE.toString(), APPLICATION_JSON.toString())
+                        .withBody(JsonUtils.toJson(sdkException))));
+
+        try (Connection connection = newConnection(wmRuntimeInfo)) {
+            RestApiClient client = new RestApiClient(connection);
+            TestObserver<RestApiResponse> observer = client.sendLogRecord(someRecord()).test();
+            observer.awaitDone(10, TimeUnit.SECONDS);
+            observer.assertNoValues();
+            observer.assertError(throwable -> {
+                if (!(throwable instanceof CometApiException)) {
+                    return false;
+                }
+                CometApiException apiException = (CometApiException) throwable;
+                return apiException.getStatusCode() == 400
+                        && apiException.getSdkErrorCode() == SdkErrorCodes.noArtifactFound;
+            });
+        }
+    }
+
+    @Test
+    public void testDisposeCancelsPendingRequest(@NonNull WireMockRuntimeInfo wmRuntimeInfo) throws IOException {
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT))
+                .willReturn(aResponse().withStatus(200).withFixedDelay(SLOW_RESPONSE_DELAY_MS)));
+
+        try (Connection connection = newConnection(wmRuntimeInfo)) {
+            RestApiClient client = new RestApiClient(connection);
+            TestObserver<RestApiResponse> observer = client.sendLogRecord(someRecord()).test();
+            awaitForCondition(() -> connection.getConcurrencyLimiter().getInFlight() == 1, "request not sent");
+
+            observer.dispose();
+
+            // the request is cancelled long before the response is delivered
+            awaitForCondition(() -> connection.getConcurrencyLimiter().getInFlight() == 0, "request not cancelled",
+                    TimeUnit.MILLISECONDS.toSeconds(SLOW_RESPONSE_DELAY_MS) - 1);
+            awaitForCondition(() -> connection.getRequestsInventory().get() == 0, "request not released");
+            observer.assertEmpty();
+        }
+    }
+
+    @Test
+    public void testNoThreadBlockedWhileRequestInFlight(@NonNull WireMockRuntimeInfo wmRuntimeInfo)
+            throws IOException {
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT))
+                .willReturn(ok(JsonUtils.toJson(new RestApiResponse(200)))
+                        .withHeader(CONTENT_TYPE.toString(), APPLICATION_JSON.toString())
+                        .withFixedDelay(SLOW_RESPONSE_DELAY_MS)));
+
+        try (Connection connection = newConnection(wmRuntimeInfo)) {
+            RestApiClient client = new RestApiClient(connection);
+            AtomicReference<String> completionThread = new AtomicReference<>();
+            TestObserver<RestApiResponse> observer = client.sendLogRecord(someRecord())
+                    .doOnSuccess(response -> completionThread.set(Thread.currentThread().getName()))
+                    .test();
+            // the subscription returns before response received
+            assertFalse(observer.isDisposed());
+            observer.assertEmpty();
+            awaitForCondition(() -> connection.getConcurrencyLimiter().getInFlight() == 1, "request not sent");
+
+            // no thread waits for the response of the request in flight
+            for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+                for (StackTraceElement frame : entry.getValue()) {
+                    assertFalse(isWaitingForResponse(frame), String.format(
+                            "thread %s is blocked at %s", entry.getKey().getName(), frame));
+                }
+            }
+
+            observer.awaitDone(SLOW_RESPONSE_DELAY_MS * 2, TimeUnit.MILLISECONDS);
+            observer.assertNoErrors();
+            observer.assertValueCount(1);
+            // the response is delivered on the I/O scheduler instead of the HTTP client thread
+            assertNotNull(completionThread.get());
+            assertTrue(completionThread.get().startsWith("RxCachedThreadScheduler"), completionThread.get());
+        }
+    }
+
+    private static boolean isWaitingForResponse(StackTraceElement frame) {
+        String className = frame.getClassName();
+        if (className.equals(RestApiClient.class.getName())
+                || className.startsWith(RestApiClient.class.getName() + "$")) {
+            return true;
+        }
+        return "get".equals(frame.getMethodName())
+                && (className.startsWith("org.asynchttpclient") || className.startsWith(Connection.class.getName()));
+    }
+
+    private static Connection newConnection(WireMockRuntimeInfo wmRuntimeInfo) {
+        return new Connection(wmRuntimeInfo.getHttpBaseUrl(), "someApiKey", 1, logger);
+    }
+
+    private static LogRecord someRecord() {
+        return new LogRecord(SOME_ENDPOINT, SOME_PAYLOAD, Optional.empty());
+    }
+}
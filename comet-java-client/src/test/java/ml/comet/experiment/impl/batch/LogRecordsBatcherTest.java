@@ -0,0 +1,110 @@
+package ml.comet.experiment.impl.batch;
+
+import io.reactivex.rxjava3.functions.Action;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Optional.empty;
+import static ml.comet.experiment.impl.TestUtils.awaitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogRecordsBatcherTest {
+
+    private final List<List<Integer>> sentBatches = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testSendWhenBatchIsFull() {
+        LogRecordsBatcher<Integer> batcher = new LogRecordsBatcher<>(3, Duration.ZERO, this::send);
+        for (int i = 0; i < 7; i++) {
+            batcher.add(i, empty());
+        }
+        assertEquals(2, sentBatches.size(), "wrong number of batches sent");
+        assertEquals(Arrays.asList(0, 1, 2), sentBatches.get(0));
+        assertEquals(Arrays.asList(3, 4, 5), sentBatches.get(1));
+        assertEquals(1, batcher.size(), "wrong number of pending records");
+
+        batcher.close();
+        assertEquals(3, sentBatches.size(), "pending records not sent on close");
+        assertEquals(Collections.singletonList(6), sentBatches.get(2));
+    }
+
+    @Test
+    public void testSendWhenLingerTimeElapsed() {
+        LogRecordsBatcher<Integer> batcher = new LogRecordsBatcher<>(100, Duration.ofMillis(100), this::send);
+        batcher.add(1, empty());
+        batcher.add(2, empty());
+
+        awaitForCondition(() -> sentBatches.size() == 1, "batch not sent after linger time");
+        assertEquals(Arrays.asList(1, 2), sentBatches.get(0));
+        assertEquals(0, batcher.size(), "no pending records expected");
+        batcher.close();
+    }
+
+    @Test
+    public void testGroupIsNotSplit() {
+        LogRecordsBatcher<Integer> batcher = new LogRecordsBatcher<>(4, Duration.ZERO, this::send);
+        batcher.add(0, empty());
+        batcher.add(1, empty());
+        batcher.addAll(Arrays.asList(2, 3, 4), empty());
+
+        // the group doesn't fit into the current batch - current batch must be sent first
+        assertEquals(1, sentBatches.size(), "wrong number of batches sent");
+        assertEquals(Arrays.asList(0, 1), sentBatches.get(0));
+
+        // the group bigger than batch size must be sent in its own batch
+        List<Integer> bigGroup = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            bigGroup.add(10 + i);
+        }
+        batcher.addAll(bigGroup, empty());
+        assertEquals(3, sentBatches.size(), "wrong number of batches sent");
+        assertEquals(Arrays.asList(2, 3, 4), sentBatches.get(1));
+        assertEquals(bigGroup, sentBatches.get(2));
+        batcher.close();
+    }
+
+    @Test
+    public void testOnCompleteActionsInvoked() throws Throwable {
+        List<Optional<Action>> actions = new ArrayList<>();
+        LogRecordsBatcher<Integer> batcher = new LogRecordsBatcher<>(10, Duration.ZERO,
+                (batch, onComplete) -> actions.add(onComplete));
+        AtomicInteger completed = new AtomicInteger();
+        batcher.add(1, Optional.of(completed::incrementAndGet));
+        batcher.add(2, empty());
+        batcher.add(3, Optional.of(completed::incrementAndGet));
+        batcher.flush();
+
+        assertEquals(1, actions.size(), "wrong number of batches sent");
+        assertTrue(actions.get(0).isPresent(), "batch completion action expected");
+        actions.get(0).get().run();
+        assertEquals(2, completed.get(), "not all record completion actions invoked");
+        batcher.close();
+    }
+
+    @Test
+    public void testAddAfterClose() {
+        LogRecordsBatcher<Integer> batcher = new LogRecordsBatcher<>(10, Duration.ZERO, this::send);
+        batcher.close();
+        assertThrows(IllegalStateException.class, () -> batcher.add(1, empty()));
+    }
+
+    @Test
+    public void testIllegalBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LogRecordsBatcher<>(0, Duration.ZERO, this::send));
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private void send(List<Integer> batch, Optional<Action> onComplete) {
+        sentBatches.add(batch);
+    }
+}
@@ -0,0 +1,146 @@
+package ml.comet.experiment.impl.batch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ml.comet.experiment.impl.rest.MetricRest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static ml.comet.experiment.impl.TestUtils.awaitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveMetricsBufferTest {
+
+    private final List<String> sentBatches = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testSendWhenBufferIsFull() throws Exception {
+        PrimitiveMetricsBuffer buffer = new PrimitiveMetricsBuffer(2, Duration.ZERO, this::send);
+        buffer.add("loss", 0.5d, 10L, 1L, "train");
+        buffer.add("count", 42L, 10L, 1L, "train");
+        buffer.add("acc", 0.25f, null, null, null);
+
+        assertEquals(1, sentBatches.size(), "wrong number of batches sent");
+        assertEquals(1, buffer.size(), "wrong number of pending records");
+
+        List<MetricRest> metrics = parse(sentBatches.get(0));
+        assertEquals(2, metrics.size());
+        assertEquals("loss", metrics.get(0).getMetricName());
+        assertEquals("0.5", metrics.get(0).getMetricValue());
+        assertEquals(10L, metrics.get(0).getStep());
+        assertEquals(1L, metrics.get(0).getEpoch());
+        assertEquals("train", metrics.get(0).getContext());
+        assertEquals("42", metrics.get(1).getMetricValue());
+
+        buffer.close();
+        assertEquals(2, sentBatches.size(), "pending records not sent on close");
+        metrics = parse(sentBatches.get(1));
+        assertEquals("0.25", metrics.get(0).getMetricValue());
+        assertNull(metrics.get(0).getStep());
+        assertNull(metrics.get(0).getContext());
+    }
+
+    @Test
+    public void testSendWhenLingerTimeElapsed() {
+        PrimitiveMetricsBuffer buffer = new PrimitiveMetricsBuffer(100, Duration.ofMillis(100), this::send);
+        buffer.add("loss", 1.0d, 1L, 0L, null);
+
+        awaitForCondition(() -> sentBatches.size() == 1, "batch not sent after linger time");
+        assertEquals(0, buffer.size(), "no pending records expected");
+        buffer.close();
+    }
+
+    @Test
+    public void testEscapeMetricNames() throws Exception {
+        PrimitiveMetricsBuffer buffer = new PrimitiveMetricsBuffer(10, Duration.ZERO, this::send);
+        String name = "quoted \"name\"\\with\ttab";
+        buffer.add(name, 1L, null, null, "ctx\n");
+        buffer.flush();
+
+        List<MetricRest> metrics = parse(sentBatches.get(0));
+        assertEquals(name, metrics.get(0).getMetricName());
+        assertEquals("ctx\n", metrics.get(0).getContext());
+        buffer.close();
+    }
+
+    @Test
+    public void testAddWhileBatchIsSent() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        PrimitiveMetricsBuffer buffer = new PrimitiveMetricsBuffer(2, Duration.ZERO, batch -> {
+            if (first.compareAndSet(true, false)) {
+                sending.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            this.send(batch);
+        });
+        Thread producer = new Thread(() -> {
+            buffer.add("loss", 1.0d, 1L, null, null);
+            buffer.add("loss", 0.5d, 2L, null, null);
+        });
+        producer.start();
+        assertTrue(sending.await(5, TimeUnit.SECONDS), "batch is not being sent");
+
+        // the buffer is not locked while the full batch is sent
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> buffer.add("acc", 0.25f, null, null, null));
+        assertEquals(1, buffer.size(), "wrong number of pending records");
+
+        release.countDown();
+        producer.join();
+        buffer.close();
+        assertEquals(2, sentBatches.size(), "wrong number of batches sent");
+        assertEquals(2, parse(sentBatches.get(0)).size());
+        assertEquals("acc", parse(sentBatches.get(1)).get(0).getMetricName());
+    }
+
+    @Test
+    public void testWrapIntoPayload() throws Exception {
+        PrimitiveMetricsBuffer buffer = new PrimitiveMetricsBuffer(10, Duration.ZERO,
+                sb -> sb.append("{\"experimentKey\":\"key\",\"metrics\":"), "}", this::send);
+        buffer.add("loss", 0.5d, 1L, null, null);
+        buffer.flush();
+        buffer.add("acc", 0.25f, 2L, null, null);
+        buffer.close();
+
+        assertEquals(2, sentBatches.size(), "wrong number of batches sent");
+        for (String payload : sentBatches) {
+            JsonNode node = new ObjectMapper().readTree(payload);
+            assertEquals("key", node.get("experimentKey").asText());
+            assertEquals(1, node.get("metrics").size());
+        }
+        assertEquals("acc", new ObjectMapper().readTree(sentBatches.get(1))
+                .get("metrics").get(0).get("metricName").asText());
+    }
+
+    @Test
+    public void testAddAfterClose() {
+        PrimitiveMetricsBuffer buffer = new PrimitiveMetricsBuffer(10, Duration.ZERO, this::send);
+        buffer.close();
+        assertThrows(IllegalStateException.class, () -> buffer.add("loss", 1.0d, null, null, null));
+    }
+
+    private void send(CharSequence batch) {
+        sentBatches.add(batch.toString());
+    }
+
+    private static List<MetricRest> parse(String json) throws Exception {
+        return new ObjectMapper().readValue(json, new TypeReference<List<MetricRest>>() {
+        });
+    }
+}
@@ -80,6 +80,9 @@ public class CometConfigTest {
         Duration timeout = CometConfig.COMET_TIMEOUT_CLEANING_SECONDS.getDuration();
         assertNotNull(timeout);
         assertEquals(timeout.getSeconds(), 3600);
+
+        // chunked upload requires the server support, thus it is opt-in
+        assertEquals(0, CometConfig.COMET_UPLOAD_CHUNK_THRESHOLD.getInt());
     }
 
     @Test
@@ -107,6 +110,15 @@ public class CometConfigTest {
         assertEquals(timeout.getSeconds(), 60);
     }
 
+    @Test
+    public void testApplyPartialConfigOverride() {
+        // testing that values missing from the override file are taken from the default configuration
+        int maxAuthRetries = CometConfig.COMET_MAX_AUTH_RETRIES.getInt();
+        CometConfig.applyConfigOverride(Objects.requireNonNull(TestUtils.getFile("partial-comet-config.conf")));
+        assertEquals("partial", CometConfig.COMET_API_KEY.getString());
+        assertEquals(maxAuthRetries, CometConfig.COMET_MAX_AUTH_RETRIES.getInt());
+    }
+
     @Test
     public void testClearOverrideConfig() {
         // testing that default value restore after override cleared
@@ -138,5 +150,28 @@ public class CometConfigTest {
         assertEquals("https://www.comet.ml", CometConfig.COMET_BASE_URL.getString());
         assertEquals(5, CometConfig.COMET_MAX_AUTH_RETRIES.getInt());
         assertEquals(60, CometConfig.COMET_TIMEOUT_CLEANING_SECONDS.getInt());
+        assertEquals(50, CometConfig.COMET_METRICS_BATCH_SIZE.getInt());
+        assertEquals(500, CometConfig.COMET_METRICS_BATCH_LINGER_MS.getInt());
+        assertEquals(1000, CometConfig.COMET_LOG_RECORDS_QUEUE_CAPACITY.getInt());
+        assertEquals("DROP_OLDEST", CometConfig.COMET_LOG_RECORDS_OVERFLOW_POLICY.getString());
+        assertEquals(8, CometConfig.COMET_LOG_RECORDS_MAX_IN_FLIGHT.getInt());
+        assertEquals("/tmp/comet-offline", CometConfig.COMET_OFFLINE_DIRECTORY.getString());
+        assertEquals(1048576, CometConfig.COMET_OFFLINE_SEGMENT_SIZE.getInt());
+        assertEquals(16, CometConfig.COMET_OFFLINE_UPLOAD_PARALLELISM.getInt());
+        assertEquals(100, CometConfig.COMET_RETRY_BASE_DELAY_MS.getInt());
+        assertEquals(10000, CometConfig.COMET_RETRY_MAX_DELAY_MS.getInt());
+        assertEquals(Duration.ofSeconds(120), CometConfig.COMET_RETRY_DEADLINE_SECONDS.getDuration());
+        assertEquals("/tmp/comet-wal", CometConfig.COMET_WAL_DIRECTORY.getString());
+        assertEquals(20, CometConfig.COMET_WAL_COMMIT_INTERVAL_MS.getInt());
+        assertEquals(5000, CometConfig.COMET_SYSTEM_METRICS_INTERVAL_MS.getInt());
+        assertEquals(1048576, CometConfig.COMET_UPLOAD_CHUNK_THRESHOLD.getInt());
+        assertEquals(65536, CometConfig.COMET_UPLOAD_CHUNK_SIZE.getInt());
+        assertEquals(2, CometConfig.COMET_UPLOAD_CHUNK_PARALLELISM.getInt());
+        assertEquals("/tmp/comet-uploads", CometConfig.COMET_UPLOAD_MANIFEST_DIRECTORY.getString());
+        assertEquals(4, CometConfig.COMET_UPLOAD_DEDUPE_PARALLELISM.getInt());
+        assertEquals(8, CometConfig.COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT.getInt());
+        assertEquals(67108864, CometConfig.COMET_UPLOAD_FOLDER_MAX_IN_FLIGHT_BYTES.getInt());
+        assertEquals(10240, CometConfig.COMET_UPLOAD_PACK_THRESHOLD.getInt());
+        assertEquals(1048576, CometConfig.COMET_UPLOAD_PACK_SIZE.getInt());
     }
 }
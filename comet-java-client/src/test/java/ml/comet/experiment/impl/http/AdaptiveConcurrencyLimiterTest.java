@@ -0,0 +1,125 @@
+package ml.comet.experiment.impl.http;
+
+import ml.comet.experiment.exception.CometApiException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void testTasksAboveLimitQueued() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, 2.0, 100);
+        List<Integer> started = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int task = i;
+            limiter.execute(() -> started.add(task));
+        }
+        assertEquals(2, started.size(), "only limited number of tasks must be started");
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(3, limiter.getPendingCount());
+
+        // complete requests one by one - queued tasks must start in submission order
+        while (limiter.getInFlight() > 0) {
+            limiter.release(System.nanoTime(), LATENCY, false);
+        }
+        assertEquals(5, started.size(), "all tasks must be started");
+        for (int i = 0; i < started.size(); i++) {
+            assertEquals(i, started.get(i), "wrong order of tasks");
+        }
+        assertEquals(0, limiter.getPendingCount());
+    }
+
+    @Test
+    public void testAdditiveIncrease() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5, 2.0, 100);
+        // keep limiter saturated and complete a bit more than the limit of requests successfully
+        for (int i = 0; i < 4; i++) {
+            limiter.execute(() -> {
+            });
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.release(System.nanoTime(), LATENCY, false);
+            limiter.execute(() -> {
+            });
+        }
+        assertEquals(5, limiter.getLimit(), "limit must grow by one");
+    }
+
+    @Test
+    public void testMultiplicativeDecreaseOnOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 0.5, 2.0, 100);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            limiter.execute(() -> {
+            });
+        }
+        // all requests of the same round trip failed - limit must be decreased only once
+        for (int i = 0; i < 8; i++) {
+            limiter.release(startNanos, LATENCY, true);
+        }
+        assertEquals(4, limiter.getLimit());
+
+        // requests started after decrease are able to decrease limit again
+        limiter.execute(() -> {
+        });
+        limiter.release(System.nanoTime(), LATENCY, true);
+        assertEquals(2, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            limiter.execute(() -> {
+            });
+            limiter.release(System.nanoTime(), LATENCY, true);
+        }
+        assertEquals(1, limiter.getLimit(), "limit must not go below minimum");
+    }
+
+    @Test
+    public void testDecreaseOnRisingLatency() {
+        int windowSize = 10;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 0.5, 2.0, windowSize);
+        // the first window sets the baseline
+        for (int i = 0; i < windowSize; i++) {
+            limiter.execute(() -> {
+            });
+            limiter.release(System.nanoTime(), LATENCY, false);
+        }
+        assertEquals(8, limiter.getLimit());
+
+        // the second window with p99 latency above tolerance
+        for (int i = 0; i < windowSize; i++) {
+            limiter.execute(() -> {
+            });
+            limiter.release(System.nanoTime(), LATENCY * 10, false);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void testIsOverloaded() {
+        assertTrue(Connection.isOverloaded(null, new TimeoutException()));
+        assertTrue(Connection.isOverloaded(null,
+                new CometApiException(429, "too many requests", 0)));
+        assertTrue(Connection.isOverloaded(null,
+                new CometApiException(503, "service unavailable", 0)));
+        assertFalse(Connection.isOverloaded(null,
+                new CometApiException(400, "bad request", 0)));
+    }
+
+    @Test
+    public void testWrongParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(0, 1, 10, 0.5, 2.0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(4, 1, 10, 1.5, 2.0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5, 0.5, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5, 2.0, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package ml.comet.experiment.impl.http;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static ml.comet.experiment.impl.TestUtils.awaitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTest {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerTest.class);
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(100);
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(3, PROBE_INTERVAL, logger);
+        breaker.onFailure();
+        breaker.onFailure();
+        // success resets the counter of consecutive failures
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+        assertFalse(breaker.tryAcquire(), "request must be rejected while breaker is open");
+        assertEquals(1, breaker.getRejectedCount());
+        assertEquals(1, breaker.getOpenedCount());
+        assertTrue(breaker.getTimeToProbe().compareTo(PROBE_INTERVAL) <= 0);
+    }
+
+    @Test
+    public void testSingleProbeClosesBreaker() {
+        List<CircuitBreaker.State> transitions = new CopyOnWriteArrayList<>();
+        CircuitBreaker breaker = new CircuitBreaker(1, PROBE_INTERVAL, logger);
+        breaker.addStateListener(transitions::add);
+        breaker.onFailure();
+
+        awaitForCondition(breaker::isCallPermitted, "probe is not due");
+        assertTrue(breaker.tryAcquire(), "probe request must be permitted");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(), "only one probe request must be permitted");
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, transitions.get(0));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, transitions.get(1));
+        assertEquals(CircuitBreaker.State.CLOSED, transitions.get(2));
+    }
+
+    @Test
+    public void testFailedProbeReopensBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(1, PROBE_INTERVAL, logger);
+        breaker.onFailure();
+        awaitForCondition(breaker::isCallPermitted, "probe is not due");
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(2, breaker.getOpenedCount());
+    }
+
+    @Test
+    public void testIgnoredProbeReleased() {
+        CircuitBreaker breaker = new CircuitBreaker(1, PROBE_INTERVAL, logger);
+        breaker.onFailure();
+        awaitForCondition(breaker::isCallPermitted, "probe is not due");
+        assertTrue(breaker.tryAcquire());
+
+        // the cancelled probe must not keep breaker half-open forever
+        breaker.onIgnored();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire(), "new probe must be permitted immediately");
+    }
+
+    @Test
+    public void testWrongParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, PROBE_INTERVAL, logger));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1, Duration.ZERO, logger));
+    }
+}
@@ -9,7 +9,10 @@ import ml.comet.experiment.impl.TestUtils;
 import ml.comet.experiment.impl.constants.QueryParamName;
 import ml.comet.experiment.impl.constants.SdkErrorCodes;
 import ml.comet.experiment.impl.rest.CometWebJavaSdkException;
+import ml.comet.experiment.impl.retry.RetryPolicy;
 import ml.comet.experiment.impl.utils.JsonUtils;
+import ml.comet.experiment.model.EndpointStats;
+import ml.comet.experiment.model.SdkStats;
 import org.apache.commons.io.FileUtils;
 import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Response;
@@ -23,6 +26,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -41,10 +45,13 @@ import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.serviceUnavailable;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.unauthorized;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
 import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_JSON;
 import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_OCTET_STREAM;
@@ -65,6 +72,8 @@ public class ConnectionTest {
     private static final Logger logger = LoggerFactory.getLogger(ConnectionTest.class);
     private static final String TEST_API_KEY = UUID.randomUUID().toString();
     private static final int MAX_AUTH_RETRIES_DEFAULT = 4;
+    private static final RetryPolicy FAST_RETRY_POLICY = new RetryPolicy(
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(10), MAX_AUTH_RETRIES_DEFAULT);
     private static final String SOME_ENDPOINT = "/someEndpoint";
     private static final String SOME_JSON_RESPONSE = "[\"someJsonResponse\"]";
     private static final String SOME_REQUEST_STRING = "someRequestString";
@@ -194,6 +203,8 @@ public class ConnectionTest {
 
         // check that inventory was fully processed
         assertEquals(0, connection.getRequestsInventory().get(), "inventory must be empty");
+
+        assertDoesNotThrow(connection::close);
     }
 
     /**
@@ -223,6 +234,106 @@ public class ConnectionTest {
 
         // check that correct exception returned
         checkWebJavaSdkException(cometApiException);
+
+        assertDoesNotThrow(connection::close);
+    }
+
+    /**
+     * Tests that request failed with server error is retried without blocking and succeeds when server recovers.
+     */
+    @Test
+    public void testSendPostWithRetriesAsync_retriedOnServerError(@NonNull WireMockRuntimeInfo wmRuntimeInfo) {
+        // create test HTTP stub failing twice
+        //
+        String scenario = "server recovery";
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT)).inScenario(scenario)
+                .whenScenarioStateIs(STARTED)
+                .willReturn(serviceUnavailable())
+                .willSetStateTo("failed once"));
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT)).inScenario(scenario)
+                .whenScenarioStateIs("failed once")
+                .willReturn(serverError())
+                .willSetStateTo("recovered"));
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT)).inScenario(scenario)
+                .whenScenarioStateIs("recovered")
+                .willReturn(ok(SOME_JSON_RESPONSE)
+                        .withHeader(CONTENT_TYPE.toString(), APPLICATION_JSON.toString())));
+
+        // execute request and check results
+        //
+        String baseUrl = wmRuntimeInfo.getHttpBaseUrl();
+        Connection connection = new Connection(
+                baseUrl, TEST_API_KEY, MAX_AUTH_RETRIES_DEFAULT, FAST_RETRY_POLICY, logger);
+        Optional<String> response = connection
+                .sendPostWithRetriesAsync(SOME_REQUEST_STRING, SOME_ENDPOINT, true)
+                .blockingGet();
+        assertDoesNotThrow(connection::close);
+
+        assertTrue(response.isPresent(), "response expected");
+        assertEquals(SOME_JSON_RESPONSE, response.get(), "wrong response body");
+        verify(3, postRequestedFor(urlPathEqualTo(SOME_ENDPOINT)));
+        assertEquals(2, connection.getRetryScheduler().getRetriesCount(), "wrong number of retries");
+
+        // check that statistics of every attempt were recorded
+        SdkStats stats = connection.getSdkStats();
+        assertEquals(3, stats.getRequestCount(), "wrong number of requests");
+        assertEquals(2, stats.getFailedRequestCount(), "wrong number of failed requests");
+        assertEquals(2, stats.getRetriesCount(), "wrong number of retries");
+        EndpointStats endpointStats = stats.getEndpoints().get(SOME_ENDPOINT);
+        assertNotNull(endpointStats, "endpoint statistics expected");
+        assertEquals(3, endpointStats.getLatency().getCount(), "wrong number of latency samples");
+        assertEquals(3L * SOME_REQUEST_STRING.length(), endpointStats.getBytesSent(), "wrong bytes sent");
+        assertTrue(endpointStats.getBytesReceived() >= SOME_JSON_RESPONSE.length(), "wrong bytes received");
+
+        // check that inventory was fully processed
+        assertEquals(0, connection.getRequestsInventory().get(), "inventory must be empty");
+    }
+
+    /**
+     * Tests that request rejected by the server as unauthorized is not retried.
+     */
+    @Test
+    public void testSendPostWithRetries_notRetriedOnClientError(@NonNull WireMockRuntimeInfo wmRuntimeInfo) {
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT))
+                .willReturn(unauthorized()
+                        .withHeader(CONTENT_TYPE.toString(), APPLICATION_JSON.toString())));
+
+        String baseUrl = wmRuntimeInfo.getHttpBaseUrl();
+        Connection connection = new Connection(
+                baseUrl, TEST_API_KEY, MAX_AUTH_RETRIES_DEFAULT, FAST_RETRY_POLICY, logger);
+        assertThrows(CometApiException.class, () ->
+                connection.sendPostWithRetries(SOME_REQUEST_STRING, SOME_ENDPOINT, true));
+        assertDoesNotThrow(connection::close);
+
+        verify(1, postRequestedFor(urlPathEqualTo(SOME_ENDPOINT)));
+    }
+
+    /**
+     * Tests that requests are rejected without reaching the server after it failed the threshold number of times.
+     */
+    @Test
+    public void testSendPostAsync_rejectedWhileCircuitBreakerOpen(@NonNull WireMockRuntimeInfo wmRuntimeInfo) {
+        stubFor(post(urlPathEqualTo(SOME_ENDPOINT))
+                .willReturn(serverError()
+                        .withHeader(CONTENT_TYPE.toString(), APPLICATION_JSON.toString())));
+
+        String baseUrl = wmRuntimeInfo.getHttpBaseUrl();
+        Connection connection = new Connection(
+                baseUrl, TEST_API_KEY, MAX_AUTH_RETRIES_DEFAULT, logger);
+        for (int i = 0; i < CircuitBreaker.DEFAULT_FAILURE_THRESHOLD; i++) {
+            ListenableFuture<Response> future = connection.sendPostAsync(SOME_REQUEST_STRING, SOME_ENDPOINT);
+            assertThrows(ExecutionException.class, future::get);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, connection.getCircuitBreaker().getState());
+
+        ListenableFuture<Response> rejected = connection.sendPostAsync(SOME_REQUEST_STRING, SOME_ENDPOINT);
+        ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(ex.getCause() instanceof CircuitBreakerOpenException, "request must be rejected locally");
+        assertTrue(((CometApiException) ex.getCause()).getRetryAfter().isPresent(), "retry delay expected");
+        assertDoesNotThrow(connection::close);
+
+        verify(CircuitBreaker.DEFAULT_FAILURE_THRESHOLD, postRequestedFor(urlPathEqualTo(SOME_ENDPOINT)));
+        assertEquals(0, connection.getRequestsInventory().get(), "inventory must be empty");
     }
 
     /**
@@ -278,6 +389,8 @@ public class ConnectionTest {
 
         // check that inventory was fully processed
         assertEquals(0, connection.getRequestsInventory().get(), "inventory must be empty");
+
+        assertDoesNotThrow(connection::close);
     }
 
     /**
@@ -316,6 +429,8 @@ public class ConnectionTest {
         CometApiException apiException = (CometApiException) exception.getCause();
         assertEquals("Not Found", apiException.getStatusMessage(), "wrong status message");
         assertEquals(404, apiException.getStatusCode(), "wrong status code");
+
+        assertDoesNotThrow(connection::close);
     }
 
     /**
@@ -354,6 +469,8 @@ public class ConnectionTest {
 
         // check exception values
         checkWebJavaSdkException((CometApiException) exception.getCause());
+
+        assertDoesNotThrow(connection::close);
     }
 
     @Test
@@ -400,6 +517,8 @@ public class ConnectionTest {
         long expectedCRC32 = FileUtils.checksumCRC32(expectedFile);
         long actualCRC32 = FileUtils.checksumCRC32(downloadFile);
         assertEquals(expectedCRC32, actualCRC32, "wrong file content");
+
+        assertDoesNotThrow(connection::close);
     }
 
     @Test
@@ -432,6 +551,8 @@ public class ConnectionTest {
 
         // check that inventory was fully processed
         assertEquals(0, connection.getRequestsInventory().get(), "inventory must be empty");
+
+        assertDoesNotThrow(connection::close);
     }
 
     @Test
@@ -463,6 +584,8 @@ public class ConnectionTest {
 
         // check that correct exception returned
         assertTrue(exception.getCause() instanceof CometApiException, "wrong exception returned");
+
+        assertDoesNotThrow(connection::close);
     }
 
     @Test
@@ -499,6 +622,8 @@ public class ConnectionTest {
 
         // check exception values
         checkWebJavaSdkException((CometApiException) exception.getCause());
+
+        assertDoesNotThrow(connection::close);
     }
 
     @Test
@@ -543,6 +668,8 @@ public class ConnectionTest {
 
         // check that inventory was fully processed
         assertEquals(0, connection.getRequestsInventory().get(), "inventory must be empty");
+
+        assertDoesNotThrow(connection::close);
     }
 
     private static void checkWebJavaSdkException(CometApiException apiException) {
@@ -17,6 +17,9 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
 import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -35,6 +38,7 @@ import static org.asynchttpclient.util.HttpConstants.Methods.POST;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ConnectionUtilsTest {
@@ -219,4 +223,17 @@ public class ConnectionUtilsTest {
             assertEquals(contentType, r.getHeaders().get(CONTENT_TYPE.toString()), "wrong content type");
         }
     }
+
+    @Test
+    public void testParseRetryAfter() {
+        assertEquals(Duration.ofSeconds(120), ConnectionUtils.parseRetryAfter("120"));
+        assertEquals(Duration.ZERO, ConnectionUtils.parseRetryAfter("-1"));
+        assertNull(ConnectionUtils.parseRetryAfter(null));
+        assertNull(ConnectionUtils.parseRetryAfter("soon"));
+
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusMinutes(5));
+        Duration delay = ConnectionUtils.parseRetryAfter(date);
+        assertNotNull(delay);
+        assertTrue(delay.getSeconds() > 200 && delay.getSeconds() <= 300, "wrong delay: " + delay);
+    }
 }
@@ -0,0 +1,125 @@
+package ml.comet.experiment.impl.journal;
+
+import ml.comet.experiment.impl.queue.LogRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JournalWriterTest {
+    private static final Logger logger = LoggerFactory.getLogger(JournalWriterTest.class);
+    private static final int SEGMENT_SIZE = JournalWriter.MIN_SEGMENT_SIZE;
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        try (JournalWriter writer = new JournalWriter(this.journalDir, SEGMENT_SIZE)) {
+            for (int i = 0; i < 10; i++) {
+                writer.append("/endpoint/" + i, "{\"value\":\"значение " + i + "\"}");
+            }
+            assertEquals(10, writer.getRecordsCount());
+        }
+
+        List<LogRecord> records = readAll();
+        assertEquals(10, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals("/endpoint/" + i, records.get(i).getEndpoint());
+            assertEquals("{\"value\":\"значение " + i + "\"}", records.get(i).getPayload());
+        }
+    }
+
+    @Test
+    public void testSegmentsRolled() throws IOException {
+        String payload = StringUtils.repeat('x', 1000);
+        try (JournalWriter writer = new JournalWriter(this.journalDir, SEGMENT_SIZE)) {
+            for (int i = 0; i < 20; i++) {
+                writer.append("/endpoint", payload + i);
+            }
+        }
+        assertTrue(segmentsCount() > 1, "records must be written into several segments");
+
+        List<LogRecord> records = readAll();
+        assertEquals(20, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(payload + i, records.get(i).getPayload(), "wrong order of records");
+        }
+    }
+
+    @Test
+    public void testRecordLargerThanSegment() throws IOException {
+        String payload = StringUtils.repeat('y', SEGMENT_SIZE * 3);
+        try (JournalWriter writer = new JournalWriter(this.journalDir, SEGMENT_SIZE)) {
+            writer.append("/small", "1");
+            writer.append("/large", payload);
+            writer.append("/small", "2");
+        }
+
+        List<LogRecord> records = readAll();
+        assertEquals(3, records.size());
+        assertEquals(payload, records.get(1).getPayload());
+        assertEquals("2", records.get(2).getPayload());
+    }
+
+    @Test
+    public void testCorruptedRecordSkipsRestOfSegment() throws IOException {
+        try (JournalWriter writer = new JournalWriter(this.journalDir, SEGMENT_SIZE)) {
+            writer.append("/endpoint", "first");
+            writer.append("/endpoint", "second");
+            writer.append("/endpoint", "third");
+        }
+        // damage the payload of the second record
+        int firstRecordLength = JournalWriter.RECORD_HEADER_SIZE + Short.BYTES + "/endpoint".length() + 5;
+        int secondPayloadOffset = firstRecordLength + JournalWriter.RECORD_HEADER_SIZE + Short.BYTES
+                + "/endpoint".length();
+        try (RandomAccessFile file = new RandomAccessFile(
+                this.journalDir.resolve(JournalWriter.segmentFileName(0)).toFile(), "rw")) {
+            file.seek(secondPayloadOffset);
+            file.write('X');
+        }
+
+        List<LogRecord> records = new ArrayList<>();
+        try (JournalReader reader = new JournalReader(this.journalDir, logger)) {
+            reader.forEachRemaining(records::add);
+            assertEquals(1, reader.getCorruptedSegmentsCount());
+        }
+        assertEquals(1, records.size());
+        assertEquals("first", records.get(0).getPayload());
+    }
+
+    @Test
+    public void testAppendAfterClose() throws IOException {
+        JournalWriter writer = new JournalWriter(this.journalDir, SEGMENT_SIZE);
+        writer.close();
+        assertThrows(IOException.class, () -> writer.append("/endpoint", "payload"));
+        assertThrows(IllegalArgumentException.class, () -> new JournalWriter(this.journalDir, 10));
+    }
+
+    private List<LogRecord> readAll() throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        try (JournalReader reader = new JournalReader(this.journalDir, logger)) {
+            reader.forEachRemaining(records::add);
+        }
+        return records;
+    }
+
+    private long segmentsCount() throws IOException {
+        try (Stream<Path> files = Files.list(this.journalDir)) {
+            return files.count();
+        }
+    }
+}
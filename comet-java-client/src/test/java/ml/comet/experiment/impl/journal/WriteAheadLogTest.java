@@ -0,0 +1,201 @@
+package ml.comet.experiment.impl.journal;
+
+import ml.comet.experiment.impl.queue.LogRecord;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteAheadLogTest {
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLogTest.class);
+    private static final Duration COMMIT_INTERVAL = Duration.ofMillis(5);
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path rootDir;
+    Path walDir;
+
+    @BeforeEach
+    public void setUp() {
+        this.walDir = this.rootDir.resolve("experiment-key");
+    }
+
+    @Test
+    public void testAppendCommitAndDispatch() throws Exception {
+        List<LogRecord> dispatched = new CopyOnWriteArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, dispatched::add, logger)) {
+            assertTrue(wal.replay().isEmpty());
+            for (int i = 0; i < 10; i++) {
+                wal.append(newRecord(i));
+            }
+            assertTrue(wal.flush(FLUSH_TIMEOUT), "records must be committed");
+            assertEquals(0, wal.getUncommittedCount());
+            assertEquals(10, wal.getUnacknowledgedCount());
+        }
+
+        assertEquals(10, dispatched.size());
+        for (int i = 0; i < dispatched.size(); i++) {
+            assertEquals("payload " + i, dispatched.get(i).getPayload(), "wrong order of records");
+            assertEquals(i, dispatched.get(i).getSequence());
+            assertTrue(dispatched.get(i).isLogged());
+        }
+    }
+
+    @Test
+    public void testAcknowledgedRecordsTruncated() throws Exception {
+        String payload = StringUtils.repeat('x', 1000);
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, 4096, COMMIT_INTERVAL,
+                record -> {
+                }, logger)) {
+            for (int i = 0; i < 20; i++) {
+                wal.append(new LogRecord("/endpoint", payload + i, Optional.empty()));
+            }
+            assertTrue(wal.flush(FLUSH_TIMEOUT));
+            assertTrue(segmentsCount() > 1, "records must be written into several segments");
+
+            // acknowledge out of order
+            for (int i = 19; i >= 0; i--) {
+                wal.acknowledge(i);
+            }
+            assertEquals(0, wal.getUnacknowledgedCount());
+        }
+        assertFalse(Files.exists(this.walDir), "fully acknowledged log must be removed");
+    }
+
+    @Test
+    public void testReplayUnacknowledged() throws Exception {
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, record -> {
+                }, logger)) {
+            for (int i = 0; i < 10; i++) {
+                wal.append(newRecord(i));
+            }
+            assertTrue(wal.flush(FLUSH_TIMEOUT));
+            for (int i = 0; i < 5; i++) {
+                wal.acknowledge(i);
+            }
+            // out of order acknowledgement is not persisted
+            wal.acknowledge(7);
+        }
+
+        List<LogRecord> dispatched = new CopyOnWriteArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, dispatched::add, logger)) {
+            List<LogRecord> replayed = wal.replay();
+            assertEquals(5, replayed.size());
+            assertEquals("payload 5", replayed.get(0).getPayload());
+            assertEquals("payload 9", replayed.get(4).getPayload());
+
+            // new records continue the sequence
+            wal.append(newRecord(10));
+            assertTrue(wal.flush(FLUSH_TIMEOUT));
+            assertEquals(10, dispatched.get(0).getSequence());
+        }
+    }
+
+    @Test
+    public void testTornTailSkipped() throws Exception {
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, record -> {
+                }, logger)) {
+            wal.append(newRecord(0));
+            wal.append(newRecord(1));
+            assertTrue(wal.flush(FLUSH_TIMEOUT));
+        }
+        // cut the last record in the middle
+        Path segment = listSegments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, record -> {
+                }, logger)) {
+            List<LogRecord> replayed = wal.replay();
+            assertEquals(1, replayed.size());
+            assertEquals("payload 0", replayed.get(0).getPayload());
+
+            wal.acknowledge(0);
+            assertEquals(0, wal.getUnacknowledgedCount(), "torn record must not block acknowledgement");
+        }
+    }
+
+    @Test
+    public void testAppendAfterTornFirstRecord() throws Exception {
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, record -> {
+                }, logger)) {
+            wal.append(newRecord(0));
+            assertTrue(wal.flush(FLUSH_TIMEOUT));
+        }
+        // cut the only record of the segment in the middle
+        Path segment = listSegments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, record -> {
+                }, logger)) {
+            assertTrue(wal.replay().isEmpty());
+            wal.append(newRecord(1));
+            wal.append(newRecord(2));
+            assertTrue(wal.flush(FLUSH_TIMEOUT));
+        }
+        assertEquals(1, segmentsCount());
+
+        try (WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, record -> {
+                }, logger)) {
+            List<LogRecord> replayed = wal.replay();
+            assertEquals(2, replayed.size(), "records appended after the torn one must be replayed");
+            assertEquals("payload 1", replayed.get(0).getPayload());
+            assertEquals("payload 2", replayed.get(1).getPayload());
+        }
+    }
+
+    @Test
+    public void testAppendAfterClose() throws IOException {
+        WriteAheadLog wal = new WriteAheadLog(this.walDir, WriteAheadLog.DEFAULT_SEGMENT_SIZE,
+                COMMIT_INTERVAL, record -> {
+        }, logger);
+        wal.close();
+        assertThrows(IOException.class, () -> wal.append(newRecord(0)));
+    }
+
+    private static LogRecord newRecord(int index) {
+        return new LogRecord("/endpoint/" + index, "payload " + index, Optional.empty());
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(this.walDir)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(WriteAheadLog.SEGMENT_FILE_PREFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private long segmentsCount() throws IOException {
+        return listSegments().size();
+    }
+}
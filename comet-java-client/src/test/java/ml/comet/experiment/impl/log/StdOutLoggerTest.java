@@ -0,0 +1,134 @@
+package ml.comet.experiment.impl.log;
+
+import ml.comet.experiment.impl.rest.OutputLine;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StdOutLoggerTest {
+    private static final Duration LINGER = Duration.ofSeconds(10);
+
+    @Test
+    public void testLinesSentInBatches() throws IOException {
+        List<List<OutputLine>> batches = new CopyOnWriteArrayList<>();
+        StdOutLogger logger = newLogger(batches, 1024, 1024, 1024 * 1024);
+        write(logger, "first\nsecond\r\nthird\rfourth");
+        logger.close();
+
+        List<String> lines = outputs(batches);
+        assertEquals(4, lines.size());
+        assertEquals("first\n", lines.get(0));
+        assertEquals("second\n", lines.get(1));
+        assertEquals("third\n", lines.get(2));
+        assertEquals("fourth\n", lines.get(3), "unfinished line must be sent on close");
+        assertEquals(1, batches.size(), "lines must be sent in one batch");
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(i + 1, batches.get(0).get(i).getOffset());
+            assertTrue(batches.get(0).get(i).isStderr());
+        }
+    }
+
+    @Test
+    public void testBatchSentOnSize() throws IOException {
+        List<List<OutputLine>> batches = new CopyOnWriteArrayList<>();
+        StdOutLogger logger = newLogger(batches, 1024, 20, 1024 * 1024);
+        for (int i = 0; i < 10; i++) {
+            write(logger, "line number " + i + "\n");
+        }
+        logger.close();
+
+        assertEquals(10, outputs(batches).size());
+        assertTrue(batches.size() >= 5, "batches must be limited by size, got: " + batches.size());
+    }
+
+    @Test
+    public void testLongLineTruncated() throws IOException {
+        List<List<OutputLine>> batches = new CopyOnWriteArrayList<>();
+        StdOutLogger logger = newLogger(batches, 10, 1024, 1024 * 1024);
+        write(logger, StringUtils.repeat('x', 25) + "\n");
+        logger.close();
+
+        List<String> lines = outputs(batches);
+        assertEquals(StringUtils.repeat('x', 10) + " [15 bytes truncated]\n", lines.get(0));
+        assertEquals(15, logger.getDroppedBytes());
+        assertTrue(lines.get(1).contains("15 bytes of output dropped"), "dropped bytes must be reported");
+    }
+
+    @Test
+    public void testLinesAboveRateDropped() throws IOException {
+        List<List<OutputLine>> batches = new CopyOnWriteArrayList<>();
+        StdOutLogger logger = newLogger(batches, 1024, 1024, 100);
+        for (int i = 0; i < 20; i++) {
+            write(logger, "0123456789\n");
+        }
+        logger.close();
+
+        assertTrue(logger.getDroppedBytes() > 0, "lines above the rate must be dropped");
+        List<String> lines = outputs(batches);
+        assertTrue(lines.size() < 20);
+        assertTrue(lines.get(lines.size() - 1).contains("bytes of output dropped"));
+    }
+
+    @Test
+    public void testWriterNeverBlocked() throws IOException {
+        List<List<OutputLine>> batches = new CopyOnWriteArrayList<>();
+        StdOutLogger logger = new StdOutLogger(System.out, batches::add, true, 16, 1024, 1024, LINGER, 1024);
+        // the logger thread is not started - the buffer overflows
+        write(logger, StringUtils.repeat('y', 40));
+        assertEquals(24, logger.getDroppedBytes());
+        logger.close();
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void testRingBufferWrapsAround() {
+        ByteRingBuffer buffer = new ByteRingBuffer(5);
+        assertEquals(8, buffer.capacity());
+        byte[] out = new byte[8];
+        for (int i = 0; i < 5; i++) {
+            byte[] in = {(byte) i, (byte) (i + 1), (byte) (i + 2), (byte) (i + 3), (byte) (i + 4)};
+            assertEquals(5, buffer.write(in, 0, in.length));
+            assertEquals(5, buffer.read(out));
+            for (int j = 0; j < in.length; j++) {
+                assertEquals(in[j], out[j]);
+            }
+        }
+        assertEquals(8, buffer.write(new byte[10], 0, 10), "only free space must be written");
+        assertEquals(0, buffer.write(new byte[1], 0, 1));
+        assertEquals(8, buffer.size());
+        assertEquals(8, buffer.read(out));
+        assertArrayEquals(new byte[8], out);
+        assertFalse(buffer.size() > 0);
+    }
+
+    private static StdOutLogger newLogger(List<List<OutputLine>> batches, int maxLineLength, int maxBatchSize,
+                                          int maxBytesPerSecond) {
+        StdOutLogger logger = new StdOutLogger(System.err, batches::add, false, 1024,
+                maxLineLength, maxBatchSize, LINGER, maxBytesPerSecond);
+        logger.start();
+        return logger;
+    }
+
+    private static void write(StdOutLogger logger, String text) {
+        byte[] bytes = text.getBytes(Charset.defaultCharset());
+        logger.capture(bytes, 0, bytes.length);
+    }
+
+    private static List<String> outputs(List<List<OutputLine>> batches) {
+        return batches.stream()
+                .flatMap(List::stream)
+                .map(OutputLine::getOutput)
+                .collect(Collectors.toList());
+    }
+}
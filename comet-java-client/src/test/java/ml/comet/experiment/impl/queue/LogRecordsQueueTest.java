@@ -0,0 +1,256 @@
+package ml.comet.experiment.impl.queue;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Action;
+import io.reactivex.rxjava3.functions.Function;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Optional.empty;
+import static ml.comet.experiment.impl.TestUtils.awaitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogRecordsQueueTest {
+    private static final Logger logger = LoggerFactory.getLogger(LogRecordsQueueTest.class);
+
+    @Test
+    public void testCapacityRoundedToPowerOfTwo() {
+        assertEquals(8, new LogRecordsQueue(5, OverflowPolicy.DROP_NEWEST, logger).capacity());
+        assertEquals(2, new LogRecordsQueue(1, OverflowPolicy.DROP_NEWEST, logger).capacity());
+    }
+
+    @Test
+    public void testDropNewest() {
+        AtomicInteger completed = new AtomicInteger();
+        LogRecordsQueue queue = new LogRecordsQueue(2, OverflowPolicy.DROP_NEWEST, logger);
+        assertTrue(queue.offer(record(0, empty())));
+        assertTrue(queue.offer(record(1, empty())));
+        assertFalse(queue.offer(record(2, Optional.of(completed::incrementAndGet))));
+
+        assertEquals(1, queue.getDroppedCount(), "wrong dropped count");
+        assertEquals(1, completed.get(), "completion action of dropped record not invoked");
+        assertEquals(2, queue.size());
+        assertEquals(payloads(0, 1), drain(queue));
+    }
+
+    @Test
+    public void testDropOldest() {
+        AtomicInteger completed = new AtomicInteger();
+        LogRecordsQueue queue = new LogRecordsQueue(2, OverflowPolicy.DROP_OLDEST, logger);
+        assertTrue(queue.offer(record(0, Optional.of(completed::incrementAndGet))));
+        assertTrue(queue.offer(record(1, empty())));
+        assertTrue(queue.offer(record(2, empty())));
+
+        assertEquals(1, queue.getDroppedCount(), "wrong dropped count");
+        assertEquals(1, completed.get(), "completion action of dropped record not invoked");
+        assertEquals(payloads(1, 2), drain(queue));
+    }
+
+    @Test
+    public void testSpillToDiskPreservesOrder() {
+        LogRecordsQueue queue = new LogRecordsQueue(2, OverflowPolicy.SPILL_TO_DISK, logger);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(queue.offer(record(i, empty())));
+        }
+        assertEquals(3, queue.getSpilledCount(), "wrong spilled count");
+        assertEquals(5, queue.size());
+        assertTrue(queue.getSpillFile().isPresent(), "spill file expected");
+
+        // new records must go to the spill file while it is not drained
+        assertEquals("0", queue.poll().getPayload());
+        assertTrue(queue.offer(record(5, empty())));
+        assertEquals(payloads(1, 2, 3, 4, 5), drain(queue));
+
+        assertEquals(0, queue.getDroppedCount());
+        assertFalse(queue.getSpillFile().isPresent(), "spill file must be removed when drained");
+    }
+
+    @Test
+    public void testSpillToDiskKeepsSeriesKey() {
+        LogRecordsQueue queue = new LogRecordsQueue(2, OverflowPolicy.SPILL_TO_DISK, logger);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(queue.offer(new LogRecord("/endpoint", String.valueOf(i), "series\t" + i, empty(), -1)));
+        }
+        assertEquals(3, queue.getSpilledCount(), "wrong spilled count");
+        for (int i = 0; i < 5; i++) {
+            assertEquals("series\t" + i, queue.poll().getSeriesKey());
+        }
+    }
+
+    @Test
+    public void testBlockUntilSpaceAvailable() throws InterruptedException {
+        LogRecordsQueue queue = new LogRecordsQueue(2, OverflowPolicy.BLOCK, logger);
+        assertTrue(queue.offer(record(0, empty())));
+        assertTrue(queue.offer(record(1, empty())));
+
+        AtomicBoolean offered = new AtomicBoolean();
+        Thread producer = new Thread(() -> offered.set(queue.offer(record(2, empty()))));
+        producer.start();
+
+        Thread.sleep(100);
+        assertFalse(offered.get(), "producer must be blocked while queue is full");
+
+        assertEquals("0", queue.poll().getPayload());
+        awaitForCondition(offered::get, "producer was not unblocked");
+        producer.join();
+        assertEquals(payloads(1, 2), drain(queue));
+    }
+
+    @Test
+    public void testCloseDropsPendingRecords() {
+        AtomicInteger completed = new AtomicInteger();
+        LogRecordsQueue queue = new LogRecordsQueue(2, OverflowPolicy.SPILL_TO_DISK, logger);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(record(i, Optional.of(completed::incrementAndGet)));
+        }
+        queue.close();
+
+        assertEquals(4, completed.get(), "completion actions of pending records not invoked");
+        assertEquals(4, queue.getDroppedCount());
+        assertNull(queue.poll());
+        assertThrows(IllegalStateException.class, () -> queue.offer(record(4, empty())));
+    }
+
+    @Test
+    public void testDispatcherSendsAllRecords() {
+        List<String> sent = new ArrayList<>();
+        LogRecordsQueue queue = new LogRecordsQueue(4, OverflowPolicy.BLOCK, logger);
+        LogRecordsDispatcher dispatcher = new LogRecordsDispatcher(queue, 2, record -> {
+            synchronized (sent) {
+                sent.add(record.getPayload());
+            }
+            return Single.just(new RestApiResponse(200));
+        }, logger);
+
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            dispatcher.dispatch(record(i, Optional.of(completed::incrementAndGet)));
+        }
+        awaitForCondition(() -> completed.get() == 20, "not all records sent");
+        awaitForCondition(() -> dispatcher.getPendingCount() == 0, "dispatcher has pending records");
+        dispatcher.close();
+
+        assertEquals(20, sent.size());
+    }
+
+    @Test
+    public void testDispatchersShareLoop() {
+        List<String> sent = new ArrayList<>();
+        Function<LogRecord, Single<RestApiResponse>> sender = record -> {
+            synchronized (sent) {
+                sent.add(record.getPayload());
+            }
+            return Single.just(new RestApiResponse(200));
+        };
+        try (LogRecordsDispatchLoop loop = new LogRecordsDispatchLoop()) {
+            LogRecordsDispatcher first = new LogRecordsDispatcher(
+                    new LogRecordsQueue(4, OverflowPolicy.BLOCK, logger), 1, sender, () -> true, loop, logger);
+            LogRecordsDispatcher second = new LogRecordsDispatcher(
+                    new LogRecordsQueue(4, OverflowPolicy.BLOCK, logger), 1, sender, () -> true, loop, logger);
+            assertEquals(2, loop.getDispatchersCount());
+
+            AtomicInteger completed = new AtomicInteger();
+            for (int i = 0; i < 10; i++) {
+                first.dispatch(record(i, Optional.of(completed::incrementAndGet)));
+                second.dispatch(record(i, Optional.of(completed::incrementAndGet)));
+            }
+            awaitForCondition(() -> completed.get() == 20, "not all records sent");
+
+            // closing of the dispatcher must not stop the shared loop
+            first.close();
+            assertEquals(1, loop.getDispatchersCount());
+            assertThrows(IllegalStateException.class, () -> first.dispatch(record(10, empty())));
+            second.dispatch(record(10, Optional.of(completed::incrementAndGet)));
+            awaitForCondition(() -> completed.get() == 21, "record not sent after other dispatcher closed");
+            second.close();
+            assertEquals(0, loop.getDispatchersCount());
+        }
+        assertEquals(21, sent.size());
+    }
+
+    @Test
+    public void testIdleDispatcherWakesUpOnRecord() throws InterruptedException {
+        List<String> sent = new ArrayList<>();
+        LogRecordsQueue queue = new LogRecordsQueue(4, OverflowPolicy.BLOCK, logger);
+        LogRecordsDispatcher dispatcher = new LogRecordsDispatcher(queue, 1, record -> {
+            synchronized (sent) {
+                sent.add(record.getPayload());
+            }
+            return Single.just(new RestApiResponse(200));
+        }, logger);
+
+        for (int i = 0; i < 10; i++) {
+            // let the consumer find the queue empty and park
+            Thread.sleep(20);
+            dispatcher.dispatch(record(i, empty()));
+            int expected = i + 1;
+            awaitForCondition(() -> {
+                synchronized (sent) {
+                    return sent.size() == expected;
+                }
+            }, "idle consumer not woken up by the new record");
+        }
+        dispatcher.close();
+    }
+
+    @Test
+    public void testDispatcherHoldsRecordsWhileBackendUnavailable() {
+        List<String> sent = new ArrayList<>();
+        AtomicBoolean available = new AtomicBoolean();
+        LogRecordsQueue queue = new LogRecordsQueue(2, OverflowPolicy.BLOCK, logger);
+        LogRecordsDispatcher dispatcher = new LogRecordsDispatcher(queue, 2, record -> {
+            synchronized (sent) {
+                sent.add(record.getPayload());
+            }
+            return Single.just(new RestApiResponse(200));
+        }, available::get, logger);
+
+        awaitForCondition(queue::isDrainSuspended, "draining not suspended");
+        // producers must not be blocked while backend is unavailable - overflow spilled to disk
+        for (int i = 0; i < 5; i++) {
+            assertTrue(dispatcher.dispatch(record(i, empty())));
+        }
+        assertEquals(3, queue.getSpilledCount(), "wrong spilled count");
+        assertTrue(sent.isEmpty(), "records must be held while backend is unavailable");
+
+        available.set(true);
+        awaitForCondition(() -> dispatcher.getPendingCount() == 0, "dispatcher has pending records");
+        dispatcher.close();
+
+        assertEquals(payloads(0, 1, 2, 3, 4), sent);
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private static LogRecord record(int i, Optional<Action> onComplete) {
+        return new LogRecord("/endpoint", String.valueOf(i), onComplete);
+    }
+
+    private static List<String> payloads(int... values) {
+        List<String> payloads = new ArrayList<>();
+        for (int value : values) {
+            payloads.add(String.valueOf(value));
+        }
+        return payloads;
+    }
+
+    private static List<String> drain(LogRecordsQueue queue) {
+        List<String> payloads = new ArrayList<>();
+        LogRecord record;
+        while ((record = queue.poll()) != null) {
+            payloads.add(record.getPayload());
+        }
+        return payloads;
+    }
+}
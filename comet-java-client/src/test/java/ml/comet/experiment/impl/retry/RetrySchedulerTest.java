@@ -0,0 +1,200 @@
+package ml.comet.experiment.impl.retry;
+
+import io.netty.util.HashedWheelTimer;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import ml.comet.experiment.exception.CometApiException;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetrySchedulerTest {
+    private static final Logger logger = LoggerFactory.getLogger(RetrySchedulerTest.class);
+    private static final RetryPolicy POLICY = new RetryPolicy(
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(10));
+
+    @Test
+    public void testRetriedUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (RetryScheduler scheduler = new RetryScheduler(POLICY, logger)) {
+            String result = scheduler.execute("series", () -> {
+                if (attempts.incrementAndGet() < 3) {
+                    return Single.error(new CometApiException(502, "Bad Gateway", 0));
+                }
+                return Single.just("done");
+            }).blockingGet();
+
+            assertEquals("done", result);
+            assertEquals(3, attempts.get());
+            assertEquals(2, scheduler.getRetriesCount());
+            assertEquals(1, scheduler.getFailedRetriesCount());
+            assertEquals(0, scheduler.getGiveUpsCount());
+        }
+    }
+
+    @Test
+    public void testNotRetryableFailsImmediately() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (RetryScheduler scheduler = new RetryScheduler(POLICY, logger)) {
+            Single<String> single = scheduler.execute(null, () -> {
+                attempts.incrementAndGet();
+                return Single.error(new CometApiException(400, "Bad Request", 0));
+            });
+            assertThrows(CometApiException.class, single::blockingGet);
+            assertEquals(1, attempts.get());
+            assertEquals(0, scheduler.getRetriesCount());
+        }
+    }
+
+    @Test
+    public void testGiveUpAfterDeadline() {
+        RetryPolicy policy = new RetryPolicy(Duration.ofMillis(10), Duration.ofMillis(20), Duration.ofMillis(200));
+        try (RetryScheduler scheduler = new RetryScheduler(policy, logger)) {
+            Single<String> single = scheduler.execute(null, () -> Single.error(new IOException("unreachable")));
+            Throwable error = assertThrows(RuntimeException.class, single::blockingGet);
+            assertTrue(error.getCause() instanceof IOException);
+            assertTrue(scheduler.getRetriesCount() > 0);
+            assertEquals(1, scheduler.getGiveUpsCount());
+        }
+    }
+
+    @Test
+    public void testRetryAfterRespected() {
+        AtomicInteger attempts = new AtomicInteger();
+        try (RetryScheduler scheduler = new RetryScheduler(POLICY, logger)) {
+            long start = System.nanoTime();
+            scheduler.execute(null, () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    return Single.error(new CometApiException(429, "Too Many Requests", 0, Duration.ofMillis(300)));
+                }
+                return Single.just("done");
+            }).blockingGet();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(elapsedMillis >= 300, "Retry-After not respected, elapsed: " + elapsedMillis);
+        }
+    }
+
+    @Test
+    public void testSeriesNotReordered() {
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        AtomicInteger firstAttempts = new AtomicInteger();
+        try (RetryScheduler scheduler = new RetryScheduler(POLICY, logger)) {
+            Single<Integer> first = scheduler.execute("series", () -> {
+                if (firstAttempts.incrementAndGet() < 3) {
+                    return Single.error(new CometApiException(503, "Service Unavailable", 0));
+                }
+                delivered.add(1);
+                return Single.just(1);
+            }).cache();
+            first.subscribe();
+            Single<Integer> second = scheduler.execute("series", () -> {
+                delivered.add(2);
+                return Single.just(2);
+            }).cache();
+            second.subscribe();
+            Single<Integer> other = scheduler.execute("other", () -> {
+                delivered.add(3);
+                return Single.just(3);
+            }).cache();
+            other.subscribe();
+
+            assertEquals(1, first.blockingGet());
+            assertEquals(2, second.blockingGet());
+            assertEquals(3, other.blockingGet());
+        }
+        assertTrue(delivered.indexOf(1) < delivered.indexOf(2), "series reordered: " + delivered);
+        assertTrue(delivered.indexOf(3) < delivered.indexOf(1), "other series must not wait: " + delivered);
+    }
+
+    @Test
+    public void testSeriesBlockedWhileInFlight() {
+        SingleSubject<Integer> inFlight = SingleSubject.create();
+        AtomicInteger secondAttempts = new AtomicInteger();
+        try (RetryScheduler scheduler = new RetryScheduler(POLICY, logger)) {
+            TestObserver<Integer> first = scheduler.execute("series", () -> inFlight).test();
+            TestObserver<Integer> second = scheduler.execute("series", () -> {
+                secondAttempts.incrementAndGet();
+                return Single.just(2);
+            }).test();
+            TestObserver<Integer> other = scheduler.execute("other", () -> Single.just(3)).test();
+
+            // the request of the same series is not sent while the previous one is in flight
+            other.assertValue(3);
+            assertEquals(0, secondAttempts.get());
+            second.assertNotComplete();
+
+            inFlight.onSuccess(1);
+            first.assertValue(1);
+            second.assertValue(2);
+            assertEquals(1, secondAttempts.get());
+
+            // the series is unblocked when all its requests completed
+            scheduler.execute("series", () -> Single.just(4)).test().assertValue(4);
+        }
+    }
+
+    @Test
+    public void testSharedTimerNotStoppedOnClose() {
+        HashedWheelTimer timer = RetryScheduler.createTimer();
+        try {
+            RetryScheduler first = new RetryScheduler(POLICY, timer, logger);
+            TestObserver<String> pending = first.execute(null,
+                    () -> Single.<String>error(new CometApiException(503, "Service Unavailable", 0))).test();
+            first.close();
+            pending.awaitDone(5, TimeUnit.SECONDS);
+            pending.assertError(CometApiException.class);
+
+            // the scheduler sharing the timer still retries
+            AtomicInteger attempts = new AtomicInteger();
+            try (RetryScheduler second = new RetryScheduler(POLICY, timer, logger)) {
+                String result = second.execute(null, () -> attempts.incrementAndGet() < 2
+                        ? Single.error(new CometApiException(502, "Bad Gateway", 0))
+                        : Single.just("done")).blockingGet();
+                assertEquals("done", result);
+            }
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void testDefaultTimerNotStoppedOnClose() {
+        RetryScheduler first = new RetryScheduler(POLICY, logger);
+        TestObserver<String> pending = first.execute(null,
+                () -> Single.<String>error(new CometApiException(503, "Service Unavailable", 0))).test();
+        first.close();
+        pending.awaitDone(5, TimeUnit.SECONDS);
+        pending.assertError(CometApiException.class);
+
+        // the scheduler created later uses the same timer which still retries
+        AtomicInteger attempts = new AtomicInteger();
+        try (RetryScheduler second = new RetryScheduler(POLICY, logger)) {
+            String result = second.execute(null, () -> attempts.incrementAndGet() < 2
+                    ? Single.error(new CometApiException(502, "Bad Gateway", 0))
+                    : Single.just("done")).blockingGet();
+            assertEquals("done", result);
+        }
+    }
+
+    @Test
+    public void testIsRetryable() {
+        assertTrue(RetryPolicy.isRetryable(new CometApiException(500, "error", 0)));
+        assertTrue(RetryPolicy.isRetryable(new CometApiException(429, "error", 0)));
+        assertTrue(RetryPolicy.isRetryable(new RuntimeException(new IOException("reset"))));
+        assertFalse(RetryPolicy.isRetryable(new CometApiException(404, "error", 0)));
+        assertFalse(RetryPolicy.isRetryable(new IllegalStateException("closed")));
+    }
+}
@@ -0,0 +1,49 @@
+package ml.comet.experiment.impl.stats;
+
+import ml.comet.experiment.model.LatencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBounds() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upperBound = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upperBound >= value, "upper bound below value: " + value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value,
+                        "value belongs to the previous bucket: " + value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        LatencyStats stats = histogram.snapshot();
+        assertEquals(1000, stats.getCount());
+        assertEquals(500.5, stats.getMeanMillis(), 0.001);
+        assertEquals(500, stats.getP50Millis(), 500 * 0.035);
+        assertEquals(900, stats.getP90Millis(), 900 * 0.035);
+        assertEquals(990, stats.getP99Millis(), 990 * 0.035);
+        assertEquals(1000, stats.getMaxMillis(), 0.001);
+        assertTrue(stats.getP999Millis() <= stats.getMaxMillis(), "percentile above maximum");
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyStats stats = new LatencyHistogram().snapshot();
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.getMaxMillis());
+    }
+}
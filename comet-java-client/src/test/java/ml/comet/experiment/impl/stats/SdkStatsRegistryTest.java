@@ -0,0 +1,72 @@
+package ml.comet.experiment.impl.stats;
+
+import ml.comet.experiment.model.EndpointStats;
+import ml.comet.experiment.model.SdkStats;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SdkStatsRegistryTest {
+    private static final Logger logger = LoggerFactory.getLogger(SdkStatsRegistryTest.class);
+    private static final String METRIC_ENDPOINT = "/api/rest/v2/write/experiment/metric";
+    private static final String PARAMETER_ENDPOINT = "/api/rest/v2/write/experiment/parameter";
+
+    @Test
+    public void testRecordedPerEndpoint() {
+        SdkStatsRegistry registry = new SdkStatsRegistry();
+        registry.recordRequest(METRIC_ENDPOINT, TimeUnit.MILLISECONDS.toNanos(10), false, 100, 10);
+        registry.recordRequest(METRIC_ENDPOINT, TimeUnit.MILLISECONDS.toNanos(20), true, 100, 0);
+        registry.recordRequest(PARAMETER_ENDPOINT, TimeUnit.MILLISECONDS.toNanos(5), false, 50, 10);
+        registry.recordSerialization(TimeUnit.MICROSECONDS.toNanos(30));
+
+        SdkStats stats = registry.snapshot(7, 3, 2);
+        assertEquals(3, stats.getRequestCount());
+        assertEquals(1, stats.getFailedRequestCount());
+        assertEquals(250, stats.getBytesSent());
+        assertEquals(20, stats.getBytesReceived());
+        assertEquals(1, stats.getSerializationTime().getCount());
+        assertEquals(7, stats.getQueueDepth());
+        assertEquals(3, stats.getRetriesCount());
+        assertEquals(2, stats.getDroppedCount());
+
+        EndpointStats metric = stats.getEndpoints().get(METRIC_ENDPOINT);
+        assertNotNull(metric);
+        assertEquals(2, metric.getRequestCount());
+        assertEquals(1, metric.getFailedRequestCount());
+        assertEquals(200, metric.getBytesSent());
+        assertEquals(20, metric.getLatency().getMaxMillis(), 0.001);
+        assertEquals(1, stats.getEndpoints().get(PARAMETER_ENDPOINT).getRequestCount());
+    }
+
+    @Test
+    public void testExposedViaJmx() throws Exception {
+        SdkStatsRegistry registry = new SdkStatsRegistry();
+        registry.recordRequest(METRIC_ENDPOINT, TimeUnit.MILLISECONDS.toNanos(10), false, 100, 10);
+
+        ObjectName name = SdkStatsJmx.register("test-experiment", () -> registry.snapshot(5, 0, 0), logger);
+        assertNotNull(name, "MBean must be registered");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1L, server.getAttribute(name, "RequestCount"));
+            assertEquals(5, server.getAttribute(name, "QueueDepth"));
+            CompositeData latency = (CompositeData) server.getAttribute(name, "RequestLatency");
+            assertEquals(1L, latency.get("count"));
+            assertNotNull(server.getAttribute(name, "Endpoints"));
+        } finally {
+            SdkStatsJmx.unregister(name, logger);
+        }
+        assertFalse(server.isRegistered(name), "MBean must be unregistered");
+        assertTrue(name.getKeyProperty("name").contains("test-experiment"));
+    }
+}
@@ -0,0 +1,169 @@
+package ml.comet.experiment.impl.upload;
+
+import ml.comet.experiment.artifact.AssetOverwriteStrategy;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromFile;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AssetPackerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testPackGroupsSmallFiles() throws IOException {
+        List<AssetImpl> assets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            assets.add(this.createAsset("small" + i + ".txt", 40));
+        }
+        AssetImpl large = this.createAsset("large.bin", 500);
+        assets.add(2, large);
+
+        List<AssetImpl> packed = new AssetPacker(100, 100)
+                .pack(assets.stream(), asset -> asset)
+                .collect(Collectors.toList());
+
+        // the large file is passed at once, the small ones are grouped: small0, small1 | small2, small3 | small4
+        assertEquals(4, packed.size());
+        assertSame(large, packed.get(0));
+        assertTrue(AssetPacker.isPack(packed.get(1).getLogicalPath()));
+        assertNull(packed.get(1).getRawFile());
+        assertTrue(AssetPacker.isPack(packed.get(2).getLogicalPath()));
+        assertEquals("small4.txt", packed.get(3).getLogicalPath());
+    }
+
+    @Test
+    public void testPackNameIsStable() throws IOException {
+        List<AssetImpl> assets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            assets.add(this.createAsset("small" + i + ".txt", 10));
+        }
+        String first = AssetPacker.createPack(assets).getLogicalPath();
+        String second = AssetPacker.createPack(assets).getLogicalPath();
+        assertEquals(first, second);
+        assertTrue(AssetPacker.isPack(first));
+    }
+
+    @Test
+    public void testPackAndUnpack() throws IOException {
+        List<AssetImpl> assets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            AssetImpl asset = this.createAsset("small" + i + ".txt", 100 + i);
+            asset.setLogicalPath("dir/small" + i + ".txt");
+            assets.add(asset);
+        }
+        assets.get(1).setMetadata(Collections.singletonMap("split", "train"));
+        AssetImpl pack = AssetPacker.createPack(assets);
+
+        Path dir = this.tempDir.resolve("unpacked");
+        List<PackedFile> files;
+        try (InputStream in = pack.getSource().get().openStream()) {
+            files = AssetPacker.unpack(in, dir, AssetOverwriteStrategy.FAIL_IF_DIFFERENT);
+        }
+
+        assertEquals(assets.size(), files.size());
+        for (int i = 0; i < assets.size(); i++) {
+            PackedFile file = files.get(i);
+            assertEquals(assets.get(i).getLogicalPath(), file.getLogicalPath());
+            assertEquals(100 + i, file.getSize());
+            assertEquals(dir.resolve(file.getLogicalPath()).toAbsolutePath(), file.getFile());
+            assertArrayEquals(Files.readAllBytes(assets.get(i).getRawFile().toPath()),
+                    Files.readAllBytes(file.getFile()));
+        }
+        Map<String, Object> metadata = files.get(1).getMetadata();
+        assertEquals("train", metadata.get("split"));
+
+        // the source can be read again, e.g., to retry the upload
+        try (InputStream in = pack.getSource().get().openStream()) {
+            List<PackedFile> again = AssetPacker.unpack(in, dir, AssetOverwriteStrategy.FAIL_IF_DIFFERENT);
+            assertEquals(files, again);
+        }
+    }
+
+    @Test
+    public void testUnpackOverwriteStrategy() throws IOException {
+        List<AssetImpl> assets = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            assets.add(this.createAsset("small" + i + ".txt", 10));
+        }
+        byte[] pack;
+        try (InputStream in = AssetPacker.createPack(assets).getSource().get().openStream()) {
+            pack = IOUtils.toByteArray(in);
+        }
+        Path dir = this.tempDir.resolve("unpacked");
+        Path existing = Files.write(Files.createDirectories(dir).resolve("small0.txt"),
+                "different".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(FileAlreadyExistsException.class, () -> AssetPacker.unpack(
+                new ByteArrayInputStream(pack), dir, AssetOverwriteStrategy.FAIL_IF_DIFFERENT));
+
+        AssetPacker.unpack(new ByteArrayInputStream(pack), dir, AssetOverwriteStrategy.PRESERVE);
+        assertEquals("different", new String(Files.readAllBytes(existing), StandardCharsets.UTF_8));
+
+        AssetPacker.unpack(new ByteArrayInputStream(pack), dir, AssetOverwriteStrategy.OVERWRITE);
+        assertEquals(10, Files.size(existing));
+    }
+
+    @Test
+    public void testUnpackRejectsInvalidPack() throws IOException {
+        Path dir = this.tempDir.resolve("unpacked");
+
+        byte[] noIndex = this.zip("file.txt", "[]");
+        assertThrows(IOException.class, () -> AssetPacker.unpack(
+                new ByteArrayInputStream(noIndex), dir, AssetOverwriteStrategy.OVERWRITE));
+
+        String index = "[{\"logicalPath\":\"../evil.txt\",\"size\":4}]";
+        byte[] zipSlip = this.zip(AssetPacker.INDEX_ENTRY, index, "../evil.txt", "evil");
+        assertThrows(IOException.class, () -> AssetPacker.unpack(
+                new ByteArrayInputStream(zipSlip), dir, AssetOverwriteStrategy.OVERWRITE));
+        assertFalse(Files.exists(this.tempDir.resolve("evil.txt")));
+    }
+
+    private byte[] zip(String... entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private AssetImpl createAsset(String name, int size) throws IOException {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i + name.hashCode());
+        }
+        Path file = Files.write(this.tempDir.resolve(name), content);
+        return createAssetFromFile(file.toFile(), Optional.empty(), false, Optional.empty(), Optional.empty());
+    }
+}
@@ -0,0 +1,129 @@
+package ml.comet.experiment.impl.upload;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FolderUploadSchedulerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testInterleaveBySize() throws IOException {
+        List<FolderUploadScheduler.SizedAsset> assets = new ArrayList<>();
+        for (int size : new int[]{3, 1, 5, 2, 4}) {
+            assets.add(new FolderUploadScheduler.SizedAsset(this.createAsset("file" + size, size)));
+        }
+        List<Long> sizes = FolderUploadScheduler.interleaveBySize(assets).stream()
+                .map(sized -> sized.size)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(5L, 1L, 4L, 2L, 3L), sizes);
+    }
+
+    @Test
+    public void testLimitsFilesInFlight() throws IOException {
+        int maxInFlight = 3;
+        List<AssetImpl> assets = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            assets.add(this.createAsset("file" + i, 10));
+        }
+        FolderUploadScheduler scheduler = new FolderUploadScheduler(maxInFlight, Long.MAX_VALUE);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        long count = scheduler.schedule(assets.stream(), asset -> Maybe.fromCallable(() -> {
+                    maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(5);
+                    inFlight.decrementAndGet();
+                    return new RestApiResponse(200);
+                }).subscribeOn(Schedulers.io()))
+                .count()
+                .blockingGet();
+
+        assertEquals(assets.size(), count);
+        assertTrue(maxObserved.get() <= maxInFlight, "too many uploads in flight: " + maxObserved.get());
+        assertEquals(Long.MAX_VALUE, scheduler.getAvailableBytes());
+    }
+
+    @Test
+    public void testLimitsBytesInFlight() throws IOException {
+        long maxBytes = 100;
+        List<AssetImpl> assets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            assets.add(this.createAsset("file" + i, 40));
+        }
+        // the file larger than the budget is uploaded alone
+        assets.add(this.createAsset("large", 500));
+        FolderUploadScheduler scheduler = new FolderUploadScheduler(16, maxBytes);
+
+        AtomicLong bytesInFlight = new AtomicLong();
+        AtomicLong maxObserved = new AtomicLong();
+        long count = scheduler.schedule(assets.stream(), asset -> Maybe.fromCallable(() -> {
+                    long size = Math.min(asset.getRawFile().length(), maxBytes);
+                    maxObserved.accumulateAndGet(bytesInFlight.addAndGet(size), Math::max);
+                    Thread.sleep(5);
+                    bytesInFlight.addAndGet(-size);
+                    return new RestApiResponse(200);
+                }).subscribeOn(Schedulers.io()))
+                .count()
+                .blockingGet();
+
+        assertEquals(assets.size(), count);
+        assertTrue(maxObserved.get() <= maxBytes, "too many bytes in flight: " + maxObserved.get());
+        assertEquals(maxBytes, scheduler.getAvailableBytes());
+    }
+
+    @Test
+    public void testBudgetReleasedOnFailureAndSkip() throws IOException {
+        List<AssetImpl> assets = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            assets.add(this.createAsset("file" + i, 50));
+        }
+        FolderUploadScheduler scheduler = new FolderUploadScheduler(2, 60);
+
+        AtomicInteger attempts = new AtomicInteger();
+        List<RestApiResponse> responses = new ArrayList<>();
+        scheduler.schedule(assets.stream(), asset -> {
+                    int attempt = attempts.incrementAndGet();
+                    if (attempt % 3 == 0) {
+                        return Maybe.error(new IOException("upload failed"));
+                    } else if (attempt % 3 == 1) {
+                        return Maybe.empty();
+                    }
+                    return Maybe.just(new RestApiResponse(200));
+                })
+                .doOnNext(responses::add)
+                .ignoreElements()
+                .onErrorComplete()
+                .blockingAwait(10, TimeUnit.SECONDS);
+
+        assertEquals(assets.size(), attempts.get());
+        assertEquals(2, responses.size());
+        assertEquals(60, scheduler.getAvailableBytes());
+    }
+
+    private AssetImpl createAsset(String name, int size) throws IOException {
+        Path file = Files.write(this.tempDir.resolve(name), new byte[size]);
+        return createAssetFromFile(file.toFile(), Optional.empty(), false, Optional.empty(), Optional.empty());
+    }
+}
@@ -0,0 +1,86 @@
+package ml.comet.experiment.impl.upload;
+
+import io.reactivex.rxjava3.core.Single;
+import ml.comet.experiment.impl.asset.AssetImpl;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ml.comet.experiment.impl.utils.AssetUtils.createAssetFromFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UploadDeduplicatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testDigestDependsOnContent() throws Exception {
+        Path first = Files.write(this.tempDir.resolve("first.txt"), "content".getBytes(StandardCharsets.UTF_8));
+        Path second = Files.write(this.tempDir.resolve("second.txt"), "content".getBytes(StandardCharsets.UTF_8));
+        Path empty = Files.createFile(this.tempDir.resolve("empty.txt"));
+
+        assertEquals(UploadDeduplicator.digest(first), UploadDeduplicator.digest(second));
+        assertTrue(UploadDeduplicator.digest(empty).startsWith("0:"));
+
+        Files.write(second, "changed".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(UploadDeduplicator.digest(first), UploadDeduplicator.digest(second));
+    }
+
+    @Test
+    public void testSkipsUnchangedFiles() throws Exception {
+        Path indexPath = this.tempDir.resolve("index").resolve("experiment.json");
+        Path file = Files.write(this.tempDir.resolve("model.bin"), "weights".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger uploads = new AtomicInteger();
+
+        try (UploadDeduplicator deduplicator = new UploadDeduplicator(indexPath, 2)) {
+            assertTrue(this.upload(deduplicator, file, uploads));
+            assertFalse(this.upload(deduplicator, file, uploads));
+        }
+        assertEquals(1, uploads.get());
+        assertTrue(Files.isRegularFile(indexPath));
+
+        // the index is restored by the next run
+        try (UploadDeduplicator deduplicator = new UploadDeduplicator(indexPath, 2)) {
+            assertFalse(this.upload(deduplicator, file, uploads));
+
+            Files.write(file, "new weights".getBytes(StandardCharsets.UTF_8));
+            assertTrue(this.upload(deduplicator, file, uploads));
+        }
+        assertEquals(2, uploads.get());
+    }
+
+    @Test
+    public void testFailedUploadIsNotIndexed() throws Exception {
+        Path indexPath = this.tempDir.resolve("experiment.json");
+        Path file = Files.write(this.tempDir.resolve("model.bin"), "weights".getBytes(StandardCharsets.UTF_8));
+        AssetImpl asset = createAssetFromFile(file.toFile(), Optional.empty(), false, Optional.empty(),
+                Optional.empty());
+
+        try (UploadDeduplicator deduplicator = new UploadDeduplicator(indexPath, 1)) {
+            assertNotNull(deduplicator.upload(asset, a -> Single.just(new RestApiResponse(500))).blockingGet());
+
+            AtomicInteger uploads = new AtomicInteger();
+            assertTrue(this.upload(deduplicator, file, uploads));
+        }
+    }
+
+    private boolean upload(UploadDeduplicator deduplicator, Path file, AtomicInteger uploads) throws Exception {
+        AssetImpl asset = createAssetFromFile(file.toFile(), Optional.empty(), false, Optional.empty(),
+                Optional.empty());
+        return deduplicator.upload(asset, a -> {
+            uploads.incrementAndGet();
+            return Single.just(new RestApiResponse(200));
+        }).blockingGet() != null;
+    }
+}
@@ -5,6 +5,7 @@ import ml.comet.experiment.asset.RemoteAsset;
 import ml.comet.experiment.impl.TestUtils;
 import ml.comet.experiment.impl.asset.AssetImpl;
 import ml.comet.experiment.impl.asset.AssetType;
+import ml.comet.experiment.impl.constants.FormParamName;
 import ml.comet.experiment.model.Curve;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.file.PathUtils;
@@ -293,6 +294,27 @@ public class AssetUtilsTest {
         assets.forEach(asset -> checkAssetFilename(asset, logFilePath, recursive, prefixWithFolderName));
     }
 
+    @Test
+    public void testWalkFolderAssetsEncodesMetadataOnce() throws IOException {
+        List<AssetImpl> assets = new ArrayList<>();
+        AssetUtils.walkFolderAssets(root.toFile(), true, true, false,
+                Optional.of(TestUtils.SOME_METADATA), empty(), empty()).forEach(assets::add);
+        assertTrue(assets.size() > 1, "not enough assets found");
+
+        String encoded = assets.get(0).getEncodedMetadata();
+        assertEquals(JsonUtils.toJson(TestUtils.SOME_METADATA), encoded);
+        assertTrue(assets.stream().allMatch(asset -> asset.getEncodedMetadata() == encoded),
+                "metadata encoded more than once");
+        assertEquals(encoded, RestApiUtils.assetFormParameters(assets.get(0)).get(FormParamName.METADATA));
+
+        // the encoded metadata is dropped when metadata changed
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("changed", true);
+        assets.get(0).setMetadata(metadata);
+        assertEquals(JsonUtils.toJson(metadata),
+                RestApiUtils.assetFormParameters(assets.get(0)).get(FormParamName.METADATA));
+    }
+
     @ParameterizedTest
     @CsvSource({
             "all, ALL",
@@ -0,0 +1,60 @@
+package ml.comet.experiment.impl.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InventoryTest {
+
+    @Test
+    public void testWhenReleasedIgnoresLaterOperations() {
+        Inventory inventory = new Inventory();
+        Runnable first = inventory.register();
+        CompletableFuture<Void> released = inventory.whenReleased();
+        CompletableFuture<Void> empty = inventory.whenEmpty();
+        Runnable second = inventory.register();
+        assertEquals(2, inventory.get());
+
+        first.run();
+        assertTrue(released.isDone(), "operations registered before the wait must be released");
+        assertFalse(empty.isDone(), "inventory must not be empty");
+
+        // repeated release must be ignored
+        first.run();
+        assertEquals(1, inventory.get());
+
+        second.run();
+        assertTrue(empty.isDone(), "inventory must be empty");
+        assertTrue(inventory.isEmpty());
+    }
+
+    @Test
+    public void testWhenReleasedOutOfOrder() {
+        Inventory inventory = new Inventory();
+        Runnable first = inventory.register();
+        Runnable second = inventory.register();
+        CompletableFuture<Void> released = inventory.whenReleased();
+
+        second.run();
+        assertFalse(released.isDone(), "the first operation still in progress");
+        first.run();
+        assertTrue(released.isDone());
+    }
+
+    @Test
+    public void testAwaitEmpty() throws InterruptedException {
+        Inventory inventory = new Inventory();
+        assertTrue(inventory.awaitEmpty(Duration.ZERO), "empty inventory must not wait");
+
+        Runnable release = inventory.register();
+        assertFalse(inventory.awaitEmpty(Duration.ofMillis(50)), "timeout expected");
+
+        new Thread(release).start();
+        assertTrue(inventory.awaitEmpty(Duration.ofSeconds(5)), "waiter must be signalled by release");
+    }
+}
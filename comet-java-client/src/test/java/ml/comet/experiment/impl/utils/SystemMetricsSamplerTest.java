@@ -0,0 +1,65 @@
+package ml.comet.experiment.impl.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static ml.comet.experiment.impl.TestUtils.awaitForCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SystemMetricsSamplerTest {
+    private static final Logger logger = LoggerFactory.getLogger(SystemMetricsSamplerTest.class);
+
+    @Test
+    public void testSample(@TempDir Path tmpDir) throws IOException {
+        Path procIo = tmpDir.resolve("io");
+        writeProcIo(procIo, 1000, 500);
+        SystemMetricsSampler sampler = new SystemMetricsSampler(procIo);
+
+        writeProcIo(procIo, 3000, 500);
+        Map<String, Number> metrics = sampler.sample();
+        assertTrue(metrics.get(SystemMetricsSampler.HEAP_USED).longValue() > 0, "heap usage expected");
+        assertTrue(metrics.get(SystemMetricsSampler.THREADS).intValue() > 0, "thread count expected");
+        assertTrue(metrics.containsKey(SystemMetricsSampler.GC_COUNT));
+        assertTrue(metrics.containsKey(SystemMetricsSampler.GC_TIME_MS));
+        assertTrue(metrics.get(SystemMetricsSampler.IO_READ_RATE).doubleValue() > 0, "read rate expected");
+        assertEquals(0.0, metrics.get(SystemMetricsSampler.IO_WRITE_RATE).doubleValue());
+
+        // the counters are reported as the change since the previous sample
+        metrics = sampler.sample();
+        assertEquals(0.0, metrics.get(SystemMetricsSampler.IO_READ_RATE).doubleValue());
+    }
+
+    @Test
+    public void testProcessIoNotAvailable(@TempDir Path tmpDir) {
+        SystemMetricsSampler sampler = new SystemMetricsSampler(tmpDir.resolve("missing"));
+        Map<String, Number> metrics = sampler.sample();
+        assertFalse(metrics.containsKey(SystemMetricsSampler.IO_READ_RATE));
+        assertTrue(metrics.containsKey(SystemMetricsSampler.HEAP_USED));
+    }
+
+    @Test
+    public void testPeriodicSampling() {
+        List<Map<String, Number>> samples = new CopyOnWriteArrayList<>();
+        SystemMetricsSampler sampler = SystemMetricsSampler.start(Duration.ofMillis(100), samples::add, logger);
+        awaitForCondition(() -> samples.size() >= 2, "system metrics not sampled");
+        sampler.stop();
+    }
+
+    private static void writeProcIo(Path path, long rchar, long wchar) throws IOException {
+        String content = String.format("rchar: %d%nwchar: %d%nsyscr: 1%nsyscw: 1%n", rchar, wchar);
+        Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
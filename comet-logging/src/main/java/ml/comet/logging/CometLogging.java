@@ -0,0 +1,62 @@
+package ml.comet.logging;
+
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import ml.comet.experiment.OnlineExperiment;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Attaches the running experiment to the Comet appenders configured in the logging framework. The appenders send
+ * log events as the output of the attached experiment.
+ *
+ * <p>Events logged while no experiment is attached are discarded by the appenders without formatting.</p>
+ */
+@UtilityClass
+public final class CometLogging {
+    private static final AtomicReference<OnlineExperiment> experiment = new AtomicReference<>();
+
+    /**
+     * Attaches given experiment to the Comet appenders. The previously attached experiment is replaced.
+     *
+     * @param onlineExperiment the experiment to receive log events as its output.
+     */
+    public static void attach(@NonNull OnlineExperiment onlineExperiment) {
+        experiment.set(onlineExperiment);
+    }
+
+    /**
+     * Detaches the experiment from the Comet appenders. Should be called before the experiment is ended. The events
+     * not yet sent to the experiment are discarded.
+     */
+    public static void detach() {
+        experiment.set(null);
+    }
+
+    /**
+     * Detaches given experiment from the Comet appenders if it is attached.
+     *
+     * @param onlineExperiment the experiment to be detached.
+     */
+    public static void detach(@NonNull OnlineExperiment onlineExperiment) {
+        experiment.compareAndSet(onlineExperiment, null);
+    }
+
+    /**
+     * Returns the experiment attached to the Comet appenders.
+     *
+     * @return the attached experiment or {@code null} if no experiment attached.
+     */
+    public static OnlineExperiment getExperiment() {
+        return experiment.get();
+    }
+
+    /**
+     * Allows checking if any experiment is attached.
+     *
+     * @return {@code true} if experiment is attached.
+     */
+    public static boolean isAttached() {
+        return experiment.get() != null;
+    }
+}
@@ -0,0 +1,34 @@
+package ml.comet.logging;
+
+/**
+ * Encodes the log events of the particular logging framework. The encoder is invoked only by the background
+ * thread of the {@link LogEventsShipper}, thus it is never invoked by the thread which logged the event.
+ *
+ * @param <E> the type of the log event.
+ */
+public interface LogEventEncoder<E> {
+
+    /**
+     * Formats the log event into the text of the output line.
+     *
+     * @param event the log event.
+     * @return the text of the output line.
+     */
+    String encode(E event);
+
+    /**
+     * Returns the time of the log event.
+     *
+     * @param event the log event.
+     * @return the time of the log event in milliseconds since epoch.
+     */
+    long getTimestamp(E event);
+
+    /**
+     * Allows checking if the log event should be displayed as StdErr output.
+     *
+     * @param event the log event.
+     * @return {@code true} if the log event should be displayed as StdErr output.
+     */
+    boolean isStderr(E event);
+}
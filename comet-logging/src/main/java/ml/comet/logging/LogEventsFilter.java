@@ -0,0 +1,77 @@
+package ml.comet.logging;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filters log events before they are queued by the appender. The events of the excluded loggers are rejected, thus
+ * the records logged by the Comet client itself while sending the output are never sent again. The events which
+ * are not urgent can be sampled.
+ */
+public final class LogEventsFilter {
+    /**
+     * The loggers excluded by default: the Comet client and its HTTP stack.
+     */
+    public static final String DEFAULT_EXCLUDED_LOGGERS = "ml.comet,org.asynchttpclient,io.netty";
+
+    private final String[] excludedLoggers;
+    @Getter
+    private final double sampleRate;
+
+    private final AtomicLong sampledOut = new AtomicLong();
+
+    /**
+     * Creates new filter.
+     *
+     * @param excludedLoggers the comma separated list of the name prefixes of the excluded loggers.
+     * @param sampleRate      the fraction of the not urgent events to be accepted in the range (0, 1].
+     * @throws IllegalArgumentException if sample rate is out of range.
+     */
+    public LogEventsFilter(String excludedLoggers, double sampleRate) throws IllegalArgumentException {
+        if (!(sampleRate > 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("sample rate must be in range (0, 1], got: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        if (excludedLoggers == null || excludedLoggers.trim().isEmpty()) {
+            this.excludedLoggers = new String[0];
+        } else {
+            this.excludedLoggers = Arrays.stream(excludedLoggers.split(","))
+                    .map(String::trim)
+                    .filter(prefix -> !prefix.isEmpty())
+                    .toArray(String[]::new);
+        }
+    }
+
+    /**
+     * Checks if the event of the given logger should be sent.
+     *
+     * @param loggerName the name of the logger of the event.
+     * @param urgent     if {@code true} the event is never sampled out, e.g. warnings and errors.
+     * @return {@code true} if the event should be sent.
+     */
+    public boolean accept(@NonNull String loggerName, boolean urgent) {
+        for (String prefix : this.excludedLoggers) {
+            if (loggerName.startsWith(prefix)) {
+                return false;
+            }
+        }
+        if (urgent || this.sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < this.sampleRate) {
+            return true;
+        }
+        this.sampledOut.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Returns the number of events rejected by sampling.
+     *
+     * @return the number of events rejected by sampling.
+     */
+    public long getSampledOutCount() {
+        return this.sampledOut.get();
+    }
+}
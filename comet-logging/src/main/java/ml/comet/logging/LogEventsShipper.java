@@ -0,0 +1,200 @@
+package ml.comet.logging;
+
+import lombok.NonNull;
+import ml.comet.experiment.OnlineExperiment;
+import ml.comet.experiment.impl.rest.OutputLine;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ships log events to the experiment attached with {@link CometLogging}. The events are queued without blocking
+ * the thread which logged them and are encoded into the batches of output lines by the background thread.
+ *
+ * <p>The batch is sent when it is full or when its first event waits longer than the linger time. The events
+ * offered while the queue is full are dropped.</p>
+ *
+ * @param <E> the type of the log event.
+ */
+public final class LogEventsShipper<E> implements Closeable {
+    /**
+     * The default maximal number of events waiting in the queue.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    /**
+     * The default maximal number of output lines sent in one request.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    /**
+     * The default maximal time to keep output lines in the batch before sending.
+     */
+    public static final Duration DEFAULT_LINGER = Duration.ofSeconds(1);
+
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
+    private final Queue<E> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final int queueCapacity;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final LogEventEncoder<E> encoder;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private long offset;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+
+    /**
+     * Creates new shipper and starts its background thread.
+     *
+     * @param name          the name of the shipper used to name its thread.
+     * @param encoder       the encoder of the log events.
+     * @param queueCapacity the maximal number of events waiting in the queue.
+     * @param maxBatchSize  the maximal number of output lines sent in one request.
+     * @param linger        the maximal time to keep output lines in the batch before sending.
+     * @throws IllegalArgumentException if capacity or batch size is not positive.
+     */
+    public LogEventsShipper(@NonNull String name, @NonNull LogEventEncoder<E> encoder, int queueCapacity,
+                            int maxBatchSize, @NonNull Duration linger) throws IllegalArgumentException {
+        if (queueCapacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("queue capacity and batch size must be positive");
+        }
+        this.encoder = encoder;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+
+        this.thread = new Thread(this::run, "comet-log-shipper-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues the log event to be sent. Never blocks.
+     *
+     * @param event the log event.
+     * @return {@code true} if event was queued, {@code false} if it was dropped.
+     */
+    public boolean offer(@NonNull E event) {
+        if (!this.running || Thread.currentThread() == this.thread) {
+            // do not send the events logged while sending
+            return false;
+        }
+        int size = this.queueSize.incrementAndGet();
+        if (size > this.queueCapacity) {
+            this.queueSize.decrementAndGet();
+            this.droppedCount.incrementAndGet();
+            return false;
+        }
+        this.queue.offer(event);
+        if (size == this.maxBatchSize) {
+            // the batch is ready, wake up sender without waiting for linger time
+            LockSupport.unpark(this.thread);
+        }
+        return true;
+    }
+
+    /**
+     * Stops the background thread after sending the events already queued.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        if (Thread.currentThread() != this.thread) {
+            try {
+                this.thread.join(CLOSE_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events dropped due to the queue overflow or because no experiment was attached.
+     *
+     * @return the number of dropped events.
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Returns the number of output lines sent to the experiment.
+     *
+     * @return the number of sent output lines.
+     */
+    public long getSentCount() {
+        return this.sentCount.get();
+    }
+
+    /**
+     * Returns the number of events waiting in the queue.
+     *
+     * @return the number of events waiting in the queue.
+     */
+    public int getQueueSize() {
+        return this.queueSize.get();
+    }
+
+    private void run() {
+        List<OutputLine> batch = new ArrayList<>(this.maxBatchSize);
+        long batchStarted = 0;
+        while (true) {
+            boolean stopping = !this.running;
+            E event;
+            while (batch.size() < this.maxBatchSize && (event = this.queue.poll()) != null) {
+                this.queueSize.decrementAndGet();
+                if (batch.isEmpty()) {
+                    batchStarted = System.nanoTime();
+                }
+                this.encode(event, batch);
+            }
+
+            long waited = System.nanoTime() - batchStarted;
+            if (!batch.isEmpty() && (batch.size() >= this.maxBatchSize || waited >= this.lingerNanos || stopping)) {
+                this.send(batch);
+                batch = new ArrayList<>(this.maxBatchSize);
+                continue;
+            }
+            if (stopping && this.queue.isEmpty()) {
+                return;
+            }
+            LockSupport.parkNanos(this, batch.isEmpty() ? this.lingerNanos : this.lingerNanos - waited);
+        }
+    }
+
+    private void encode(E event, List<OutputLine> batch) {
+        try {
+            String text = this.encoder.encode(event);
+            batch.add(new OutputLine(text, this.encoder.isStderr(event), this.encoder.getTimestamp(event),
+                    this.offset++));
+        } catch (Throwable t) {
+            // the error can not be logged since it would be shipped again
+            this.droppedCount.incrementAndGet();
+        }
+    }
+
+    private void send(List<OutputLine> batch) {
+        OnlineExperiment experiment = CometLogging.getExperiment();
+        if (experiment == null) {
+            this.droppedCount.addAndGet(batch.size());
+            return;
+        }
+        try {
+            experiment.logLines(batch, experiment.getContext());
+            this.sentCount.addAndGet(batch.size());
+        } catch (Throwable t) {
+            this.droppedCount.addAndGet(batch.size());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ml.comet.logging.log4j2;
+
+import lombok.Getter;
+import ml.comet.logging.CometLogging;
+import ml.comet.logging.LogEventEncoder;
+import ml.comet.logging.LogEventsFilter;
+import ml.comet.logging.LogEventsShipper;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.StringLayout;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The log4j2 appender which sends log events as the output of the experiment attached with {@link CometLogging}.
+ *
+ * <p>The appender never blocks the logging thread: events are formatted and sent in batches by the background
+ * thread. Example configuration:</p>
+ * <pre>
+ * &lt;Comet name="COMET" level="INFO" sampleRate="0.1"&gt;
+ *     &lt;PatternLayout pattern="%d{HH:mm:ss.SSS} %-5level %logger{36} - %msg%n"/&gt;
+ * &lt;/Comet&gt;
+ * </pre>
+ */
+@Plugin(name = "Comet", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public final class CometLog4j2Appender extends AbstractAppender implements LogEventEncoder<LogEvent> {
+    private final Level level;
+    private final LogEventsFilter eventsFilter;
+    @Getter
+    private final LogEventsShipper<LogEvent> shipper;
+
+    private CometLog4j2Appender(String name, Filter filter, Layout<? extends Serializable> layout,
+                                boolean ignoreExceptions, Level level, LogEventsFilter eventsFilter,
+                                int queueCapacity, int maxBatchSize, Duration linger) {
+        super(name, filter, layout, ignoreExceptions, Property.EMPTY_ARRAY);
+        this.level = level;
+        this.eventsFilter = eventsFilter;
+        this.shipper = new LogEventsShipper<>(name, this, queueCapacity, maxBatchSize, linger);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        if (!CometLogging.isAttached() || !event.getLevel().isMoreSpecificThan(this.level)) {
+            return;
+        }
+        if (!this.eventsFilter.accept(event.getLoggerName(), event.getLevel().isMoreSpecificThan(Level.WARN))) {
+            return;
+        }
+        // the mutable events are reused by the logging thread
+        this.shipper.offer(event.toImmutable());
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        this.setStopping();
+        boolean stopped = super.stop(timeout, timeUnit, false);
+        this.shipper.close();
+        this.setStopped();
+        return stopped;
+    }
+
+    @Override
+    public String encode(LogEvent event) {
+        Layout<? extends Serializable> layout = this.getLayout();
+        if (layout instanceof StringLayout) {
+            return ((StringLayout) layout).toSerializable(event);
+        }
+        return new String(layout.toByteArray(event), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public long getTimestamp(LogEvent event) {
+        return event.getTimeMillis();
+    }
+
+    @Override
+    public boolean isStderr(LogEvent event) {
+        return event.getLevel().isMoreSpecificThan(Level.WARN);
+    }
+
+    /**
+     * Returns builder to be used by the log4j2 configuration.
+     *
+     * @param <B> the type of the builder.
+     * @return the builder of the appender.
+     */
+    @PluginBuilderFactory
+    public static <B extends Builder<B>> B newBuilder() {
+        return new Builder<B>().asBuilder();
+    }
+
+    /**
+     * The builder of the {@link CometLog4j2Appender}.
+     *
+     * @param <B> the type of the builder.
+     */
+    public static class Builder<B extends Builder<B>> extends AbstractAppender.Builder<B>
+            implements org.apache.logging.log4j.core.util.Builder<CometLog4j2Appender> {
+        @PluginBuilderAttribute
+        private Level level = Level.TRACE;
+        @PluginBuilderAttribute
+        private double sampleRate = 1;
+        @PluginBuilderAttribute
+        private String excludedLoggers = LogEventsFilter.DEFAULT_EXCLUDED_LOGGERS;
+        @PluginBuilderAttribute
+        private int queueCapacity = LogEventsShipper.DEFAULT_QUEUE_CAPACITY;
+        @PluginBuilderAttribute
+        private int maxBatchSize = LogEventsShipper.DEFAULT_MAX_BATCH_SIZE;
+        @PluginBuilderAttribute
+        private long lingerMillis = LogEventsShipper.DEFAULT_LINGER.toMillis();
+
+        public B setLevel(Level level) {
+            this.level = level;
+            return this.asBuilder();
+        }
+
+        public B setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+            return this.asBuilder();
+        }
+
+        public B setExcludedLoggers(String excludedLoggers) {
+            this.excludedLoggers = excludedLoggers;
+            return this.asBuilder();
+        }
+
+        public B setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this.asBuilder();
+        }
+
+        public B setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this.asBuilder();
+        }
+
+        public B setLingerMillis(long lingerMillis) {
+            this.lingerMillis = lingerMillis;
+            return this.asBuilder();
+        }
+
+        @Override
+        public CometLog4j2Appender build() {
+            Layout<? extends Serializable> layout = this.getLayout();
+            if (layout == null) {
+                layout = PatternLayout.createDefaultLayout(this.getConfiguration());
+            }
+            LogEventsFilter eventsFilter = new LogEventsFilter(this.excludedLoggers, this.sampleRate);
+            return new CometLog4j2Appender(this.getName(), this.getFilter(), layout, this.isIgnoreExceptions(),
+                    this.level, eventsFilter, this.queueCapacity, this.maxBatchSize,
+                    Duration.ofMillis(this.lingerMillis));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ml.comet.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import lombok.Getter;
+import lombok.Setter;
+import ml.comet.logging.CometLogging;
+import ml.comet.logging.LogEventEncoder;
+import ml.comet.logging.LogEventsFilter;
+import ml.comet.logging.LogEventsShipper;
+
+import java.time.Duration;
+
+/**
+ * The logback appender which sends log events as the output of the experiment attached with {@link CometLogging}.
+ *
+ * <p>The appender never blocks the logging thread: events are formatted and sent in batches by the background
+ * thread. Example configuration:</p>
+ * <pre>
+ * &lt;appender name="COMET" class="ml.comet.logging.logback.CometLogbackAppender"&gt;
+ *     &lt;threshold&gt;INFO&lt;/threshold&gt;
+ *     &lt;sampleRate&gt;0.1&lt;/sampleRate&gt;
+ *     &lt;layout class="ch.qos.logback.classic.PatternLayout"&gt;
+ *         &lt;pattern&gt;%d{HH:mm:ss.SSS} %-5level %logger{36} - %msg%n&lt;/pattern&gt;
+ *     &lt;/layout&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ */
+public class CometLogbackAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements LogEventEncoder<ILoggingEvent> {
+    /**
+     * The pattern of the layout used if no layout configured.
+     */
+    public static final String DEFAULT_PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Getter
+    @Setter
+    private Layout<ILoggingEvent> layout;
+    @Getter
+    @Setter
+    private String threshold = Level.TRACE.levelStr;
+    @Getter
+    @Setter
+    private double sampleRate = 1;
+    @Getter
+    @Setter
+    private String excludedLoggers = LogEventsFilter.DEFAULT_EXCLUDED_LOGGERS;
+    @Getter
+    @Setter
+    private int queueCapacity = LogEventsShipper.DEFAULT_QUEUE_CAPACITY;
+    @Getter
+    @Setter
+    private int maxBatchSize = LogEventsShipper.DEFAULT_MAX_BATCH_SIZE;
+    @Getter
+    @Setter
+    private long lingerMillis = LogEventsShipper.DEFAULT_LINGER.toMillis();
+
+    private Level thresholdLevel;
+    private LogEventsFilter filter;
+    @Getter
+    private LogEventsShipper<ILoggingEvent> shipper;
+
+    @Override
+    public void start() {
+        if (this.layout == null) {
+            PatternLayout patternLayout = new PatternLayout();
+            patternLayout.setContext(this.getContext());
+            patternLayout.setPattern(DEFAULT_PATTERN);
+            patternLayout.start();
+            this.layout = patternLayout;
+        }
+        try {
+            this.filter = new LogEventsFilter(this.excludedLoggers, this.sampleRate);
+            this.shipper = new LogEventsShipper<>(this.getName(), this, this.queueCapacity, this.maxBatchSize,
+                    Duration.ofMillis(this.lingerMillis));
+        } catch (IllegalArgumentException e) {
+            this.addError("invalid configuration of the Comet appender", e);
+            return;
+        }
+        this.thresholdLevel = Level.toLevel(this.threshold, Level.TRACE);
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (this.shipper != null) {
+            this.shipper.close();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!CometLogging.isAttached() || !event.getLevel().isGreaterOrEqual(this.thresholdLevel)) {
+            return;
+        }
+        if (!this.filter.accept(event.getLoggerName(), event.getLevel().isGreaterOrEqual(Level.WARN))) {
+            return;
+        }
+        // capture the thread dependent data before passing the event to the background thread
+        event.prepareForDeferredProcessing();
+        this.shipper.offer(event);
+    }
+
+    @Override
+    public String encode(ILoggingEvent event) {
+        return this.layout.doLayout(event);
+    }
+
+    @Override
+    public long getTimestamp(ILoggingEvent event) {
+        return event.getTimeStamp();
+    }
+
+    @Override
+    public boolean isStderr(ILoggingEvent event) {
+        return event.getLevel().isGreaterOrEqual(Level.WARN);
+    }
+}
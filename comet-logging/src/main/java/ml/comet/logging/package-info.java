@@ -0,0 +1,5 @@
+/**
+ * Contains the appenders of the logging frameworks which send log events to the Comet as the output
+ * of the running experiment.
+ */
+package ml.comet.logging;
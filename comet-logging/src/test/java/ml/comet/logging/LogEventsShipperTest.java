@@ -0,0 +1,140 @@
+package ml.comet.logging;
+
+import ml.comet.experiment.impl.rest.OutputLine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogEventsShipperTest {
+
+    private static final LogEventEncoder<String> ENCODER = new LogEventEncoder<String>() {
+        @Override
+        public String encode(String event) {
+            return event;
+        }
+
+        @Override
+        public long getTimestamp(String event) {
+            return 0;
+        }
+
+        @Override
+        public boolean isStderr(String event) {
+            return event.startsWith("ERROR");
+        }
+    };
+
+    @AfterEach
+    public void detach() {
+        CometLogging.detach();
+    }
+
+    @Test
+    public void testEventsSentInBatches() {
+        RecordingExperiment recording = new RecordingExperiment();
+        CometLogging.attach(recording.getExperiment());
+
+        LogEventsShipper<String> shipper = new LogEventsShipper<>("test", ENCODER, 100, 3, Duration.ofSeconds(10));
+        for (int i = 0; i < 7; i++) {
+            assertTrue(shipper.offer(i == 0 ? "ERROR " + i : "INFO " + i));
+        }
+        // full batches are sent without waiting for linger, the last one when closed
+        shipper.close();
+
+        List<List<OutputLine>> batches = recording.getBatches();
+        assertEquals(3, batches.size(), "wrong number of batches");
+        assertEquals(3, batches.get(0).size());
+        assertEquals(1, batches.get(2).size());
+        assertTrue(batches.get(0).get(0).isStderr());
+        assertFalse(batches.get(0).get(1).isStderr());
+        assertEquals(6L, batches.get(2).get(0).getOffset());
+        assertEquals(7, shipper.getSentCount());
+        assertEquals(0, shipper.getDroppedCount());
+    }
+
+    @Test
+    public void testBatchSentAfterLinger() {
+        RecordingExperiment recording = new RecordingExperiment();
+        CometLogging.attach(recording.getExperiment());
+
+        LogEventsShipper<String> shipper = new LogEventsShipper<>("test", ENCODER, 100, 100, Duration.ofMillis(50));
+        shipper.offer("INFO linger");
+        recording.awaitLines(1);
+        assertEquals(1, shipper.getSentCount());
+        shipper.close();
+    }
+
+    @Test
+    public void testEventsDroppedWhenQueueFull() throws InterruptedException {
+        RecordingExperiment recording = new RecordingExperiment();
+        CometLogging.attach(recording.getExperiment());
+
+        // the encoder blocks the background thread, thus the queue is not drained
+        CountDownLatch encoderBlocked = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        LogEventEncoder<String> blockingEncoder = new LogEventEncoder<String>() {
+            @Override
+            public String encode(String event) {
+                encoderBlocked.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return event;
+            }
+
+            @Override
+            public long getTimestamp(String event) {
+                return 0;
+            }
+
+            @Override
+            public boolean isStderr(String event) {
+                return false;
+            }
+        };
+        LogEventsShipper<String> shipper = new LogEventsShipper<>("test", blockingEncoder, 2, 10,
+                Duration.ofMillis(10));
+        assertTrue(shipper.offer("INFO first"));
+        assertTrue(encoderBlocked.await(5, TimeUnit.SECONDS), "encoder was not invoked");
+
+        int accepted = 0;
+        for (int i = 0; i < 30; i++) {
+            if (shipper.offer("INFO " + i)) {
+                accepted++;
+            }
+        }
+        assertEquals(2, accepted, "only the queue capacity can be accepted");
+        assertEquals(28, shipper.getDroppedCount());
+
+        unblock.countDown();
+        shipper.close();
+        assertEquals(3, shipper.getSentCount());
+        assertEquals(3, recording.getLines().size());
+    }
+
+    @Test
+    public void testFilter() {
+        LogEventsFilter filter = new LogEventsFilter(LogEventsFilter.DEFAULT_EXCLUDED_LOGGERS, 0.0001);
+        assertFalse(filter.accept("ml.comet.experiment.impl.http.Connection", true), "client logs must be excluded");
+        assertTrue(filter.accept("org.example.Trainer", true), "urgent events must not be sampled");
+
+        int accepted = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (filter.accept("org.example.Trainer", false)) {
+                accepted++;
+            }
+        }
+        assertTrue(accepted < 100, "events must be sampled");
+        assertEquals(1000 - accepted, filter.getSampledOutCount());
+    }
+}
@@ -0,0 +1,47 @@
+package ml.comet.logging;
+
+import lombok.Getter;
+import ml.comet.experiment.OnlineExperiment;
+import ml.comet.experiment.impl.rest.OutputLine;
+import org.awaitility.Awaitility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The mocked experiment recording the batches of the output lines.
+ */
+public class RecordingExperiment {
+    @Getter
+    private final OnlineExperiment experiment = mock(OnlineExperiment.class);
+    @Getter
+    private final List<List<OutputLine>> batches = new CopyOnWriteArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    public RecordingExperiment() {
+        doAnswer(invocation -> {
+            this.batches.add(new ArrayList<>((List<OutputLine>) invocation.getArgument(0)));
+            return null;
+        }).when(this.experiment).logLines(anyList(), any());
+    }
+
+    public List<OutputLine> getLines() {
+        List<OutputLine> lines = new ArrayList<>();
+        this.batches.forEach(lines::addAll);
+        return lines;
+    }
+
+    public void awaitLines(int count) {
+        Awaitility.await("output lines not sent")
+                .atMost(5, TimeUnit.SECONDS)
+                .pollInterval(10, TimeUnit.MILLISECONDS)
+                .until(() -> this.getLines().size() >= count);
+    }
+}
@@ -0,0 +1,60 @@
+package ml.comet.logging.log4j2;
+
+import ml.comet.experiment.impl.rest.OutputLine;
+import ml.comet.logging.CometLogging;
+import ml.comet.logging.RecordingExperiment;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CometLog4j2AppenderTest {
+
+    @AfterEach
+    public void detach() {
+        CometLogging.detach();
+    }
+
+    @Test
+    public void testEventsShipped() {
+        RecordingExperiment recording = new RecordingExperiment();
+        CometLog4j2Appender appender = CometLog4j2Appender.newBuilder()
+                .setName("COMET")
+                .setLevel(Level.INFO)
+                .setLingerMillis(10)
+                .build();
+        appender.start();
+
+        CometLogging.attach(recording.getExperiment());
+        appender.append(event("org.example.Trainer", Level.DEBUG, "below threshold"));
+        appender.append(event("org.example.Trainer", Level.INFO, "epoch done"));
+        appender.append(event("org.example.Trainer", Level.WARN, "slow"));
+        appender.append(event("ml.comet.experiment.impl.http.Connection", Level.ERROR, "excluded"));
+        appender.stop();
+
+        List<OutputLine> lines = recording.getLines();
+        assertEquals(2, lines.size(), "wrong number of lines");
+        assertTrue(lines.get(0).getOutput().contains("epoch done"));
+        assertFalse(lines.get(0).isStderr());
+        assertEquals(1000, lines.get(0).getLocalTimestamp());
+        assertTrue(lines.get(1).getOutput().contains("slow"));
+        assertTrue(lines.get(1).isStderr(), "warnings must be shown as StdErr");
+    }
+
+    private static LogEvent event(String loggerName, Level level, String message) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(loggerName)
+                .setLevel(level)
+                .setMessage(new SimpleMessage(message))
+                .setTimeMillis(1000)
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package ml.comet.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ml.comet.experiment.impl.rest.OutputLine;
+import ml.comet.logging.CometLogging;
+import ml.comet.logging.RecordingExperiment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CometLogbackAppenderTest {
+
+    @AfterEach
+    public void detach() {
+        CometLogging.detach();
+    }
+
+    @Test
+    public void testEventsShipped() {
+        RecordingExperiment recording = new RecordingExperiment();
+        LoggerContext context = new LoggerContext();
+        CometLogbackAppender appender = new CometLogbackAppender();
+        appender.setContext(context);
+        appender.setName("COMET");
+        appender.setThreshold("INFO");
+        appender.setLingerMillis(10);
+        appender.start();
+        assertTrue(appender.isStarted());
+
+        Logger logger = context.getLogger("org.example.Trainer");
+        logger.setLevel(Level.TRACE);
+        logger.addAppender(appender);
+        Logger clientLogger = context.getLogger("ml.comet.experiment.impl.http.Connection");
+        clientLogger.addAppender(appender);
+
+        // not attached yet
+        logger.info("lost");
+        CometLogging.attach(recording.getExperiment());
+
+        logger.debug("below threshold");
+        logger.info("epoch {} done", 1);
+        logger.error("failed");
+        clientLogger.error("client log must be excluded");
+        appender.stop();
+
+        List<OutputLine> lines = recording.getLines();
+        assertEquals(2, lines.size(), "wrong number of lines");
+        assertTrue(lines.get(0).getOutput().contains("INFO  org.example.Trainer - epoch 1 done"));
+        assertFalse(lines.get(0).isStderr());
+        assertTrue(lines.get(1).getOutput().contains("failed"));
+        assertTrue(lines.get(1).isStderr(), "errors must be shown as StdErr");
+    }
+
+    @Test
+    public void testInvalidConfigurationNotStarted() {
+        CometLogbackAppender appender = new CometLogbackAppender();
+        appender.setContext(new LoggerContext());
+        appender.setSampleRate(2);
+        appender.start();
+        assertFalse(appender.isStarted());
+    }
+}
@@ -0,0 +1,957 @@
+package ml.comet.testbackend;
+
+import ml.comet.experiment.impl.rest.AddExperimentTagsRest;
+import ml.comet.experiment.impl.rest.AddGraphRest;
+import ml.comet.experiment.impl.rest.ArtifactDto;
+import ml.comet.experiment.impl.rest.ArtifactEntry;
+import ml.comet.experiment.impl.rest.ArtifactRequest;
+import ml.comet.experiment.impl.rest.ArtifactVersionAsset;
+import ml.comet.experiment.impl.rest.ArtifactVersionAssetResponse;
+import ml.comet.experiment.impl.rest.ArtifactVersionDetail;
+import ml.comet.experiment.impl.rest.ArtifactVersionState;
+import ml.comet.experiment.impl.rest.ChunkedUploadResponse;
+import ml.comet.experiment.impl.rest.CreateExperimentRequest;
+import ml.comet.experiment.impl.rest.CreateExperimentResponse;
+import ml.comet.experiment.impl.rest.ExperimentAssetLink;
+import ml.comet.experiment.impl.rest.ExperimentAssetListResponse;
+import ml.comet.experiment.impl.rest.ExperimentMetadataRest;
+import ml.comet.experiment.impl.rest.ExperimentModelListResponse;
+import ml.comet.experiment.impl.rest.ExperimentModelRegistryRecord;
+import ml.comet.experiment.impl.rest.ExperimentModelResponse;
+import ml.comet.experiment.impl.rest.ExperimentStatusResponse;
+import ml.comet.experiment.impl.rest.ExperimentTimeRequest;
+import ml.comet.experiment.impl.rest.GetExperimentsResponse;
+import ml.comet.experiment.impl.rest.GetGraphResponse;
+import ml.comet.experiment.impl.rest.GetHtmlResponse;
+import ml.comet.experiment.impl.rest.GetOutputResponse;
+import ml.comet.experiment.impl.rest.GetProjectsResponse;
+import ml.comet.experiment.impl.rest.GetWorkspacesResponse;
+import ml.comet.experiment.impl.rest.GitMetadataRest;
+import ml.comet.experiment.impl.rest.HtmlRest;
+import ml.comet.experiment.impl.rest.LogOtherRest;
+import ml.comet.experiment.impl.rest.MetricRest;
+import ml.comet.experiment.impl.rest.MetricsBatchRest;
+import ml.comet.experiment.impl.rest.MinMaxResponse;
+import ml.comet.experiment.impl.rest.OutputLine;
+import ml.comet.experiment.impl.rest.OutputUpdate;
+import ml.comet.experiment.impl.rest.ParameterRest;
+import ml.comet.experiment.impl.rest.RegistryModelCountResponse;
+import ml.comet.experiment.impl.rest.RegistryModelCreateRequest;
+import ml.comet.experiment.impl.rest.RegistryModelCreateResponse;
+import ml.comet.experiment.impl.rest.RegistryModelDetailsResponse;
+import ml.comet.experiment.impl.rest.RegistryModelItemCreateRequest;
+import ml.comet.experiment.impl.rest.RegistryModelItemCreateResponse;
+import ml.comet.experiment.impl.rest.RegistryModelItemDetails;
+import ml.comet.experiment.impl.rest.RegistryModelItemOverview;
+import ml.comet.experiment.impl.rest.RegistryModelNotesResponse;
+import ml.comet.experiment.impl.rest.RegistryModelNotesUpdateRequest;
+import ml.comet.experiment.impl.rest.RegistryModelOverview;
+import ml.comet.experiment.impl.rest.RegistryModelOverviewListResponse;
+import ml.comet.experiment.impl.rest.RegistryModelUpdateItemRequest;
+import ml.comet.experiment.impl.rest.RegistryModelUpdateRequest;
+import ml.comet.experiment.impl.rest.RestProject;
+import ml.comet.experiment.impl.rest.SetSystemDetailsRequest;
+import ml.comet.experiment.impl.rest.TagsResponse;
+import ml.comet.experiment.impl.rest.ValueMinMaxRest;
+import ml.comet.experiment.impl.utils.JsonUtils;
+import ml.comet.testbackend.BackendState.PendingUpload;
+import ml.comet.testbackend.BackendState.StoredArtifact;
+import ml.comet.testbackend.BackendState.StoredArtifactVersion;
+import ml.comet.testbackend.BackendState.StoredAsset;
+import ml.comet.testbackend.BackendState.StoredExperiment;
+import ml.comet.testbackend.BackendState.StoredModelVersion;
+import ml.comet.testbackend.BackendState.StoredRegistryModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET_CHUNK;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET_CHUNKED_COMPLETE;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_ASSET_CHUNKED_START;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_GIT_METADATA;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_GRAPH;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_HTML;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_LOG_OTHER;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_METRIC;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_METRICS_BATCH;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_OUTPUT;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_PARAMETER;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_REGISTRY_MODEL_VERSION_STAGE;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_START_END_TIME;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.ADD_TAG;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.CREATE_REGISTRY_MODEL;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.CREATE_REGISTRY_MODEL_ITEM;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.DELETE_REGISTRY_MODEL;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.DELETE_REGISTRY_MODEL_ITEM;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.DOWNLOAD_REGISTRY_MODEL;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.EXPERIMENTS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_ARTIFACT_VERSION_DETAIL;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_ARTIFACT_VERSION_FILES;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_ASSETS_LIST;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_EXPERIMENT_ASSET;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_EXPERIMENT_MODEL_LIST;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_GIT_METADATA;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_GRAPH;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_HTML;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_LOG_OTHER;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_METADATA;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_METRICS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_OUTPUT;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_PARAMETERS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_REGISTRY_MODELS_COUNT;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_REGISTRY_MODEL_DETAILS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_REGISTRY_MODEL_LIST;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_REGISTRY_MODEL_NOTES;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.GET_TAGS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.NEW_EXPERIMENT;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.PROJECTS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.SET_EXPERIMENT_STATUS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.SET_SYSTEM_DETAILS;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.UPDATE_ARTIFACT_STATE;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.UPDATE_REGISTRY_MODEL;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.UPDATE_REGISTRY_MODEL_NOTES;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.UPDATE_REGISTRY_MODEL_VERSION;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.UPSERT_ARTIFACT;
+import static ml.comet.experiment.impl.constants.ApiEndpoints.WORKSPACES;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.artifactVersionExists;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.artifactVersionStateNotClosed;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.artifactVersionStateNotClosedErrorOccurred;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.experimentKeyNotSpecified;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.noArtifactFound;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.noArtifactVersionFound;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.noModelToUpdate;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.nonExistingRun;
+import static ml.comet.experiment.impl.constants.SdkErrorCodes.registryModelNotFound;
+
+/**
+ * Routes the requests of the Comet Java SDK to the handlers which read and update the {@link BackendState}.
+ * The handlers reuse the REST model of the SDK, thus the wire format always matches what the client expects.
+ */
+final class BackendApi {
+    static final String DEFAULT_WORKSPACE = "test-workspace";
+    static final String DEFAULT_PROJECT = "general";
+    static final String USER_NAME = "test-user";
+    static final long HEARTBEAT_INTERVAL_MILLIS = 10_000;
+
+    private final BackendState state;
+    private final String baseUrl;
+    private final Map<String, Function<BackendRequest, BackendResponse>> routes = new HashMap<>();
+
+    BackendApi(BackendState state, String baseUrl) {
+        this.state = state;
+        this.baseUrl = baseUrl;
+
+        // experiment write endpoints
+        this.routes.put(NEW_EXPERIMENT, this::createExperiment);
+        this.routes.put(SET_EXPERIMENT_STATUS, this::setExperimentStatus);
+        this.routes.put(ADD_METRIC, request -> this.addMetrics(request, MetricRest.class));
+        this.routes.put(ADD_METRICS_BATCH, request -> this.addMetrics(request, MetricsBatchRest.class));
+        this.routes.put(ADD_PARAMETER, this::addParameter);
+        this.routes.put(ADD_LOG_OTHER, this::addLogOther);
+        this.routes.put(ADD_OUTPUT, this::addOutput);
+        this.routes.put(ADD_TAG, this::addTags);
+        this.routes.put(ADD_HTML, this::addHtml);
+        this.routes.put(ADD_GRAPH, this::addGraph);
+        this.routes.put(ADD_GIT_METADATA, this::addGitMetadata);
+        this.routes.put(ADD_START_END_TIME, this::addStartEndTime);
+        this.routes.put(SET_SYSTEM_DETAILS, this::setSystemDetails);
+        this.routes.put(ADD_ASSET, this::addAsset);
+        this.routes.put(ADD_ASSET_CHUNKED_START, this::startChunkedUpload);
+        this.routes.put(ADD_ASSET_CHUNK, this::addAssetChunk);
+        this.routes.put(ADD_ASSET_CHUNKED_COMPLETE, this::completeChunkedUpload);
+
+        // experiment read endpoints
+        this.routes.put(GET_METADATA, this::getMetadata);
+        this.routes.put(GET_METRICS, this::getMetrics);
+        this.routes.put(GET_PARAMETERS, this::getParameters);
+        this.routes.put(GET_LOG_OTHER, this::getLogOther);
+        this.routes.put(GET_TAGS, request -> BackendResponse.json(
+                new TagsResponse(new ArrayList<>(this.experiment(request).getTags()))));
+        this.routes.put(GET_GRAPH, request -> BackendResponse.json(
+                new GetGraphResponse(this.experiment(request).getGraph())));
+        this.routes.put(GET_HTML, request -> BackendResponse.json(
+                new GetHtmlResponse(this.experiment(request).getHtml())));
+        this.routes.put(GET_OUTPUT, this::getOutput);
+        this.routes.put(GET_GIT_METADATA, this::getGitMetadata);
+        this.routes.put(GET_ASSETS_LIST, this::getAssetsList);
+        this.routes.put(GET_EXPERIMENT_ASSET, this::getAsset);
+        this.routes.put(GET_EXPERIMENT_MODEL_LIST, this::getExperimentModels);
+        this.routes.put(WORKSPACES, this::getWorkspaces);
+        this.routes.put(PROJECTS, this::getProjects);
+        this.routes.put(EXPERIMENTS, this::getExperiments);
+
+        // artifacts
+        this.routes.put(UPSERT_ARTIFACT, this::upsertArtifact);
+        this.routes.put(UPDATE_ARTIFACT_STATE, this::updateArtifactState);
+        this.routes.put(GET_ARTIFACT_VERSION_DETAIL, this::getArtifactVersionDetail);
+        this.routes.put(GET_ARTIFACT_VERSION_FILES, this::getArtifactVersionFiles);
+
+        // model registry
+        this.routes.put(CREATE_REGISTRY_MODEL, this::createRegistryModel);
+        this.routes.put(CREATE_REGISTRY_MODEL_ITEM, this::createRegistryModelItem);
+        this.routes.put(UPDATE_REGISTRY_MODEL, this::updateRegistryModel);
+        this.routes.put(UPDATE_REGISTRY_MODEL_VERSION, this::updateRegistryModelVersion);
+        this.routes.put(UPDATE_REGISTRY_MODEL_NOTES, this::updateRegistryModelNotes);
+        this.routes.put(DELETE_REGISTRY_MODEL, this::deleteRegistryModel);
+        this.routes.put(DELETE_REGISTRY_MODEL_ITEM, this::deleteRegistryModelItem);
+        this.routes.put(ADD_REGISTRY_MODEL_VERSION_STAGE, this::addRegistryModelVersionStage);
+        this.routes.put(GET_REGISTRY_MODEL_LIST, this::getRegistryModels);
+        this.routes.put(GET_REGISTRY_MODEL_DETAILS, this::getRegistryModelDetails);
+        this.routes.put(GET_REGISTRY_MODEL_NOTES, request -> BackendResponse.json(
+                new RegistryModelNotesResponse(this.registryModel(request).getNotes())));
+        this.routes.put(GET_REGISTRY_MODELS_COUNT, this::getRegistryModelsCount);
+        this.routes.put(DOWNLOAD_REGISTRY_MODEL, this::downloadRegistryModel);
+    }
+
+    /**
+     * Returns {@code true} if given path is the endpoint served by this API.
+     *
+     * @param path the path of the request.
+     * @return {@code true} if given path is the endpoint served by this API.
+     */
+    boolean isKnownEndpoint(String path) {
+        return this.routes.containsKey(path);
+    }
+
+    /**
+     * Serves the request.
+     *
+     * @param request the request to serve.
+     * @return the response to the request.
+     */
+    BackendResponse handle(BackendRequest request) {
+        Function<BackendRequest, BackendResponse> route = this.routes.get(request.getPath());
+        if (route == null) {
+            return BackendResponse.error(404, "unknown endpoint: " + request.getPath(), 0);
+        }
+        if (request.getApiKey() == null || request.getApiKey().isEmpty()) {
+            return BackendResponse.error(401, "missing API key", 0);
+        }
+        try {
+            return route.apply(request);
+        } catch (BackendException ex) {
+            return ex.toResponse();
+        } catch (RuntimeException ex) {
+            return BackendResponse.error(400, String.valueOf(ex.getMessage()), 0);
+        }
+    }
+
+    private BackendResponse createExperiment(BackendRequest request) {
+        CreateExperimentRequest body = body(request, CreateExperimentRequest.class);
+        StoredExperiment experiment = this.state.createExperiment(
+                orDefault(body.getWorkspaceName(), DEFAULT_WORKSPACE),
+                orDefault(body.getProjectName(), DEFAULT_PROJECT),
+                body.getExperimentName());
+
+        CreateExperimentResponse response = new CreateExperimentResponse(
+                experiment.getWorkspace(), experiment.getProject(), this.experimentLink(experiment),
+                experiment.getName());
+        response.setExperimentKey(experiment.getKey());
+        return BackendResponse.json(response);
+    }
+
+    private BackendResponse setExperimentStatus(BackendRequest request) {
+        this.experiment(request).heartbeat();
+        return BackendResponse.json(new ExperimentStatusResponse(
+                HEARTBEAT_INTERVAL_MILLIS, HEARTBEAT_INTERVAL_MILLIS, HEARTBEAT_INTERVAL_MILLIS));
+    }
+
+    private BackendResponse addMetrics(BackendRequest request, Class<?> type) {
+        Object body = body(request, type);
+        if (body instanceof MetricRest) {
+            MetricRest metric = (MetricRest) body;
+            this.experiment(metric.getExperimentKey()).addMetrics(Collections.singletonList(metric));
+        } else {
+            MetricsBatchRest batch = (MetricsBatchRest) body;
+            Map<String, List<MetricRest>> byExperiment = batch.getMetrics().stream()
+                    .collect(Collectors.groupingBy(metric -> orDefault(
+                            metric.getExperimentKey(), batch.getExperimentKey())));
+            byExperiment.forEach((key, metrics) -> this.experiment(key).addMetrics(metrics));
+        }
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addParameter(BackendRequest request) {
+        ParameterRest parameter = body(request, ParameterRest.class);
+        this.experiment(parameter.getExperimentKey()).addParameter(parameter);
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addLogOther(BackendRequest request) {
+        LogOtherRest other = body(request, LogOtherRest.class);
+        this.experiment(other.getExperimentKey()).addOther(other);
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addOutput(BackendRequest request) {
+        OutputUpdate update = body(request, OutputUpdate.class);
+        this.experiment(update.getExperimentKey()).addOutput(update.getOutputLines());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addTags(BackendRequest request) {
+        AddExperimentTagsRest tags = body(request, AddExperimentTagsRest.class);
+        this.experiment(tags.getExperimentKey()).addTags(tags.getAddedTags());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addHtml(BackendRequest request) {
+        HtmlRest html = body(request, HtmlRest.class);
+        StoredExperiment experiment = this.experiment(html.getExperimentKey());
+        synchronized (experiment) {
+            if (Boolean.TRUE.equals(html.getOverride()) || experiment.getHtml() == null) {
+                experiment.setHtml(html.getHtml());
+            } else {
+                experiment.setHtml(experiment.getHtml() + html.getHtml());
+            }
+        }
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addGraph(BackendRequest request) {
+        AddGraphRest graph = body(request, AddGraphRest.class);
+        this.experiment(graph.getExperimentKey()).setGraph(graph.getGraph());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addGitMetadata(BackendRequest request) {
+        GitMetadataRest metadata = body(request, GitMetadataRest.class);
+        this.experiment(metadata.getExperimentKey()).setGitMetadata(metadata);
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addStartEndTime(BackendRequest request) {
+        ExperimentTimeRequest time = body(request, ExperimentTimeRequest.class);
+        this.experiment(time.getExperimentKey()).setStartEndTime(time.getStartTimeMillis(), time.getEndTimeMillis());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse setSystemDetails(BackendRequest request) {
+        SetSystemDetailsRequest details = body(request, SetSystemDetailsRequest.class);
+        this.experiment(details.getExperimentKey()).setSystemDetails(details);
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addAsset(BackendRequest request) {
+        StoredExperiment experiment = this.experiment(request);
+        boolean remote = Boolean.parseBoolean(request.param("isRemote"));
+        byte[] content = remote ? null : request.getFile();
+        if (!remote && content == null) {
+            throw BackendException.badRequest("no file uploaded", 0);
+        }
+        String step = request.param("step");
+        StoredAsset asset = new StoredAsset(experiment.getKey(),
+                orDefault(request.param("fileName"), "asset"),
+                orDefault(request.param("type"), "asset"),
+                request.param("groupingName"),
+                request.param("context"),
+                step == null ? null : Long.valueOf(step),
+                request.formParam("metadata"),
+                request.formParam("link"),
+                content,
+                request.param("artifactVersionId"));
+        experiment.addAsset(asset, Boolean.parseBoolean(request.param("overwrite")));
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse startChunkedUpload(BackendRequest request) {
+        this.experiment(request);
+        String uploadId = request.param("uploadId");
+        PendingUpload upload = uploadId == null ? null : this.state.findUpload(uploadId).orElse(null);
+        if (upload == null) {
+            long totalSize = Long.parseLong(request.param("totalSize"));
+            int chunkSize = Integer.parseInt(request.param("chunkSize"));
+            int chunkCount = Integer.parseInt(request.param("chunkCount"));
+            if (chunkSize <= 0 || chunkCount != (totalSize + chunkSize - 1) / chunkSize) {
+                throw BackendException.badRequest("wrong number of chunks: " + chunkCount, 0);
+            }
+            upload = this.state.createUpload(new HashMap<>(request.getQuery()), new HashMap<>(request.getForm()),
+                    totalSize, chunkSize, chunkCount);
+        }
+        return BackendResponse.json(new ChunkedUploadResponse(upload.uploadId, upload.receivedChunks()));
+    }
+
+    private BackendResponse addAssetChunk(BackendRequest request) {
+        PendingUpload upload = this.upload(request);
+        int chunk = Integer.parseInt(request.param("chunkIndex"));
+        if (chunk < 0 || chunk >= upload.chunkCount) {
+            throw BackendException.badRequest("wrong chunk index: " + chunk, 0);
+        }
+        byte[] data = request.getFile();
+        if (data == null || data.length != upload.expectedChunkSize(chunk)) {
+            throw BackendException.badRequest("wrong size of the chunk: " + chunk, 0);
+        }
+        upload.addChunk(chunk, data);
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse completeChunkedUpload(BackendRequest request) {
+        String uploadId = request.param("uploadId");
+        if (uploadId != null && this.state.isUploadCompleted(uploadId)) {
+            // the response to the previous attempt was lost
+            return BackendResponse.ok();
+        }
+        PendingUpload upload = this.upload(request);
+        if (!upload.isComplete()) {
+            throw BackendException.badRequest("not all chunks uploaded: " + upload.receivedChunks(), 0);
+        }
+        BackendResponse response = this.addAsset(new BackendRequest(ADD_ASSET, upload.query, null, upload.form,
+                upload.assemble(), request.getApiKey()));
+        this.state.completeUpload(upload.uploadId);
+        return response;
+    }
+
+    private BackendResponse getMetadata(BackendRequest request) {
+        return BackendResponse.json(this.metadata(this.experiment(request)));
+    }
+
+    private BackendResponse getMetrics(BackendRequest request) {
+        return BackendResponse.json(minMax(this.experiment(request).getMetrics(), MetricRest::getMetricName,
+                MetricRest::getMetricValue, MetricRest::getTimestamp, MetricRest::getStep, MetricRest::getContext));
+    }
+
+    private BackendResponse getParameters(BackendRequest request) {
+        return BackendResponse.json(minMax(this.experiment(request).getParameters(), ParameterRest::getParameterName,
+                ParameterRest::getParameterValue, ParameterRest::getTimestamp, ParameterRest::getStep,
+                ParameterRest::getContext));
+    }
+
+    private BackendResponse getLogOther(BackendRequest request) {
+        return BackendResponse.json(minMax(this.experiment(request).getOthers(), LogOtherRest::getKey,
+                LogOtherRest::getValue, LogOtherRest::getTimestamp, other -> null, other -> null));
+    }
+
+    private BackendResponse getOutput(BackendRequest request) {
+        String output = this.experiment(request).getOutput().stream()
+                .map(OutputLine::getOutput)
+                .collect(Collectors.joining());
+        return BackendResponse.json(new GetOutputResponse(output));
+    }
+
+    private BackendResponse getGitMetadata(BackendRequest request) {
+        GitMetadataRest metadata = this.experiment(request).getGitMetadata();
+        return BackendResponse.json(metadata != null ? metadata : new GitMetadataRest());
+    }
+
+    private BackendResponse getAssetsList(BackendRequest request) {
+        String type = request.param("type");
+        List<ExperimentAssetLink> links = this.experiment(request).getAssets().stream()
+                .filter(asset -> type == null || "all".equals(type) || type.equals(asset.getType()))
+                .map(this::assetLink)
+                .collect(Collectors.toList());
+        return BackendResponse.json(new ExperimentAssetListResponse(links));
+    }
+
+    private BackendResponse getAsset(BackendRequest request) {
+        String assetId = request.param("assetId");
+        StoredAsset asset = this.state.findAsset(String.valueOf(assetId))
+                .filter(found -> found.getContent() != null)
+                .orElseThrow(() -> BackendException.badRequest("asset not found: " + assetId, 0));
+        return BackendResponse.bytes(asset.getContent());
+    }
+
+    private BackendResponse getExperimentModels(BackendRequest request) {
+        StoredExperiment experiment = this.experiment(request);
+        List<ExperimentModelResponse> models = experiment.getModelNames().stream()
+                .map(modelName -> this.experimentModel(experiment.getKey(), modelName))
+                .collect(Collectors.toList());
+        return BackendResponse.json(new ExperimentModelListResponse(models));
+    }
+
+    private BackendResponse getWorkspaces(BackendRequest request) {
+        List<String> workspaces = Stream.concat(
+                        Stream.of(DEFAULT_WORKSPACE),
+                        this.state.getExperiments().stream().map(StoredExperiment::getWorkspace))
+                .distinct()
+                .collect(Collectors.toList());
+        return BackendResponse.json(new GetWorkspacesResponse(workspaces));
+    }
+
+    private BackendResponse getProjects(BackendRequest request) {
+        String workspace = request.param("workspaceName");
+        Map<String, List<StoredExperiment>> byProject = this.state.getExperiments().stream()
+                .filter(experiment -> experiment.getWorkspace().equals(workspace))
+                .collect(Collectors.groupingBy(StoredExperiment::getProject, LinkedHashMap::new, Collectors.toList()));
+        List<RestProject> projects = byProject.entrySet().stream()
+                .map(entry -> new RestProject(projectId(workspace, entry.getKey()), entry.getKey(), USER_NAME, null,
+                        workspace, false, entry.getValue().size(), entry.getValue().stream()
+                        .mapToLong(StoredExperiment::getCreatedAt).max().orElse(0)))
+                .collect(Collectors.toList());
+        return BackendResponse.json(new GetProjectsResponse(projects));
+    }
+
+    private BackendResponse getExperiments(BackendRequest request) {
+        String projectId = request.param("projectId");
+        String workspace = request.param("workspaceName");
+        String project = request.param("projectName");
+        List<ExperimentMetadataRest> experiments = this.state.getExperiments().stream()
+                .filter(experiment -> projectId != null
+                        ? projectId(experiment.getWorkspace(), experiment.getProject()).equals(projectId)
+                        : experiment.getWorkspace().equals(workspace) && experiment.getProject().equals(project))
+                .map(this::metadata)
+                .collect(Collectors.toList());
+        return BackendResponse.json(new GetExperimentsResponse(experiments));
+    }
+
+    private BackendResponse upsertArtifact(BackendRequest request) {
+        ArtifactRequest body = body(request, ArtifactRequest.class);
+        StoredExperiment experiment = this.experiment(body.getExperimentKey());
+        String workspace = orDefault(body.getWorkspaceName(), experiment.getWorkspace());
+        StoredArtifact artifact = this.state.findArtifact(body.getArtifactId(), workspace, body.getArtifactName())
+                .orElseGet(() -> this.state.createArtifact(workspace,
+                        orDefault(body.getProjectName(), experiment.getProject()),
+                        body.getArtifactName(), body.getArtifactType()));
+
+        if (body.getVersion() != null && artifact.findVersion(body.getVersion())
+                .filter(version -> version.getVersion().equals(body.getVersion())).isPresent()) {
+            throw BackendException.badRequest("artifact version already exists: " + body.getVersion(),
+                    artifactVersionExists);
+        }
+        StoredArtifactVersion version = artifact.addVersion(experiment.getKey(), body.getVersion(),
+                asList(body.getAlias()), asList(body.getVersionTags()), body.getVersionMetadata());
+        return BackendResponse.json(new ArtifactEntry(artifact.getArtifactId(), version.getArtifactVersionId(),
+                version.getPreviousVersion(), version.getVersion()));
+    }
+
+    private BackendResponse updateArtifactState(BackendRequest request) {
+        ArtifactRequest body = body(request, ArtifactRequest.class);
+        StoredArtifactVersion version = this.state.findArtifactVersion(String.valueOf(body.getArtifactVersionId()))
+                .orElseThrow(() -> BackendException.badRequest(
+                        "artifact version not found: " + body.getArtifactVersionId(), noArtifactVersionFound));
+        version.setState(body.getState());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse getArtifactVersionDetail(BackendRequest request) {
+        StoredArtifactVersion version = this.artifactVersion(request);
+        // only the consumers are rejected, the producer reads the details of the version it is uploading
+        boolean consumer = request.param("consumerExperimentKey") != null;
+        if (consumer && version.getState() == ArtifactVersionState.OPEN) {
+            throw BackendException.badRequest("artifact version is not closed", artifactVersionStateNotClosed);
+        } else if (consumer && version.getState() == ArtifactVersionState.ERROR) {
+            throw BackendException.badRequest(
+                    "artifact version is in error state", artifactVersionStateNotClosedErrorOccurred);
+        }
+
+        StoredArtifact artifact = version.getArtifact();
+        List<StoredAsset> assets = this.artifactAssets(version);
+        ArtifactDto dto = new ArtifactDto(artifact.getArtifactId(), artifact.getName(),
+                projectId(artifact.getWorkspace(), artifact.getProject()), artifact.getWorkspace(),
+                artifact.getWorkspace(), version.getExperimentKey(), null, version.getVersion(), null,
+                artifact.getType(), false, USER_NAME, contentSize(assets), null, Collections.emptyList());
+
+        ArtifactVersionDetail detail = new ArtifactVersionDetail();
+        detail.setArtifactVersionId(version.getArtifactVersionId());
+        detail.setArtifactVersion(version.getVersion());
+        detail.setOwner(USER_NAME);
+        detail.setCreatedFrom(version.getExperimentKey());
+        detail.setSizeInBytes(contentSize(assets));
+        detail.setMetadata(version.getMetadata());
+        detail.setAdded(new Timestamp(System.currentTimeMillis()));
+        detail.setState(version.getState());
+        detail.setTags(version.getTags());
+        detail.setAlias(version.getAliases());
+        detail.setArtifact(dto);
+        detail.setExperimentKey(version.getExperimentKey());
+        return BackendResponse.json(detail);
+    }
+
+    private BackendResponse getArtifactVersionFiles(BackendRequest request) {
+        StoredArtifactVersion version = this.artifactVersion(request);
+        List<ArtifactVersionAsset> files = this.artifactAssets(version).stream()
+                .map(asset -> {
+                    ArtifactVersionAsset file = new ArtifactVersionAsset();
+                    file.setArtifactId(version.getArtifact().getArtifactId());
+                    file.setArtifactVersionId(version.getArtifactVersionId());
+                    file.setAssetId(asset.getAssetId());
+                    file.setFileName(asset.getFileName());
+                    file.setFileSize(asset.getContent() != null ? asset.getContent().length : 0);
+                    file.setLink(asset.getLink());
+                    file.setType(asset.getType());
+                    file.setMetadata(asset.getMetadata());
+                    file.setRemote(asset.isRemote());
+                    return file;
+                })
+                .collect(Collectors.toList());
+        return BackendResponse.json(new ArtifactVersionAssetResponse(files));
+    }
+
+    private BackendResponse createRegistryModel(BackendRequest request) {
+        RegistryModelCreateRequest body = body(request, RegistryModelCreateRequest.class);
+        Map.Entry<String, String> experimentModel = this.experimentModelRef(body.getExperimentModelId());
+        StoredExperiment experiment = this.experiment(experimentModel.getKey());
+        if (this.state.findRegistryModel(experiment.getWorkspace(), body.getRegistryModelName()).isPresent()) {
+            throw BackendException.badRequest("registry model already exists: " + body.getRegistryModelName(), 0);
+        }
+        StoredRegistryModel model = this.state.createRegistryModel(
+                experiment.getWorkspace(), body.getRegistryModelName());
+        model.update(null, body.getDescription(), body.isPublic());
+        StoredModelVersion version = new StoredModelVersion(experimentModel.getKey(), experimentModel.getValue(),
+                body.getVersion(), body.getComment(), body.getStages());
+        model.addVersion(version);
+        return BackendResponse.json(
+                new RegistryModelCreateResponse(model.getRegistryModelId(), version.getRegistryModelItemId()));
+    }
+
+    private BackendResponse createRegistryModelItem(BackendRequest request) {
+        RegistryModelItemCreateRequest body = body(request, RegistryModelItemCreateRequest.class);
+        Map.Entry<String, String> experimentModel = this.experimentModelRef(body.getExperimentModelId());
+        StoredExperiment experiment = this.experiment(experimentModel.getKey());
+        StoredRegistryModel model = this.registryModel(experiment.getWorkspace(), body.getRegistryModelName());
+        if (model.getVersions().stream().anyMatch(version -> version.getVersion().equals(body.getVersion()))) {
+            throw BackendException.badRequest("model version already exists: " + body.getVersion(), 0);
+        }
+        StoredModelVersion version = new StoredModelVersion(experimentModel.getKey(), experimentModel.getValue(),
+                body.getVersion(), body.getComment(), body.getStages());
+        model.addVersion(version);
+        return BackendResponse.json(
+                new RegistryModelItemCreateResponse(model.getRegistryModelId(), version.getRegistryModelItemId()));
+    }
+
+    private BackendResponse updateRegistryModel(BackendRequest request) {
+        RegistryModelUpdateRequest body = body(request, RegistryModelUpdateRequest.class);
+        StoredRegistryModel model = this.state.findRegistryModelById(String.valueOf(body.getRegistryModelId()))
+                .orElseThrow(() -> BackendException.badRequest(
+                        "registry model not found: " + body.getRegistryModelId(), noModelToUpdate));
+        model.update(body.getRegistryModelName(), body.getDescription(), body.getIsPublic());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse updateRegistryModelVersion(BackendRequest request) {
+        RegistryModelUpdateItemRequest body = body(request, RegistryModelUpdateItemRequest.class);
+        this.modelVersion(body.getRegistryModelItemId()).update(body.getComment(), body.getStages());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse updateRegistryModelNotes(BackendRequest request) {
+        RegistryModelNotesUpdateRequest body = body(request, RegistryModelNotesUpdateRequest.class);
+        this.registryModel(body.getWorkspaceName(), body.getRegistryModelName()).setNotes(body.getNotes());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse deleteRegistryModel(BackendRequest request) {
+        StoredRegistryModel model = this.registryModel(request);
+        this.state.deleteRegistryModel(model.getWorkspace(), model.getName());
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse deleteRegistryModelItem(BackendRequest request) {
+        String itemId = String.valueOf(request.param("modelItemId"));
+        StoredRegistryModel model = this.state.findModelOfVersion(itemId)
+                .orElseThrow(() -> BackendException.badRequest(
+                        "model version not found: " + itemId, registryModelNotFound));
+        model.removeVersion(itemId);
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse addRegistryModelVersionStage(BackendRequest request) {
+        StoredModelVersion version = this.modelVersion(request.param("modelItemId"));
+        String stage = request.param("stage");
+        if (stage != null) {
+            version.getStages().add(stage);
+        }
+        return BackendResponse.ok();
+    }
+
+    private BackendResponse getRegistryModels(BackendRequest request) {
+        String workspace = request.param("workspaceName");
+        List<RegistryModelOverview> models = this.state.getRegistryModels().stream()
+                .filter(model -> model.getWorkspace().equals(workspace))
+                .map(this::registryModelOverview)
+                .collect(Collectors.toList());
+        return BackendResponse.json(new RegistryModelOverviewListResponse(models));
+    }
+
+    private BackendResponse getRegistryModelDetails(BackendRequest request) {
+        StoredRegistryModel model = this.registryModel(request);
+        List<RegistryModelItemDetails> versions = model.getVersions().stream()
+                .map(version -> new RegistryModelItemDetails(version.getRegistryModelItemId(),
+                        this.experimentModel(version.getExperimentKey(), version.getModelName()),
+                        version.getVersion(), version.getComment(), new ArrayList<>(version.getStages()),
+                        this.modelAssets(version).stream().map(this::assetLink).collect(Collectors.toList()),
+                        USER_NAME, version.getCreatedAt(), version.getCreatedAt(), null))
+                .collect(Collectors.toList());
+
+        RegistryModelDetailsResponse details = new RegistryModelDetailsResponse();
+        details.setRegistryModelId(model.getRegistryModelId());
+        details.setWorkspaceId(model.getWorkspace());
+        details.setModelName(model.getName());
+        details.setDescription(model.getDescription());
+        details.setNumberOfVersions(versions.size());
+        details.setPublic(model.isPublic());
+        details.setVersions(versions);
+        details.setUserName(USER_NAME);
+        details.setCreatedAt(model.getCreatedAt());
+        details.setLastUpdated(model.getCreatedAt());
+        return BackendResponse.json(details);
+    }
+
+    private BackendResponse getRegistryModelsCount(BackendRequest request) {
+        String workspace = request.param("workspaceName");
+        int count = (int) this.state.getRegistryModels().stream()
+                .filter(model -> model.getWorkspace().equals(workspace))
+                .count();
+        return BackendResponse.json(new RegistryModelCountResponse(count));
+    }
+
+    private BackendResponse downloadRegistryModel(BackendRequest request) {
+        StoredRegistryModel model = this.registryModel(request);
+        StoredModelVersion version = model.findVersion(request.param("version"), request.param("stage"))
+                .orElseThrow(() -> BackendException.badRequest(
+                        "model version not found in: " + model.getName(), registryModelNotFound));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (StoredAsset asset : this.modelAssets(version)) {
+                zos.putNextEntry(new ZipEntry(asset.getFileName()));
+                zos.write(asset.getContent());
+                zos.closeEntry();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return BackendResponse.bytes(out.toByteArray());
+    }
+
+    private PendingUpload upload(BackendRequest request) {
+        String uploadId = request.param("uploadId");
+        if (uploadId == null) {
+            throw BackendException.badRequest("upload ID is not specified", 0);
+        }
+        return this.state.findUpload(uploadId)
+                .orElseThrow(() -> new BackendException(404, "upload not found: " + uploadId, 0));
+    }
+
+    private StoredExperiment experiment(BackendRequest request) {
+        return this.experiment(request.param("experimentKey"));
+    }
+
+    private StoredExperiment experiment(String experimentKey) {
+        if (experimentKey == null) {
+            throw BackendException.badRequest("experiment key is not specified", experimentKeyNotSpecified);
+        }
+        return this.state.getExperiment(experimentKey)
+                .orElseThrow(() -> BackendException.badRequest(
+                        "experiment not found: " + experimentKey, nonExistingRun));
+    }
+
+    private StoredArtifactVersion artifactVersion(BackendRequest request) {
+        String versionId = request.param("versionId");
+        if (versionId != null) {
+            return this.state.findArtifactVersion(versionId)
+                    .orElseThrow(() -> BackendException.badRequest(
+                            "artifact version not found: " + versionId, noArtifactVersionFound));
+        }
+        String workspace = request.param("workspace");
+        String name = request.param("artifactName");
+        StoredArtifact artifact = this.state.findArtifact(request.param("artifactId"), workspace, name)
+                .orElseThrow(() -> BackendException.badRequest("artifact not found: " + name, noArtifactFound));
+
+        String versionOrAlias = Stream.of(request.param("version"), request.param("alias"),
+                        request.param("versionOrAlias"))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+        return artifact.findVersion(versionOrAlias)
+                .orElseThrow(() -> BackendException.badRequest(
+                        "artifact version not found: " + versionOrAlias, noArtifactVersionFound));
+    }
+
+    private List<StoredAsset> artifactAssets(StoredArtifactVersion version) {
+        return this.experiment(version.getExperimentKey()).getAssets().stream()
+                .filter(asset -> version.getArtifactVersionId().equals(asset.getArtifactVersionId()))
+                .collect(Collectors.toList());
+    }
+
+    private Map.Entry<String, String> experimentModelRef(String experimentModelId) {
+        return this.state.findExperimentModel(String.valueOf(experimentModelId))
+                .orElseThrow(() -> BackendException.badRequest(
+                        "experiment model not found: " + experimentModelId, 0));
+    }
+
+    private ExperimentModelResponse experimentModel(String experimentKey, String modelName) {
+        ExperimentModelResponse response = new ExperimentModelResponse();
+        response.setExperimentModelId(this.state.experimentModelId(experimentKey, modelName));
+        response.setExperimentKey(experimentKey);
+        response.setModelName(modelName);
+        response.setRegistryRecords(this.state.getRegistryModels().stream()
+                .flatMap(model -> model.getVersions().stream()
+                        .filter(version -> version.getExperimentKey().equals(experimentKey)
+                                && version.getModelName().equals(modelName))
+                        .map(version -> new ExperimentModelRegistryRecord(model.getRegistryModelId(),
+                                version.getRegistryModelItemId(), model.getName(), version.getVersion(),
+                                version.getCreatedAt())))
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    private List<StoredAsset> modelAssets(StoredModelVersion version) {
+        return this.experiment(version.getExperimentKey()).getAssets().stream()
+                .filter(asset -> asset.isModelElement() && asset.getGroupingName().equals(version.getModelName()))
+                .collect(Collectors.toList());
+    }
+
+    private StoredRegistryModel registryModel(BackendRequest request) {
+        return this.registryModel(request.param("workspaceName"), request.param("modelName"));
+    }
+
+    private StoredRegistryModel registryModel(String workspace, String name) {
+        return this.state.findRegistryModel(String.valueOf(workspace), String.valueOf(name))
+                .orElseThrow(() -> BackendException.badRequest(
+                        "registry model not found: " + workspace + "/" + name, registryModelNotFound));
+    }
+
+    private StoredModelVersion modelVersion(String registryModelItemId) {
+        return this.state.findModelVersion(String.valueOf(registryModelItemId))
+                .orElseThrow(() -> BackendException.badRequest(
+                        "model version not found: " + registryModelItemId, noModelToUpdate));
+    }
+
+    private RegistryModelOverview registryModelOverview(StoredRegistryModel model) {
+        RegistryModelOverview overview = new RegistryModelOverview();
+        overview.setRegistryModelId(model.getRegistryModelId());
+        overview.setModelName(model.getName());
+        overview.setDescription(model.getDescription());
+        overview.setPublic(model.isPublic());
+        overview.setUserName(USER_NAME);
+        overview.setCreatedAt(model.getCreatedAt());
+        overview.setLastUpdated(model.getCreatedAt());
+
+        List<StoredModelVersion> versions = model.getVersions();
+        overview.setNumberOfVersions(versions.size());
+        if (!versions.isEmpty()) {
+            StoredModelVersion latest = versions.get(versions.size() - 1);
+            overview.setLatestVersion(new RegistryModelItemOverview(latest.getRegistryModelItemId(),
+                    this.experimentModel(latest.getExperimentKey(), latest.getModelName()), latest.getVersion(),
+                    latest.getComment(), new ArrayList<>(latest.getStages()), Collections.emptyList(), USER_NAME,
+                    latest.getCreatedAt(), latest.getCreatedAt()));
+        }
+        return overview;
+    }
+
+    private ExperimentMetadataRest metadata(StoredExperiment experiment) {
+        ExperimentMetadataRest metadata = new ExperimentMetadataRest();
+        metadata.setExperimentKey(experiment.getKey());
+        metadata.setExperimentName(experiment.getName());
+        metadata.setUserName(USER_NAME);
+        metadata.setProjectId(projectId(experiment.getWorkspace(), experiment.getProject()));
+        metadata.setProjectName(experiment.getProject());
+        metadata.setWorkspaceName(experiment.getWorkspace());
+        metadata.setStartTimeMillis(experiment.getStartTimeMillis());
+        metadata.setEndTimeMillis(experiment.getEndTimeMillis());
+        if (experiment.getStartTimeMillis() != null && experiment.getEndTimeMillis() != null) {
+            metadata.setDurationMillis(experiment.getEndTimeMillis() - experiment.getStartTimeMillis());
+        }
+        metadata.setRunning(experiment.getEndTimeMillis() == null);
+        return metadata;
+    }
+
+    private ExperimentAssetLink assetLink(StoredAsset asset) {
+        ExperimentAssetLink link = new ExperimentAssetLink();
+        link.setAssetId(asset.getAssetId());
+        link.setFileName(asset.getFileName());
+        link.setFileSize(asset.getContent() != null ? (long) asset.getContent().length : 0L);
+        link.setRunContext(asset.getContext());
+        link.setStep(asset.getStep());
+        link.setRemote(asset.isRemote());
+        link.setLink(asset.isRemote() ? asset.getLink() : String.format("%s%s?experimentKey=%s&assetId=%s",
+                this.baseUrl, GET_EXPERIMENT_ASSET, asset.getExperimentKey(), asset.getAssetId()));
+        link.setCreatedAt(new Timestamp(asset.getCreatedAt()));
+        link.setType(asset.getType());
+        link.setMetadata(asset.getMetadata());
+        return link;
+    }
+
+    private String experimentLink(StoredExperiment experiment) {
+        return String.format("%s/%s/%s/%s",
+                this.baseUrl, experiment.getWorkspace(), experiment.getProject(), experiment.getKey());
+    }
+
+    private static <T> MinMaxResponse minMax(Collection<T> records, Function<T, String> name,
+                                             Function<T, String> value, Function<T, Long> timestamp,
+                                             Function<T, Long> step, Function<T, String> context) {
+        Map<String, ValueMinMaxRest> summaries = new LinkedHashMap<>();
+        Map<String, T> minimums = new HashMap<>();
+        Map<String, T> maximums = new HashMap<>();
+        for (T record : records) {
+            String key = name.apply(record);
+            ValueMinMaxRest summary = summaries.computeIfAbsent(key, k -> {
+                ValueMinMaxRest created = new ValueMinMaxRest();
+                created.setName(k);
+                return created;
+            });
+            summary.setValueCurrent(value.apply(record));
+            summary.setTimestampCurrent(timestamp.apply(record));
+            summary.setStepCurrent(step.apply(record));
+            summary.setRunContextCurrent(context.apply(record));
+
+            if (!minimums.containsKey(key) || compare(value.apply(record), value.apply(minimums.get(key))) < 0) {
+                minimums.put(key, record);
+                summary.setValueMin(value.apply(record));
+                summary.setTimestampMin(timestamp.apply(record));
+                summary.setStepMin(step.apply(record));
+                summary.setRunContextMin(context.apply(record));
+            }
+            if (!maximums.containsKey(key) || compare(value.apply(record), value.apply(maximums.get(key))) > 0) {
+                maximums.put(key, record);
+                summary.setValueMax(value.apply(record));
+                summary.setTimestampMax(timestamp.apply(record));
+                summary.setStepMax(step.apply(record));
+                summary.setRunContextMax(context.apply(record));
+            }
+        }
+        return new MinMaxResponse(new ArrayList<>(summaries.values()));
+    }
+
+    private static int compare(String first, String second) {
+        try {
+            return Double.compare(Double.parseDouble(first), Double.parseDouble(second));
+        } catch (NumberFormatException | NullPointerException ex) {
+            return String.valueOf(first).compareTo(String.valueOf(second));
+        }
+    }
+
+    private static long contentSize(List<StoredAsset> assets) {
+        return assets.stream()
+                .filter(asset -> asset.getContent() != null)
+                .mapToLong(asset -> asset.getContent().length)
+                .sum();
+    }
+
+    private static String projectId(String workspace, String project) {
+        return workspace + ":" + project;
+    }
+
+    private static List<String> asList(String[] values) {
+        return values == null ? Collections.emptyList() : Arrays.asList(values);
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private static <T> T body(BackendRequest request, Class<T> type) {
+        return Optional.ofNullable(request.getBody())
+                .filter(body -> !body.isEmpty())
+                .map(body -> JsonUtils.fromJson(body, type))
+                .orElseThrow(() -> BackendException.badRequest("request body is empty", 0));
+    }
+}
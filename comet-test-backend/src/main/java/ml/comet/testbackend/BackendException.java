@@ -0,0 +1,26 @@
+package ml.comet.testbackend;
+
+import lombok.Getter;
+
+/**
+ * Signals that the request can not be served and carries the error to return to the client.
+ */
+@Getter
+class BackendException extends RuntimeException {
+    private final int status;
+    private final int sdkErrorCode;
+
+    BackendException(int status, String message, int sdkErrorCode) {
+        super(message);
+        this.status = status;
+        this.sdkErrorCode = sdkErrorCode;
+    }
+
+    static BackendException badRequest(String message, int sdkErrorCode) {
+        return new BackendException(400, message, sdkErrorCode);
+    }
+
+    BackendResponse toResponse() {
+        return BackendResponse.error(this.status, this.getMessage(), this.sdkErrorCode);
+    }
+}
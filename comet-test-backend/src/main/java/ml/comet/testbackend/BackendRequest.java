@@ -0,0 +1,27 @@
+package ml.comet.testbackend;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * The HTTP request decoded by the transport and routed by {@link BackendApi}.
+ */
+@Value
+class BackendRequest {
+    String path;
+    Map<String, String> query;
+    String body;
+    Map<String, String> form;
+    byte[] file;
+    String apiKey;
+
+    String param(String name) {
+        String value = this.query.get(name);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    String formParam(String name) {
+        return this.form.get(name);
+    }
+}
@@ -0,0 +1,64 @@
+package ml.comet.testbackend;
+
+import lombok.Value;
+import ml.comet.experiment.impl.utils.JsonUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The HTTP response produced by {@link BackendApi} and written by the transport.
+ */
+@Value
+class BackendResponse {
+    static final String APPLICATION_JSON = "application/json";
+    static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+
+    int status;
+    String contentType;
+    byte[] body;
+
+    static BackendResponse ok() {
+        return json(200, new OkBody());
+    }
+
+    static BackendResponse json(Object body) {
+        return json(200, body);
+    }
+
+    static BackendResponse json(int status, Object body) {
+        return new BackendResponse(status, APPLICATION_JSON,
+                JsonUtils.toJson(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BackendResponse bytes(byte[] body) {
+        return new BackendResponse(200, APPLICATION_OCTET_STREAM, body);
+    }
+
+    /**
+     * Creates the error response in the format of the Comet backend which is decoded by the client
+     * as {@link ml.comet.experiment.impl.rest.CometWebJavaSdkException}.
+     *
+     * @param status       the HTTP status code.
+     * @param msg          the error message.
+     * @param sdkErrorCode the SDK error code or zero.
+     * @return the error response.
+     */
+    static BackendResponse error(int status, String msg, int sdkErrorCode) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("code", status);
+        body.put("msg", msg);
+        body.put("sdk_error_code", sdkErrorCode);
+        return json(status, body);
+    }
+
+    /**
+     * The body of successful response to the write request.
+     */
+    @Value
+    static class OkBody {
+        String msg = "ok";
+        int code = 200;
+    }
+}
@@ -0,0 +1,646 @@
+package ml.comet.testbackend;
+
+import lombok.Getter;
+import lombok.NonNull;
+import ml.comet.experiment.impl.rest.ArtifactVersionState;
+import ml.comet.experiment.impl.rest.GitMetadataRest;
+import ml.comet.experiment.impl.rest.LogOtherRest;
+import ml.comet.experiment.impl.rest.MetricRest;
+import ml.comet.experiment.impl.rest.OutputLine;
+import ml.comet.experiment.impl.rest.ParameterRest;
+import ml.comet.experiment.impl.rest.SetSystemDetailsRequest;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * The in-memory state of the backend. The state is exposed for the assertions of the tests, the collections
+ * returned by the getters of the stored records are snapshots.
+ */
+public final class BackendState {
+    private final ConcurrentMap<String, StoredExperiment> experiments = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StoredArtifact> artifacts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StoredRegistryModel> registryModels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Map.Entry<String, String>> experimentModels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PendingUpload> pendingUploads = new ConcurrentHashMap<>();
+    private final Set<String> completedUploads = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns the experiment with given key.
+     *
+     * @param experimentKey the key of the experiment.
+     * @return the experiment or empty if not found.
+     */
+    public Optional<StoredExperiment> getExperiment(@NonNull String experimentKey) {
+        return Optional.ofNullable(this.experiments.get(experimentKey));
+    }
+
+    /**
+     * Returns all experiments.
+     *
+     * @return all experiments.
+     */
+    public Collection<StoredExperiment> getExperiments() {
+        return Collections.unmodifiableCollection(new ArrayList<>(this.experiments.values()));
+    }
+
+    /**
+     * Returns all artifacts.
+     *
+     * @return all artifacts.
+     */
+    public Collection<StoredArtifact> getArtifacts() {
+        return Collections.unmodifiableCollection(new ArrayList<>(this.artifacts.values()));
+    }
+
+    /**
+     * Returns all models in the registry.
+     *
+     * @return all models in the registry.
+     */
+    public Collection<StoredRegistryModel> getRegistryModels() {
+        return Collections.unmodifiableCollection(new ArrayList<>(this.registryModels.values()));
+    }
+
+    /**
+     * Returns the number of chunked uploads started but not completed yet.
+     *
+     * @return the number of chunked uploads started but not completed yet.
+     */
+    public int getPendingUploadsCount() {
+        return this.pendingUploads.size();
+    }
+
+    /**
+     * Removes all stored data.
+     */
+    public void clear() {
+        this.experiments.clear();
+        this.artifacts.clear();
+        this.registryModels.clear();
+        this.experimentModels.clear();
+        this.pendingUploads.clear();
+        this.completedUploads.clear();
+    }
+
+    /**
+     * Removes the metrics, the parameters, the other values, the output lines and the assets logged to
+     * the experiments, but keeps the experiments, the artifacts and the models registered. Allows long-running
+     * benchmarks and load tests to bound the memory of the backend without failing the requests of the SDK.
+     */
+    public void clearLoggedData() {
+        this.experiments.values().forEach(StoredExperiment::clearLoggedData);
+    }
+
+    StoredExperiment createExperiment(String workspace, String project, String name) {
+        StoredExperiment experiment = new StoredExperiment(newId(), workspace, project, name);
+        this.experiments.put(experiment.key, experiment);
+        return experiment;
+    }
+
+    Optional<StoredAsset> findAsset(String assetId) {
+        return this.experiments.values().stream()
+                .flatMap(experiment -> experiment.getAssets().stream())
+                .filter(asset -> asset.assetId.equals(assetId))
+                .findFirst();
+    }
+
+    Optional<StoredArtifact> findArtifact(String artifactId, String workspace, String name) {
+        if (artifactId != null) {
+            return Optional.ofNullable(this.artifacts.get(artifactId));
+        }
+        return this.artifacts.values().stream()
+                .filter(artifact -> artifact.name.equals(name)
+                        && (workspace == null || artifact.workspace.equals(workspace)))
+                .findFirst();
+    }
+
+    StoredArtifact createArtifact(String workspace, String project, String name, String type) {
+        StoredArtifact artifact = new StoredArtifact(newId(), workspace, project, name, type);
+        this.artifacts.put(artifact.artifactId, artifact);
+        return artifact;
+    }
+
+    Optional<StoredArtifactVersion> findArtifactVersion(String artifactVersionId) {
+        return this.artifacts.values().stream()
+                .map(artifact -> artifact.versions.get(artifactVersionId))
+                .filter(version -> version != null)
+                .findFirst();
+    }
+
+    Optional<StoredRegistryModel> findRegistryModel(String workspace, String name) {
+        return this.registryModels.values().stream()
+                .filter(model -> model.workspace.equals(workspace) && model.name.equals(name))
+                .findFirst();
+    }
+
+    Optional<StoredRegistryModel> findRegistryModelById(String registryModelId) {
+        return Optional.ofNullable(this.registryModels.get(registryModelId));
+    }
+
+    Optional<StoredModelVersion> findModelVersion(String registryModelItemId) {
+        return this.registryModels.values().stream()
+                .flatMap(model -> model.getVersions().stream())
+                .filter(version -> version.registryModelItemId.equals(registryModelItemId))
+                .findFirst();
+    }
+
+    Optional<StoredRegistryModel> findModelOfVersion(String registryModelItemId) {
+        return this.registryModels.values().stream()
+                .filter(model -> model.getVersions().stream()
+                        .anyMatch(version -> version.registryModelItemId.equals(registryModelItemId)))
+                .findFirst();
+    }
+
+    StoredRegistryModel createRegistryModel(String workspace, String name) {
+        StoredRegistryModel model = new StoredRegistryModel(newId(), workspace, name);
+        this.registryModels.put(model.registryModelId, model);
+        return model;
+    }
+
+    boolean deleteRegistryModel(String workspace, String name) {
+        return this.findRegistryModel(workspace, name)
+                .map(model -> this.registryModels.remove(model.registryModelId) != null)
+                .orElse(false);
+    }
+
+    String experimentModelId(String experimentKey, String modelName) {
+        String experimentModelId = experimentKey + "-" + Integer.toHexString(modelName.hashCode());
+        this.experimentModels.putIfAbsent(experimentModelId,
+                new AbstractMap.SimpleImmutableEntry<>(experimentKey, modelName));
+        return experimentModelId;
+    }
+
+    Optional<Map.Entry<String, String>> findExperimentModel(String experimentModelId) {
+        return Optional.ofNullable(this.experimentModels.get(experimentModelId));
+    }
+
+    PendingUpload createUpload(Map<String, String> query, Map<String, String> form,
+                               long totalSize, int chunkSize, int chunkCount) {
+        PendingUpload upload = new PendingUpload(newId(), query, form, totalSize, chunkSize, chunkCount);
+        this.pendingUploads.put(upload.uploadId, upload);
+        return upload;
+    }
+
+    Optional<PendingUpload> findUpload(String uploadId) {
+        return Optional.ofNullable(this.pendingUploads.get(uploadId));
+    }
+
+    void completeUpload(String uploadId) {
+        this.completedUploads.add(uploadId);
+        this.pendingUploads.remove(uploadId);
+    }
+
+    boolean isUploadCompleted(String uploadId) {
+        return this.completedUploads.contains(uploadId);
+    }
+
+    static String newId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * The experiment and all data logged to it.
+     */
+    @Getter
+    public static final class StoredExperiment {
+        private final String key;
+        private final String workspace;
+        private final String project;
+        private final String name;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile Long startTimeMillis;
+        private volatile Long endTimeMillis;
+        private volatile long lastHeartbeatMillis;
+        private volatile String graph;
+        private volatile String html;
+        private volatile GitMetadataRest gitMetadata;
+        private volatile SetSystemDetailsRequest systemDetails;
+        private final List<MetricRest> metrics = new ArrayList<>();
+        private final List<ParameterRest> parameters = new ArrayList<>();
+        private final List<LogOtherRest> others = new ArrayList<>();
+        private final List<OutputLine> output = new ArrayList<>();
+        private final Set<String> tags = new LinkedHashSet<>();
+        private final List<StoredAsset> assets = new ArrayList<>();
+
+        StoredExperiment(String key, String workspace, String project, String name) {
+            this.key = key;
+            this.workspace = workspace;
+            this.project = project;
+            this.name = name;
+        }
+
+        /**
+         * Returns the logged metrics in order of arrival.
+         *
+         * @return the logged metrics in order of arrival.
+         */
+        public synchronized List<MetricRest> getMetrics() {
+            return new ArrayList<>(this.metrics);
+        }
+
+        /**
+         * Returns the logged parameters in order of arrival.
+         *
+         * @return the logged parameters in order of arrival.
+         */
+        public synchronized List<ParameterRest> getParameters() {
+            return new ArrayList<>(this.parameters);
+        }
+
+        /**
+         * Returns the logged other values in order of arrival.
+         *
+         * @return the logged other values in order of arrival.
+         */
+        public synchronized List<LogOtherRest> getOthers() {
+            return new ArrayList<>(this.others);
+        }
+
+        /**
+         * Returns the logged output lines in order of arrival.
+         *
+         * @return the logged output lines in order of arrival.
+         */
+        public synchronized List<OutputLine> getOutput() {
+            return new ArrayList<>(this.output);
+        }
+
+        /**
+         * Returns the tags of the experiment.
+         *
+         * @return the tags of the experiment.
+         */
+        public synchronized Set<String> getTags() {
+            return new LinkedHashSet<>(this.tags);
+        }
+
+        /**
+         * Returns the uploaded assets in order of arrival.
+         *
+         * @return the uploaded assets in order of arrival.
+         */
+        public synchronized List<StoredAsset> getAssets() {
+            return new ArrayList<>(this.assets);
+        }
+
+        synchronized void clearLoggedData() {
+            this.metrics.clear();
+            this.parameters.clear();
+            this.others.clear();
+            this.output.clear();
+            this.assets.clear();
+        }
+
+        synchronized void addMetrics(Collection<MetricRest> metrics) {
+            this.metrics.addAll(metrics);
+        }
+
+        synchronized void addParameter(ParameterRest parameter) {
+            this.parameters.add(parameter);
+        }
+
+        synchronized void addOther(LogOtherRest other) {
+            this.others.add(other);
+        }
+
+        synchronized void addOutput(Collection<OutputLine> lines) {
+            this.output.addAll(lines);
+        }
+
+        synchronized void addTags(Collection<String> tags) {
+            this.tags.addAll(tags);
+        }
+
+        synchronized void addAsset(StoredAsset asset, boolean overwrite) {
+            if (overwrite) {
+                this.assets.removeIf(stored -> stored.fileName.equals(asset.fileName)
+                        && stored.type.equals(asset.type));
+            }
+            this.assets.add(asset);
+        }
+
+        void setStartEndTime(Long startTimeMillis, Long endTimeMillis) {
+            if (startTimeMillis != null) {
+                this.startTimeMillis = startTimeMillis;
+            }
+            if (endTimeMillis != null) {
+                this.endTimeMillis = endTimeMillis;
+            }
+        }
+
+        void heartbeat() {
+            this.lastHeartbeatMillis = System.currentTimeMillis();
+        }
+
+        void setGraph(String graph) {
+            this.graph = graph;
+        }
+
+        void setHtml(String html) {
+            this.html = html;
+        }
+
+        void setGitMetadata(GitMetadataRest gitMetadata) {
+            this.gitMetadata = gitMetadata;
+        }
+
+        void setSystemDetails(SetSystemDetailsRequest systemDetails) {
+            this.systemDetails = systemDetails;
+        }
+
+        /**
+         * Returns the names of the models logged to this experiment.
+         *
+         * @return the names of the models logged to this experiment.
+         */
+        public synchronized Set<String> getModelNames() {
+            return this.assets.stream()
+                    .filter(StoredAsset::isModelElement)
+                    .map(StoredAsset::getGroupingName)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+    }
+
+    /**
+     * The uploaded asset, either with content or as the link to the remote data.
+     */
+    @Getter
+    public static final class StoredAsset {
+        static final String MODEL_ELEMENT = "model-element";
+
+        private final String assetId = newId();
+        private final long createdAt = System.currentTimeMillis();
+        private final String experimentKey;
+        private final String fileName;
+        private final String type;
+        private final String groupingName;
+        private final String context;
+        private final Long step;
+        private final String metadata;
+        private final String link;
+        private final byte[] content;
+        private final String artifactVersionId;
+
+        StoredAsset(String experimentKey, String fileName, String type, String groupingName, String context,
+                    Long step, String metadata, String link, byte[] content, String artifactVersionId) {
+            this.experimentKey = experimentKey;
+            this.fileName = fileName;
+            this.type = type;
+            this.groupingName = groupingName;
+            this.context = context;
+            this.step = step;
+            this.metadata = metadata;
+            this.link = link;
+            this.content = content;
+            this.artifactVersionId = artifactVersionId;
+        }
+
+        /**
+         * Returns {@code true} if the asset is the link to the remote data.
+         *
+         * @return {@code true} if the asset is the link to the remote data.
+         */
+        public boolean isRemote() {
+            return this.link != null;
+        }
+
+        boolean isModelElement() {
+            return MODEL_ELEMENT.equals(this.type) && this.groupingName != null;
+        }
+    }
+
+    /**
+     * The artifact with its versions.
+     */
+    @Getter
+    public static final class StoredArtifact {
+        private final String artifactId;
+        private final String workspace;
+        private final String project;
+        private final String name;
+        private final String type;
+        private final Map<String, StoredArtifactVersion> versions = new ConcurrentHashMap<>();
+
+        StoredArtifact(String artifactId, String workspace, String project, String name, String type) {
+            this.artifactId = artifactId;
+            this.workspace = workspace;
+            this.project = project;
+            this.name = name;
+            this.type = type;
+        }
+
+        synchronized Optional<StoredArtifactVersion> findVersion(String versionOrAlias) {
+            if (versionOrAlias == null || versionOrAlias.isEmpty() || "latest".equals(versionOrAlias)) {
+                return this.versions.values().stream()
+                        .max((first, second) -> Long.compare(first.createdAt, second.createdAt));
+            }
+            return this.versions.values().stream()
+                    .filter(version -> version.version.equals(versionOrAlias)
+                            || version.aliases.contains(versionOrAlias))
+                    .findFirst();
+        }
+
+        synchronized StoredArtifactVersion addVersion(String experimentKey, String version, List<String> aliases,
+                                                      List<String> tags, String metadata) {
+            String previous = this.findVersion(null).map(StoredArtifactVersion::getVersion).orElse(null);
+            String next = version;
+            if (next == null) {
+                int major = previous == null ? 0 : Integer.parseInt(previous.split("\\.")[0]);
+                next = (major + 1) + ".0.0";
+            }
+            StoredArtifactVersion created = new StoredArtifactVersion(
+                    newId(), this, experimentKey, next, previous, aliases, tags, metadata);
+            this.versions.put(created.artifactVersionId, created);
+            return created;
+        }
+    }
+
+    /**
+     * The version of the artifact with its assets.
+     */
+    @Getter
+    public static final class StoredArtifactVersion {
+        private final String artifactVersionId;
+        private final StoredArtifact artifact;
+        private final String experimentKey;
+        private final String version;
+        private final String previousVersion;
+        private final List<String> aliases;
+        private final List<String> tags;
+        private final String metadata;
+        private final long createdAt = System.nanoTime();
+        private volatile ArtifactVersionState state = ArtifactVersionState.OPEN;
+
+        StoredArtifactVersion(String artifactVersionId, StoredArtifact artifact, String experimentKey,
+                              String version, String previousVersion, List<String> aliases, List<String> tags,
+                              String metadata) {
+            this.artifactVersionId = artifactVersionId;
+            this.artifact = artifact;
+            this.experimentKey = experimentKey;
+            this.version = version;
+            this.previousVersion = previousVersion;
+            this.aliases = aliases;
+            this.tags = tags;
+            this.metadata = metadata;
+        }
+
+        void setState(ArtifactVersionState state) {
+            this.state = state;
+        }
+    }
+
+    /**
+     * The model in the registry with its versions.
+     */
+    @Getter
+    public static final class StoredRegistryModel {
+        private final String registryModelId;
+        private final String workspace;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile String name;
+        private volatile String description;
+        private volatile boolean isPublic;
+        private volatile String notes = "";
+        private final List<StoredModelVersion> versions = new ArrayList<>();
+
+        StoredRegistryModel(String registryModelId, String workspace, String name) {
+            this.registryModelId = registryModelId;
+            this.workspace = workspace;
+            this.name = name;
+        }
+
+        /**
+         * Returns the versions of the model in order of creation.
+         *
+         * @return the versions of the model in order of creation.
+         */
+        public synchronized List<StoredModelVersion> getVersions() {
+            return new ArrayList<>(this.versions);
+        }
+
+        synchronized void addVersion(StoredModelVersion version) {
+            this.versions.add(version);
+        }
+
+        synchronized boolean removeVersion(String registryModelItemId) {
+            return this.versions.removeIf(version -> version.registryModelItemId.equals(registryModelItemId));
+        }
+
+        synchronized Optional<StoredModelVersion> findVersion(String version, String stage) {
+            List<StoredModelVersion> candidates = this.versions.stream()
+                    .filter(candidate -> version == null || candidate.version.equals(version))
+                    .filter(candidate -> stage == null || candidate.getStages().contains(stage))
+                    .collect(Collectors.toList());
+            return candidates.isEmpty() ? Optional.empty() : Optional.of(candidates.get(candidates.size() - 1));
+        }
+
+        void update(String name, String description, Boolean isPublic) {
+            if (name != null) {
+                this.name = name;
+            }
+            if (description != null) {
+                this.description = description;
+            }
+            if (isPublic != null) {
+                this.isPublic = isPublic;
+            }
+        }
+
+        void setNotes(String notes) {
+            this.notes = notes;
+        }
+    }
+
+    /**
+     * The version of the model in the registry.
+     */
+    @Getter
+    public static final class StoredModelVersion {
+        private final String registryModelItemId = newId();
+        private final String experimentKey;
+        private final String modelName;
+        private final String version;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile String comment;
+        private final Set<String> stages = ConcurrentHashMap.newKeySet();
+
+        StoredModelVersion(String experimentKey, String modelName, String version, String comment,
+                           Collection<String> stages) {
+            this.experimentKey = experimentKey;
+            this.modelName = modelName;
+            this.version = version;
+            this.comment = comment;
+            if (stages != null) {
+                this.stages.addAll(stages);
+            }
+        }
+
+        void update(String comment, Collection<String> stages) {
+            if (comment != null) {
+                this.comment = comment;
+            }
+            if (stages != null) {
+                this.stages.clear();
+                this.stages.addAll(stages);
+            }
+        }
+    }
+
+    /**
+     * The chunked upload of the asset file waiting for all chunks to be received.
+     */
+    static final class PendingUpload {
+        final String uploadId;
+        final Map<String, String> query;
+        final Map<String, String> form;
+        final long totalSize;
+        final int chunkSize;
+        final int chunkCount;
+        private final ConcurrentMap<Integer, byte[]> chunks = new ConcurrentHashMap<>();
+
+        PendingUpload(String uploadId, Map<String, String> query, Map<String, String> form,
+                      long totalSize, int chunkSize, int chunkCount) {
+            this.uploadId = uploadId;
+            this.query = query;
+            this.form = form;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.chunkCount = chunkCount;
+        }
+
+        int expectedChunkSize(int chunk) {
+            return (int) Math.min(this.chunkSize, this.totalSize - (long) chunk * this.chunkSize);
+        }
+
+        void addChunk(int chunk, byte[] data) {
+            this.chunks.put(chunk, data);
+        }
+
+        List<Integer> receivedChunks() {
+            return this.chunks.keySet().stream().sorted().collect(Collectors.toList());
+        }
+
+        boolean isComplete() {
+            return this.chunks.size() == this.chunkCount;
+        }
+
+        byte[] assemble() {
+            byte[] content = new byte[(int) this.totalSize];
+            this.chunks.forEach((chunk, data) ->
+                    System.arraycopy(data, 0, content, chunk * this.chunkSize, data.length));
+            return content;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package ml.comet.testbackend;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.multipart.Attribute;
+import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
+import io.netty.handler.codec.http.multipart.InterfaceHttpData;
+import lombok.Getter;
+import lombok.NonNull;
+import ml.comet.experiment.impl.constants.FormParamName;
+import ml.comet.experiment.impl.http.Connection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The in-process stand-in of the Comet backend. It serves all endpoints of the
+ * {@link ml.comet.experiment.impl.constants.ApiEndpoints} on the loopback interface, keeps everything logged by the
+ * SDK in the {@link BackendState} and injects the latency and the faults defined by the {@link FaultPolicy}.
+ *
+ * <p>Point the SDK to the base URL of the started backend with any API key:
+ * <pre>
+ * try (CometTestBackend backend = CometTestBackend.start()) {
+ *     OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+ *             .withUrlOverride(backend.getBaseUrl())
+ *             .withApiKey("any")
+ *             .build();
+ *     ...
+ * }
+ * </pre>
+ */
+public final class CometTestBackend implements Closeable {
+    /**
+     * The workspace of the experiments created without explicit workspace name.
+     */
+    public static final String DEFAULT_WORKSPACE = BackendApi.DEFAULT_WORKSPACE;
+
+    private static final int MAX_CONTENT_LENGTH = Integer.MAX_VALUE;
+    private static final String FILE_PART = FormParamName.FILE.paramName();
+
+    @Getter
+    private final BackendState state = new BackendState();
+    @Getter
+    private final String baseUrl;
+    private final EventLoopGroup bossGroup;
+    private final EventLoopGroup workerGroup;
+    private final Channel serverChannel;
+    private final BackendApi api;
+    private final Map<String, LongAdder> requestsCount = new ConcurrentHashMap<>();
+    private volatile FaultPolicy faultPolicy;
+
+    private CometTestBackend(FaultPolicy faultPolicy) throws InterruptedException {
+        this.faultPolicy = faultPolicy;
+        this.bossGroup = new NioEventLoopGroup(1);
+        this.workerGroup = new NioEventLoopGroup();
+        try {
+            this.serverChannel = new ServerBootstrap()
+                    .group(this.bossGroup, this.workerGroup)
+                    .channel(NioServerSocketChannel.class)
+                    .childHandler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        protected void initChannel(SocketChannel ch) {
+                            ch.pipeline().addLast(
+                                    new HttpServerCodec(),
+                                    new HttpObjectAggregator(MAX_CONTENT_LENGTH),
+                                    new RequestHandler());
+                        }
+                    })
+                    .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+                    .sync()
+                    .channel();
+        } catch (InterruptedException | RuntimeException ex) {
+            this.bossGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+            this.workerGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+            throw ex;
+        }
+        InetSocketAddress address = (InetSocketAddress) this.serverChannel.localAddress();
+        this.baseUrl = String.format("http://%s:%d", address.getHostString(), address.getPort());
+        this.api = new BackendApi(this.state, this.baseUrl);
+    }
+
+    /**
+     * Starts the backend without latency and faults on the free port of the loopback interface.
+     *
+     * @return the started backend.
+     * @throws InterruptedException if interrupted while binding the server socket.
+     */
+    public static CometTestBackend start() throws InterruptedException {
+        return start(FaultPolicy.NONE);
+    }
+
+    /**
+     * Starts the backend with given latency and faults on the free port of the loopback interface.
+     *
+     * @param faultPolicy the latency and the faults to inject.
+     * @return the started backend.
+     * @throws InterruptedException if interrupted while binding the server socket.
+     */
+    public static CometTestBackend start(@NonNull FaultPolicy faultPolicy) throws InterruptedException {
+        return new CometTestBackend(faultPolicy);
+    }
+
+    /**
+     * Replaces the latency and the faults injected into the responses to the subsequent requests.
+     *
+     * @param faultPolicy the latency and the faults to inject.
+     */
+    public void setFaultPolicy(@NonNull FaultPolicy faultPolicy) {
+        this.faultPolicy = faultPolicy;
+    }
+
+    /**
+     * Returns the number of requests received by the endpoint including the ones failed by injected faults.
+     *
+     * @param path the path of the endpoint, e.g. {@code ApiEndpoints.ADD_METRIC}.
+     * @return the number of requests received by the endpoint.
+     */
+    public long getRequestsCount(@NonNull String path) {
+        LongAdder count = this.requestsCount.get(path);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * Returns the number of requests received by all endpoints including the ones failed by injected faults.
+     *
+     * @return the number of requests received by all endpoints.
+     */
+    public long getRequestsCount() {
+        return this.requestsCount.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Returns the number of received requests per endpoint.
+     *
+     * @return the number of received requests per endpoint.
+     */
+    public Map<String, Long> getRequestsCountByEndpoint() {
+        Map<String, Long> counts = new HashMap<>();
+        this.requestsCount.forEach((path, count) -> counts.put(path, count.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Stops the backend and releases its threads.
+     */
+    @Override
+    public void close() {
+        this.serverChannel.close().syncUninterruptibly();
+        this.bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        this.workerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    private void respond(ChannelHandlerContext ctx, BackendResponse response, boolean keepAlive,
+                         FaultPolicy policy) {
+        HttpResponseStatus status = HttpResponseStatus.valueOf(response.getStatus());
+        if (policy.isSlowDrip() && response.getBody().length > 0) {
+            HttpResponse head = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+            this.setHeaders(head, response, keepAlive);
+            ctx.writeAndFlush(head);
+            this.drip(ctx, Unpooled.wrappedBuffer(response.getBody()), keepAlive, policy);
+            return;
+        }
+
+        FullHttpResponse full = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1, status, Unpooled.wrappedBuffer(response.getBody()));
+        this.setHeaders(full, response, keepAlive);
+        this.write(ctx, full, keepAlive);
+    }
+
+    private void drip(ChannelHandlerContext ctx, ByteBuf remaining, boolean keepAlive, FaultPolicy policy) {
+        if (!ctx.channel().isActive()) {
+            remaining.release();
+            return;
+        }
+        int size = Math.min(policy.getDripChunkSize(), remaining.readableBytes());
+        ctx.writeAndFlush(new DefaultHttpContent(remaining.readRetainedSlice(size)));
+        if (!remaining.isReadable()) {
+            remaining.release();
+            this.write(ctx, LastHttpContent.EMPTY_LAST_CONTENT, keepAlive);
+            return;
+        }
+        ctx.executor().schedule(() -> this.drip(ctx, remaining, keepAlive, policy),
+                policy.getDripInterval().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void setHeaders(HttpResponse head, BackendResponse response, boolean keepAlive) {
+        head.headers().set(HttpHeaderNames.CONTENT_TYPE, response.getContentType());
+        HttpUtil.setContentLength(head, response.getBody().length);
+        HttpUtil.setKeepAlive(head, keepAlive);
+    }
+
+    private void write(ChannelHandlerContext ctx, Object message, boolean keepAlive) {
+        if (keepAlive) {
+            ctx.writeAndFlush(message);
+        } else {
+            ctx.writeAndFlush(message).addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    private static void reset(ChannelHandlerContext ctx) {
+        // zero linger makes the close to send RST instead of FIN
+        ctx.channel().config().setOption(ChannelOption.SO_LINGER, 0);
+        ctx.close();
+    }
+
+    private static BackendRequest decode(FullHttpRequest request) throws IOException {
+        QueryStringDecoder uri = new QueryStringDecoder(request.uri());
+        Map<String, String> query = new HashMap<>();
+        uri.parameters().forEach((name, values) -> query.put(name, values.isEmpty() ? null : values.get(0)));
+
+        Map<String, String> form = new HashMap<>();
+        byte[] file = null;
+        String body = null;
+        if (HttpPostRequestDecoder.isMultipart(request)) {
+            HttpPostRequestDecoder decoder = new HttpPostRequestDecoder(
+                    new DefaultHttpDataFactory(false), request, StandardCharsets.UTF_8);
+            try {
+                for (InterfaceHttpData data : decoder.getBodyHttpDatas()) {
+                    if (data instanceof FileUpload) {
+                        file = ((FileUpload) data).get();
+                    } else if (FILE_PART.equals(data.getName())) {
+                        // the bytes are sent without file name thus decoded as attribute
+                        file = ((Attribute) data).get();
+                    } else if (data instanceof Attribute) {
+                        form.put(data.getName(), ((Attribute) data).getValue());
+                    }
+                }
+            } finally {
+                decoder.destroy();
+            }
+        } else {
+            body = request.content().toString(StandardCharsets.UTF_8);
+        }
+        return new BackendRequest(uri.path(), query, body, form, file,
+                request.headers().get(Connection.COMET_SDK_API_HEADER));
+    }
+
+    /**
+     * Decodes the requests, serves them by {@link BackendApi} and injects the faults into the responses.
+     */
+    private final class RequestHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest msg) throws IOException {
+            BackendRequest request = decode(msg);
+            boolean keepAlive = HttpUtil.isKeepAlive(msg);
+            String path = request.getPath();
+            requestsCount.computeIfAbsent(path, p -> new LongAdder()).increment();
+
+            FaultPolicy policy = api.isKnownEndpoint(path) && faultPolicy.appliesTo(path)
+                    ? faultPolicy : FaultPolicy.NONE;
+            Random random = ThreadLocalRandom.current();
+            long delayNanos = policy.getLatency().sampleNanos(random);
+            FaultPolicy.Fault fault = policy.nextFault(random);
+
+            Runnable action = () -> {
+                switch (fault) {
+                    case RESET:
+                        reset(ctx);
+                        return;
+                    case THROTTLE:
+                        BackendResponse throttled = BackendResponse.error(429, "too many requests", 0);
+                        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                                HttpResponseStatus.TOO_MANY_REQUESTS, Unpooled.wrappedBuffer(throttled.getBody()));
+                        setHeaders(response, throttled, keepAlive);
+                        long seconds = (policy.getRetryAfter().toMillis() + 999) / 1000;
+                        response.headers().set(HttpHeaderNames.RETRY_AFTER, seconds);
+                        write(ctx, response, keepAlive);
+                        return;
+                    case ERROR:
+                        respond(ctx, BackendResponse.error(500, "injected server error", 0), keepAlive,
+                                FaultPolicy.NONE);
+                        return;
+                    default:
+                        respond(ctx, api.handle(request), keepAlive, policy);
+                }
+            };
+            if (delayNanos > 0) {
+                ctx.executor().schedule(action, delayNanos, TimeUnit.NANOSECONDS);
+            } else {
+                action.run();
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ctx.close();
+        }
+    }
+}
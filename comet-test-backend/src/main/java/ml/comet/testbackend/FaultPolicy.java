@@ -0,0 +1,199 @@
+package ml.comet.testbackend;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Defines the latency and the faults injected by the backend into its responses. Every request to the affected
+ * endpoint is independently delayed according to the latency distribution and then, with
+ * the configured probabilities, its connection is reset, it is throttled with {@code 429} status or failed with
+ * {@code 500} status. The bodies of the successful responses are dripped slowly if configured.
+ */
+@Getter
+public final class FaultPolicy {
+    /**
+     * The policy without any latency or faults.
+     */
+    public static final FaultPolicy NONE = FaultPolicy.builder().build();
+
+    private LatencyDistribution latency = LatencyDistribution.NONE;
+    private double errorRate;
+    private double throttleRate;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private double resetRate;
+    private int dripChunkSize;
+    private Duration dripInterval = Duration.ZERO;
+    private Set<String> endpoints = Collections.emptySet();
+
+    private FaultPolicy() {
+    }
+
+    /**
+     * Checks if the faults apply to the given endpoint.
+     *
+     * @param path the path of the endpoint.
+     * @return {@code true} if the faults apply to the given endpoint.
+     */
+    public boolean appliesTo(@NonNull String path) {
+        return this.endpoints.isEmpty() || this.endpoints.contains(path);
+    }
+
+    /**
+     * Checks if the bodies of the responses must be dripped slowly.
+     *
+     * @return {@code true} if the bodies of the responses must be dripped slowly.
+     */
+    public boolean isSlowDrip() {
+        return this.dripChunkSize > 0;
+    }
+
+    /**
+     * Chooses the fault to inject into the response.
+     *
+     * @param random the source of randomness.
+     * @return the fault to inject.
+     */
+    Fault nextFault(Random random) {
+        double value = random.nextDouble();
+        if (value < this.resetRate) {
+            return Fault.RESET;
+        }
+        value -= this.resetRate;
+        if (value < this.throttleRate) {
+            return Fault.THROTTLE;
+        }
+        value -= this.throttleRate;
+        if (value < this.errorRate) {
+            return Fault.ERROR;
+        }
+        return Fault.NONE;
+    }
+
+    /**
+     * Creates the builder of the {@link FaultPolicy}.
+     *
+     * @return the builder of the {@link FaultPolicy}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The faults injected into the responses.
+     */
+    enum Fault {
+        NONE, RESET, THROTTLE, ERROR
+    }
+
+    /**
+     * The builder of the {@link FaultPolicy}.
+     */
+    public static final class Builder {
+        private final FaultPolicy policy = new FaultPolicy();
+        private final Set<String> endpoints = new HashSet<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the distribution of the delays before responding.
+         *
+         * @param latency the distribution of the delays.
+         * @return this builder.
+         */
+        public Builder withLatency(@NonNull LatencyDistribution latency) {
+            this.policy.latency = latency;
+            return this;
+        }
+
+        /**
+         * Sets the probability to fail the request with {@code 500} status.
+         *
+         * @param errorRate the probability in range [0, 1].
+         * @return this builder.
+         */
+        public Builder withErrorRate(double errorRate) {
+            this.policy.errorRate = checkRate(errorRate);
+            return this;
+        }
+
+        /**
+         * Sets the probability to throttle the request with {@code 429} status and the {@code Retry-After} header.
+         *
+         * @param throttleRate the probability in range [0, 1].
+         * @param retryAfter   the time to wait before retry sent in the {@code Retry-After} header, rounded up
+         *                     to seconds.
+         * @return this builder.
+         */
+        public Builder withThrottling(double throttleRate, @NonNull Duration retryAfter) {
+            this.policy.throttleRate = checkRate(throttleRate);
+            this.policy.retryAfter = retryAfter;
+            return this;
+        }
+
+        /**
+         * Sets the probability to reset the connection instead of responding.
+         *
+         * @param resetRate the probability in range [0, 1].
+         * @return this builder.
+         */
+        public Builder withConnectionResets(double resetRate) {
+            this.policy.resetRate = checkRate(resetRate);
+            return this;
+        }
+
+        /**
+         * Makes the backend send the bodies of the responses by small chunks with pauses in between.
+         *
+         * @param chunkSize the size of the chunk in bytes.
+         * @param interval  the pause between chunks.
+         * @return this builder.
+         */
+        public Builder withSlowDrip(int chunkSize, @NonNull Duration interval) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("the chunk size must be positive");
+            }
+            this.policy.dripChunkSize = chunkSize;
+            this.policy.dripInterval = interval;
+            return this;
+        }
+
+        /**
+         * Limits the latency and the faults to the given endpoints. By default, all endpoints are affected.
+         *
+         * @param paths the paths of the endpoints, e.g. {@code ApiEndpoints.ADD_METRIC}.
+         * @return this builder.
+         */
+        public Builder forEndpoints(@NonNull String... paths) {
+            Collections.addAll(this.endpoints, paths);
+            return this;
+        }
+
+        /**
+         * Creates the {@link FaultPolicy}.
+         *
+         * @return the {@link FaultPolicy}.
+         * @throws IllegalArgumentException if the sum of the probabilities of the faults exceeds one.
+         */
+        public FaultPolicy build() {
+            if (this.policy.errorRate + this.policy.throttleRate + this.policy.resetRate > 1) {
+                throw new IllegalArgumentException("the sum of the probabilities of the faults exceeds one");
+            }
+            this.policy.endpoints = Collections.unmodifiableSet(new HashSet<>(this.endpoints));
+            return this.policy;
+        }
+
+        private static double checkRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("the probability must be in range [0, 1], got: " + rate);
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ml.comet.testbackend;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * The distribution of the delays added by the backend before responding.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * The distribution without any delay.
+     */
+    LatencyDistribution NONE = random -> 0;
+
+    /**
+     * Samples the delay.
+     *
+     * @param random the source of randomness.
+     * @return the delay in nanoseconds.
+     */
+    long sampleNanos(Random random);
+
+    /**
+     * Creates the distribution with the same delay for every response.
+     *
+     * @param delay the delay.
+     * @return the distribution with the same delay for every response.
+     */
+    static LatencyDistribution fixed(@NonNull Duration delay) {
+        long nanos = delay.toNanos();
+        return random -> nanos;
+    }
+
+    /**
+     * Creates the distribution with the delays uniformly distributed in the given range.
+     *
+     * @param min the minimal delay.
+     * @param max the maximal delay.
+     * @return the uniform distribution of the delays.
+     */
+    static LatencyDistribution uniform(@NonNull Duration min, @NonNull Duration max) {
+        long minNanos = min.toNanos();
+        long range = Math.max(max.toNanos() - minNanos, 0);
+        return random -> minNanos + (long) (random.nextDouble() * range);
+    }
+
+    /**
+     * Creates the exponential distribution of the delays with the given mean.
+     *
+     * @param mean the mean delay.
+     * @return the exponential distribution of the delays.
+     */
+    static LatencyDistribution exponential(@NonNull Duration mean) {
+        double meanNanos = mean.toNanos();
+        return random -> (long) (-meanNanos * Math.log(1 - random.nextDouble()));
+    }
+
+    /**
+     * Creates the log-normal distribution of the delays, which has the long tail typical for the real services.
+     *
+     * @param median the median delay.
+     * @param sigma  the standard deviation of the logarithm of the delay, e.g. {@code 1.0} makes the 99th
+     *               percentile about ten times the median.
+     * @return the log-normal distribution of the delays.
+     */
+    static LatencyDistribution logNormal(@NonNull Duration median, double sigma) {
+        double mu = Math.log(Math.max(median.toNanos(), 1));
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * The in-process stand-in of the Comet backend which keeps the state in memory and allows injecting latency and
+ * faults into its responses.
+ */
+package ml.comet.testbackend;
@@ -0,0 +1,685 @@
+package ml.comet.testbackend;
+
+import io.reactivex.rxjava3.core.Single;
+import com.sun.management.ThreadMXBean;
+import ml.comet.experiment.ApiExperiment;
+import ml.comet.experiment.CometApi;
+import ml.comet.experiment.CometRuntime;
+import ml.comet.experiment.ExperimentBuilder;
+import ml.comet.experiment.OfflineExperiment;
+import ml.comet.experiment.OnlineExperiment;
+import ml.comet.experiment.artifact.Artifact;
+import ml.comet.experiment.artifact.DownloadedArtifact;
+import ml.comet.experiment.artifact.LoggedArtifact;
+import ml.comet.experiment.asset.AssetSource;
+import ml.comet.experiment.asset.LoggedExperimentAsset;
+import ml.comet.experiment.impl.OfflineExperimentUploader;
+import ml.comet.experiment.impl.config.CometConfig;
+import ml.comet.experiment.impl.constants.ApiEndpoints;
+import ml.comet.experiment.impl.constants.FormParamName;
+import ml.comet.experiment.impl.constants.QueryParamName;
+import ml.comet.experiment.impl.http.Connection;
+import ml.comet.experiment.impl.rest.ArtifactVersionState;
+import ml.comet.experiment.impl.rest.MetricRest;
+import ml.comet.experiment.impl.rest.RestApiResponse;
+import ml.comet.experiment.impl.upload.ChunkedFileUploader;
+import ml.comet.experiment.impl.upload.ChunkedUploadOptions;
+import ml.comet.experiment.model.Value;
+import ml.comet.experiment.registrymodel.Model;
+import ml.comet.experiment.registrymodel.ModelDownloadInfo;
+import ml.comet.testbackend.BackendState.StoredArtifactVersion;
+import ml.comet.testbackend.BackendState.StoredAsset;
+import ml.comet.testbackend.BackendState.StoredExperiment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CometTestBackendTest {
+    private static final String API_KEY = "test-api-key";
+    private static final String MODEL_NAME = "someModel";
+    private static final Logger LOGGER = LoggerFactory.getLogger(CometTestBackendTest.class);
+
+    @TempDir
+    Path tempDir;
+
+    private CometTestBackend backend;
+
+    @BeforeEach
+    public void startBackend() throws InterruptedException {
+        this.backend = CometTestBackend.start();
+    }
+
+    @AfterEach
+    public void stopBackend() {
+        this.backend.close();
+    }
+
+    @Test
+    public void testExperimentRoundTrip() throws Exception {
+        String experimentKey;
+        try (OnlineExperiment experiment = this.createExperiment()) {
+            experimentKey = experiment.getExperimentKey();
+            for (int step = 0; step < 10; step++) {
+                experiment.logMetric("loss", 1.0 / (step + 1), step);
+            }
+            experiment.logParameter("batch_size", 64);
+            experiment.logOther("stage", "training");
+            experiment.addTag("round-trip");
+            experiment.logHtml("<p>report</p>", true);
+            experiment.logGraph("{\"layers\": 3}");
+            experiment.logLine("epoch done", 0, false);
+            experiment.logText("some text");
+            experiment.flush(Duration.ofSeconds(30)).get();
+
+            List<Value> metrics = experiment.getMetrics();
+            assertEquals(1, metrics.size());
+            assertEquals("loss", metrics.get(0).getName());
+            assertEquals(0.1, Double.parseDouble(metrics.get(0).getMin()), 1e-6);
+            assertEquals(1.0, Double.parseDouble(metrics.get(0).getMax()), 1e-6);
+            assertEquals("64", experiment.getParameters().get(0).getCurrent());
+            assertTrue(experiment.getTags().contains("round-trip"));
+            assertEquals("<p>report</p>", experiment.getHtml().orElse(null));
+            assertEquals(1, experiment.getAssetList("text-sample").size());
+        }
+
+        StoredExperiment stored = this.backend.getState().getExperiment(experimentKey).orElse(null);
+        assertNotNull(stored);
+        assertEquals(10, stored.getMetrics().size());
+        assertEquals("training", stored.getOthers().get(0).getValue());
+        assertEquals("{\"layers\": 3}", stored.getGraph());
+        assertFalse(stored.getOutput().isEmpty());
+        assertEquals(1, this.backend.getRequestsCount(ApiEndpoints.NEW_EXPERIMENT));
+
+        try (ApiExperiment apiExperiment = ExperimentBuilder.ApiExperiment()
+                .withExistingExperimentKey(experimentKey)
+                .withConfigOverride(this.configOverride())
+                .build()) {
+            assertEquals(CometTestBackend.DEFAULT_WORKSPACE, apiExperiment.getWorkspaceName());
+            assertEquals(1, apiExperiment.getMetrics().size());
+        }
+    }
+
+    @Test
+    public void testExperimentsShareRuntime() throws Exception {
+        try (CometRuntime runtime = ExperimentBuilder.CometRuntime()) {
+            OnlineExperiment first = this.createExperiment(runtime);
+            OnlineExperiment second = this.createExperiment(runtime);
+            for (int step = 0; step < 10; step++) {
+                first.logMetric("loss", 1.0 / (step + 1), step);
+                second.logMetric("accuracy", step / 10.0, step);
+            }
+            first.flush(Duration.ofSeconds(30)).get();
+            second.flush(Duration.ofSeconds(30)).get();
+
+            assertEquals("loss", first.getMetrics().get(0).getName());
+            assertEquals("accuracy", second.getMetrics().get(0).getName());
+            first.end();
+            assertFalse(runtime.isReleased());
+            second.end();
+        }
+    }
+
+    @Test
+    public void testArtifactRoundTrip() throws Exception {
+        byte[] data = "artifact data".getBytes(StandardCharsets.UTF_8);
+        try (OnlineExperiment experiment = this.createExperiment()) {
+            Artifact artifact = Artifact.newArtifact("someArtifact", "dataset").build();
+            artifact.addAsset(data, "data.txt");
+            LoggedArtifact logged = experiment.logArtifact(artifact).get();
+            assertEquals("1.0.0", logged.getVersion());
+
+            LoggedArtifact fetched = experiment.getArtifact("someArtifact");
+            assertEquals(logged.getVersionId(), fetched.getVersionId());
+            fetched.download(this.tempDir);
+            assertEquals("artifact data",
+                    new String(Files.readAllBytes(this.tempDir.resolve("data.txt")), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testArtifactPackRoundTrip() throws Exception {
+        Path folder = Files.createDirectories(this.tempDir.resolve("dataset"));
+        for (int i = 0; i < 10; i++) {
+            Files.write(folder.resolve("sample" + i + ".txt"), ("sample " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        Path config = this.tempDir.resolve("pack.conf");
+        Files.write(config, String.format("comet {%n  uploadPackThreshold = 1024%n}%n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        Path downloaded = this.tempDir.resolve("downloaded");
+        try (OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withConfigOverride(config.toFile())
+                .withApiKey(API_KEY)
+                .build()) {
+            Artifact artifact = Artifact.newArtifact("packedArtifact", "dataset").build();
+            artifact.addAssetFolder(folder.toFile());
+            experiment.logArtifact(artifact).get();
+            assertEquals(1, this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET));
+
+            DownloadedArtifact fetched = experiment.getArtifact("packedArtifact").download(downloaded);
+            assertEquals(10, fetched.getAssets().size());
+        } finally {
+            CometConfig.clearConfigOverride();
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("sample " + i, new String(
+                    Files.readAllBytes(downloaded.resolve("sample" + i + ".txt")), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testModelRegistryRoundTrip() throws Exception {
+        String experimentKey;
+        try (OnlineExperiment experiment = this.createExperiment()) {
+            experimentKey = experiment.getExperimentKey();
+            experiment.logModel(MODEL_NAME, "model weights".getBytes(StandardCharsets.UTF_8), "model.bin");
+            experiment.flush(Duration.ofSeconds(30)).get();
+        }
+
+        try (CometApi api = ExperimentBuilder.CometApi().withConfigOverride(this.configOverride()).build()) {
+            Model model = Model.newModel(MODEL_NAME).withVersion("1.0.0").build();
+            api.registerModel(model, experimentKey);
+            assertEquals(1, api.getRegistryModelNames(CometTestBackend.DEFAULT_WORKSPACE).size());
+
+            ModelDownloadInfo info = api.downloadRegistryModel(
+                    this.tempDir, MODEL_NAME.toLowerCase(), CometTestBackend.DEFAULT_WORKSPACE);
+            assertTrue(Files.exists(info.getDownloadPath().resolve("model.bin")));
+        }
+    }
+
+    @Test
+    public void testRetriesDeliverDataDespiteFaults() throws Exception {
+        int count = 50;
+        this.backend.setFaultPolicy(FaultPolicy.builder()
+                .withErrorRate(0.2)
+                .withThrottling(0.1, Duration.ZERO)
+                .withLatency(LatencyDistribution.uniform(Duration.ZERO, Duration.ofMillis(5)))
+                .forEndpoints(ApiEndpoints.ADD_PARAMETER)
+                .build());
+
+        String experimentKey;
+        try (OnlineExperiment experiment = this.createExperiment()) {
+            experimentKey = experiment.getExperimentKey();
+            for (int i = 0; i < count; i++) {
+                experiment.logParameter("param_" + i, i);
+            }
+            experiment.flush(Duration.ofSeconds(60)).get();
+        }
+
+        List<String> names = this.backend.getState().getExperiment(experimentKey)
+                .map(StoredExperiment::getParameters)
+                .orElseThrow(AssertionError::new)
+                .stream()
+                .map(parameter -> parameter.getParameterName())
+                .distinct()
+                .collect(Collectors.toList());
+        assertEquals(count, names.size(), "all parameters must be delivered");
+        assertTrue(this.backend.getRequestsCount(ApiEndpoints.ADD_PARAMETER) > count,
+                "failed requests must be retried");
+    }
+
+    @Test
+    public void testLogPrimitiveMetricDoesNotAllocate() throws Exception {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long threadId = Thread.currentThread().getId();
+        try (OnlineExperiment experiment = this.createExperiment()) {
+            experiment.setStep(1);
+            experiment.setContext("train");
+            for (int i = 0; i < 10_000; i++) {
+                experiment.logMetric("loss", 0.5d);
+                experiment.logMetric("count", 42L);
+                experiment.logMetric("accuracy", 0.25f);
+            }
+            experiment.flush(Duration.ofSeconds(30)).get();
+
+            // less than one batch is logged to exclude the batch request amortized per metric
+            long allocated = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 30; i++) {
+                experiment.logMetric("loss", 0.5d);
+                experiment.logMetric("count", 42L);
+                experiment.logMetric("accuracy", 0.25f);
+            }
+            allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+            assertEquals(0, allocated, "primitive logMetric allocated in the calling thread");
+        }
+    }
+
+    @Test
+    public void testChunkedUpload() throws Exception {
+        byte[] data = randomBytes(10 * 1024 + 100);
+        Path file = Files.write(this.tempDir.resolve("model.bin"), data);
+        this.backend.setFaultPolicy(FaultPolicy.builder()
+                .withErrorRate(0.2)
+                .forEndpoints(ApiEndpoints.ADD_ASSET_CHUNK)
+                .build());
+
+        String experimentKey;
+        try (OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withConfigOverride(this.chunkedUploadConfig())
+                .withApiKey(API_KEY)
+                .build()) {
+            experimentKey = experiment.getExperimentKey();
+            experiment.uploadAsset(file.toFile(), "model.bin", false);
+            experiment.flush(Duration.ofSeconds(60)).get();
+        } finally {
+            CometConfig.clearConfigOverride();
+        }
+
+        List<StoredAsset> assets = this.backend.getState().getExperiment(experimentKey)
+                .map(StoredExperiment::getAssets)
+                .orElseThrow(AssertionError::new);
+        assertEquals(1, assets.size());
+        assertEquals("model.bin", assets.get(0).getFileName());
+        assertArrayEquals(data, assets.get(0).getContent());
+        assertEquals(0, this.backend.getState().getPendingUploadsCount());
+        assertEquals(0, this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET));
+        assertTrue(this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET_CHUNK) >= 11);
+    }
+
+    @Test
+    public void testStreamedAssetSources() throws Exception {
+        byte[] streamed = randomBytes(64 * 1024 + 7);
+        byte[] buffered = randomBytes(32 * 1024 + 3);
+        byte[] channeled = randomBytes(16 * 1024 + 1);
+        Path file = Files.write(this.tempDir.resolve("channeled.bin"), channeled);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(buffered.length);
+        buffer.put(buffered).flip();
+
+        String experimentKey;
+        try (OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withApiKey(API_KEY)
+                .build()) {
+            experimentKey = experiment.getExperimentKey();
+            experiment.uploadAsset(AssetSource.fromStream(new ByteArrayInputStream(streamed)), "streamed.bin", false);
+            experiment.logModel(MODEL_NAME, AssetSource.fromBuffer(buffer), "buffered.bin");
+            experiment.uploadAsset(AssetSource.fromChannel(() -> {
+                try {
+                    return FileChannel.open(file, StandardOpenOption.READ);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }), "channeled.bin", false);
+            experiment.flush(Duration.ofSeconds(60)).get();
+        }
+
+        Map<String, byte[]> contents = this.backend.getState().getExperiment(experimentKey)
+                .map(StoredExperiment::getAssets)
+                .orElseThrow(AssertionError::new)
+                .stream()
+                .collect(Collectors.toMap(StoredAsset::getFileName, StoredAsset::getContent));
+        assertEquals(3, contents.size());
+        assertArrayEquals(streamed, contents.get("streamed.bin"));
+        assertArrayEquals(buffered, contents.get("buffered.bin"));
+        assertArrayEquals(channeled, contents.get("channeled.bin"));
+        assertEquals(0, buffer.position(), "the buffer position should not change");
+    }
+
+    @Test
+    public void testUnchangedFolderFilesAreSkipped() throws Exception {
+        Path folder = Files.createDirectories(this.tempDir.resolve("checkpoints"));
+        for (int i = 0; i < 5; i++) {
+            Files.write(folder.resolve("layer" + i + ".bin"), randomBytes(1024 + i));
+        }
+        try (OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withConfigOverride(this.dedupeConfig())
+                .withApiKey(API_KEY)
+                .build()) {
+            experiment.logModelFolder(MODEL_NAME, folder.toFile());
+            experiment.flush(Duration.ofSeconds(60)).get();
+            assertEquals(5, this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET));
+
+            // only the changed file is uploaded again
+            Files.write(folder.resolve("layer0.bin"), randomBytes(2048));
+            experiment.logModelFolder(MODEL_NAME, folder.toFile());
+            experiment.flush(Duration.ofSeconds(60)).get();
+            assertEquals(6, this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET));
+        } finally {
+            CometConfig.clearConfigOverride();
+        }
+        try (Stream<Path> indexes = Files.list(this.tempDir.resolve("manifests").resolve("index"))) {
+            assertEquals(1, indexes.count());
+        }
+    }
+
+    @Test
+    public void testFolderUploadWithinLimits() throws Exception {
+        Path folder = Files.createDirectories(this.tempDir.resolve("dataset"));
+        for (int i = 0; i < 40; i++) {
+            Files.write(folder.resolve("sample" + i + ".bin"), randomBytes(i % 4 == 0 ? 8 * 1024 : 128 + i));
+        }
+        this.backend.setFaultPolicy(FaultPolicy.builder()
+                .withLatency(LatencyDistribution.uniform(Duration.ZERO, Duration.ofMillis(5)))
+                .build());
+        Path config = this.tempDir.resolve("folder.conf");
+        Files.write(config, String.format("comet {%n  uploadFolderMaxInFlight = 2%n"
+                + "  uploadFolderMaxInFlightBytes = 4096%n}%n").getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("split", "train");
+        String experimentKey;
+        try (OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withConfigOverride(config.toFile())
+                .withApiKey(API_KEY)
+                .build()) {
+            experimentKey = experiment.getExperimentKey();
+            experiment.logModelFolder(MODEL_NAME, folder.toFile(), metadata);
+            experiment.flush(Duration.ofSeconds(60)).get();
+        } finally {
+            CometConfig.clearConfigOverride();
+        }
+
+        List<StoredAsset> assets = this.backend.getState().getExperiment(experimentKey)
+                .map(StoredExperiment::getAssets)
+                .orElseThrow(AssertionError::new);
+        assertEquals(40, assets.size());
+        assertTrue(assets.stream().allMatch(asset -> "{\"split\":\"train\"}".equals(asset.getMetadata())));
+    }
+
+    @Test
+    public void testMetricsAndOutputAppendedToWriteAheadLogWhenLogged() throws Exception {
+        Path config = this.tempDir.resolve("wal.conf");
+        Files.write(config, String.format("comet {%n  metricsBatchLingerMillis = 60000%n}%n")
+                .getBytes(StandardCharsets.UTF_8));
+        Path walDir = this.tempDir.resolve("wal");
+
+        Path experimentWal;
+        try (OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+                .withWriteAheadLog(walDir.toFile())
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withConfigOverride(config.toFile())
+                .withApiKey(API_KEY)
+                .build()) {
+            experimentWal = walDir.resolve(experiment.getExperimentKey());
+            experiment.logMetric("walMetric", 1.5);
+            experiment.logLine("wal output line", 0, false);
+
+            // nothing is held in memory by the batcher, the records are in the log before they are sent
+            String log;
+            try (Stream<Path> segments = Files.list(experimentWal)) {
+                log = segments.map(segment -> {
+                    try {
+                        return new String(Files.readAllBytes(segment), StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).collect(Collectors.joining());
+            }
+            assertTrue(log.contains("walMetric"));
+            assertTrue(log.contains("wal output line"));
+        } finally {
+            CometConfig.clearConfigOverride();
+        }
+        assertFalse(Files.exists(experimentWal), "all records must be acknowledged");
+    }
+
+    @Test
+    public void testOfflineExperimentUpload() throws Exception {
+        String offlineKey;
+        File journalDir;
+        try (OfflineExperiment experiment = ExperimentBuilder.OfflineExperiment()
+                .withOfflineDirectory(this.tempDir.resolve("offline").toFile())
+                .withProjectName("test-project")
+                .build()) {
+            offlineKey = experiment.getExperimentKey();
+            journalDir = experiment.getJournalDirectory();
+            for (int step = 0; step < 20; step++) {
+                experiment.logMetric("loss", 1.0 / (step + 1), step);
+            }
+            // the value equal to the offline key must not be rewritten
+            experiment.logParameter("source", offlineKey);
+
+            Artifact artifact = Artifact.newArtifact("offlineArtifact", "dataset").build();
+            artifact.addAsset("artifact data".getBytes(StandardCharsets.UTF_8), "data.txt");
+            experiment.logArtifact(artifact).get();
+        }
+
+        OfflineExperimentUploader.UploadResult result;
+        try (OfflineExperimentUploader uploader = new OfflineExperimentUploader(
+                API_KEY, this.backend.getBaseUrl(), 1, 4, Duration.ofSeconds(10), LOGGER)) {
+            result = uploader.upload(journalDir);
+        }
+        assertEquals(0, result.getFailedCount());
+
+        StoredExperiment stored = this.backend.getState().getExperiment(result.getExperimentKey()).orElse(null);
+        assertNotNull(stored);
+        List<Long> steps = stored.getMetrics().stream().map(MetricRest::getStep).collect(Collectors.toList());
+        assertEquals(LongStream.range(0, 20).boxed().collect(Collectors.toList()), steps,
+                "metrics must be replayed in the journal order");
+        assertEquals(offlineKey, stored.getParameters().get(0).getParameterValue());
+
+        StoredArtifactVersion version = this.backend.getState().getArtifacts().stream()
+                .filter(artifact -> "offlineArtifact".equals(artifact.getName()))
+                .flatMap(artifact -> artifact.getVersions().values().stream())
+                .findFirst().orElse(null);
+        assertNotNull(version);
+        assertEquals(result.getExperimentKey(), version.getExperimentKey());
+        assertEquals(ArtifactVersionState.CLOSED, version.getState());
+        assertEquals(1, this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET));
+    }
+
+    @Test
+    public void testFolderUploadPacksSmallFiles() throws Exception {
+        Path folder = Files.createDirectories(this.tempDir.resolve("dataset"));
+        Map<String, byte[]> files = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            files.put("sample" + i + ".bin", randomBytes(512 + i));
+        }
+        files.put("large.bin", randomBytes(32 * 1024));
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            Files.write(folder.resolve(file.getKey()), file.getValue());
+        }
+        Path config = this.tempDir.resolve("pack.conf");
+        Files.write(config, String.format("comet {%n  uploadPackThreshold = 10240%n"
+                + "  uploadPackSize = 4096%n}%n").getBytes(StandardCharsets.UTF_8));
+
+        Path downloaded = this.tempDir.resolve("downloaded");
+        try (OnlineExperiment experiment = ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withConfigOverride(config.toFile())
+                .withApiKey(API_KEY)
+                .build()) {
+            experiment.logAssetFolder(folder.toFile(), false, true);
+            experiment.flush(Duration.ofSeconds(60)).get();
+
+            assertTrue(this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET) < files.size());
+            for (LoggedExperimentAsset asset : experiment.getAllAssetList()) {
+                experiment.downloadAsset(asset, downloaded);
+            }
+        } finally {
+            CometConfig.clearConfigOverride();
+        }
+
+        try (Stream<Path> paths = Files.list(downloaded)) {
+            assertEquals(files.size(), paths.count());
+        }
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            assertArrayEquals(file.getValue(), Files.readAllBytes(downloaded.resolve(file.getKey())));
+        }
+    }
+
+    @Test
+    public void testChunkedUploadResumes() throws Exception {
+        byte[] data = randomBytes(10 * 1024);
+        File file = Files.write(this.tempDir.resolve("model.bin"), data).toFile();
+        StoredExperiment experiment = this.backend.getState().createExperiment(
+                CometTestBackend.DEFAULT_WORKSPACE, "test-project", null);
+        Map<QueryParamName, String> queryParams = new EnumMap<>(QueryParamName.class);
+        queryParams.put(QueryParamName.EXPERIMENT_KEY, experiment.getKey());
+        queryParams.put(QueryParamName.FILE_NAME, "model.bin");
+        ChunkedUploadOptions options = new ChunkedUploadOptions(1024, 1024, 2, this.tempDir.resolve("manifests"));
+
+        // the upload is interrupted after all chunks were sent
+        this.backend.setFaultPolicy(FaultPolicy.builder()
+                .withErrorRate(1)
+                .forEndpoints(ApiEndpoints.ADD_ASSET_CHUNKED_COMPLETE)
+                .build());
+        try (Connection connection = new Connection(this.backend.getBaseUrl(), API_KEY, 1, LOGGER)) {
+            ChunkedFileUploader uploader = new ChunkedFileUploader(connection, options);
+            assertTrue(uploader.isChunked(file));
+            assertThrows(Exception.class, () -> uploader.upload(file, queryParams, new EnumMap<>(FormParamName.class),
+                    () -> Single.error(new AssertionError("chunked upload must be supported"))).blockingGet());
+        }
+        assertEquals(10, this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET_CHUNK));
+        assertEquals(1, this.backend.getState().getPendingUploadsCount());
+
+        // the new upload of the same file resumes without sending chunks again
+        this.backend.setFaultPolicy(FaultPolicy.builder().build());
+        try (Connection connection = new Connection(this.backend.getBaseUrl(), API_KEY, 1, LOGGER)) {
+            ChunkedFileUploader uploader = new ChunkedFileUploader(connection, options);
+            RestApiResponse response = uploader.upload(file, queryParams, new EnumMap<>(FormParamName.class),
+                    () -> Single.error(new AssertionError("chunked upload must be supported"))).blockingGet();
+            assertFalse(response.hasFailed());
+        }
+        assertEquals(10, this.backend.getRequestsCount(ApiEndpoints.ADD_ASSET_CHUNK));
+        assertEquals(0, this.backend.getState().getPendingUploadsCount());
+        assertArrayEquals(data, experiment.getAssets().get(0).getContent());
+        try (Stream<Path> manifests = Files.list(this.tempDir.resolve("manifests"))) {
+            assertEquals(0, manifests.count(), "manifest must be deleted when upload completed");
+        }
+    }
+
+    @Test
+    public void testInjectedFaults() throws Exception {
+        String url = this.backend.getBaseUrl() + ApiEndpoints.WORKSPACES;
+
+        this.backend.setFaultPolicy(FaultPolicy.builder().withThrottling(1, Duration.ofMillis(1500)).build());
+        HttpURLConnection throttled = this.openConnection(url);
+        assertEquals(429, throttled.getResponseCode());
+        assertEquals("2", throttled.getHeaderField("Retry-After"));
+
+        this.backend.setFaultPolicy(FaultPolicy.builder().withConnectionResets(1).build());
+        assertThrows(Exception.class, () -> this.openConnection(url).getResponseCode());
+
+        this.backend.setFaultPolicy(FaultPolicy.builder()
+                .withSlowDrip(4, Duration.ofMillis(20))
+                .withLatency(LatencyDistribution.fixed(Duration.ofMillis(100)))
+                .build());
+        long start = System.nanoTime();
+        HttpURLConnection dripped = this.openConnection(url);
+        assertEquals(200, dripped.getResponseCode());
+        byte[] body = readAll(dripped);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        assertTrue(new String(body, StandardCharsets.UTF_8).contains(CometTestBackend.DEFAULT_WORKSPACE));
+        assertTrue(elapsedMillis >= 100 + (body.length / 4 - 1) * 20L,
+                "the response must be delayed and dripped, elapsed: " + elapsedMillis);
+
+        // HttpURLConnection silently repeats the GET request once after the connection reset
+        Map<String, Long> counts = this.backend.getRequestsCountByEndpoint();
+        assertTrue(counts.get(ApiEndpoints.WORKSPACES) >= 3);
+    }
+
+    @Test
+    public void testRequiresApiKey() throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                this.backend.getBaseUrl() + ApiEndpoints.WORKSPACES).openConnection();
+        assertEquals(401, connection.getResponseCode());
+    }
+
+    private OnlineExperiment createExperiment() {
+        return ExperimentBuilder.OnlineExperiment()
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withProjectName("test-project")
+                .withApiKey(API_KEY)
+                .build();
+    }
+
+    private OnlineExperiment createExperiment(CometRuntime runtime) {
+        return ExperimentBuilder.OnlineExperiment()
+                .withRuntime(runtime)
+                .withUrlOverride(this.backend.getBaseUrl())
+                .withProjectName("test-project")
+                .withApiKey(API_KEY)
+                .build();
+    }
+
+    private File chunkedUploadConfig() throws Exception {
+        Path config = this.tempDir.resolve("chunked.conf");
+        String content = String.format("comet {%n  uploadChunkThreshold = 4096%n  uploadChunkSize = 1024%n"
+                + "  uploadManifestDirectory = \"%s\"%n}%n", this.tempDir.resolve("manifests"));
+        Files.write(config, content.getBytes(StandardCharsets.UTF_8));
+        return config.toFile();
+    }
+
+    private File dedupeConfig() throws Exception {
+        Path config = this.tempDir.resolve("dedupe.conf");
+        String content = String.format("comet {%n  uploadDedupeParallelism = 2%n"
+                + "  uploadManifestDirectory = \"%s\"%n}%n", this.tempDir.resolve("manifests"));
+        Files.write(config, content.getBytes(StandardCharsets.UTF_8));
+        return config.toFile();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private File configOverride() throws Exception {
+        Path config = this.tempDir.resolve("comet.conf");
+        String content = String.format("comet {%n  baseUrl = \"%s\"%n  apiKey = \"%s\"%n}%n",
+                this.backend.getBaseUrl(), API_KEY);
+        Files.write(config, content.getBytes(StandardCharsets.UTF_8));
+        return config.toFile();
+    }
+
+    private HttpURLConnection openConnection(String url) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestProperty("Comet-Sdk-Api", API_KEY);
+        return connection;
+    }
+
+    private static byte[] readAll(HttpURLConnection connection) throws Exception {
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}